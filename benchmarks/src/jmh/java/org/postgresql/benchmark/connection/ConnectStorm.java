@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.postgresql.benchmark.connection;
+
+import org.postgresql.PGProperty;
+import org.postgresql.test.TestUtil;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opens connections from several threads at once, as a pool does when it refills after a
+ * failover. The user must authenticate with SCRAM, so the benchmark shows the cost of the PBKDF2
+ * key derivation with and without {@link PGProperty#SCRAM_KEY_CACHE}.
+ *
+ * <p>As with {@link FinalizeConnection}, closed sockets pile up in TIME_WAIT state, so keep the
+ * number of iterations low.</p>
+ */
+@Fork(1)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Threads(8)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ConnectStorm {
+  @Param({"false", "true"})
+  public boolean scramKeyCache;
+
+  private Properties connectionProperties;
+  private String connectionUrl;
+  private Driver driver;
+
+  @Setup(Level.Trial)
+  public void setUp() throws SQLException {
+    connectionProperties = TestUtil.mergeDefaultProperties(new Properties());
+    PGProperty.SCRAM_KEY_CACHE.set(connectionProperties, scramKeyCache);
+    connectionUrl = TestUtil.getURL();
+    driver = DriverManager.getDriver(connectionUrl);
+  }
+
+  @Benchmark
+  public Connection connect() throws SQLException {
+    Connection connection = driver.connect(connectionUrl, connectionProperties);
+    connection.close();
+    return connection;
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options opt = new OptionsBuilder()
+        .include(ConnectStorm.class.getSimpleName())
+        .addProfiler(GCProfiler.class)
+        .detectJvmArgs()
+        .build();
+
+    new Runner(opt).run();
+  }
+}
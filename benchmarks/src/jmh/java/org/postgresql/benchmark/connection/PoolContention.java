@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.postgresql.benchmark.connection;
+
+import org.postgresql.ds.PGConnectionPool;
+import org.postgresql.ds.common.BaseDataSource;
+import org.postgresql.test.TestUtil;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+/**
+ * Borrows and returns connections of a pool of 10 connections from many threads, so most threads
+ * wait for a connection. Compares {@link PGConnectionPool} with the deprecated
+ * {@link org.postgresql.ds.PGPoolingDataSource}, which takes a lock to borrow and return.
+ *
+ * <p>{@link #main(String[])} runs the benchmark with 8 to 256 threads, or use {@code -t}.</p>
+ */
+@Fork(1)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PoolContention {
+  private static final int POOL_SIZE = 10;
+
+  @Param({"PGConnectionPool", "PGPoolingDataSource"})
+  public String pool;
+
+  private DataSource dataSource;
+
+  @Setup(Level.Trial)
+  @SuppressWarnings("deprecation")
+  public void setUp() throws SQLException {
+    BaseDataSource ds;
+    if ("PGConnectionPool".equals(pool)) {
+      PGConnectionPool connectionPool = new PGConnectionPool();
+      connectionPool.setMaximumPoolSize(POOL_SIZE);
+      connectionPool.setConnectionTimeout(TimeUnit.MINUTES.toMillis(1));
+      ds = connectionPool;
+    } else {
+      org.postgresql.ds.PGPoolingDataSource poolingDataSource =
+          new org.postgresql.ds.PGPoolingDataSource();
+      poolingDataSource.setDataSourceName("PoolContention");
+      poolingDataSource.setMaxConnections(POOL_SIZE);
+      poolingDataSource.setInitialConnections(POOL_SIZE);
+      ds = poolingDataSource;
+    }
+    ds.setServerNames(new String[]{TestUtil.getServer()});
+    ds.setPortNumbers(new int[]{TestUtil.getPort()});
+    ds.setDatabaseName(TestUtil.getDatabase());
+    ds.setUser(TestUtil.getUser());
+    ds.setPassword(TestUtil.getPassword());
+    dataSource = (DataSource) ds;
+    // Open the connections before the measurement
+    dataSource.getConnection().close();
+  }
+
+  @TearDown(Level.Trial)
+  @SuppressWarnings("deprecation")
+  public void tearDown() {
+    if (dataSource instanceof PGConnectionPool) {
+      ((PGConnectionPool) dataSource).close();
+    } else {
+      ((org.postgresql.ds.PGPoolingDataSource) dataSource).close();
+    }
+  }
+
+  @Benchmark
+  public boolean borrowAndReturn() throws SQLException {
+    try (Connection con = dataSource.getConnection()) {
+      return con.getAutoCommit();
+    }
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    for (int threads : new int[]{8, 32, 128, 256}) {
+      Options opt = new OptionsBuilder()
+          .include(PoolContention.class.getSimpleName())
+          .threads(threads)
+          .detectJvmArgs()
+          .build();
+
+      new Runner(opt).run();
+    }
+  }
+}
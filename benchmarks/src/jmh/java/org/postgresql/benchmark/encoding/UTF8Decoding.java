@@ -31,6 +31,7 @@
 import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
 import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
 import java.nio.charset.CharsetDecoder;
 import java.util.concurrent.TimeUnit;
 
@@ -49,20 +50,31 @@ public class UTF8Decoding {
   @Param({"1", "5", "10", "50", "100"})
   public int length;
 
+  /**
+   * The text repeated {@link #length} times: mixed Cyrillic and ASCII, Latin-1 and ASCII only.
+   */
+  @Param({"Hello мир,", "Grüße, zoë", "identifier"})
+  public String text;
+
   private byte[] source;
+  private byte[] win1252Source;
   private CharsetDecoder decoder;
   private Encoding encoding;
+  private Encoding win1252Encoding;
   private CharBuffer buf;
 
   @Setup
   public void setup() {
     StringBuilder sb = new StringBuilder();
     for (int i = 0; i < length; i++) {
-      sb.append("Hello мир,");
+      sb.append(text);
     }
     source = sb.toString().getBytes(UTF_8);
     decoder = UTF_8.newDecoder();
     encoding = Encoding.getJVMEncoding("UTF-8");
+    win1252Encoding = Encoding.getDatabaseEncoding("WIN1252");
+    // Cyrillic letters are not in windows-1252 and become '?'
+    win1252Source = sb.toString().getBytes(Charset.forName(win1252Encoding.name()));
     buf = CharBuffer.allocate(10240);
   }
 
@@ -79,6 +91,11 @@ public String encodingDecodeUTF8_current() throws IOException {
     return encoding.decode(source, 0, source.length);
   }
 
+  @Benchmark
+  public String encodingDecodeWin1252() throws IOException {
+    return win1252Encoding.decode(win1252Source, 0, win1252Source.length);
+  }
+
   @Benchmark
   @SuppressWarnings("JdkObsolete")
   public String string_string() throws UnsupportedEncodingException {
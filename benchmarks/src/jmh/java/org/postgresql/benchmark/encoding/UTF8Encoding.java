@@ -6,6 +6,8 @@
 
 package org.postgresql.benchmark.encoding;
 
+import org.postgresql.util.internal.PgBufferedOutputStream;
+
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Fork;
@@ -23,6 +25,8 @@
 import org.openjdk.jmh.runner.options.Options;
 import org.openjdk.jmh.runner.options.OptionsBuilder;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
 import java.nio.charset.CharacterCodingException;
@@ -42,12 +46,13 @@
 @OutputTimeUnit(TimeUnit.NANOSECONDS)
 public class UTF8Encoding {
 
-  @Param({"1", "5", "10", "50", "100"})
+  @Param({"1", "5", "10", "50", "100", "30000"})
   public int length;
 
   private String source;
   private CharsetEncoder encoder;
   private ByteBuffer buf;
+  private PgBufferedOutputStream out;
   private static final Charset UTF_8 = Charset.forName("UTF-8");
 
   @Setup
@@ -59,6 +64,16 @@ public void setup() {
     source = sb.toString();
     encoder = UTF_8.newEncoder();
     buf = ByteBuffer.allocate(10240);
+    // The send buffer of PGStream, the bytes are discarded when it is flushed
+    out = new PgBufferedOutputStream(new OutputStream() {
+      @Override
+      public void write(int b) {
+      }
+
+      @Override
+      public void write(byte[] b, int off, int len) {
+      }
+    }, 8192);
   }
 
   @Benchmark
@@ -85,6 +100,26 @@ public Object encoder_byteBufferReuse() throws CharacterCodingException {
     return encoder.encode(CharBuffer.wrap(source), buf, true);
   }
 
+  /**
+   * How {@code SimpleParameterList} sends string parameters of fewer than 256K chars.
+   */
+  @Benchmark
+  public PgBufferedOutputStream sendBuffer_getBytes() throws IOException {
+    out.write(source.getBytes(UTF_8));
+    return out;
+  }
+
+  /**
+   * How {@code SimpleParameterList} sends string parameters of at least 256K chars, without an
+   * intermediate {@code byte[]}.
+   */
+  @Benchmark
+  public int sendBuffer_writeUtf8() throws IOException {
+    int length = PgBufferedOutputStream.utf8Length(source);
+    out.writeUtf8(source);
+    return length;
+  }
+
   public static void main(String[] args) throws RunnerException {
     Options opt = new OptionsBuilder()
         .include(UTF8Encoding.class.getSimpleName())
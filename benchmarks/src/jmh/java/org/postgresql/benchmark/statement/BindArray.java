@@ -30,12 +30,15 @@
 import java.sql.Array;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
-@Fork(value = 5, jvmArgsPrepend = "-Xmx128m")
+@Fork(value = 5, jvmArgsPrepend = "-Xmx2g")
 @Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
 @Warmup(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
 @State(Scope.Thread)
@@ -44,25 +47,34 @@
 public class BindArray {
   private Connection connection;
   private PreparedStatement ps;
+  private PreparedStatement selectLength;
 
   Integer[] ints;
+  long[] longs;
+  List<Long> longList;
 
-  @Param({"1", "5", "10", "50", "100", "1000"})
+  @Param({"1", "5", "10", "50", "100", "1000", "10000000"})
   int arraySize;
 
   @Setup(Level.Trial)
   public void setUp() throws SQLException {
     connection = TestUtil.openDB();
     ps = connection.prepareStatement("SELECT ?");
+    selectLength = connection.prepareStatement("SELECT array_length(?::int8[], 1)");
     ints = new Integer[arraySize];
+    longs = new long[arraySize];
+    longList = new ArrayList<>(arraySize);
     for (int i = 0; i < arraySize; i++) {
       ints[i] = i + 1;
+      longs[i] = i + 1;
+      longList.add((long) (i + 1));
     }
   }
 
   @TearDown(Level.Trial)
   public void tearDown() throws SQLException {
     ps.close();
+    selectLength.close();
     connection.close();
   }
 
@@ -80,6 +92,31 @@ public Statement setArray() throws SQLException {
     return ps;
   }
 
+  /**
+   * Sends a {@code long[]}, which is encoded while the Bind message is sent when it is large.
+   */
+  @Benchmark
+  public int executeLongArray() throws SQLException {
+    selectLength.setObject(1, longs);
+    return selectLength(selectLength);
+  }
+
+  /**
+   * Sends a {@code List<Long>}, which is encoded while the Bind message is sent when it is large.
+   */
+  @Benchmark
+  public int executeLongList() throws SQLException {
+    selectLength.setObject(1, longList);
+    return selectLength(selectLength);
+  }
+
+  private static int selectLength(PreparedStatement ps) throws SQLException {
+    try (ResultSet rs = ps.executeQuery()) {
+      rs.next();
+      return rs.getInt(1);
+    }
+  }
+
   public static void main(String[] args) throws RunnerException {
     Options opt = new OptionsBuilder()
         .include(BindArray.class.getSimpleName())
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.postgresql.benchmark.statement;
+
+import org.postgresql.benchmark.profilers.FlightRecorderProfiler;
+import org.postgresql.test.TestUtil;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of binding fixed-length numeric parameters and sending them to the backend,
+ * including the allocation rate (see {@code gc.alloc.rate.norm} of the {@link GCProfiler}).
+ * The batch inserts nothing, so the table does not grow while the benchmark runs.
+ */
+@Fork(value = 5, jvmArgsPrepend = "-Xmx128m")
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BindPrimitive {
+  private Connection connection;
+  private PreparedStatement ps;
+  private PreparedStatement batch;
+  private int batchSize;
+  private long counter;
+
+  @Setup(Level.Trial)
+  public void setUp() throws SQLException {
+    connection = TestUtil.openDB();
+    Statement s = connection.createStatement();
+    s.execute("create temp table bind_primitive(a int4, b int8, c float8)");
+    s.close();
+    ps = connection.prepareStatement("select ?");
+    batch = connection.prepareStatement(
+        "insert into bind_primitive(a, b, c) select ?, ?, ? where false");
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws SQLException {
+    batch.close();
+    ps.close();
+    connection.close();
+  }
+
+  @Benchmark
+  public long bindInt() throws SQLException {
+    ps.setInt(1, (int) counter++);
+    return execute();
+  }
+
+  @Benchmark
+  public long bindLong() throws SQLException {
+    ps.setLong(1, counter++);
+    return execute();
+  }
+
+  @Benchmark
+  public long bindDouble() throws SQLException {
+    ps.setDouble(1, counter++);
+    return execute();
+  }
+
+  @Benchmark
+  public Statement addBatch() throws SQLException {
+    long value = counter++;
+    batch.setInt(1, (int) value);
+    batch.setLong(2, value);
+    batch.setDouble(3, value);
+    batch.addBatch();
+    if (++batchSize == 100) {
+      batch.executeBatch();
+      batchSize = 0;
+    }
+    return batch;
+  }
+
+  private long execute() throws SQLException {
+    ResultSet rs = ps.executeQuery();
+    rs.next();
+    long value = rs.getLong(1);
+    rs.close();
+    return value;
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options opt = new OptionsBuilder()
+        .include(BindPrimitive.class.getSimpleName())
+        .addProfiler(GCProfiler.class)
+        .addProfiler(FlightRecorderProfiler.class)
+        .detectJvmArgs()
+        .build();
+
+    new Runner(opt).run();
+  }
+}
@@ -5,6 +5,9 @@
 
 package org.postgresql.benchmark.time;
 
+import org.postgresql.jdbc.TimestampUtils;
+import org.postgresql.util.ByteConverter;
+
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Fork;
@@ -21,6 +24,8 @@
 import org.openjdk.jmh.runner.options.Options;
 import org.openjdk.jmh.runner.options.OptionsBuilder;
 
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.util.Calendar;
 import java.util.GregorianCalendar;
@@ -43,9 +48,21 @@ public class TimestampToDate {
   Timestamp ts = new Timestamp(System.currentTimeMillis());
   Calendar cachedCalendar = new GregorianCalendar();
 
+  TimestampUtils timestampUtils;
+  Calendar calendar;
+  // 2024-06-15 12:34:56.123456
+  byte[] timestampBytes = new byte[8];
+  byte[] timestampText = "2024-06-15 12:34:56.123456".getBytes(StandardCharsets.UTF_8);
+  byte[] dateBytes = new byte[4];
+  byte[] dateText = "2024-06-15".getBytes(StandardCharsets.UTF_8);
+
   @Setup
   public void init() {
     timeZone = TimeZone.getTimeZone(tz);
+    timestampUtils = new TimestampUtils(false, () -> timeZone);
+    calendar = new GregorianCalendar(timeZone);
+    ByteConverter.int8(timestampBytes, 0, 771770096123456L);
+    ByteConverter.int4(dateBytes, 0, 8932);
   }
 
   @Benchmark
@@ -94,6 +111,58 @@ public long advanced() {
     return cal.getTimeInMillis();
   }
 
+  @Benchmark
+  public long timestampUtils() {
+    long millis = ts.getTime() + 10;
+    ts.setTime(millis);
+    return timestampUtils.convertToDate(millis, timeZone).getTime();
+  }
+
+  @Benchmark
+  public Object binaryToDate() throws SQLException {
+    return timestampUtils.toDateBin(timeZone, dateBytes);
+  }
+
+  @Benchmark
+  public Object binaryToLocalDate() throws SQLException {
+    return timestampUtils.toLocalDateBin(dateBytes);
+  }
+
+  @Benchmark
+  public Object binaryToTimestamp() throws SQLException {
+    return timestampUtils.toTimestampBin(timeZone, timestampBytes, false);
+  }
+
+  @Benchmark
+  public Object binaryTimestamptzToTimestamp() throws SQLException {
+    return timestampUtils.toTimestampBin(timeZone, timestampBytes, true);
+  }
+
+  @Benchmark
+  public Object binaryToLocalDateTime() throws SQLException {
+    return timestampUtils.toLocalDateTimeBin(timestampBytes);
+  }
+
+  @Benchmark
+  public Object binaryToOffsetDateTime() throws SQLException {
+    return timestampUtils.toOffsetDateTimeBin(timestampBytes);
+  }
+
+  @Benchmark
+  public Object textToDate() throws SQLException {
+    return timestampUtils.toDate(calendar, dateText);
+  }
+
+  @Benchmark
+  public Object textToTimestamp() throws SQLException {
+    return timestampUtils.toTimestamp(calendar, timestampText);
+  }
+
+  @Benchmark
+  public Object textToLocalDateTime() throws SQLException {
+    return timestampUtils.toLocalDateTime(timestampText);
+  }
+
   public static void main(String[] args) throws RunnerException {
     Options opt = new OptionsBuilder()
         .include(TimestampToDate.class.getSimpleName())
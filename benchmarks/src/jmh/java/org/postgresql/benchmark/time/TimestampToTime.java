@@ -5,6 +5,9 @@
 
 package org.postgresql.benchmark.time;
 
+import org.postgresql.jdbc.TimestampUtils;
+import org.postgresql.util.ByteConverter;
+
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Fork;
@@ -21,6 +24,8 @@
 import org.openjdk.jmh.runner.options.Options;
 import org.openjdk.jmh.runner.options.OptionsBuilder;
 
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.util.Calendar;
 import java.util.GregorianCalendar;
@@ -43,9 +48,23 @@ public class TimestampToTime {
   Timestamp ts = new Timestamp(System.currentTimeMillis());
   Calendar cachedCalendar = new GregorianCalendar();
 
+  TimestampUtils timestampUtils;
+  Calendar calendar;
+  // 2024-06-15 12:34:56.123456
+  byte[] timestampBytes = new byte[8];
+  byte[] timestampText = "2024-06-15 12:34:56.123456".getBytes(StandardCharsets.UTF_8);
+  // 12:34:56.123456
+  byte[] timeBytes = new byte[8];
+  String timeString = "12:34:56.123456";
+  byte[] timeText = timeString.getBytes(StandardCharsets.UTF_8);
+
   @Setup
   public void init() {
     timeZone = TimeZone.getTimeZone(tz);
+    timestampUtils = new TimestampUtils(false, () -> timeZone);
+    calendar = new GregorianCalendar(timeZone);
+    ByteConverter.int8(timestampBytes, 0, 771770096123456L);
+    ByteConverter.int8(timeBytes, 0, 45296123456L);
   }
 
   @Benchmark
@@ -95,6 +114,44 @@ public long advanced() {
     return cal.getTimeInMillis();
   }
 
+  @Benchmark
+  public long timestampUtils() {
+    long millis = ts.getTime() + 10;
+    ts.setTime(millis);
+    return timestampUtils.convertToTime(millis, timeZone).getTime();
+  }
+
+  @Benchmark
+  public Object binaryToTime() throws SQLException {
+    return timestampUtils.toTimeBin(timeZone, timeBytes);
+  }
+
+  @Benchmark
+  public Object binaryToLocalTime() throws SQLException {
+    return timestampUtils.toLocalTimeBin(timeBytes);
+  }
+
+  @Benchmark
+  public Object binaryTimestampToTime() throws SQLException {
+    return timestampUtils.convertToTime(
+        timestampUtils.toTimestampBin(timeZone, timestampBytes, false).getTime(), timeZone);
+  }
+
+  @Benchmark
+  public Object textToTime() throws SQLException {
+    return timestampUtils.toTime(calendar, timeText);
+  }
+
+  @Benchmark
+  public Object textTimestampToTime() throws SQLException {
+    return timestampUtils.toTime(calendar, timestampText);
+  }
+
+  @Benchmark
+  public Object textToLocalTime() throws SQLException {
+    return timestampUtils.toLocalTime(timeString);
+  }
+
   public static void main(String[] args) throws RunnerException {
     Options opt = new OptionsBuilder()
         .include(TimestampToTime.class.getSimpleName())
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.postgresql.benchmark.util;
+
+import org.postgresql.util.ByteConverter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decodes binary {@code numeric} values to long and double, and encodes {@link BigDecimal} and long
+ * values to binary {@code numeric}. The {@code *BigDecimal} benchmarks go through a
+ * {@link BigDecimal} as {@code getLong} and {@code getDouble} used to.
+ */
+@Fork(value = 3, jvmArgsPrepend = "-Xmx128m")
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BinaryNumeric {
+  private static final int VALUES = 1024;
+
+  /**
+   * The scale of the values: {@code 2} for {@code numeric(18, 2)}, {@code 0} for integers, and
+   * {@code 20} for values that do not fit the fast paths.
+   */
+  @Param({"2", "0", "20"})
+  public int scale;
+
+  private BigDecimal[] decimals;
+  private long[] longs;
+  private byte[][] encoded;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(42);
+    decimals = new BigDecimal[VALUES];
+    longs = new long[VALUES];
+    encoded = new byte[VALUES][];
+    for (int i = 0; i < VALUES; i++) {
+      long unscaled = random.nextLong() % 1_000_000_000_000_000L;
+      decimals[i] = BigDecimal.valueOf(unscaled, scale);
+      longs[i] = unscaled;
+      encoded[i] = ByteConverter.numeric(decimals[i]);
+    }
+  }
+
+  @Benchmark
+  public void decodeLong(Blackhole bh) {
+    for (byte[] bytes : encoded) {
+      bh.consume(ByteConverter.numericToLong(bytes, 0, bytes.length));
+    }
+  }
+
+  @Benchmark
+  public void decodeLongBigDecimal(Blackhole bh) {
+    for (byte[] bytes : encoded) {
+      bh.consume(ByteConverter.numeric(bytes).longValue());
+    }
+  }
+
+  @Benchmark
+  public void decodeDouble(Blackhole bh) {
+    for (byte[] bytes : encoded) {
+      bh.consume(ByteConverter.numericToDouble(bytes, 0, bytes.length));
+    }
+  }
+
+  @Benchmark
+  public void decodeDoubleBigDecimal(Blackhole bh) {
+    for (byte[] bytes : encoded) {
+      bh.consume(ByteConverter.numeric(bytes).doubleValue());
+    }
+  }
+
+  @Benchmark
+  public void encodeBigDecimal(Blackhole bh) {
+    for (BigDecimal decimal : decimals) {
+      bh.consume(ByteConverter.numeric(decimal));
+    }
+  }
+
+  @Benchmark
+  public void encodeLong(Blackhole bh) {
+    for (long value : longs) {
+      bh.consume(ByteConverter.numeric(value));
+    }
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options opt = new OptionsBuilder()
+        .include(BinaryNumeric.class.getSimpleName())
+        .addProfiler("gc")
+        .detectJvmArgs()
+        .build();
+
+    new Runner(opt).run();
+  }
+}
@@ -14,12 +14,12 @@
 import org.postgresql.util.DriverInfo;
 import org.postgresql.util.GT;
 import org.postgresql.util.HostSpec;
-import org.postgresql.util.ObjectFactory;
 import org.postgresql.util.PGPropertyUtil;
 import org.postgresql.util.PSQLException;
 import org.postgresql.util.PSQLState;
 import org.postgresql.util.SharedTimer;
 import org.postgresql.util.URLCoder;
+import org.postgresql.util.internal.ConnectExecutors;
 
 import org.checkerframework.checker.nullness.qual.Nullable;
 
@@ -306,7 +306,7 @@ private Properties loadDefaultProperties() throws IOException {
       }
 
       ConnectTask ct = new ConnectTask(url, props);
-      Executor executor = resolveConnectExecutor(props);
+      Executor executor = ConnectExecutors.resolve(props, DEFAULT_EXECUTOR);
       executor.execute(ct);
       return ct.getResult(timeout);
     } catch (PSQLException ex1) {
@@ -702,27 +702,8 @@ private static HostSpec[] hostSpecs(Properties props) {
     return hostSpecs;
   }
 
-  private static final Executor DEFAULT_EXECUTOR = r -> {
-    Thread thread = new Thread(r, "PostgreSQL JDBC driver connection thread");
-    thread.setDaemon(true); // Don't prevent the VM from shutting down
-    thread.start();
-  };
-
-  private static Executor resolveConnectExecutor(Properties props)
-      throws PSQLException {
-    String className = PGProperty.CONNECT_EXECUTOR.getOrDefault(props);
-    if (className == null || className.isEmpty()) {
-      return DEFAULT_EXECUTOR;
-    }
-    try {
-      return ObjectFactory.instantiate(Executor.class, className, props, true,
-          PGProperty.CONNECT_EXECUTOR_ARG.getOrDefault(props));
-    } catch (Exception ex) {
-      throw new PSQLException(
-          GT.tr("Could not instantiate connectExecutor: {0}", className),
-          PSQLState.INVALID_PARAMETER_VALUE, ex);
-    }
-  }
+  private static final Executor DEFAULT_EXECUTOR =
+      ConnectExecutors.daemonThreads("PostgreSQL JDBC driver connection thread");
 
   /**
    * @return the timeout from the URL, in milliseconds
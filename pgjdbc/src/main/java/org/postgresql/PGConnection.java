@@ -12,6 +12,7 @@
 import org.postgresql.largeobject.LargeObjectManager;
 import org.postgresql.replication.PGReplicationConnection;
 import org.postgresql.util.GT;
+import org.postgresql.util.PGBinaryCodec;
 import org.postgresql.util.PGobject;
 import org.postgresql.util.PSQLException;
 import org.postgresql.util.PSQLState;
@@ -148,6 +149,31 @@ public interface PGConnection {
    */
   void addDataType(String type, Class<? extends PGobject> klass) throws SQLException;
 
+  /**
+   * Registers a codec that encodes and decodes the values of a data type in binary format, and
+   * enables binary transfer for the type unless it is listed in {@code binaryTransferDisable}. The
+   * codec replaces the text representation of the {@link PGobject} class registered for the type,
+   * or handles values of any other Java class, such as the {@link java.util.Map} of an
+   * {@code hstore}.
+   *
+   * <p>The driver registers codecs for the types of {@link org.postgresql.geometric} without
+   * enabling binary transfer for them: {@code point} and {@code box} are sent in binary with
+   * {@code binaryTransfer}, the other geometric types when {@code binaryTransferEnable} lists them.
+   * Codecs for extension types, such as {@link org.postgresql.util.HStoreConverter#BINARY_CODEC},
+   * must be registered by the application, as the oid of their type is looked up on the
+   * server.</p>
+   *
+   * <p>The default implementation throws {@link java.sql.SQLFeatureNotSupportedException}.</p>
+   *
+   * @param type the PostgreSQL type name
+   * @param codec the codec
+   * @throws SQLException if the type can't be looked up
+   * @see PGBinaryCodec
+   */
+  default void addBinaryCodec(String type, PGBinaryCodec<?> codec) throws SQLException {
+    throw Driver.notImplemented(getClass(), "addBinaryCodec(String, PGBinaryCodec)");
+  }
+
   /**
    * Set the default statement reuse threshold before enabling server-side prepare. See
    * {@link org.postgresql.PGStatement#setPrepareThreshold(int)} for details.
@@ -384,6 +410,53 @@ default void alterUserPassword(String user, char[] newPassword, @Nullable String
    */
   @Nullable String getParameterStatus(String parameterName);
 
+  /**
+   * Cheaper variant of {@link java.sql.Connection#isValid(int)} for connection pools that validate
+   * connections on checkout. The connection is first checked without a round trip to the server:
+   * it must not be closed, and the messages the server sent on its own since the last query are
+   * processed, so a session the server terminated is detected. The server is only pinged like
+   * {@link java.sql.Connection#isValid(int)} does when it has not answered a query for longer than
+   * {@code pingIdleMillis}.
+   *
+   * <p>Pending messages of TLS connections are not always detected without a read, so a small
+   * {@code pingIdleMillis} is safer for them.</p>
+   *
+   * <p>The default implementation ignores {@code pingIdleMillis} and calls
+   * {@link java.sql.Connection#isValid(int)}.</p>
+   *
+   * @param timeout the time in seconds to wait for the ping, 0 for no timeout
+   * @param pingIdleMillis ping the server when the connection was idle for longer than this, in
+   *     milliseconds, 0 to always ping it
+   * @return true if the connection is valid
+   * @throws SQLException if the timeout is negative
+   * @see java.sql.Connection#isValid(int)
+   */
+  default boolean isValid(int timeout, long pingIdleMillis) throws SQLException {
+    return ((Connection) this).isValid(timeout);
+  }
+
+  /**
+   * Resets the session state that was changed since the connection was opened or last reset, as
+   * a connection pool does when a connection is returned. Unlike {@code DISCARD ALL}, the
+   * server-prepared statements of the driver are kept, so they do not have to be parsed again.
+   *
+   * <p>An open transaction is rolled back, then only the commands needed are run, in one round
+   * trip: {@code CLOSE ALL} for holdable cursors, {@code SET SESSION AUTHORIZATION DEFAULT} and
+   * {@code RESET ALL} for settings, {@code UNLISTEN *}, {@code pg_advisory_unlock_all()} and
+   * {@code DISCARD TEMP}. The settings the driver applied when it opened the connection, such as
+   * {@code application_name}, are kept. The driver detects the changes from the command tags and
+   * text of the queries, and from the settings the server reports. It does not see temporary
+   * tables, advisory locks or unreported settings that functions create or change, nor statements
+   * prepared with SQL {@code PREPARE}, which are kept.</p>
+   *
+   * <p>The default implementation throws {@link java.sql.SQLFeatureNotSupportedException}.</p>
+   *
+   * @throws SQLException if the connection is closed or the reset fails
+   */
+  default void resetSession() throws SQLException {
+    throw Driver.notImplemented(getClass(), "resetSession()");
+  }
+
   /**
    * Turn on/off adaptive fetch for connection. Existing statements and resultSets won't be affected
    * by change here.
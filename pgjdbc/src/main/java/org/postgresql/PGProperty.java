@@ -180,11 +180,25 @@ public enum PGProperty {
       false,
       new String[]{"true", "false"}),
 
+  /**
+   * Delay in milliseconds between the start of concurrent connection attempts to the hosts of a
+   * multi-host URL. Each attempt starts this long after the previous one or as soon as the previous
+   * one fails, in the order {@code targetServerType} and {@code loadBalanceHosts} choose, and the
+   * first connection to a server of the requested type is used.
+   *
+   * <p>The default of {@code 0} tries the hosts one after the other.</p>
+   */
+  CONNECT_ATTEMPT_DELAY(
+      "connectAttemptDelay",
+      "0",
+      "Delay in milliseconds between the start of concurrent connection attempts to multiple hosts, 0 tries the hosts sequentially"),
+
   /**
    * Executor used to run the connection attempt that enforces {@code loginTimeout} during
    * connection establishment. Value must be the name of a class implementing {@link java.util.concurrent.Executor}.
    * With a null value, which is the default, the driver runs the connection attempt on a daemon
-   * thread named {@code "PostgreSQL JDBC driver connection thread"}.
+   * thread named {@code "PostgreSQL JDBC driver connection thread"}. The concurrent attempts of
+   * {@link #CONNECT_ATTEMPT_DELAY} run on this executor too.
    *
    * <p>The executor <b>must</b> run the submitted task on a thread other than the caller's and support
    * thread interruption to handle canceled connection attempts.
@@ -402,11 +416,40 @@ public enum PGProperty {
       null,
       "The Kerberos service name to use when authenticating with GSSAPI."),
 
+  /**
+   * When positive, the column values of forward-only, read-only result sets that are larger than
+   * this number of bytes are not buffered: they stay on the connection until the application
+   * reads them, as a stream with {@code getBinaryStream} or {@code getCharacterStream}, or as a
+   * whole with the other getters. The values of such a row must be read in column order, and the
+   * connection can't run other statements until the result set is read to the end or closed, nor
+   * look up the types it has not seen yet, so {@code getObject} fails for a column of such a type,
+   * for instance an enum, while a row with a large value is read. The default of {@code 0} reads
+   * every value into memory.
+   */
+  LARGE_VALUE_STREAMING_THRESHOLD(
+      "largeValueStreamingThreshold",
+      "0",
+      "When positive, the values larger than this number of bytes of forward-only, read-only result sets are read from the connection when the application reads them, for instance with getBinaryStream. The default of 0 reads all values into memory."),
+
   LOAD_BALANCE_HOSTS(
       "loadBalanceHosts",
       "false",
       "If disabled hosts are connected in the given order. If enabled hosts are chosen randomly from the set of suitable candidates"),
 
+  /**
+   * Order in which {@code loadBalanceHosts} tries the suitable hosts. {@code random} shuffles them,
+   * {@code leastLatency} tries the host with the lowest average connect latency first,
+   * {@code powerOfTwoChoices} tries the faster of two random hosts, and {@code weighted} shuffles
+   * them with a weight inversely proportional to the latency. The latencies are divided by the
+   * recent success rate of the connection attempts, so hosts that fail are avoided as well.
+   */
+  LOAD_BALANCE_STRATEGY(
+      "loadBalanceStrategy",
+      "random",
+      "Order in which loadBalanceHosts tries the suitable hosts: random, leastLatency, powerOfTwoChoices or weighted",
+      false,
+      new String[]{"random", "leastLatency", "powerOfTwoChoices", "weighted"}),
+
   /**
    * If this is set then the client side will bind to this address. This is useful if you need
    * to choose which interface to connect to.
@@ -464,6 +507,17 @@ public enum PGProperty {
       "false",
       "When connections that are not explicitly closed are garbage collected, log the stacktrace from the opening of the connection to trace the leak source"),
 
+  /**
+   * Maximum replication lag in milliseconds of a standby used for {@code targetServerType=secondary}
+   * or {@code preferSecondary}. The lag is measured when connecting, and in the background every
+   * {@code hostRecheckSeconds} for multi-host URLs, so lagging standbys are skipped and the least
+   * lagged ones are tried first. The default of {@code 0} does not check the lag.
+   */
+  MAX_REPLICATION_LAG(
+      "maxReplicationLag",
+      "0",
+      "Maximum replication lag in milliseconds of a standby used for targetServerType=secondary or preferSecondary, 0 does not check the lag"),
+
   /**
    * Specifies size of buffer during fetching result set. Can be specified as specified size or
    * percent of heap memory.
@@ -680,6 +734,27 @@ public enum PGProperty {
       "false",
       "Enable optimization to rewrite and collapse compatible INSERT statements that are batched."),
 
+  /**
+   * Specifies how {@link #REWRITE_BATCHED_INSERTS} collapses a batch. In {@code values} mode (the
+   * default) the rows are merged into a multi-values {@code INSERT}, whose text depends on the
+   * number of rows. In {@code unnest} mode the batch is executed as
+   * {@code INSERT ... SELECT ... FROM unnest($1, ...)} with one array parameter per column, so
+   * batches of any size share a single server-prepared statement. Batches that can't be expressed
+   * with arrays, for instance because a parameter type is unspecified, use {@code values} mode.
+   * In {@code copy} mode a plain {@code INSERT INTO t(cols) VALUES (?, ...)} batch is streamed with
+   * {@code COPY t(cols) FROM STDIN} in binary format, which is the fastest way to load rows.
+   * Batches that request generated keys, or whose values can't be sent in binary form or don't
+   * match the column types exactly, use {@code values} mode.
+   */
+  REWRITE_BATCHED_INSERTS_MODE(
+      "reWriteBatchedInsertsMode",
+      "values",
+      "Specifies how reWriteBatchedInserts collapses a batch: values merges rows into a multi-values INSERT, "
+          + "unnest binds one array per column into INSERT ... SELECT ... FROM unnest(...) so batches of any size share one prepared statement, "
+          + "copy streams plain INSERT INTO t(cols) VALUES (?, ...) batches with binary COPY",
+      false,
+      new String[]{"values", "unnest", "copy"}),
+
   /**
    * Maximum number of rows merged into a single multi-values {@code INSERT} when
    * {@link #REWRITE_BATCHED_INSERTS} is enabled. The merge size is rounded down to a power of two
@@ -694,6 +769,16 @@ public enum PGProperty {
       "0",
       "Maximum number of rows merged into a single multi-values INSERT when reWriteBatchedInserts is enabled. Rounded down to a power of two and capped at 32768 rows; with the extended protocol also capped at 65535/parametersPerRow. A value of 0, the default, uses that maximum."),
 
+  /**
+   * Cache the SCRAM ClientKey and ServerKey in memory, so later connections that receive the same
+   * salt and iteration count skip the PBKDF2 derivation. The keys are kept per user, host and
+   * password for the lifetime of the JVM, up to a fixed number of entries.
+   */
+  SCRAM_KEY_CACHE(
+      "scramKeyCache",
+      "false",
+      "Cache the keys derived from the password during SCRAM authentication, so later connections skip the PBKDF2 computation"),
+
   /**
    * Maximum number of PBKDF2 iterations the client will accept from the server during SCRAM
    * authentication. If the server advertises more iterations than this value, authentication
@@ -787,6 +872,18 @@ public enum PGProperty {
       null,
       "Argument forwarded to constructor of SSLSocketFactory class."),
 
+  /**
+   * Share the {@code LibPQFactory}, and thus its {@link javax.net.ssl.SSLContext}, between
+   * connections with the same SSL properties, so key files are read once and TLS sessions can be
+   * resumed. A shared factory is replaced when its key or certificate files change, and when its
+   * key manager fails to load them.
+   */
+  SSL_FACTORY_CACHE(
+      "sslFactoryCache",
+      "false",
+      "Share the SSL context of the default SSL factory between connections with the same SSL "
+          + "properties, which enables TLS session resumption"),
+
   /**
    * Classname of the SSL HostnameVerifier to use (instance of {@link javax.net.ssl.HostnameVerifier}).
    */
@@ -887,6 +984,44 @@ public enum PGProperty {
       "POSTGRES",
       "The Windows SSPI service class for SPN"),
 
+  /**
+   * When positive, {@code Statement.executeBatch} concatenates the SQL strings added with
+   * {@code Statement.addBatch(String)} into simple query protocol messages of up to this many
+   * characters, instead of sending every statement separately. Update counts are still reported per
+   * statement. As with any multi-statement query, the statements of one message run in a single
+   * implicit transaction, so commands that can't run in a transaction block, such as
+   * {@code VACUUM}, fail. The default of {@code 0} sends every statement separately.
+   */
+  STATEMENT_BATCH_MESSAGE_SIZE(
+      "statementBatchMessageSize",
+      "0",
+      "When positive, Statement.executeBatch concatenates the batched SQL strings into simple query messages of up to this many characters. The default of 0 sends every statement separately."),
+
+  /**
+   * When positive, {@code addBatch} executes the pending batch entries as soon as this many have
+   * been added, so a large batch does not hold all of its parameters in memory and the transfer
+   * overlaps with the application producing rows. {@code executeBatch} executes the remaining
+   * entries and returns the update counts of the whole batch. Entries that were already executed
+   * are not undone by {@code clearBatch}. The default of {@code 0} keeps every entry until
+   * {@code executeBatch}. Batches that return generated keys are never streamed.
+   */
+  STREAMING_BATCH_SIZE(
+      "streamingBatchSize",
+      "0",
+      "When positive, addBatch executes the pending batch entries once this many have been added, which bounds the memory used by large batches. The default of 0 sends the whole batch on executeBatch."),
+
+  /**
+   * When positive, result sets return the same {@code String} instance for the repeated values of a
+   * text column, which saves heap when many rows of a low-cardinality column, such as status codes
+   * or country names, are kept in memory. A column stops being deduplicated once it has more than
+   * this many distinct values, and values longer than 256 bytes are never deduplicated. The default
+   * of {@code 0} decodes every value into a new {@code String}.
+   */
+  STRING_DEDUPLICATION_LIMIT(
+      "stringDeduplicationLimit",
+      "0",
+      "When positive, getString returns shared String instances for the repeated values of a column, until the column has more than this many distinct values. The default of 0 disables deduplication."),
+
   /**
    * Bind String to either {@code unspecified} or {@code varchar}. Default is {@code varchar} for
    * 8.0+ backends.
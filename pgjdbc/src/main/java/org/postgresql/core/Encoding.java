@@ -5,6 +5,7 @@
 
 package org.postgresql.core;
 
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.checkerframework.checker.nullness.qual.PolyNull;
 
 import java.io.IOException;
@@ -65,6 +66,7 @@ public class Encoding {
     encodings.put("TCVN", new String[]{"Cp1258"});
     encodings.put("WIN1256", new String[]{"Cp1256"});
     encodings.put("WIN1250", new String[]{"Cp1250"});
+    encodings.put("WIN1252", new String[]{"Cp1252"});
     encodings.put("WIN874", new String[]{"MS874", "Cp874"});
     encodings.put("WIN", new String[]{"Cp1251"});
     encodings.put("ALT", new String[]{"Cp866"});
@@ -84,6 +86,12 @@ public class Encoding {
 
   private final Charset encoding;
   private final boolean fastASCIINumbers;
+  private final boolean utf8;
+  /**
+   * The characters of the bytes {@code 0x80..0xFF} for the single-byte encodings decoded by
+   * {@link TextDecoder}, or null for other encodings.
+   */
+  private final char @Nullable [] highChars;
 
   /**
    * Uses the default charset of the JVM.
@@ -105,6 +113,8 @@ protected Encoding(Charset encoding, boolean fastASCIINumbers) {
     }
     this.encoding = encoding;
     this.fastASCIINumbers = fastASCIINumbers;
+    this.utf8 = StandardCharsets.UTF_8.equals(encoding);
+    this.highChars = getHighChars(encoding);
     if (LOGGER.isLoggable(Level.FINEST)) {
       LOGGER.log(Level.FINEST, "Creating new Encoding {0} with fastASCIINumbers {1}",
           new Object[]{encoding, fastASCIINumbers});
@@ -281,6 +291,13 @@ public String decodeCanonicalized(byte[] encodedString) throws IOException {
    * @throws IOException if something goes wrong
    */
   public String decode(byte[] encodedString, int offset, int length) throws IOException {
+    if (utf8) {
+      return TextDecoder.decodeUtf8(encodedString, offset, length);
+    }
+    char[] highChars = this.highChars;
+    if (highChars != null) {
+      return TextDecoder.decodeSingleByte(encodedString, offset, length, highChars, encoding);
+    }
     return new String(encodedString, offset, length, encoding);
   }
 
@@ -334,6 +351,26 @@ public String toString() {
     return encoding.name();
   }
 
+  /**
+   * Returns the characters of the bytes {@code 0x80..0xFF} for LATIN1 and WIN1252, whose text is
+   * decoded with a lookup in this table.
+   *
+   * @return the characters of the high bytes, or null if the encoding is not decoded with a table
+   */
+  private static char @Nullable [] getHighChars(Charset encoding) {
+    if (!StandardCharsets.ISO_8859_1.equals(encoding)
+        && !"windows-1252".equals(encoding.name())) {
+      return null;
+    }
+    byte[] bytes = new byte[128];
+    for (int i = 0; i < bytes.length; i++) {
+      bytes[i] = (byte) (0x80 + i);
+    }
+    // Both charsets map every byte to exactly one char, unmapped bytes of windows-1252 to U+FFFD
+    char[] chars = new String(bytes, encoding).toCharArray();
+    return chars.length == bytes.length ? chars : null;
+  }
+
   /**
    * Checks whether this encoding is compatible with ASCII for the number characters '-' and
    * '0'..'9'. Where compatible means that they are encoded with exactly same values.
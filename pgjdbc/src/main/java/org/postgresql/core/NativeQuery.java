@@ -22,6 +22,8 @@ public class NativeQuery {
   public final int[] bindPositions;
   public final SqlCommand command;
   public final boolean multiStatement;
+  // QueryExecutor.SESSION_STATE_* flags computed by getSessionStateEffects, -1 until then
+  private int sessionStateEffects = -1;
 
   static {
     for (int i = 1; i < BIND_NAMES.length; i++) {
@@ -41,6 +43,43 @@ public NativeQuery(String nativeSql, int @Nullable [] bindPositions, boolean mul
     this.command = dml;
   }
 
+  /**
+   * Returns the session state the text of this query suggests it may change, beyond what its
+   * command tag tells, as {@code QueryExecutor.SESSION_STATE_*} flags: temporary objects, session
+   * advisory locks and holdable cursors. The text is scanned once per query.
+   *
+   * @return the session state flags the query may change
+   */
+  public int getSessionStateEffects() {
+    int effects = sessionStateEffects;
+    if (effects == -1) {
+      effects = 0;
+      // Matches TEMP, TEMPORARY and pg_temp
+      if (containsIgnoreCase(nativeSql, "temp")) {
+        effects |= QueryExecutor.SESSION_STATE_TEMP;
+      }
+      // Matches pg_advisory_lock, pg_try_advisory_lock and their _shared variants, but not the
+      // transaction-level pg_advisory_xact_lock
+      if (containsIgnoreCase(nativeSql, "advisory_lock")) {
+        effects |= QueryExecutor.SESSION_STATE_ADVISORY_LOCKS;
+      }
+      if (containsIgnoreCase(nativeSql, "hold")) {
+        effects |= QueryExecutor.SESSION_STATE_CURSORS;
+      }
+      sessionStateEffects = effects;
+    }
+    return effects;
+  }
+
+  private static boolean containsIgnoreCase(String sql, String needle) {
+    for (int i = sql.length() - needle.length(); i >= 0; i--) {
+      if (sql.regionMatches(true, i, needle, 0, needle.length())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   /**
    * Returns string representation of the query, substituting particular parameter values for
    * parameter placeholders.
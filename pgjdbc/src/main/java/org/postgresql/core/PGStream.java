@@ -248,6 +248,18 @@ public boolean hasMessagePending() throws IOException {
     return available;
   }
 
+  /**
+   * Check for pending backend messages without blocking and without a read timeout, unlike
+   * {@link #hasMessagePending()}. This relies on {@link InputStream#available()}, which reports the
+   * bytes in the buffer of a plain socket, but not the bytes a TLS socket has yet to decrypt.
+   *
+   * @return true if there is a pending backend message
+   * @throws IOException if something wrong happens
+   */
+  public boolean hasMessageAvailable() throws IOException {
+    return pgInput.available() > 0;
+  }
+
   public void setMinStreamAvailableCheckDelay(int delay) {
     this.minStreamAvailableCheckDelay = delay;
   }
@@ -379,6 +391,16 @@ public void sendInteger4(int val) throws IOException {
     pgOutput.writeInt4(val);
   }
 
+  /**
+   * Sends an 8-byte integer to the back end.
+   *
+   * @param val the integer to be sent
+   * @throws IOException if an I/O error occurs
+   */
+  public void sendInteger8(long val) throws IOException {
+    pgOutput.writeInt8(val);
+  }
+
   /**
    * Sends a 2-byte integer (short) to the back end.
    *
@@ -402,6 +424,18 @@ public void send(byte[] buf) throws IOException {
     pgOutput.write(buf);
   }
 
+  /**
+   * Send the UTF-8 representation of a string to the backend, encoding it straight into the send
+   * buffer.
+   *
+   * @param str the string to send
+   * @throws IOException if an I/O error occurs
+   * @see PgBufferedOutputStream#utf8Length(String)
+   */
+  public void sendUtf8(String str) throws IOException {
+    pgOutput.writeUtf8(str);
+  }
+
   /**
    * Send a fixed-size array of bytes to the backend. If {@code buf.length < siz}, pad with zeros.
    * If {@code buf.length > siz}, truncate the array.
@@ -606,7 +640,18 @@ public String receiveCanonicalStringIfPresent() throws IOException {
    * @throws SQLException if read more bytes than set maxResultBuffer
    */
   public Tuple receiveTupleV3() throws IOException, OutOfMemoryError, SQLException {
-    int messageSize = receiveInteger4(); // MESSAGE SIZE
+    return receiveTupleV3(receiveInteger4()); // MESSAGE SIZE
+  }
+
+  /**
+   * Read a tuple from the back end, when the size of its message was read already.
+   *
+   * @param messageSize the size of the DataRow message
+   * @return tuple from the back end
+   * @throws IOException if a data I/O error occurs
+   * @throws SQLException if read more bytes than set maxResultBuffer
+   */
+  public Tuple receiveTupleV3(int messageSize) throws IOException, OutOfMemoryError, SQLException {
     int nf = receiveInteger2();
     //size = messageSize - 4 bytes of message size - 2 bytes of field count - 4 bytes for each column length
     int dataToReadSize = messageSize - 4 - 2 - 4 * nf;
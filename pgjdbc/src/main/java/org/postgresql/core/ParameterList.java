@@ -71,6 +71,42 @@ public interface ParameterList {
    */
   void setIntParameter(@Positive int index, int value) throws SQLException;
 
+  /**
+   * Binds a short value to a parameter. The type of the parameter is implicitly 'int2'.
+   *
+   * @param index the 1-based parameter index to bind.
+   * @param value the short value to use.
+   * @throws SQLException on error or if <code>index</code> is out of range
+   */
+  void setShortParameter(@Positive int index, short value) throws SQLException;
+
+  /**
+   * Binds a long value to a parameter. The type of the parameter is implicitly 'int8'.
+   *
+   * @param index the 1-based parameter index to bind.
+   * @param value the long value to use.
+   * @throws SQLException on error or if <code>index</code> is out of range
+   */
+  void setLongParameter(@Positive int index, long value) throws SQLException;
+
+  /**
+   * Binds a float value to a parameter. The type of the parameter is implicitly 'float4'.
+   *
+   * @param index the 1-based parameter index to bind.
+   * @param value the float value to use.
+   * @throws SQLException on error or if <code>index</code> is out of range
+   */
+  void setFloatParameter(@Positive int index, float value) throws SQLException;
+
+  /**
+   * Binds a double value to a parameter. The type of the parameter is implicitly 'float8'.
+   *
+   * @param index the 1-based parameter index to bind.
+   * @param value the double value to use.
+   * @throws SQLException on error or if <code>index</code> is out of range
+   */
+  void setDoubleParameter(@Positive int index, double value) throws SQLException;
+
   /**
    * Binds a String value that is an unquoted literal to the server's query parser (for example, a
    * bare integer) to a parameter. Associated with the parameter is a typename for the parameter
@@ -164,6 +200,17 @@ void setBytea(@Positive int index, byte[] data,
    */
   void setBinaryParameter(@Positive int index, byte[] value, int oid) throws SQLException;
 
+  /**
+   * Binds a binary value written by a ByteStreamWriter to a parameter. The bytes must be in the
+   * binary format of the OID. The writer should remain valid until query execution has completed.
+   *
+   * @param index the 1-based parameter index to bind.
+   * @param writer a writer that can write the bytes for the parameter
+   * @param oid the type OID of the parameter.
+   * @throws SQLException on error or if <code>index</code> is out of range
+   */
+  void setBinaryParameter(@Positive int index, ByteStreamWriter writer, int oid) throws SQLException;
+
   /**
    * Binds a SQL NULL value to a parameter. Associated with the parameter is a typename for the
    * parameter that should correspond to an entry in pg_types.
@@ -13,6 +13,7 @@
 import org.postgresql.jdbc.BatchResultHandler;
 import org.postgresql.jdbc.EscapeSyntaxCallMode;
 import org.postgresql.jdbc.PreferQueryMode;
+import org.postgresql.jdbc.ReWriteBatchedInsertsMode;
 import org.postgresql.util.HostSpec;
 
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -130,6 +131,38 @@ public interface QueryExecutor extends TypeTransferModeRegistry {
    */
   int QUERY_READ_ONLY_HINT = 2048;
 
+  /**
+   * Flag for query execution that allows the values larger than
+   * {@link #getLargeValueStreamingThreshold()} to be left on the connection until the result set
+   * reads them, see {@link StreamedTuple}.
+   */
+  int QUERY_STREAM_LARGE_VALUES = 4096;
+
+  /**
+   * Session state flag: settings were changed with SET, undone by {@code RESET ALL}.
+   */
+  int SESSION_STATE_SETTINGS = 1;
+
+  /**
+   * Session state flag: temporary tables or other temporary objects might have been created.
+   */
+  int SESSION_STATE_TEMP = 2;
+
+  /**
+   * Session state flag: session-level advisory locks might have been taken.
+   */
+  int SESSION_STATE_ADVISORY_LOCKS = 4;
+
+  /**
+   * Session state flag: the session listens for notifications.
+   */
+  int SESSION_STATE_LISTEN = 8;
+
+  /**
+   * Session state flag: cursors declared {@code WITH HOLD} might be open.
+   */
+  int SESSION_STATE_CURSORS = 16;
+
   /**
    * Execute a Query, passing results to a provided ResultHandler.
    *
@@ -244,6 +277,47 @@ void execute(Query[] queries, @Nullable ParameterList[] parameterLists,
    */
   int getReWriteBatchedInsertsSize();
 
+  /**
+   * Returns how batches of compatible {@code INSERT} statements are collapsed when
+   * {@link #isReWriteBatchedInsertsEnabled()} is {@code true}.
+   *
+   * @return the configured rewrite mode
+   */
+  ReWriteBatchedInsertsMode getReWriteBatchedInsertsMode();
+
+  /**
+   * Returns the maximum size, in characters, of a simple query message built by concatenating the
+   * statements of a {@code Statement} batch, or {@code 0} when every statement is sent separately.
+   *
+   * @return the configured statement batch message size
+   */
+  int getStatementBatchMessageSize();
+
+  /**
+   * Returns the number of batch entries after which {@code addBatch} executes the pending entries,
+   * or {@code 0} when batches are sent on {@code executeBatch} only.
+   *
+   * @return the configured streaming batch size
+   */
+  int getStreamingBatchSize();
+
+  /**
+   * Returns the number of distinct values of a column up to which result sets return shared
+   * strings for its repeated values, or {@code 0} when strings are not deduplicated.
+   *
+   * @return the configured string deduplication limit
+   */
+  int getStringDeduplicationLimit();
+
+  /**
+   * Returns the size in bytes above which the values of forward-only, read-only result sets are
+   * read from the connection when the application reads them, or {@code 0} when all values are
+   * read into memory.
+   *
+   * @return the configured large value streaming threshold
+   */
+  int getLargeValueStreamingThreshold();
+
   CachedQuery createQuery(String sql, boolean escapeProcessing, boolean isParameterized,
       String @Nullable ... columnNames)
       throws SQLException;
@@ -291,6 +365,94 @@ Object createQueryKey(String sql, boolean escapeProcessing, boolean isParameteri
    */
   void processNotifies(int timeoutMillis) throws SQLException;
 
+  /**
+   * Checks whether the connection is still usable from local state only, without a round trip to
+   * the server. The messages the server already sent on its own are processed: notifications,
+   * notices, parameter status changes, and the error the server sends before it terminates the
+   * session, in which case the connection is aborted.
+   *
+   * <p>Pending messages are detected with {@link java.io.InputStream#available()}, which does not
+   * see the data of TLS connections that is still encrypted, so a terminated session is not always
+   * detected. Callers should still ping connections that were idle for a while.</p>
+   *
+   * @return false if the connection is closed or broken
+   */
+  boolean isAliveLocally();
+
+  /**
+   * Queues a command that changes a session setting, such as {@code SET SESSION CHARACTERISTICS},
+   * so it is sent in front of the next query instead of in a round trip of its own. A command
+   * queued with the same key replaces the one that was not sent yet. An error of the command is
+   * reported to the next query.
+   *
+   * @param key what the command sets
+   * @param sql the command
+   */
+  void deferSessionCommand(String key, String sql);
+
+  /**
+   * Returns a counter that changes whenever a query may have changed session settings: when a
+   * {@code SET}, {@code RESET}, {@code DISCARD}, {@code BEGIN} or {@code START TRANSACTION}
+   * command completes, when a transaction that ran one of them ends or rolls back to a savepoint,
+   * and when a command queued with {@link #deferSessionCommand(String, String)} fails. Callers can
+   * cache a session setting as long as the counter does not change. Settings changed by functions,
+   * such as {@code set_config}, are not detected.
+   *
+   * @return the session state counter
+   */
+  int getSessionStateEpoch();
+
+  /**
+   * Returns a counter that changes whenever the server-side prepared statements are invalidated:
+   * on {@code DEALLOCATE ALL} or {@code DISCARD ALL}, on DDL when
+   * {@link org.postgresql.PGProperty#FLUSH_CACHE_ON_DDL} is set, when {@code search_path} changes,
+   * and on errors that require statements to be prepared again. Callers can cache what they know
+   * about the tables of a statement as long as the counter does not change.
+   *
+   * @return the statement invalidation counter
+   */
+  int getDeallocateEpoch();
+
+  /**
+   * Returns the session state that queries changed since the connection was opened or
+   * {@link #clearDirtySessionState()} was called, as {@code SESSION_STATE_*} flags. Changes are
+   * detected from the command tags and the text of the queries, and from the parameter status
+   * changes reported by the server; changes made inside functions are only seen through the
+   * latter.
+   *
+   * @return the session state flags
+   */
+  int getDirtySessionState();
+
+  /**
+   * Marks the session state as clean, after it was reset.
+   */
+  void clearDirtySessionState();
+
+  /**
+   * Records the commands that set up the session when the connection was opened, such as
+   * {@code SET application_name} for a server that did not accept it in the startup packet, so
+   * they can be run again after {@code RESET ALL}.
+   *
+   * @param sql the commands, separated by semicolons
+   */
+  void setSessionSetupCommands(String sql);
+
+  /**
+   * Returns the commands recorded by {@link #setSessionSetupCommands(String)}.
+   *
+   * @return the commands, or an empty string if the session needed none
+   */
+  String getSessionSetupCommands();
+
+  /**
+   * Returns the {@link System#nanoTime()} at which the server last reported it was ready for a
+   * query, which tells how long ago the connection was last known to be working.
+   *
+   * @return the time of the last ReadyForQuery message
+   */
+  long getLastReadyForQueryNanos();
+
   //
   // Fastpath interface.
   //
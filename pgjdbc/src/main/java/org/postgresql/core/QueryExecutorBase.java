@@ -10,6 +10,7 @@
 import org.postgresql.jdbc.AutoSave;
 import org.postgresql.jdbc.EscapeSyntaxCallMode;
 import org.postgresql.jdbc.PreferQueryMode;
+import org.postgresql.jdbc.ReWriteBatchedInsertsMode;
 import org.postgresql.jdbc.ResourceLock;
 import org.postgresql.util.HostSpec;
 import org.postgresql.util.LruCache;
@@ -51,6 +52,11 @@ public abstract class QueryExecutorBase implements QueryExecutor {
   private volatile TransactionState transactionState = TransactionState.IDLE;
   private final boolean reWriteBatchedInserts;
   private final int reWriteBatchedInsertsSize;
+  private final ReWriteBatchedInsertsMode reWriteBatchedInsertsMode;
+  private final int statementBatchMessageSize;
+  private final int streamingBatchSize;
+  private final int stringDeduplicationLimit;
+  private final int largeValueStreamingThreshold;
   private final boolean columnSanitiserDisabled;
   private final EscapeSyntaxCallMode escapeSyntaxCallMode;
   private final boolean quoteReturningIdentifiers;
@@ -85,6 +91,15 @@ protected QueryExecutorBase(PGStream pgStream, int cancelSignalTimeout, Properti
     this.cancelSignalTimeout = cancelSignalTimeout;
     this.reWriteBatchedInserts = PGProperty.REWRITE_BATCHED_INSERTS.getBoolean(info);
     this.reWriteBatchedInsertsSize = Math.max(0, PGProperty.REWRITE_BATCHED_INSERTS_SIZE.getInt(info));
+    this.reWriteBatchedInsertsMode = ReWriteBatchedInsertsMode.of(
+        PGProperty.REWRITE_BATCHED_INSERTS_MODE.getOrDefault(info));
+    this.statementBatchMessageSize =
+        Math.max(0, PGProperty.STATEMENT_BATCH_MESSAGE_SIZE.getInt(info));
+    this.streamingBatchSize = Math.max(0, PGProperty.STREAMING_BATCH_SIZE.getInt(info));
+    this.stringDeduplicationLimit =
+        Math.max(0, PGProperty.STRING_DEDUPLICATION_LIMIT.getInt(info));
+    this.largeValueStreamingThreshold =
+        Math.max(0, PGProperty.LARGE_VALUE_STREAMING_THRESHOLD.getInt(info));
     this.columnSanitiserDisabled = PGProperty.DISABLE_COLUMN_SANITISER.getBoolean(info);
     String callMode = PGProperty.ESCAPE_SYNTAX_CALL_MODE.getOrDefault(info);
     this.escapeSyntaxCallMode = EscapeSyntaxCallMode.of(callMode);
@@ -332,6 +347,31 @@ public int getReWriteBatchedInsertsSize() {
     return this.reWriteBatchedInsertsSize;
   }
 
+  @Override
+  public ReWriteBatchedInsertsMode getReWriteBatchedInsertsMode() {
+    return this.reWriteBatchedInsertsMode;
+  }
+
+  @Override
+  public int getStatementBatchMessageSize() {
+    return this.statementBatchMessageSize;
+  }
+
+  @Override
+  public int getStreamingBatchSize() {
+    return this.streamingBatchSize;
+  }
+
+  @Override
+  public int getStringDeduplicationLimit() {
+    return this.stringDeduplicationLimit;
+  }
+
+  @Override
+  public int getLargeValueStreamingThreshold() {
+    return this.largeValueStreamingThreshold;
+  }
+
   @Override
   public final CachedQuery borrowQuery(String sql) throws SQLException {
     return statementCache.borrow(sql);
@@ -7,6 +7,7 @@
 
 import org.postgresql.PGProperty;
 import org.postgresql.ssl.LibPQFactory;
+import org.postgresql.ssl.LibPQFactoryCache;
 import org.postgresql.util.GT;
 import org.postgresql.util.ObjectFactory;
 import org.postgresql.util.PSQLException;
@@ -58,6 +59,9 @@ public static SSLSocketFactory getSslSocketFactory(Properties info) throws PSQLE
     if (classname == null
         || "org.postgresql.ssl.jdbc4.LibPQFactory".equals(classname)
         || "org.postgresql.ssl.LibPQFactory".equals(classname)) {
+      if (PGProperty.SSL_FACTORY_CACHE.getBoolean(info)) {
+        return LibPQFactoryCache.get(info);
+      }
       return new LibPQFactory(info);
     }
     try {
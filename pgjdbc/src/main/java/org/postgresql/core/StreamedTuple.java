@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.postgresql.core;
+
+import org.checkerframework.checker.index.qual.NonNegative;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.InputStream;
+import java.sql.SQLException;
+
+/**
+ * A row whose values larger than {@link QueryExecutor#getLargeValueStreamingThreshold()} are left on
+ * the connection until they are read, see
+ * {@link org.postgresql.PGProperty#LARGE_VALUE_STREAMING_THRESHOLD}.
+ *
+ * <p>The values are read in column order, like a stream: reading a column skips the large values of
+ * the previous columns that were not read, and a large value can be read once, either as a stream
+ * or as a whole. The other values are kept in memory and can be read any number of times.</p>
+ *
+ * <p>The row is the last row of the rows handed to the result set, and it is also the cursor of the
+ * result set: fetching from it skips the rest of the row and reads the following rows, and closing
+ * it discards the rest of the results. The connection can't be used for anything else
+ * meanwhile.</p>
+ */
+public abstract class StreamedTuple extends Tuple implements ResultCursor {
+  /**
+   * Creates a row.
+   *
+   * @param data the values of the row, filled in as they are read from the connection
+   */
+  protected StreamedTuple(byte[] @Nullable [] data) {
+    super(data);
+  }
+
+  /**
+   * Returns the value of a column, reading it from the connection if needed.
+   *
+   * @param index 0-based column index
+   * @return the value, or {@code null} for SQL NULL
+   * @throws SQLException if the value was skipped or streamed already, or it can't be read
+   */
+  public abstract byte @Nullable [] receive(@NonNegative int index) throws SQLException;
+
+  /**
+   * Returns a stream that reads the value of a column from the connection, if it is larger than the
+   * threshold. The stream is valid until another column with a large value is read, or the result
+   * set moves to another row.
+   *
+   * @param index 0-based column index
+   * @return the stream, or {@code null} if the value is not larger than the threshold, in which case
+   *     {@link #receive(int)} returns it
+   * @throws SQLException if the value was skipped or read already, or it can't be read
+   */
+  public abstract @Nullable InputStream receiveStream(@NonNegative int index) throws SQLException;
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.postgresql.core;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Decodes the text of UTF-8 and single-byte encodings to strings.
+ *
+ * <p>This is the Java 8 implementation. {@code new String(bytes, charset)} creates a new
+ * {@link java.nio.charset.CharsetDecoder} for every call on Java 8, which dominates the decoding
+ * of short column values, so the common cases are decoded here: runs of ASCII bytes are detected
+ * eight bytes at a time and copied without further checks, and one, two and three byte UTF-8
+ * sequences are decoded inline. Four byte sequences and malformed input are left to the JDK, so
+ * surrogate pairs and replacement characters are the same as with {@code new String}.</p>
+ *
+ * <p>The Java 11+ implementation, used via the multi-release JAR mechanism, delegates to the JDK,
+ * whose compact strings and intrinsic ASCII checks are faster than this code.</p>
+ */
+final class TextDecoder {
+  private static final int BLOCK = 8;
+
+  private TextDecoder() {
+  }
+
+  /**
+   * Decodes UTF-8 bytes.
+   *
+   * @param bytes the array holding the text
+   * @param offset the offset of the text in the array
+   * @param length the length of the text in bytes
+   * @return the decoded string
+   */
+  static String decodeUtf8(byte[] bytes, int offset, int length) {
+    char[] chars = new char[length];
+    int end = offset + length;
+    int blockEnd = end - BLOCK;
+    int i = offset;
+    int n = 0;
+    while (i < end) {
+      if (i <= blockEnd && isAsciiBlock(bytes, i)) {
+        for (int j = 0; j < BLOCK; j++) {
+          chars[n++] = (char) bytes[i++];
+        }
+        continue;
+      }
+      int b0 = bytes[i];
+      if (b0 >= 0) {
+        chars[n++] = (char) b0;
+        i++;
+        continue;
+      }
+      b0 &= 0xFF;
+      if (b0 >= 0xC2 && b0 <= 0xDF && i + 1 < end) {
+        int b1 = bytes[i + 1];
+        if (isContinuation(b1)) {
+          chars[n++] = (char) (((b0 & 0x1F) << 6) | (b1 & 0x3F));
+          i += 2;
+          continue;
+        }
+      } else if (b0 >= 0xE0 && b0 <= 0xEF && i + 2 < end) {
+        int b1 = bytes[i + 1];
+        int b2 = bytes[i + 2];
+        // 0xE0 requires 0xA0..0xBF to reject overlong forms, 0xED requires 0x80..0x9F to reject
+        // surrogates
+        if (isContinuation(b1) && isContinuation(b2)
+            && (b0 != 0xE0 || (b1 & 0xFF) >= 0xA0)
+            && (b0 != 0xED || (b1 & 0xFF) <= 0x9F)) {
+          chars[n++] = (char) (((b0 & 0x0F) << 12) | ((b1 & 0x3F) << 6) | (b2 & 0x3F));
+          i += 3;
+          continue;
+        }
+      }
+      return new String(bytes, offset, length, StandardCharsets.UTF_8);
+    }
+    return new String(chars, 0, n);
+  }
+
+  /**
+   * Decodes the bytes of a single-byte encoding that matches ASCII for the bytes below
+   * {@code 0x80}.
+   *
+   * @param bytes the array holding the text
+   * @param offset the offset of the text in the array
+   * @param length the length of the text in bytes
+   * @param highChars the characters of the bytes {@code 0x80..0xFF}
+   * @param charset the charset of the text
+   * @return the decoded string
+   */
+  static String decodeSingleByte(byte[] bytes, int offset, int length, char[] highChars,
+      Charset charset) {
+    char[] chars = new char[length];
+    for (int i = 0; i < length; i++) {
+      int b = bytes[offset + i];
+      chars[i] = b >= 0 ? (char) b : highChars[b & 0x7F];
+    }
+    return new String(chars);
+  }
+
+  private static boolean isAsciiBlock(byte[] bytes, int offset) {
+    // The sign bits of the eight bytes end up in the sign bit of the result
+    return (bytes[offset] | bytes[offset + 1] | bytes[offset + 2] | bytes[offset + 3]
+        | bytes[offset + 4] | bytes[offset + 5] | bytes[offset + 6] | bytes[offset + 7]) >= 0;
+  }
+
+  private static boolean isContinuation(int b) {
+    return (b & 0xC0) == 0x80;
+  }
+}
@@ -5,6 +5,7 @@
 
 package org.postgresql.core;
 
+import org.postgresql.util.PGBinaryCodec;
 import org.postgresql.util.PGobject;
 
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -91,6 +92,31 @@ void addCoreType(String pgTypeName, Integer oid, Integer sqlType, String javaCla
 
   @Nullable Class<? extends PGobject> getPGobject(String type);
 
+  /**
+   * Registers the binary codec of a type.
+   *
+   * @param type the server type name
+   * @param codec the codec
+   */
+  void addBinaryCodec(String type, PGBinaryCodec<?> codec);
+
+  /**
+   * Look up the binary codec registered for a type.
+   *
+   * @param type the server type name
+   * @return the codec, or null if none is registered
+   */
+  @Nullable PGBinaryCodec<?> getBinaryCodec(String type);
+
+  /**
+   * Look up the type whose binary codec handles values of the class of a value, for values whose
+   * type can't otherwise be inferred.
+   *
+   * @param value the value
+   * @return the server type name, or null if no codec handles the value
+   */
+  @Nullable String getBinaryCodecType(Object value);
+
   String getJavaClass(int oid) throws SQLException;
 
   @Nullable String getTypeForAlias(String alias);
@@ -35,6 +35,10 @@ public class BatchedQuery extends SimpleQuery {
   private final int valuesBraceClosePosition;
   private final int batchSize;
   private BatchedQuery @Nullable [] blocks;
+  private @Nullable UnnestBatchedQuery unnest;
+  private boolean unnestDerived;
+  private @Nullable CopyBatchedInsert copy;
+  private boolean copyDerived;
 
   public BatchedQuery(NativeQuery query, TypeTransferModeRegistry transferModeRegistry,
       int valuesBraceOpenPosition,
@@ -76,6 +80,40 @@ public BatchedQuery deriveForMultiBatch(int valueBlock) {
     return bq;
   }
 
+  /**
+   * Returns the {@code INSERT ... SELECT ... FROM unnest(...)} form of this query. Unlike
+   * {@link #deriveForMultiBatch(int)} the statement text does not depend on the number of rows.
+   *
+   * @return unnest form of this query or {@code null} if the query can't be rewritten that way
+   */
+  public @Nullable UnnestBatchedQuery deriveForUnnest() {
+    if (getBatchSize() != 1) {
+      throw new IllegalStateException("Only the original decorator can be derived.");
+    }
+    if (!unnestDerived) {
+      unnest = UnnestBatchedQuery.derive(this, valuesBraceOpenPosition, valuesBraceClosePosition);
+      unnestDerived = true;
+    }
+    return unnest;
+  }
+
+  /**
+   * Returns the {@code COPY ... FROM STDIN} form of this query.
+   *
+   * @return copy form of this query or {@code null} if it is not a plain
+   *     {@code INSERT INTO table(columns) VALUES (?, ...)}
+   */
+  public @Nullable CopyBatchedInsert deriveForCopy() {
+    if (getBatchSize() != 1) {
+      throw new IllegalStateException("Only the original decorator can be derived.");
+    }
+    if (!copyDerived) {
+      copy = CopyBatchedInsert.derive(this, valuesBraceOpenPosition, valuesBraceClosePosition);
+      copyDerived = true;
+    }
+    return copy;
+  }
+
   @Override
   public int getBatchSize() {
     return batchSize;
@@ -88,6 +88,30 @@ public void setIntParameter(@Positive int index, int value) throws SQLException
     subparams[sub].setIntParameter(index - offsets[sub], value);
   }
 
+  @Override
+  public void setShortParameter(@Positive int index, short value) throws SQLException {
+    int sub = findSubParam(index);
+    subparams[sub].setShortParameter(index - offsets[sub], value);
+  }
+
+  @Override
+  public void setLongParameter(@Positive int index, long value) throws SQLException {
+    int sub = findSubParam(index);
+    subparams[sub].setLongParameter(index - offsets[sub], value);
+  }
+
+  @Override
+  public void setFloatParameter(@Positive int index, float value) throws SQLException {
+    int sub = findSubParam(index);
+    subparams[sub].setFloatParameter(index - offsets[sub], value);
+  }
+
+  @Override
+  public void setDoubleParameter(@Positive int index, double value) throws SQLException {
+    int sub = findSubParam(index);
+    subparams[sub].setDoubleParameter(index - offsets[sub], value);
+  }
+
   @Override
   public void setLiteralParameter(@Positive int index, String value, int oid) throws SQLException {
     int sub = findSubParam(index);
@@ -106,6 +130,12 @@ public void setBinaryParameter(@Positive int index, byte[] value, int oid) throw
     subparams[sub].setBinaryParameter(index - offsets[sub], value, oid);
   }
 
+  @Override
+  public void setBinaryParameter(@Positive int index, ByteStreamWriter writer, int oid) throws SQLException {
+    int sub = findSubParam(index);
+    subparams[sub].setBinaryParameter(index - offsets[sub], writer, oid);
+  }
+
   @Override
   public void setBytea(@Positive int index, byte[] data, int offset, @NonNegative int length) throws SQLException {
     int sub = findSubParam(index);
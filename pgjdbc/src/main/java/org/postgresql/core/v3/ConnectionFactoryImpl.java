@@ -42,12 +42,16 @@
 import org.postgresql.util.PSQLException;
 import org.postgresql.util.PSQLState;
 import org.postgresql.util.ServerErrorMessage;
+import org.postgresql.util.internal.ConnectExecutors;
 import org.postgresql.util.internal.Nullness;
 
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.io.IOException;
 import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.SocketException;
 import java.net.SocketTimeoutException;
 import java.nio.charset.StandardCharsets;
 import java.sql.SQLException;
@@ -56,10 +60,15 @@
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
 import java.util.TimeZone;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.LogRecord;
@@ -315,6 +324,41 @@ private PGStream tryConnect(Properties info, SocketFactory socketFactory, HostSp
     }
   }
 
+  /**
+   * Connects with {@link #tryConnect}, and retries with or without SSL as {@code sslmode=prefer}
+   * and {@code sslmode=allow} require.
+   */
+  private PGStream tryConnectWithFallback(Properties info, SocketFactory socketFactory,
+      HostSpec hostSpec, SslMode sslMode, GSSEncMode gssEncMode, int connectTimeoutMs,
+      long startNanos) throws SQLException, IOException {
+    try {
+      return tryConnect(info, socketFactory, hostSpec, sslMode, gssEncMode, connectTimeoutMs, startNanos);
+    } catch (SQLException e) {
+      if (sslMode == SslMode.PREFER
+          && PSQLState.INVALID_AUTHORIZATION_SPECIFICATION.getState().equals(e.getSQLState())) {
+        return tryConnectWithoutSsl(info, socketFactory, hostSpec, gssEncMode, connectTimeoutMs, startNanos, e);
+      } else if (sslMode == SslMode.ALLOW
+          && PSQLState.INVALID_AUTHORIZATION_SPECIFICATION.getState().equals(e.getSQLState())) {
+        return tryConnectWithSsl(info, socketFactory, hostSpec, gssEncMode, connectTimeoutMs, startNanos, e);
+      } else {
+        throw e;
+      }
+    } catch (IOException e) {
+      if (sslMode == SslMode.PREFER && e instanceof SocketTimeoutException) {
+        // SSL negotiation timed out (server didn't respond to SSLRequest).
+        // Since sslMode is PREFER, fall back to a non-encrypted connection.
+        return tryConnectWithoutSsl(info, socketFactory, hostSpec, gssEncMode, connectTimeoutMs, startNanos, e);
+      } else if (sslMode == SslMode.ALLOW) {
+        // Plaintext connection failed (e.g. server reset the connection
+        // instead of sending a FATAL auth error). Since sslMode is ALLOW,
+        // try upgrading to SSL.
+        return tryConnectWithSsl(info, socketFactory, hostSpec, gssEncMode, connectTimeoutMs, startNanos, e);
+      } else {
+        throw e;
+      }
+    }
+  }
+
   @Override
   public QueryExecutor openConnectionImpl(HostSpec[] hostSpecs, Properties info) throws SQLException {
     SslMode sslMode = SslMode.of(info);
@@ -335,9 +379,39 @@ public QueryExecutor openConnectionImpl(HostSpec[] hostSpecs, Properties info) t
 
     SocketFactory socketFactory = SocketFactoryFactory.getSocketFactory(info);
 
+    // Only standbys chosen as secondary are checked, preferSecondary falls back to any server
+    int maxReplicationLag = 0;
+    if (targetServerType == HostRequirement.secondary
+        || targetServerType == HostRequirement.preferSecondary) {
+      maxReplicationLag = PGProperty.MAX_REPLICATION_LAG.getInt(info);
+    }
+    if (maxReplicationLag > 0 && hostSpecs.length > 1) {
+      long hostRecheckMillis = PGProperty.HOST_RECHECK_SECONDS.getInt(info) * 1000L;
+      if (hostRecheckMillis > 0) {
+        for (HostSpec hostSpec : hostSpecs) {
+          ReplicationLagProber.register(hostSpec, info, hostRecheckMillis);
+        }
+      }
+    }
+
     HostChooser hostChooser =
         HostChooserFactory.createHostChooser(hostSpecs, targetServerType, info);
     Iterator<CandidateHost> hostIter = hostChooser.iterator();
+
+    int connectAttemptDelay = PGProperty.CONNECT_ATTEMPT_DELAY.getInt(info);
+    if (connectAttemptDelay > 0 && hostSpecs.length > 1) {
+      Set<HostSpec> hosts = new LinkedHashSet<>();
+      while (hostIter.hasNext()) {
+        hosts.add(hostIter.next().hostSpec);
+      }
+      if (hosts.size() > 1) {
+        Executor executor = ConnectExecutors.resolve(info, CONNECT_ATTEMPT_EXECUTOR);
+        return new ConnectRace(info, socketFactory, executor, sslMode, gssEncMode,
+            targetServerType, maxReplicationLag, connectTimeoutMs, startNanos)
+            .run(new ArrayList<>(hosts), connectAttemptDelay);
+      }
+      hostIter = hostChooser.iterator();
+    }
     Map<HostSpec, HostStatus> knownStates = new HashMap<>();
     while (hostIter.hasNext()) {
       CandidateHost candidateHost = hostIter.next();
@@ -363,32 +437,9 @@ public QueryExecutor openConnectionImpl(HostSpec[] hostSpecs, Properties info) t
 
       PGStream newStream = null;
       try {
-        try {
-          newStream = tryConnect(info, socketFactory, hostSpec, sslMode, gssEncMode, connectTimeoutMs, startNanos);
-        } catch (SQLException e) {
-          if (sslMode == SslMode.PREFER
-              && PSQLState.INVALID_AUTHORIZATION_SPECIFICATION.getState().equals(e.getSQLState())) {
-            newStream = tryConnectWithoutSsl(info, socketFactory, hostSpec, gssEncMode, connectTimeoutMs, startNanos, e);
-          } else if (sslMode == SslMode.ALLOW
-              && PSQLState.INVALID_AUTHORIZATION_SPECIFICATION.getState().equals(e.getSQLState())) {
-            newStream = tryConnectWithSsl(info, socketFactory, hostSpec, gssEncMode, connectTimeoutMs, startNanos, e);
-          } else {
-            throw e;
-          }
-        } catch (IOException e) {
-          if (sslMode == SslMode.PREFER && e instanceof SocketTimeoutException) {
-            // SSL negotiation timed out (server didn't respond to SSLRequest).
-            // Since sslMode is PREFER, fall back to a non-encrypted connection.
-            newStream = tryConnectWithoutSsl(info, socketFactory, hostSpec, gssEncMode, connectTimeoutMs, startNanos, e);
-          } else if (sslMode == SslMode.ALLOW) {
-            // Plaintext connection failed (e.g. server reset the connection
-            // instead of sending a FATAL auth error). Since sslMode is ALLOW,
-            // try upgrading to SSL.
-            newStream = tryConnectWithSsl(info, socketFactory, hostSpec, gssEncMode, connectTimeoutMs, startNanos, e);
-          } else {
-            throw e;
-          }
-        }
+        long attemptStartNanos = System.nanoTime();
+        newStream = tryConnectWithFallback(info, socketFactory, hostSpec, sslMode, gssEncMode,
+            connectTimeoutMs, startNanos);
 
         int cancelSignalTimeout = PGProperty.CANCEL_SIGNAL_TIMEOUT.getInt(info) * 1000;
 
@@ -396,6 +447,7 @@ public QueryExecutor openConnectionImpl(HostSpec[] hostSpecs, Properties info) t
         castNonNull(newStream);
         // Do final startup.
         QueryExecutor queryExecutor = new QueryExecutorImpl(newStream, cancelSignalTimeout, info);
+        GlobalHostStatusTracker.reportConnectLatency(hostSpec, System.nanoTime() - attemptStartNanos);
 
         // Check Primary or Secondary
         HostStatus hostStatus = HostStatus.ConnectOK;
@@ -408,6 +460,11 @@ public QueryExecutor openConnectionImpl(HostSpec[] hostSpecs, Properties info) t
           queryExecutor.close();
           continue;
         }
+        if (maxReplicationLag > 0 && candidateHost.targetServerType == HostRequirement.secondary
+            && !isReplicationLagAcceptable(queryExecutor, hostSpec, maxReplicationLag)) {
+          queryExecutor.close();
+          continue;
+        }
 
         runInitialQueries(queryExecutor, info);
 
@@ -455,6 +512,330 @@ public QueryExecutor openConnectionImpl(HostSpec[] hostSpecs, Properties info) t
         PSQLState.CONNECTION_UNABLE_TO_CONNECT);
   }
 
+  private static final Executor CONNECT_ATTEMPT_EXECUTOR =
+      ConnectExecutors.daemonThreads("PostgreSQL JDBC driver connection attempt");
+
+  /**
+   * Result of a connection attempt of {@link ConnectRace}.
+   */
+  private static final class ConnectAttempt {
+    final HostSpec hostSpec;
+    @Nullable QueryExecutor queryExecutor;
+    @Nullable HostStatus hostStatus;
+    // A standby whose replication lag exceeds maxReplicationLag
+    boolean lagging;
+    @Nullable Exception exception;
+    // Guarded by ConnectRace.results, the sockets opened by the attempt so far
+    final List<Socket> sockets = new ArrayList<>();
+
+    ConnectAttempt(HostSpec hostSpec) {
+      this.hostSpec = hostSpec;
+    }
+  }
+
+  /**
+   * Connects to several hosts concurrently, as "Happy Eyeballs" (RFC 8305) does for addresses: the
+   * attempts are started one after the other, each {@code connectAttemptDelay} milliseconds after
+   * the previous one, or as soon as the previous one fails. The first connection to a server of
+   * the requested type wins. The sockets of the attempts that are still in progress are closed
+   * then, so they fail right away, and the connections that complete later are closed too.
+   *
+   * <p>The attempts run on the {@code connectExecutor}, or on daemon threads when none is
+   * configured.</p>
+   */
+  private final class ConnectRace {
+    private final Properties info;
+    private final SocketFactory socketFactory;
+    private final Executor executor;
+    private final SslMode sslMode;
+    private final GSSEncMode gssEncMode;
+    private final HostRequirement targetServerType;
+    private final int maxReplicationLag;
+    private final int connectTimeoutMs;
+    private final long startNanos;
+    private final BlockingQueue<ConnectAttempt> results = new LinkedBlockingQueue<>();
+    // Guarded by results, the attempts that are not complete yet
+    private final List<ConnectAttempt> inProgress = new ArrayList<>();
+    // Guarded by results, attempts that complete after this is set close their connection
+    private boolean done;
+
+    ConnectRace(Properties info, SocketFactory socketFactory, Executor executor,
+        SslMode sslMode, GSSEncMode gssEncMode, HostRequirement targetServerType,
+        int maxReplicationLag, int connectTimeoutMs, long startNanos) {
+      this.info = info;
+      this.socketFactory = socketFactory;
+      this.executor = executor;
+      this.sslMode = sslMode;
+      this.gssEncMode = gssEncMode;
+      this.targetServerType = targetServerType;
+      this.maxReplicationLag = maxReplicationLag;
+      this.connectTimeoutMs = connectTimeoutMs;
+      this.startNanos = startNanos;
+    }
+
+    QueryExecutor run(List<HostSpec> hosts, int connectAttemptDelay) throws SQLException {
+      // preferPrimary and preferSecondary accept any server, but only once no preferred one is found
+      HostRequirement required;
+      boolean preferred;
+      switch (targetServerType) {
+        case preferPrimary:
+          required = HostRequirement.primary;
+          preferred = true;
+          break;
+        case preferSecondary:
+          required = HostRequirement.secondary;
+          preferred = true;
+          break;
+        default:
+          required = targetServerType;
+          preferred = false;
+      }
+
+      ConnectAttempt winner = null;
+      ConnectAttempt fallback = null;
+      ConnectAttempt lastFailure = null;
+      boolean connected = false;
+      int started = 0;
+      int finished = 0;
+      long delayNanos = TimeUnit.MILLISECONDS.toNanos(connectAttemptDelay);
+      long nextStartNanos = System.nanoTime();
+      try {
+        while (finished < hosts.size()) {
+          ConnectAttempt attempt;
+          if (started < hosts.size()) {
+            attempt = results.poll(nextStartNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+            if (attempt == null) {
+              start(hosts.get(started++));
+              nextStartNanos = System.nanoTime() + delayNanos;
+              continue;
+            }
+          } else {
+            attempt = results.take();
+          }
+          finished++;
+          QueryExecutor queryExecutor = attempt.queryExecutor;
+          connected |= queryExecutor != null;
+          if (queryExecutor == null) {
+            log(Level.FINE, "Connection attempt to {0} failed", attempt.exception,
+                attempt.hostSpec);
+            lastFailure = attempt;
+            // Start the next attempt right away
+            nextStartNanos = System.nanoTime();
+          } else if (required.allowConnectingTo(attempt.hostStatus) && !attempt.lagging) {
+            winner = attempt;
+            break;
+          } else if (preferred && fallback == null) {
+            fallback = attempt;
+          } else {
+            queryExecutor.close();
+            nextStartNanos = System.nanoTime();
+          }
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new PSQLException(GT.tr("Interrupted while attempting to connect."),
+            PSQLState.CONNECTION_UNABLE_TO_CONNECT, e);
+      } finally {
+        List<ConnectAttempt> unused = new ArrayList<>();
+        List<Socket> abandoned = new ArrayList<>();
+        synchronized (results) {
+          done = true;
+          results.drainTo(unused);
+          for (ConnectAttempt attempt : inProgress) {
+            abandoned.addAll(attempt.sockets);
+          }
+        }
+        // Make the attempts that are still in progress fail right away
+        for (Socket socket : abandoned) {
+          try {
+            socket.close();
+          } catch (IOException e) {
+            LOGGER.log(Level.FINEST, "Failed to close an abandoned connection attempt", e);
+          }
+        }
+        if (winner != null && fallback != null) {
+          unused.add(fallback);
+        }
+        for (ConnectAttempt attempt : unused) {
+          QueryExecutor queryExecutor = attempt.queryExecutor;
+          if (queryExecutor != null) {
+            queryExecutor.close();
+          }
+        }
+      }
+
+      if (winner == null) {
+        winner = fallback;
+      }
+      if (winner != null) {
+        QueryExecutor queryExecutor = castNonNull(winner.queryExecutor);
+        LOGGER.log(Level.FINE, "Connection race won by {0}", winner.hostSpec);
+        try {
+          runInitialQueries(queryExecutor, info);
+        } catch (SQLException e) {
+          queryExecutor.close();
+          throw e;
+        }
+        return queryExecutor;
+      }
+      if (lastFailure != null && !connected) {
+        throw asConnectionError(lastFailure);
+      }
+      throw new PSQLException(GT
+          .tr("Could not find a server with specified targetServerType: {0}", targetServerType),
+          PSQLState.CONNECTION_UNABLE_TO_CONNECT);
+    }
+
+    private void start(HostSpec hostSpec) {
+      LOGGER.log(Level.FINE, "Trying to establish a protocol version 3 connection to {0}", hostSpec);
+      ConnectAttempt attempt = new ConnectAttempt(hostSpec);
+      synchronized (results) {
+        inProgress.add(attempt);
+      }
+      try {
+        executor.execute(() -> connect(attempt));
+      } catch (RuntimeException e) {
+        attempt.exception = e;
+        complete(attempt);
+      }
+    }
+
+    private void connect(ConnectAttempt attempt) {
+      HostSpec hostSpec = attempt.hostSpec;
+      PGStream newStream = null;
+      QueryExecutor queryExecutor = null;
+      try {
+        long attemptStartNanos = System.nanoTime();
+        newStream = tryConnectWithFallback(info, new AttemptSocketFactory(attempt), hostSpec,
+            sslMode, gssEncMode, connectTimeoutMs, startNanos);
+        int cancelSignalTimeout = PGProperty.CANCEL_SIGNAL_TIMEOUT.getInt(info) * 1000;
+        queryExecutor = new QueryExecutorImpl(newStream, cancelSignalTimeout, info);
+        GlobalHostStatusTracker.reportConnectLatency(hostSpec, System.nanoTime() - attemptStartNanos);
+        HostStatus hostStatus = HostStatus.ConnectOK;
+        if (targetServerType != HostRequirement.any) {
+          hostStatus = isPrimary(queryExecutor) ? HostStatus.Primary : HostStatus.Secondary;
+        }
+        GlobalHostStatusTracker.reportHostStatus(hostSpec, hostStatus);
+        // A lagging standby is rejected by run() for secondary, but stays a preferSecondary
+        // fallback, as in the sequential connection
+        attempt.lagging = maxReplicationLag > 0 && hostStatus == HostStatus.Secondary
+            && !isReplicationLagAcceptable(queryExecutor, hostSpec, maxReplicationLag);
+        attempt.hostStatus = hostStatus;
+        attempt.queryExecutor = queryExecutor;
+      } catch (SQLException | IOException | RuntimeException e) {
+        if (queryExecutor != null) {
+          queryExecutor.close();
+        } else {
+          closeStream(newStream, e);
+        }
+        boolean abandoned;
+        synchronized (results) {
+          abandoned = done;
+        }
+        if (!abandoned) {
+          // The sockets of an abandoned attempt are closed by the race, the host is not at fault
+          GlobalHostStatusTracker.reportHostStatus(hostSpec, HostStatus.ConnectFail);
+        }
+        attempt.exception = e;
+      }
+      complete(attempt);
+    }
+
+    private void complete(ConnectAttempt attempt) {
+      synchronized (results) {
+        inProgress.remove(attempt);
+        attempt.sockets.clear();
+        if (!done) {
+          results.add(attempt);
+          return;
+        }
+      }
+      // The race is over, this connection is not needed
+      if (attempt.queryExecutor != null) {
+        attempt.queryExecutor.close();
+      }
+    }
+
+    /**
+     * Records the sockets of an attempt, so the race can close them when another attempt wins.
+     */
+    private final class AttemptSocketFactory extends SocketFactory {
+      private final ConnectAttempt attempt;
+
+      AttemptSocketFactory(ConnectAttempt attempt) {
+        this.attempt = attempt;
+      }
+
+      private Socket track(Socket socket) throws IOException {
+        synchronized (results) {
+          if (!done) {
+            attempt.sockets.add(socket);
+            return socket;
+          }
+        }
+        socket.close();
+        throw new SocketException("Connection attempt abandoned, another host was chosen");
+      }
+
+      @Override
+      public Socket createSocket() throws IOException {
+        return track(socketFactory.createSocket());
+      }
+
+      @Override
+      public Socket createSocket(String host, int port) throws IOException {
+        return track(socketFactory.createSocket(host, port));
+      }
+
+      @Override
+      public Socket createSocket(String host, int port, InetAddress localHost, int localPort)
+          throws IOException {
+        return track(socketFactory.createSocket(host, port, localHost, localPort));
+      }
+
+      @Override
+      public Socket createSocket(InetAddress host, int port) throws IOException {
+        return track(socketFactory.createSocket(host, port));
+      }
+
+      @Override
+      public Socket createSocket(InetAddress address, int port, InetAddress localAddress,
+          int localPort) throws IOException {
+        return track(socketFactory.createSocket(address, port, localAddress, localPort));
+      }
+    }
+  }
+
+  /**
+   * Measures the replication lag of a standby and checks that it is within
+   * {@code maxReplicationLag}.
+   */
+  private static boolean isReplicationLagAcceptable(QueryExecutor queryExecutor,
+      HostSpec hostSpec, int maxReplicationLag) throws SQLException, IOException {
+    long lag = ReplicationLagProber.queryReplicationLag(queryExecutor);
+    GlobalHostStatusTracker.reportReplicationLag(hostSpec, lag);
+    if (lag <= maxReplicationLag) {
+      return true;
+    }
+    LOGGER.log(Level.FINE, "Replication lag of {0} is {1} ms, more than maxReplicationLag",
+        new Object[]{hostSpec, lag});
+    return false;
+  }
+
+  private static PSQLException asConnectionError(ConnectAttempt attempt) {
+    Exception e = castNonNull(attempt.exception);
+    if (e instanceof PSQLException) {
+      return (PSQLException) e;
+    }
+    if (e instanceof ConnectException) {
+      return new PSQLException(GT.tr(
+          "Connection to {0} refused. Check that the hostname and port are correct and that the postmaster is accepting TCP/IP connections.",
+          attempt.hostSpec), PSQLState.CONNECTION_UNABLE_TO_CONNECT, e);
+    }
+    return new PSQLException(GT.tr("The connection attempt failed."),
+        PSQLState.CONNECTION_UNABLE_TO_CONNECT, e);
+  }
+
   private static List<StartupParam> getParametersForStartup(String user, String database, Properties info) {
     List<StartupParam> paramList = new ArrayList<>();
     paramList.add(new StartupParam("user", user));
@@ -1018,7 +1399,8 @@ private static void doAuthentication(PGStream pgStream, String host, String user
                             "The server requested SCRAM-based authentication, but the password is an empty string."),
                         PSQLState.CONNECTION_REJECTED);
                   }
-                  return new ScramAuthenticator(password, pgStream, channelBinding, scramMaxIterations);
+                  return new ScramAuthenticator(password, pgStream, channelBinding,
+                      scramMaxIterations, user, PGProperty.SCRAM_KEY_CACHE.getBoolean(info));
                 });
                 scramAuthenticator.handleAuthenticationSASL();
                 break;
@@ -1118,6 +1500,8 @@ private static void runInitialQueries(QueryExecutor queryExecutor, Properties in
     }
 
     SetupQueryRunner.run(queryExecutor, sb.toString(), false);
+    // RESET ALL reverts these settings, unlike the ones of the startup packet
+    queryExecutor.setSessionSetupCommands(sb.toString());
   }
 
   /**
@@ -0,0 +1,336 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.postgresql.core.v3;
+
+import org.postgresql.copy.CopyIn;
+import org.postgresql.core.NativeQuery;
+import org.postgresql.core.Oid;
+import org.postgresql.core.ParameterList;
+import org.postgresql.util.ByteConverter;
+import org.postgresql.util.StreamWrapper;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Purpose of this object is to execute a batch of {@link BatchedQuery} rows of a plain
+ * {@code INSERT INTO t(a, b) VALUES (?, ?)} as {@code COPY t(a, b) FROM STDIN (FORMAT binary)}.
+ * The rows are streamed in the binary copy format, so the values must already be in binary form,
+ * or be text that has the same binary representation, and their types must match the target
+ * columns exactly.
+ */
+public class CopyBatchedInsert {
+  private static final byte[] HEADER = {
+      'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xff, '\r', '\n', 0,
+      // flags
+      0, 0, 0, 0,
+      // header extension length
+      0, 0, 0, 0
+  };
+  private static final int BUFFER_SIZE = 65536;
+
+  private final String copySql;
+  private final String columnTypesSql;
+  private final int columnCount;
+
+  private CopyBatchedInsert(String copySql, String columnTypesSql, int columnCount) {
+    this.copySql = copySql;
+    this.columnTypesSql = columnTypesSql;
+    this.columnCount = columnCount;
+  }
+
+  /**
+   * Creates the copy form of the given query.
+   *
+   * @param src query to derive from
+   * @param valuesBraceOpenPosition position of the opening brace of the {@code VALUES} block
+   * @param valuesBraceClosePosition position of the closing brace of the {@code VALUES} block
+   * @return copy form of the query or {@code null} if the query is not a plain
+   *     {@code INSERT INTO table(columns) VALUES (?, ...)}
+   */
+  static @Nullable CopyBatchedInsert derive(BatchedQuery src, int valuesBraceOpenPosition,
+      int valuesBraceClosePosition) {
+    NativeQuery nativeQuery = src.getNativeQuery();
+    String sql = nativeQuery.nativeSql;
+    int[] bindPositions = nativeQuery.bindPositions;
+    if (bindPositions.length == 0 || !isBlank(sql, valuesBraceClosePosition + 1, sql.length())) {
+      // Nothing but whitespace may follow the values block: no RETURNING, no ON CONFLICT
+      return null;
+    }
+    // The values block must consist of bare binds, a copy can't evaluate expressions
+    int pos = valuesBraceOpenPosition + 1;
+    for (int i = 0; i < bindPositions.length; i++) {
+      if (!isSeparator(sql, pos, bindPositions[i], i > 0)) {
+        return null;
+      }
+      pos = bindPositions[i] + NativeQuery.bindName(i + 1).length();
+    }
+    if (!isBlank(sql, pos, valuesBraceClosePosition)) {
+      return null;
+    }
+
+    int valuesKeywordPosition =
+        UnnestBatchedQuery.findValuesKeyword(sql, valuesBraceOpenPosition);
+    if (valuesKeywordPosition < 0) {
+      return null;
+    }
+    String insert = sql.substring(0, valuesKeywordPosition).trim();
+    if (insert.contains("--") || insert.contains("/*")
+        || !insert.regionMatches(true, 0, "insert", 0, "insert".length())) {
+      return null;
+    }
+    String into = insert.substring("insert".length()).trim();
+    if (into.length() == insert.length() - "insert".length()
+        || !into.regionMatches(true, 0, "into", 0, "into".length())) {
+      return null;
+    }
+    String target = into.substring("into".length());
+    if (target.isEmpty() || !Character.isWhitespace(target.charAt(0))) {
+      return null;
+    }
+    target = target.trim();
+    // An explicit column list is required: VALUES may list fewer columns than the table has
+    int columnListStart = indexOfUnquoted(target, '(');
+    if (columnListStart <= 0 || target.charAt(target.length() - 1) != ')') {
+      return null;
+    }
+    String table = target.substring(0, columnListStart).trim();
+    String columns = target.substring(columnListStart + 1, target.length() - 1).trim();
+    // Whitespace in the table part means an alias or OVERRIDING, which COPY does not accept
+    if (table.isEmpty() || columns.isEmpty() || indexOfUnquotedWhitespace(table) >= 0) {
+      return null;
+    }
+    return new CopyBatchedInsert(
+        "COPY " + table + " (" + columns + ") FROM STDIN (FORMAT binary)",
+        "SELECT " + columns + " FROM " + table + " LIMIT 0",
+        bindPositions.length);
+  }
+
+  /**
+   * Returns the {@code COPY ... FROM STDIN} statement.
+   *
+   * @return the copy statement
+   */
+  public String getCopySql() {
+    return copySql;
+  }
+
+  /**
+   * Returns a query that returns no rows, but describes the target columns, so their type oids
+   * can be passed to {@link #isSupported(int[], List)} and {@link #write(CopyIn, int[], List)}.
+   * The columns must be described for every batch: a column whose type changed to one of the
+   * same binary width would otherwise receive reinterpreted values without an error.
+   *
+   * @return the query that describes the target columns
+   */
+  public String getColumnTypesSql() {
+    return columnTypesSql;
+  }
+
+  /**
+   * Checks if every row can be written in the binary copy format.
+   *
+   * @param columnTypes the type oids of the target columns, as described by
+   *     {@link #getColumnTypesSql()}
+   * @param rows parameters of the individual rows, as created by the original query
+   * @return true if {@link #write(CopyIn, int[], List)} can write the rows
+   */
+  public boolean isSupported(int[] columnTypes, List<@Nullable ParameterList> rows) {
+    if (columnTypes.length != columnCount) {
+      return false;
+    }
+    for (ParameterList row : rows) {
+      if (!(row instanceof SimpleParameterList)) {
+        return false;
+      }
+      SimpleParameterList params = (SimpleParameterList) row;
+      for (int column = 1; column <= columnCount; column++) {
+        if (!params.isNull(column)
+            && encode(params, column, columnTypes[column - 1]) == null) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Writes the rows in the binary copy format and ends the copy.
+   *
+   * @param copyIn copy operation started with {@link #getCopySql()}
+   * @param columnTypes the type oids of the target columns, as described by
+   *     {@link #getColumnTypesSql()}
+   * @param rows parameters of the individual rows, they must pass
+   *     {@link #isSupported(int[], List)}
+   * @return number of rows copied
+   * @throws SQLException if the copy fails
+   */
+  public long write(CopyIn copyIn, int[] columnTypes, List<@Nullable ParameterList> rows)
+      throws SQLException {
+    byte[] buf = new byte[BUFFER_SIZE];
+    System.arraycopy(HEADER, 0, buf, 0, HEADER.length);
+    int len = HEADER.length;
+    try {
+      for (ParameterList row : rows) {
+        SimpleParameterList params = (SimpleParameterList) row;
+        if (len + 2 > buf.length) {
+          copyIn.writeToCopy(buf, 0, len);
+          len = 0;
+        }
+        ByteConverter.int2(buf, len, columnCount);
+        len += 2;
+        for (int column = 1; column <= columnCount; column++) {
+          byte[] value = params.isNull(column)
+              ? null
+              : encode(params, column, columnTypes[column - 1]);
+          if (len + 4 > buf.length) {
+            copyIn.writeToCopy(buf, 0, len);
+            len = 0;
+          }
+          if (value == null) {
+            ByteConverter.int4(buf, len, -1);
+            len += 4;
+            continue;
+          }
+          ByteConverter.int4(buf, len, value.length);
+          len += 4;
+          if (len + value.length > buf.length) {
+            copyIn.writeToCopy(buf, 0, len);
+            len = 0;
+            if (value.length > buf.length) {
+              copyIn.writeToCopy(value, 0, value.length);
+              continue;
+            }
+          }
+          System.arraycopy(value, 0, buf, len, value.length);
+          len += value.length;
+        }
+      }
+      if (len + 2 > buf.length) {
+        copyIn.writeToCopy(buf, 0, len);
+        len = 0;
+      }
+      // file trailer
+      ByteConverter.int2(buf, len, -1);
+      len += 2;
+      copyIn.writeToCopy(buf, 0, len);
+      return copyIn.endCopy();
+    } finally {
+      if (copyIn.isActive()) {
+        copyIn.cancelCopy();
+      }
+    }
+  }
+
+  /**
+   * Returns the binary representation of a non-null value for a column of the given type, or
+   * {@code null} if the value can't be sent in binary form.
+   */
+  private static byte @Nullable [] encode(SimpleParameterList params, int column,
+      int columnType) {
+    int oid = params.getTypeOID(column);
+    Object value = params.getValue(column);
+    if (value instanceof byte[]) {
+      return oid == columnType && params.isBinary(column) ? (byte[]) value : null;
+    }
+    if (value instanceof StreamWrapper) {
+      StreamWrapper wrapper = (StreamWrapper) value;
+      byte[] data = wrapper.getBytes();
+      if (oid != columnType || data == null) {
+        return null;
+      }
+      if (wrapper.getOffset() == 0 && wrapper.getLength() == data.length) {
+        return data;
+      }
+      byte[] copy = new byte[wrapper.getLength()];
+      System.arraycopy(data, wrapper.getOffset(), copy, 0, copy.length);
+      return copy;
+    }
+    if (value instanceof String) {
+      String str = (String) value;
+      if (isText(oid) && isText(columnType)) {
+        // Text values are sent as UTF-8, which matches the binary representation of these types
+        return str.getBytes(StandardCharsets.UTF_8);
+      }
+      if (oid == Oid.BOOL && columnType == Oid.BOOL) {
+        switch (str.toLowerCase(Locale.ROOT)) {
+          case "true":
+          case "t":
+          case "1":
+            return new byte[]{1};
+          case "false":
+          case "f":
+          case "0":
+            return new byte[]{0};
+          default:
+            return null;
+        }
+      }
+    }
+    return null;
+  }
+
+  private static boolean isText(int oid) {
+    return oid == Oid.TEXT || oid == Oid.VARCHAR || oid == Oid.BPCHAR;
+  }
+
+  private static boolean isBlank(String sql, int start, int end) {
+    for (int i = start; i < end; i++) {
+      char c = sql.charAt(i);
+      if (!Character.isWhitespace(c) && c != ';') {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Checks that the text between two binds is whitespace with a single comma, or only whitespace
+   * before the first bind.
+   */
+  private static boolean isSeparator(String sql, int start, int end, boolean commaExpected) {
+    boolean comma = false;
+    for (int i = start; i < end; i++) {
+      char c = sql.charAt(i);
+      if (c == ',' && commaExpected && !comma) {
+        comma = true;
+      } else if (!Character.isWhitespace(c)) {
+        return false;
+      }
+    }
+    return comma == commaExpected;
+  }
+
+  private static int indexOfUnquoted(String str, char ch) {
+    boolean quoted = false;
+    for (int i = 0; i < str.length(); i++) {
+      char c = str.charAt(i);
+      if (c == '"') {
+        quoted = !quoted;
+      } else if (c == ch && !quoted) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private static int indexOfUnquotedWhitespace(String str) {
+    boolean quoted = false;
+    for (int i = 0; i < str.length(); i++) {
+      char c = str.charAt(i);
+      if (c == '"') {
+        quoted = !quoted;
+      } else if (Character.isWhitespace(c) && !quoted) {
+        return i;
+      }
+    }
+    return -1;
+  }
+}
@@ -52,6 +52,20 @@ void setCleanupRef(PhantomReference<?> cleanupRef) {
     this.cleanupRef = cleanupRef;
   }
 
+  /**
+   * Returns whether the fetches from this portal leave large values on the connection, see
+   * {@link org.postgresql.core.QueryExecutor#QUERY_STREAM_LARGE_VALUES}.
+   *
+   * @return whether large values are streamed
+   */
+  boolean isStreamLargeValues() {
+    return streamLargeValues;
+  }
+
+  void setStreamLargeValues(boolean streamLargeValues) {
+    this.streamLargeValues = streamLargeValues;
+  }
+
   @Override
   public String toString() {
     return portalName;
@@ -67,4 +81,5 @@ public String toString() {
   private final String portalName;
   private final byte[] encodedName;
   private @Nullable PhantomReference<?> cleanupRef;
+  private boolean streamLargeValues;
 }
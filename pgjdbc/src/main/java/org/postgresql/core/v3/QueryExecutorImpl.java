@@ -98,6 +98,7 @@
 import org.postgresql.core.v3.replication.V3ReplicationProtocol;
 import org.postgresql.jdbc.AutoSave;
 import org.postgresql.jdbc.BatchResultHandler;
+import org.postgresql.jdbc.PreferQueryMode;
 import org.postgresql.jdbc.ResourceLock;
 import org.postgresql.jdbc.TimestampUtils;
 import org.postgresql.util.ByteStreamWriter;
@@ -126,8 +127,11 @@
 import java.util.Collections;
 import java.util.Deque;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
@@ -270,6 +274,23 @@ public ProtocolVersion getProtocolVersion() {
    */
   private @Nullable Object lockedFor;
 
+  private volatile long lastReadyForQueryNanos = System.nanoTime();
+
+  /**
+   * Session setting commands to send in front of the next query, see
+   * {@link #deferSessionCommand(String, String)}.
+   */
+  private final Map<String, String> deferredSessionCommands = new LinkedHashMap<>();
+  // Deferred commands that were sent and have not completed yet
+  private final Set<SimpleQuery> sessionCommandsInFlight =
+      Collections.newSetFromMap(new IdentityHashMap<>());
+  private volatile int sessionStateEpoch;
+  // Whether the current transaction ran a command that may have changed session settings
+  private boolean sessionStateChangedInTransaction;
+  // SESSION_STATE_* flags of the session state queries changed
+  private int dirtySessionState;
+  private String sessionSetupCommands = "";
+
   /**
    * Obtain lock over this connection for given object, blocking to wait if necessary.
    *
@@ -307,6 +328,12 @@ private void unlock(Object holder) throws PSQLException {
    */
   private void waitOnLock() throws PSQLException {
     while (lockedFor != null) {
+      if (lockedFor instanceof StreamedTupleImpl) {
+        // The result set is usually read by the thread that would wait, so it would wait forever
+        throw new PSQLException(
+            GT.tr("The connection is in use by a result set that reads large values from it. Read the result set to the end or close it first."),
+            PSQLState.OBJECT_NOT_IN_STATE);
+      }
       try {
         lockCondition.await();
       } catch (InterruptedException ie) {
@@ -434,6 +461,11 @@ public void execute(Query query, @Nullable ParameterList parameters,
         try {
           handler = sendQueryPreamble(handler, flags);
           autosave = sendAutomaticSavepoint(query, flags);
+          if (autosave || (flags & QueryExecutor.QUERY_EXECUTE_AS_SIMPLE) != 0) {
+            // The savepoint is released once the results are read, and simple queries may return
+            // several result sets, so large values can't be left on the connection
+            flags &= ~QueryExecutor.QUERY_STREAM_LARGE_VALUES;
+          }
           sendQuery(query, (V3ParameterList) parameters, maxRows, fetchSize, flags,
               handler, null, adaptiveFetch);
           if ((flags & QueryExecutor.QUERY_EXECUTE_AS_SIMPLE) != 0) {
@@ -488,8 +520,11 @@ public void execute(Query query, @Nullable ParameterList parameters,
 
   private boolean sendAutomaticSavepoint(Query query, int flags) throws IOException {
     if (shouldCreateAutomaticSavepoint(query, flags)) {
+      // A simple query is not skipped when a session command in front of it fails
+      int savepointFlags = sessionCommandsInFlight.isEmpty()
+          ? QUERY_EXECUTE_AS_SIMPLE : QUERY_ONESHOT;
       sendOneQuery(autoSaveQuery, SimpleQuery.NO_PARAMETERS, 1, 0,
-          QUERY_NO_RESULTS | QUERY_NO_METADATA | QUERY_EXECUTE_AS_SIMPLE);
+          QUERY_NO_RESULTS | QUERY_NO_METADATA | savepointFlags);
       return true;
     }
     return false;
@@ -721,11 +756,150 @@ public void execute(Query[] queries, @Nullable ParameterList[] parameterLists,
   }
 
   private ResultHandler sendQueryPreamble(final ResultHandler delegateHandler, int flags)
-      throws IOException {
+      throws IOException, SQLException {
     // First, send CloseStatements for finalized SimpleQueries that had statement names assigned.
     processDeadParsedQueries();
     processDeadPortals();
 
+    if (deferredSessionCommands.isEmpty()) {
+      return sendBegin(delegateHandler, flags);
+    }
+    if ((flags & QueryExecutor.QUERY_EXECUTE_AS_SIMPLE) != 0) {
+      // A simple query still runs when an earlier command of the pipeline failed, so the session
+      // commands are checked in a round trip of their own
+      flushSessionCommands();
+      return sendBegin(delegateHandler, flags);
+    }
+    // Deferred session settings go before BEGIN, which reads them. If one fails, the server skips
+    // the rest of the pipeline until Sync, so BEGIN and the automatic savepoint are sent with the
+    // extended protocol too.
+    sendSessionCommands(false);
+    return sendBegin(delegateHandler, flags);
+  }
+
+  /**
+   * Sends the deferred session commands. Their command status is not reported to the result
+   * handler, see {@link #sessionCommandsInFlight}.
+   */
+  private void sendSessionCommands(boolean asSimple) throws IOException {
+    int flags = QueryExecutor.QUERY_NO_METADATA | QueryExecutor.QUERY_ONESHOT;
+    if (asSimple) {
+      flags |= QueryExecutor.QUERY_EXECUTE_AS_SIMPLE;
+    }
+    for (String sql : deferredSessionCommands.values()) {
+      SimpleQuery query = new SimpleQuery(
+          new NativeQuery(sql, null, false, SqlCommand.BLANK), null, false);
+      if (LOGGER.isLoggable(Level.FINEST)) {
+        LOGGER.log(Level.FINEST, "  sending deferred session command: {0}", sql);
+      }
+      sessionCommandsInFlight.add(query);
+      sendOneQuery(query, SimpleQuery.NO_PARAMETERS, 0, 0, flags);
+    }
+    deferredSessionCommands.clear();
+  }
+
+  /**
+   * Sends the deferred session commands on their own, before a fastpath call, a COPY or a simple
+   * query, and throws if one of them fails.
+   */
+  private void flushSessionCommands() throws SQLException {
+    if (deferredSessionCommands.isEmpty()) {
+      return;
+    }
+    try {
+      ResultHandler handler = new ResultHandlerBase() {
+        @Override
+        public void handleWarning(SQLWarning warning) {
+          addWarning(warning);
+        }
+      };
+      // Simple queries end with ReadyForQuery on their own
+      boolean asSimple = getPreferQueryMode() == PreferQueryMode.SIMPLE;
+      sendSessionCommands(asSimple);
+      if (!asSimple) {
+        sendSync();
+      }
+      pgStream.flush();
+      processResults(handler, 0);
+      estimatedReceiveBufferBytes = 0;
+      handler.handleCompletion();
+    } catch (IOException ioe) {
+      throw new PSQLException(GT.tr("An I/O error occurred while sending to the backend."),
+          PSQLState.CONNECTION_FAILURE, ioe);
+    }
+  }
+
+  @Override
+  public void deferSessionCommand(String key, String sql) {
+    try (ResourceLock ignore = lock.obtain()) {
+      deferredSessionCommands.put(key, sql);
+    }
+  }
+
+  @Override
+  public int getDeallocateEpoch() {
+    return deallocateEpoch;
+  }
+
+  @Override
+  public int getSessionStateEpoch() {
+    return sessionStateEpoch;
+  }
+
+  @Override
+  public int getDirtySessionState() {
+    return dirtySessionState;
+  }
+
+  @Override
+  public void clearDirtySessionState() {
+    dirtySessionState = 0;
+  }
+
+  @Override
+  public void setSessionSetupCommands(String sql) {
+    sessionSetupCommands = sql;
+  }
+
+  @Override
+  public String getSessionSetupCommands() {
+    return sessionSetupCommands;
+  }
+
+  private void trackSessionState(String status, NativeQuery nativeQuery) {
+    if (status.startsWith("SET") || status.startsWith("RESET") || status.startsWith("DISCARD")
+        || status.startsWith("BEGIN") || status.startsWith("START TRANSACTION")) {
+      sessionStateEpoch++;
+      // The change is undone by a rollback, and SET LOCAL or SET TRANSACTION end with the
+      // transaction
+      sessionStateChangedInTransaction = true;
+    } else if (status.startsWith("ROLLBACK") && sessionStateChangedInTransaction) {
+      sessionStateEpoch++;
+    }
+
+    if (status.startsWith("DISCARD ALL")) {
+      dirtySessionState = 0;
+      return;
+    }
+    if (status.startsWith("SET") || status.startsWith("RESET")) {
+      dirtySessionState |= SESSION_STATE_SETTINGS;
+    } else if (status.startsWith("LISTEN")) {
+      dirtySessionState |= SESSION_STATE_LISTEN;
+    }
+    int effects = nativeQuery.getSessionStateEffects();
+    if (effects != 0) {
+      dirtySessionState |= effects & SESSION_STATE_ADVISORY_LOCKS;
+      // CREATE TABLE AS and SELECT INTO report SELECT
+      if (status.startsWith("CREATE") || status.startsWith("SELECT")) {
+        dirtySessionState |= effects & SESSION_STATE_TEMP;
+      } else if (status.startsWith("DECLARE CURSOR")) {
+        dirtySessionState |= effects & SESSION_STATE_CURSORS;
+      }
+    }
+  }
+
+  private ResultHandler sendBegin(final ResultHandler delegateHandler, int flags)
+      throws IOException {
     // Send BEGIN on first statement in transaction.
     if ((flags & QueryExecutor.QUERY_SUPPRESS_BEGIN) != 0
         || getTransactionState() != TransactionState.IDLE) {
@@ -737,9 +911,13 @@ private ResultHandler sendQueryPreamble(final ResultHandler delegateHandler, int
       beginFlags |= QueryExecutor.QUERY_ONESHOT;
     }
 
-    beginFlags |= QueryExecutor.QUERY_EXECUTE_AS_SIMPLE;
-
-    beginFlags = updateQueryMode(beginFlags);
+    if (!sessionCommandsInFlight.isEmpty()) {
+      // A simple query is not skipped when a session command in front of it fails
+      beginFlags |= QueryExecutor.QUERY_ONESHOT;
+    } else {
+      beginFlags |= QueryExecutor.QUERY_EXECUTE_AS_SIMPLE;
+      beginFlags = updateQueryMode(beginFlags);
+    }
 
     final SimpleQuery beginQuery = (flags & QueryExecutor.QUERY_READ_ONLY_HINT) == 0 ? beginTransactionQuery : beginReadOnlyTransactionQuery;
 
@@ -783,6 +961,7 @@ public void handleCommandStatus(String status, long updateCount, long insertOID)
       throws SQLException {
     try (ResourceLock ignore = lock.obtain()) {
       waitOnLock();
+      flushSessionCommands();
       if (!suppressBegin) {
         doSubprotocolBegin();
       }
@@ -989,6 +1168,54 @@ public void processNotifies(int timeoutMillis) throws SQLException {
     }
   }
 
+  @Override
+  public boolean isAliveLocally() {
+    try (ResourceLock ignore = lock.obtain()) {
+      if (isClosed() || pgStream.isClosed()) {
+        return false;
+      }
+      if (lockedFor != null) {
+        // A COPY is in progress, so its messages must not be consumed here
+        return true;
+      }
+      try {
+        while (pgStream.hasMessageAvailable()) {
+          int c = pgStream.receiveChar();
+          switch (c) {
+            case PgMessageType.ASYNCHRONOUS_NOTICE:
+              receiveAsyncNotify();
+              break;
+            case PgMessageType.NOTICE_RESPONSE:
+              addWarning(receiveNoticeResponse());
+              break;
+            case PgMessageType.PARAMETER_STATUS_RESPONSE:
+              receiveParameterStatus();
+              break;
+            case PgMessageType.ERROR_RESPONSE:
+              // The server terminates the session after an error it sends on its own
+              LOGGER.log(Level.FINE, "Connection terminated by the server", receiveErrorResponse());
+              abort();
+              return false;
+            default:
+              LOGGER.log(Level.FINE, "Unexpected message type {0} on an idle connection", (char) c);
+              abort();
+              return false;
+          }
+        }
+      } catch (IOException | SQLException e) {
+        LOGGER.log(Level.FINE, "Validating connection.", e);
+        abort();
+        return false;
+      }
+      return !isClosed();
+    }
+  }
+
+  @Override
+  public long getLastReadyForQueryNanos() {
+    return lastReadyForQueryNanos;
+  }
+
   private void setSocketTimeout(int millis) throws PSQLException {
     try {
       Socket s = pgStream.getSocket();
@@ -1093,6 +1320,7 @@ public CopyOperation startCopy(String sql, boolean suppressBegin)
       throws SQLException {
     try (ResourceLock ignore = lock.obtain()) {
       waitOnLock();
+      flushSessionCommands();
       if (!suppressBegin) {
         doSubprotocolBegin();
       }
@@ -2183,6 +2411,7 @@ private void sendOneQuery(SimpleQuery query, SimpleParameterList params, int max
     if (usePortal) {
       String portalName = "C_" + (nextUniqueID++);
       portal = new Portal(query, portalName);
+      portal.setStreamLargeValues((flags & QueryExecutor.QUERY_STREAM_LARGE_VALUES) != 0);
     }
 
     // STATE: Send Bind message to bind parameters to statement
@@ -2366,6 +2595,8 @@ protected void processResults(ResultHandler handler, int flags, boolean adaptive
       throws IOException {
     boolean noResults = (flags & QueryExecutor.QUERY_NO_RESULTS) != 0;
     boolean bothRowsAndStatus = (flags & QueryExecutor.QUERY_BOTH_ROWS_AND_STATUS) != 0;
+    boolean streamLargeValues = (flags & QueryExecutor.QUERY_STREAM_LARGE_VALUES) != 0
+        && getLargeValueStreamingThreshold() > 0;
 
     List<Tuple> tuples = null;
 
@@ -2536,6 +2767,14 @@ protected void processResults(ResultHandler handler, int flags, boolean adaptive
           }
           pgStream.clearMaxRowSizeBytes();
 
+          boolean sessionCommand = sessionCommandsInFlight.remove(currentQuery);
+          if (sessionCommand) {
+            dirtySessionState |= SESSION_STATE_SETTINGS;
+          } else if (currentQuery != beginTransactionQuery
+              && currentQuery != beginReadOnlyTransactionQuery) {
+            trackSessionState(status, currentQuery.getNativeQuery());
+          }
+
           // A successful SET/RESET that changes the session search_path makes any server-side
           // prepared plan or catalog-name resolution cached under the previous path potentially
           // stale, so bump the epoch to force a rebuild. The command tag is always upper-case
@@ -2572,8 +2811,10 @@ && getParameterStatus("search_path") == null) {
 
           // we want to make sure we do not add any results from these queries to the result set
           if (currentQuery == autoSaveQuery
-              || currentQuery == releaseAutoSave) {
-            // ignore "SAVEPOINT" or RELEASE SAVEPOINT status from autosave query
+              || currentQuery == releaseAutoSave
+              || sessionCommand) {
+            // ignore "SAVEPOINT" or RELEASE SAVEPOINT status from autosave query, and the status
+            // of the deferred session commands
             break;
           }
 
@@ -2620,7 +2861,9 @@ && getParameterStatus("search_path") == null) {
         case PgMessageType.DATA_ROW_RESPONSE: // Data Transfer (ongoing Execute response)
           Tuple tuple = null;
           try {
-            tuple = pgStream.receiveTupleV3();
+            tuple = streamLargeValues
+                ? receiveTupleStreamingLargeValues(noResults)
+                : pgStream.receiveTupleV3();
           } catch (OutOfMemoryError oome) {
             if (!noResults) {
               handler.handleError(
@@ -2649,12 +2892,27 @@ && getParameterStatus("search_path") == null) {
             LOGGER.log(Level.FINEST, " <=BE DataRow(len={0})", length);
           }
 
+          if (tuple instanceof StreamedTupleImpl) {
+            // Leave the large values on the connection: the result set reads them when the
+            // application does, and continues with the next rows via fetch
+            StreamedTupleImpl row = (StreamedTupleImpl) tuple;
+            SimpleQuery currentQuery = row.getQuery();
+            handler.handleResultRows(currentQuery, castNonNull(currentQuery.getFields()),
+                castNonNull(tuples), row);
+            lockedFor = row;
+            return;
+          }
           break;
 
         case PgMessageType.ERROR_RESPONSE:
           // Error Response (response to pretty much everything; backend then skips until Sync)
           SQLException error = receiveErrorResponse();
           handler.handleError(error);
+          if (!sessionCommandsInFlight.isEmpty()) {
+            // A deferred session command failed, or was skipped because of an earlier error
+            sessionCommandsInFlight.clear();
+            sessionStateEpoch++;
+          }
           if (willHealViaReparse(error)) {
             // prepared statement ... is not valid kind of error
             // Technically speaking, the error is unexpected, thus we invalidate other
@@ -2688,6 +2946,8 @@ && getParameterStatus("search_path") == null) {
           break;
 
         case PgMessageType.PARAMETER_STATUS_RESPONSE:
+          // A reported setting changed, possibly inside a function
+          dirtySessionState |= SESSION_STATE_SETTINGS;
           try {
             receiveParameterStatus();
           } catch (SQLException e) {
@@ -2847,10 +3107,130 @@ private void skipMessage() throws IOException {
     pgStream.skip(len - 4);
   }
 
+  /**
+   * Reads a DataRow message of a query that leaves large values on the connection, see
+   * {@link QueryExecutor#QUERY_STREAM_LARGE_VALUES}.
+   *
+   * @param noResults whether the rows are discarded
+   * @return the row, a {@link StreamedTupleImpl} if it has a large value, or {@code null} if a row
+   *     with large values was discarded
+   */
+  private @Nullable Tuple receiveTupleStreamingLargeValues(boolean noResults)
+      throws IOException, SQLException {
+    int messageSize = pgStream.receiveInteger4();
+    int threshold = getLargeValueStreamingThreshold();
+    if (messageSize - 4 <= threshold) {
+      // No value can be larger than the threshold
+      return pgStream.receiveTupleV3(messageSize);
+    }
+    if (noResults) {
+      pgStream.skip(messageSize - 4);
+      return null;
+    }
+    SimpleQuery query = castNonNull(pendingExecuteQueue.peekFirst()).query;
+    return StreamedTupleImpl.receive(this, lock, pgStream, query, threshold);
+  }
+
+  /**
+   * Skips the rest of a row with large values, and reads the next rows of its result set, up to
+   * the next row with large values, the end of the current batch of the portal, or the end of the
+   * results.
+   */
+  private void fetchAfterStreamedTuple(StreamedTupleImpl row, ResultHandler handler, int fetchSize,
+      boolean adaptiveFetch) throws SQLException {
+    // The last rows come with the CommandComplete, turn a bare command status into an empty
+    // result as fetch does for portals
+    final SimpleQuery query = row.getQuery();
+    StreamedFetchHandler fetchHandler = new StreamedFetchHandler(handler, query);
+
+    unlock(row);
+    try {
+      row.skipRest();
+      processResults(fetchHandler, QueryExecutor.QUERY_STREAM_LARGE_VALUES, adaptiveFetch);
+      estimatedReceiveBufferBytes = 0;
+    } catch (IOException e) {
+      abort();
+      fetchHandler.handleError(
+          new PSQLException(GT.tr("An I/O error occurred while sending to the backend."),
+              PSQLState.CONNECTION_FAILURE, e));
+    }
+
+    fetchHandler.handleCompletion();
+
+    Portal portal = fetchHandler.suspendedPortal;
+    if (portal != null) {
+      // The row was the last one of the batch of the portal, fetch the next batch
+      fetch(portal, handler, fetchSize, adaptiveFetch);
+    }
+  }
+
+  /**
+   * Discards the rest of a row with large values and the rest of the results, which releases the
+   * connection. This is the {@link ResultCursor#close()} of the row.
+   *
+   * @param row the row
+   */
+  void closeStreamedTuple(StreamedTupleImpl row) {
+    try (ResourceLock ignore = lock.obtain()) {
+      if (!hasLock(row)) {
+        return;
+      }
+      lockedFor = null;
+      lockCondition.signal();
+      try {
+        row.skipRest();
+        processResults(new DiscardResultHandler() {
+          @Override
+          public void handleResultRows(Query fromQuery, Field[] fields, List<Tuple> tuples,
+              @Nullable ResultCursor cursor) {
+            if (cursor != null) {
+              // The portal was suspended after the current batch
+              cursor.close();
+            }
+          }
+        }, QueryExecutor.QUERY_NO_RESULTS | QueryExecutor.QUERY_STREAM_LARGE_VALUES);
+        estimatedReceiveBufferBytes = 0;
+      } catch (IOException e) {
+        LOGGER.log(Level.FINE, "IOException while discarding the rest of the results", e);
+        abort();
+      }
+    }
+  }
+
+  /**
+   * Handler of the rows that follow a row with large values.
+   */
+  private static class StreamedFetchHandler extends ResultHandlerDelegate {
+    private final SimpleQuery query;
+    // The portal, when its batch ended without further rows
+    @Nullable Portal suspendedPortal;
+
+    StreamedFetchHandler(ResultHandler delegate, SimpleQuery query) {
+      super(delegate);
+      this.query = query;
+    }
+
+    @Override
+    public void handleResultRows(Query fromQuery, Field[] fields, List<Tuple> tuples,
+        @Nullable ResultCursor cursor) {
+      super.handleResultRows(fromQuery, fields, tuples, cursor);
+      suspendedPortal = tuples.isEmpty() && cursor instanceof Portal ? (Portal) cursor : null;
+    }
+
+    @Override
+    public void handleCommandStatus(String status, long updateCount, long insertOID) {
+      handleResultRows(query, NO_FIELDS, new ArrayList<>(), null);
+    }
+  }
+
   @Override
   public void fetch(ResultCursor cursor, ResultHandler handler, int fetchSize,
       boolean adaptiveFetch) throws SQLException {
     try (ResourceLock ignore = lock.obtain()) {
+      if (cursor instanceof StreamedTupleImpl) {
+        fetchAfterStreamedTuple((StreamedTupleImpl) cursor, handler, fetchSize, adaptiveFetch);
+        return;
+      }
       waitOnLock();
       final Portal portal = (Portal) cursor;
 
@@ -2875,7 +3255,9 @@ public void handleCommandStatus(String status, long updateCount, long insertOID)
         sendSync();
         pgStream.flush();
 
-        processResults(handler, 0, adaptiveFetch);
+        processResults(handler,
+            portal.isStreamLargeValues() ? QueryExecutor.QUERY_STREAM_LARGE_VALUES : 0,
+            adaptiveFetch);
         estimatedReceiveBufferBytes = 0;
       } catch (IOException e) {
         abort();
@@ -3047,12 +3429,18 @@ private void receiveRFQ() throws IOException {
     if (LOGGER.isLoggable(Level.FINEST)) {
       LOGGER.log(Level.FINEST, " <=BE ReadyForQuery({0})", tStatus);
     }
+    lastReadyForQueryNanos = System.nanoTime();
 
     // Update connection state.
     switch (tStatus) {
       case 'I':
         transactionFailCause = null;
         setTransactionState(TransactionState.IDLE);
+        if (sessionStateChangedInTransaction) {
+          // SET LOCAL, SET TRANSACTION and BEGIN ISOLATION LEVEL end with the transaction
+          sessionStateChangedInTransaction = false;
+          sessionStateEpoch++;
+        }
         break;
       case 'T':
         transactionFailCause = null;
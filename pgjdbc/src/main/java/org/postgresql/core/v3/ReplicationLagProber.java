@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.postgresql.core.v3;
+
+import static org.postgresql.util.internal.Nullness.castNonNull;
+
+import org.postgresql.PGProperty;
+import org.postgresql.core.QueryExecutor;
+import org.postgresql.core.ServerVersion;
+import org.postgresql.core.SetupQueryRunner;
+import org.postgresql.core.Tuple;
+import org.postgresql.hostchooser.GlobalHostStatusTracker;
+import org.postgresql.hostchooser.HostRequirement;
+import org.postgresql.hostchooser.HostStatus;
+import org.postgresql.util.HostSpec;
+import org.postgresql.util.PSQLException;
+import org.postgresql.util.internal.SecretFingerprint;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Measures the replication lag of the hosts of {@code maxReplicationLag} connections in the
+ * background, every {@code hostRecheckSeconds}, and reports it to {@link GlobalHostStatusTracker}.
+ * This lets the host chooser skip lagging standbys before connecting to them. Hosts that can't be
+ * connected to are reported as {@link HostStatus#ConnectFail}.
+ *
+ * <p>Each probed host keeps one connection open for the probes, per set of credentials: a probe
+ * connects with the user, password, database and client certificate of the connections that
+ * registered it, never with those of another user. A probe stops, and its connection is closed,
+ * when no such connection to its host was opened for {@link #IDLE_PROBES} probe
+ * intervals. The probes share one thread, so the connect and socket timeouts of a probe are
+ * capped at the probe interval, and a host that does not answer can't stall the probes of the
+ * other hosts for longer than that.</p>
+ */
+final class ReplicationLagProber {
+  private static final Logger LOGGER = Logger.getLogger(ReplicationLagProber.class.getName());
+
+  private static final int IDLE_PROBES = 10;
+
+  // Guarded by PROBES, keyed by probeKey
+  private static final Map<List<@Nullable Object>, Probe> PROBES = new HashMap<>();
+  private static @Nullable ScheduledExecutorService executor;
+
+  private ReplicationLagProber() {
+  }
+
+  /**
+   * Starts probing the host unless it is already probed.
+   *
+   * @param hostSpec the host
+   * @param info the properties of the connection that needs the replication lag
+   * @param intervalMillis the time between two probes
+   */
+  static void register(HostSpec hostSpec, Properties info, long intervalMillis) {
+    long now = System.nanoTime();
+    List<@Nullable Object> key;
+    try {
+      key = probeKey(hostSpec, info);
+    } catch (GeneralSecurityException e) {
+      LOGGER.log(Level.FINE, "Could not register the replication lag probe of " + hostSpec, e);
+      return;
+    }
+    synchronized (PROBES) {
+      Probe probe = PROBES.get(key);
+      if (probe != null) {
+        probe.lastUsedNanos = now;
+        return;
+      }
+      ScheduledExecutorService executor = ReplicationLagProber.executor;
+      if (executor == null) {
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+          Thread thread = new Thread(r, "PostgreSQL JDBC driver replication lag prober");
+          thread.setDaemon(true); // Don't prevent the VM from shutting down
+          return thread;
+        });
+        ReplicationLagProber.executor = executor;
+      }
+      probe = new Probe(key, hostSpec, probeProperties(info, intervalMillis), intervalMillis,
+          now);
+      PROBES.put(key, probe);
+      probe.future = executor.scheduleWithFixedDelay(probe, intervalMillis, intervalMillis,
+          TimeUnit.MILLISECONDS);
+    }
+  }
+
+  private static List<@Nullable Object> probeKey(HostSpec hostSpec, Properties info)
+      throws GeneralSecurityException {
+    String password = PGProperty.PASSWORD.getOrDefault(info);
+    return Arrays.asList(
+        hostSpec,
+        PGProperty.USER.getOrDefault(info),
+        password == null ? null : SecretFingerprint.of(password.toCharArray()),
+        PGProperty.PG_DBNAME.getOrDefault(info),
+        PGProperty.SSL_CERT.getOrDefault(info),
+        PGProperty.SSL_KEY.getOrDefault(info));
+  }
+
+  private static Properties probeProperties(Properties info, long intervalMillis) {
+    Properties probeInfo = new Properties();
+    probeInfo.putAll(info);
+    // The probe connects to one host, whatever its type, and must not register itself
+    PGProperty.TARGET_SERVER_TYPE.set(probeInfo, HostRequirement.any.name());
+    PGProperty.MAX_REPLICATION_LAG.set(probeInfo, 0);
+    PGProperty.CONNECT_ATTEMPT_DELAY.set(probeInfo, 0);
+    int timeoutSeconds = (int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(intervalMillis));
+    capTimeout(probeInfo, PGProperty.CONNECT_TIMEOUT, timeoutSeconds);
+    capTimeout(probeInfo, PGProperty.SOCKET_TIMEOUT, timeoutSeconds);
+    return probeInfo;
+  }
+
+  private static void capTimeout(Properties info, PGProperty property, int maxSeconds) {
+    int seconds;
+    try {
+      seconds = property.getInt(info);
+    } catch (PSQLException e) {
+      seconds = 0;
+    }
+    // 0 means no timeout
+    property.set(info, seconds > 0 ? Math.min(seconds, maxSeconds) : maxSeconds);
+  }
+
+  private static void remove(Probe probe) {
+    synchronized (PROBES) {
+      PROBES.remove(probe.key, probe);
+      ScheduledFuture<?> future = probe.future;
+      if (future != null) {
+        future.cancel(false);
+      }
+      ScheduledExecutorService executor = ReplicationLagProber.executor;
+      if (PROBES.isEmpty() && executor != null) {
+        executor.shutdown();
+        ReplicationLagProber.executor = null;
+      }
+    }
+  }
+
+  /**
+   * Returns the replay lag of the server in milliseconds: 0 for a primary or for a standby that
+   * replayed all the WAL it received, otherwise the age of the last replayed transaction.
+   *
+   * @param queryExecutor the connection to the server
+   * @return the replay lag in milliseconds
+   * @throws SQLException if the lag can't be queried
+   * @throws IOException if the result can't be decoded
+   */
+  static long queryReplicationLag(QueryExecutor queryExecutor) throws SQLException, IOException {
+    String receive = "pg_last_wal_receive_lsn()";
+    String replay = "pg_last_wal_replay_lsn()";
+    if (queryExecutor.getServerVersionNum() < ServerVersion.v10.getVersionNum()) {
+      receive = "pg_last_xlog_receive_location()";
+      replay = "pg_last_xlog_replay_location()";
+    }
+    Tuple result = castNonNull(SetupQueryRunner.run(queryExecutor,
+        "SELECT CASE WHEN NOT pg_is_in_recovery() OR " + receive + " = " + replay + " THEN 0"
+            + " ELSE CAST(COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp())"
+            + " * 1000, 0) AS bigint) END", true));
+    return Long.parseLong(queryExecutor.getEncoding().decode(castNonNull(result.get(0))));
+  }
+
+  private static final class Probe implements Runnable {
+    final List<@Nullable Object> key;
+    final HostSpec hostSpec;
+    final Properties info;
+    final long intervalMillis;
+    volatile long lastUsedNanos;
+    @Nullable ScheduledFuture<?> future;
+    private @Nullable QueryExecutor queryExecutor;
+
+    Probe(List<@Nullable Object> key, HostSpec hostSpec, Properties info, long intervalMillis,
+        long lastUsedNanos) {
+      this.key = key;
+      this.hostSpec = hostSpec;
+      this.info = info;
+      this.intervalMillis = intervalMillis;
+      this.lastUsedNanos = lastUsedNanos;
+    }
+
+    @Override
+    public void run() {
+      if (System.nanoTime() - lastUsedNanos
+          > TimeUnit.MILLISECONDS.toNanos(intervalMillis) * IDLE_PROBES) {
+        LOGGER.log(Level.FINE, "Stopping replication lag probes of idle host {0}", hostSpec);
+        close();
+        remove(this);
+        return;
+      }
+      QueryExecutor queryExecutor = this.queryExecutor;
+      if (queryExecutor == null || queryExecutor.isClosed()) {
+        try {
+          queryExecutor = new ConnectionFactoryImpl().openConnectionImpl(
+              new HostSpec[]{hostSpec}, info);
+        } catch (SQLException | RuntimeException e) {
+          LOGGER.log(Level.FINE, "Replication lag probe could not connect to " + hostSpec, e);
+          GlobalHostStatusTracker.reportHostStatus(hostSpec, HostStatus.ConnectFail);
+          return;
+        }
+        this.queryExecutor = queryExecutor;
+      }
+      try {
+        long lag = queryReplicationLag(queryExecutor);
+        GlobalHostStatusTracker.reportReplicationLag(hostSpec, lag);
+        LOGGER.log(Level.FINEST, "Replication lag of {0} is {1} ms", new Object[]{hostSpec, lag});
+      } catch (SQLException | IOException | RuntimeException e) {
+        LOGGER.log(Level.FINE, "Replication lag probe of " + hostSpec + " failed", e);
+        close();
+      }
+    }
+
+    private void close() {
+      QueryExecutor queryExecutor = this.queryExecutor;
+      if (queryExecutor != null) {
+        queryExecutor.close();
+        this.queryExecutor = null;
+      }
+    }
+  }
+}
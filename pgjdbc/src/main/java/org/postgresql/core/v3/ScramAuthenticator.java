@@ -5,6 +5,8 @@
 
 package org.postgresql.core.v3;
 
+import static org.postgresql.util.internal.Nullness.castNonNull;
+
 import org.postgresql.PGProperty;
 import org.postgresql.core.PGStream;
 import org.postgresql.core.PgMessageType;
@@ -15,18 +17,26 @@
 import com.ongres.scram.client.ScramClient;
 import com.ongres.scram.common.ClientFinalMessage;
 import com.ongres.scram.common.ClientFirstMessage;
+import com.ongres.scram.common.ScramFunctions;
+import com.ongres.scram.common.ScramMechanism;
 import com.ongres.scram.common.ServerFirstMessage;
 import com.ongres.scram.common.StringPreparation;
 import com.ongres.scram.common.exception.ScramException;
 import com.ongres.scram.common.util.TlsServerEndpoint;
+import org.checkerframework.checker.initialization.qual.UnderInitialization;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.io.IOException;
 import java.net.Socket;
 import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
 import java.security.cert.Certificate;
 import java.security.cert.CertificateEncodingException;
 import java.security.cert.X509Certificate;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
 import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -39,28 +49,72 @@ final class ScramAuthenticator {
   private static final Logger LOGGER = Logger.getLogger(ScramAuthenticator.class.getName());
 
   private final PGStream pgStream;
-  private final ScramClient scramClient;
+  private ScramClient scramClient;
   private final int maxIterations;
+  private final @Nullable String user;
+  // Set when the derived keys are cached, until the keys for the server's salt are known
+  private char @Nullable [] password;
+  private @Nullable List<String> cacheKey;
+  private @Nullable String nonce;
+  private @Nullable List<String> advertisedMechanisms;
+  private byte @Nullable [] cbindData;
 
+  /**
+   * Creates the authenticator.
+   *
+   * @param password the password, it is copied if needed
+   * @param pgStream the connection
+   * @param channelBinding channel binding mode
+   * @param maxIterations maximum PBKDF2 iteration count, or 0 for no limit
+   * @param user the user name, only used for the key cache
+   * @param keyCache true to use {@link ScramKeyCache}
+   * @throws PSQLException if the SCRAM client can't be initialized
+   */
   ScramAuthenticator(char[] password, PGStream pgStream, ChannelBinding channelBinding,
-      int maxIterations) throws PSQLException {
+      int maxIterations, @Nullable String user, boolean keyCache) throws PSQLException {
     this.pgStream = pgStream;
     this.maxIterations = maxIterations;
+    this.user = user;
+    if (keyCache) {
+      // The keys are derived once the salt is known, and the client is then created again with
+      // them, so it must reuse the nonce of the first message
+      byte[] nonceBytes = new byte[18];
+      new SecureRandom().nextBytes(nonceBytes);
+      this.nonce = Base64.getEncoder().encodeToString(nonceBytes);
+      this.password = password.clone();
+    }
     this.scramClient = initializeScramClient(password, pgStream, channelBinding);
   }
 
-  private static ScramClient initializeScramClient(char[] password, PGStream stream, ChannelBinding channelBinding) throws PSQLException {
+  private ScramClient initializeScramClient(
+      @UnderInitialization(Object.class) ScramAuthenticator this,
+      char[] password, PGStream stream, ChannelBinding channelBinding) throws PSQLException {
     try {
       LOGGER.log(Level.FINEST, "channelBinding( {0} )", channelBinding);
       final byte[] cbindData = getChannelBindingData(stream, channelBinding);
       final List<String> advertisedMechanisms = advertisedMechanisms(stream, channelBinding);
-      ScramClient client = ScramClient.builder()
-          .advertisedMechanisms(advertisedMechanisms)
-          .username("*") // username is ignored by server, startup message is used instead
-          .password(password)
-          .channelBinding(TlsServerEndpoint.TLS_SERVER_END_POINT, cbindData)
-          .stringPreparation(StringPreparation.POSTGRESQL_PREPARATION)
-          .build();
+      String nonce = this.nonce;
+      ScramClient client;
+      if (nonce == null) {
+        client = ScramClient.builder()
+            .advertisedMechanisms(advertisedMechanisms)
+            .username("*") // username is ignored by server, startup message is used instead
+            .password(password)
+            .channelBinding(TlsServerEndpoint.TLS_SERVER_END_POINT, cbindData)
+            .stringPreparation(StringPreparation.POSTGRESQL_PREPARATION)
+            .build();
+      } else {
+        this.advertisedMechanisms = advertisedMechanisms;
+        this.cbindData = cbindData;
+        client = ScramClient.builder()
+            .advertisedMechanisms(advertisedMechanisms)
+            .username("*")
+            .password(password)
+            .channelBinding(TlsServerEndpoint.TLS_SERVER_END_POINT, cbindData)
+            .stringPreparation(StringPreparation.POSTGRESQL_PREPARATION)
+            .nonceSupplier(() -> nonce)
+            .build();
+      }
 
       // channelBinding=require must never silently downgrade: regardless of how negotiation
       // resolved, the selected mechanism must actually use channel binding (a -PLUS mechanism).
@@ -175,6 +229,9 @@ void handleAuthenticationSASL() throws IOException {
   void handleAuthenticationSASLContinue(int length) throws IOException, PSQLException {
     String receivedServerFirstMessage = pgStream.receiveString(length);
     LOGGER.log(Level.FINEST, " <=BE AuthenticationSASLContinue( {0} )", receivedServerFirstMessage);
+    if (password != null) {
+      useCachedKeys(receivedServerFirstMessage);
+    }
     ServerFirstMessage serverFirstMessage;
     try {
       serverFirstMessage = scramClient.serverFirstMessage(receivedServerFirstMessage);
@@ -185,6 +242,11 @@ void handleAuthenticationSASLContinue(int length) throws IOException, PSQLExcept
           e);
     }
     int iterations = serverFirstMessage.getIterationCount();
+    checkIterations(iterations);
+    sendClientFinalMessage();
+  }
+
+  private void checkIterations(int iterations) throws PSQLException {
     if (maxIterations > 0 && iterations > maxIterations) {
       throw new PSQLException(
           GT.tr("Server requested {0} SCRAM PBKDF2 iterations, which exceeds the "
@@ -193,7 +255,71 @@ void handleAuthenticationSASLContinue(int length) throws IOException, PSQLExcept
               iterations, maxIterations, PGProperty.SCRAM_MAX_ITERATIONS.getName()),
           PSQLState.CONNECTION_REJECTED);
     }
+  }
+
+  /**
+   * Replaces {@link #scramClient} with a client that uses the ClientKey and ServerKey for the
+   * salt and iteration count of the server-first-message, taking them from {@link ScramKeyCache}
+   * when an earlier connection derived them already.
+   */
+  private void useCachedKeys(String receivedServerFirstMessage) throws PSQLException {
+    char[] password = castNonNull(this.password);
+    this.password = null;
+    try {
+      byte[] salt = null;
+      int iterations = -1;
+      for (String attribute : receivedServerFirstMessage.split(",")) {
+        if (attribute.startsWith("s=")) {
+          salt = Base64.getDecoder().decode(attribute.substring(2));
+        } else if (attribute.startsWith("i=")) {
+          iterations = Integer.parseInt(attribute.substring(2));
+        }
+      }
+      if (salt == null || iterations <= 0) {
+        // Let the SCRAM client report the malformed message
+        return;
+      }
+      checkIterations(iterations);
+
+      ScramMechanism mechanism = scramClient.getScramMechanism();
+      List<String> cacheKey = ScramKeyCache.key(user, pgStream.getHostSpec().toString(),
+          mechanism.getName(), salt, iterations, password);
+      ScramKeyCache.Keys keys = ScramKeyCache.get(cacheKey);
+      if (keys == null) {
+        byte[] saltedPassword = ScramFunctions.saltedPassword(mechanism,
+            StringPreparation.POSTGRESQL_PREPARATION, password, salt, iterations);
+        keys = new ScramKeyCache.Keys(ScramFunctions.clientKey(mechanism, saltedPassword),
+            ScramFunctions.serverKey(mechanism, saltedPassword));
+        Arrays.fill(saltedPassword, (byte) 0);
+        ScramKeyCache.put(cacheKey, keys);
+      } else {
+        LOGGER.log(Level.FINEST, " Using cached SCRAM keys");
+      }
+      this.cacheKey = cacheKey;
+
+      String nonce = castNonNull(this.nonce);
+      ScramClient client = ScramClient.builder()
+          .advertisedMechanisms(castNonNull(advertisedMechanisms))
+          .username("*")
+          .clientAndServerKey(keys.clientKey, keys.serverKey)
+          .channelBinding(TlsServerEndpoint.TLS_SERVER_END_POINT, castNonNull(cbindData))
+          .stringPreparation(StringPreparation.POSTGRESQL_PREPARATION)
+          .nonceSupplier(() -> nonce)
+          .build();
+      // Bring the new client to the same state, it produces the same client-first-message
+      client.clientFirstMessage();
+      scramClient = client;
+    } catch (GeneralSecurityException | IllegalArgumentException e) {
+      throw new PSQLException(
+          GT.tr("SCRAM authentication failed: {0}", e.getMessage()),
+          PSQLState.CONNECTION_REJECTED,
+          e);
+    } finally {
+      Arrays.fill(password, (char) 0);
+    }
+  }
 
+  private void sendClientFinalMessage() throws IOException {
     ClientFinalMessage clientFinalMessage = scramClient.clientFinalMessage();
     LOGGER.log(Level.FINEST, " FE=> SASLResponse( {0} )", clientFinalMessage);
     final byte[] clientFinalMessageBytes =
@@ -210,6 +336,10 @@ void handleAuthenticationSASLFinal(int length) throws IOException, PSQLException
     try {
       scramClient.serverFinalMessage(serverFinalMessage);
     } catch (ScramException | IllegalStateException | IllegalArgumentException e) {
+      List<String> cacheKey = this.cacheKey;
+      if (cacheKey != null) {
+        ScramKeyCache.remove(cacheKey);
+      }
       throw new PSQLException(
           GT.tr("SCRAM authentication failed: {0}", e.getMessage()),
           PSQLState.CONNECTION_REJECTED,
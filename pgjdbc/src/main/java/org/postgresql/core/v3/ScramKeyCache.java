@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.postgresql.core.v3;
+
+import org.postgresql.util.internal.SecretFingerprint;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JVM-wide cache of the SCRAM ClientKey and ServerKey, so connections that receive the same salt
+ * and iteration count as an earlier connection skip the PBKDF2 derivation of the salted password.
+ *
+ * <p>Entries are keyed by user, host, mechanism, salt, iteration count and a fingerprint of the
+ * password (see {@link SecretFingerprint}), so a wrong password never matches the keys derived
+ * from the right one. Only copies of the keys are handed out, and the cached keys are zeroed when
+ * they are evicted.</p>
+ */
+final class ScramKeyCache {
+  private static final int MAX_SIZE = 128;
+
+  private static final Map<List<String>, Keys> CACHE =
+      new LinkedHashMap<List<String>, Keys>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<List<String>, Keys> eldest) {
+          if (size() > MAX_SIZE) {
+            eldest.getValue().clear();
+            return true;
+          }
+          return false;
+        }
+      };
+
+  private ScramKeyCache() {
+  }
+
+  static final class Keys {
+    final byte[] clientKey;
+    final byte[] serverKey;
+
+    Keys(byte[] clientKey, byte[] serverKey) {
+      this.clientKey = clientKey;
+      this.serverKey = serverKey;
+    }
+
+    Keys copy() {
+      return new Keys(clientKey.clone(), serverKey.clone());
+    }
+
+    void clear() {
+      Arrays.fill(clientKey, (byte) 0);
+      Arrays.fill(serverKey, (byte) 0);
+    }
+  }
+
+  /**
+   * Creates the cache key for the given authentication parameters.
+   *
+   * @param user user name
+   * @param host host and port of the server
+   * @param mechanism SCRAM mechanism name
+   * @param salt salt sent by the server
+   * @param iterations iteration count sent by the server
+   * @param password the password, it is not kept
+   * @return the cache key
+   * @throws GeneralSecurityException if the password fingerprint can't be computed
+   */
+  static List<String> key(@Nullable String user, String host, String mechanism, byte[] salt,
+      int iterations, char[] password) throws GeneralSecurityException {
+    return Arrays.asList(String.valueOf(user), host, mechanism,
+        Base64.getEncoder().encodeToString(salt), Integer.toString(iterations),
+        SecretFingerprint.of(password));
+  }
+
+  /**
+   * Returns a copy of the cached keys.
+   *
+   * @param key cache key created by {@link #key}
+   * @return copy of the keys or {@code null} if they are not cached
+   */
+  static @Nullable Keys get(List<String> key) {
+    synchronized (CACHE) {
+      Keys keys = CACHE.get(key);
+      return keys == null ? null : keys.copy();
+    }
+  }
+
+  /**
+   * Caches a copy of the keys.
+   *
+   * @param key cache key created by {@link #key}
+   * @param keys keys derived for the key
+   */
+  static void put(List<String> key, Keys keys) {
+    synchronized (CACHE) {
+      Keys previous = CACHE.put(key, keys.copy());
+      if (previous != null) {
+        previous.clear();
+      }
+    }
+  }
+
+  /**
+   * Removes the keys, for instance when the server rejected them.
+   *
+   * @param key cache key created by {@link #key}
+   */
+  static void remove(List<String> key) {
+    synchronized (CACHE) {
+      Keys previous = CACHE.remove(key);
+      if (previous != null) {
+        previous.clear();
+      }
+    }
+  }
+}
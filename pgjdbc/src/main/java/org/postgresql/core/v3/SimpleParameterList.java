@@ -20,6 +20,7 @@
 import org.postgresql.util.PSQLException;
 import org.postgresql.util.PSQLState;
 import org.postgresql.util.StreamWrapper;
+import org.postgresql.util.internal.PgBufferedOutputStream;
 
 import org.checkerframework.checker.index.qual.NonNegative;
 import org.checkerframework.checker.index.qual.Positive;
@@ -47,8 +48,10 @@ class SimpleParameterList implements V3ParameterList {
 
   SimpleParameterList(int paramCount, @Nullable TypeTransferModeRegistry transferModeRegistry) {
     this.paramValues = new Object[paramCount];
+    this.primitiveValues = new long[paramCount];
     this.paramTypes = new int[paramCount];
     this.encoded = new byte[paramCount][];
+    this.utf8Lengths = new int[paramCount];
     this.flags = new byte[paramCount];
     this.transferModeRegistry = transferModeRegistry;
   }
@@ -76,6 +79,7 @@ private void bind(int index, Object value, int oid, byte binary) throws SQLExcep
     --index;
 
     encoded[index] = null;
+    utf8Lengths[index] = 0;
     paramValues[index] = value;
     flags[index] = (byte) (direction(index) | IN | binary);
 
@@ -91,6 +95,46 @@ private void bind(int index, Object value, int oid, byte binary) throws SQLExcep
     pos = index + 1;
   }
 
+  /**
+   * Binds a fixed-length binary value without allocating: the bits are kept in
+   * {@link #primitiveValues} and written to the stream at Bind time. The oid defines the length.
+   */
+  private void bindPrimitive(int index, long value, int oid) throws SQLException {
+    bind(index, PRIMITIVE_VALUE, oid, BINARY);
+    primitiveValues[index - 1] = value;
+  }
+
+  private static int primitiveLength(int oid) {
+    switch (oid) {
+      case Oid.INT2:
+        return 2;
+      case Oid.INT4:
+      case Oid.FLOAT4:
+        return 4;
+      default:
+        return 8;
+    }
+  }
+
+  /**
+   * Returns the binary representation of a value bound with {@link #bindPrimitive}.
+   */
+  private byte[] primitiveBytes(int index) {
+    long value = primitiveValues[index];
+    byte[] bytes = new byte[primitiveLength(paramTypes[index])];
+    switch (bytes.length) {
+      case 2:
+        ByteConverter.int2(bytes, 0, (int) value);
+        break;
+      case 4:
+        ByteConverter.int4(bytes, 0, (int) value);
+        break;
+      default:
+        ByteConverter.int8(bytes, 0, value);
+    }
+    return bytes;
+  }
+
   @Override
   public @NonNegative int getParameterCount() {
     return paramValues.length;
@@ -125,9 +169,27 @@ private void bind(int index, Object value, int oid, byte binary) throws SQLExcep
 
   @Override
   public void setIntParameter(@Positive int index, int value) throws SQLException {
-    byte[] data = new byte[4];
-    ByteConverter.int4(data, 0, value);
-    bind(index, data, Oid.INT4, BINARY);
+    bindPrimitive(index, value, Oid.INT4);
+  }
+
+  @Override
+  public void setShortParameter(@Positive int index, short value) throws SQLException {
+    bindPrimitive(index, value, Oid.INT2);
+  }
+
+  @Override
+  public void setLongParameter(@Positive int index, long value) throws SQLException {
+    bindPrimitive(index, value, Oid.INT8);
+  }
+
+  @Override
+  public void setFloatParameter(@Positive int index, float value) throws SQLException {
+    bindPrimitive(index, Float.floatToRawIntBits(value), Oid.FLOAT4);
+  }
+
+  @Override
+  public void setDoubleParameter(@Positive int index, double value) throws SQLException {
+    bindPrimitive(index, Double.doubleToRawLongBits(value), Oid.FLOAT8);
   }
 
   @Override
@@ -145,6 +207,11 @@ public void setBinaryParameter(@Positive int index, byte[] value, int oid) throw
     bind(index, value, oid, BINARY);
   }
 
+  @Override
+  public void setBinaryParameter(@Positive int index, ByteStreamWriter writer, int oid) throws SQLException {
+    bind(index, writer, oid, BINARY);
+  }
+
   @Override
   public void setBytea(@Positive int index, byte[] data, int offset, @NonNegative int length) throws SQLException {
     bind(index, new StreamWrapper(data, offset, length), Oid.BYTEA, BINARY);
@@ -250,6 +317,8 @@ public String toString(@Positive int index, SqlSerializationContext context) {
       return "?";
     } else if (paramValue == NULL_OBJECT) {
       return "(NULL)";
+    } else if (paramValue == PRIMITIVE_VALUE) {
+      paramValue = primitiveBytes(index);
     }
     String textValue;
     String type;
@@ -483,6 +552,11 @@ void setResolvedType(@Positive int index, int oid) {
     }
   }
 
+  @Nullable Object getValue(@Positive int index) {
+    Object value = paramValues[index - 1];
+    return value == PRIMITIVE_VALUE ? primitiveBytes(index - 1) : value;
+  }
+
   boolean isNull(@Positive int index) {
     return paramValues[index - 1] == NULL_OBJECT;
   }
@@ -504,6 +578,10 @@ int getV3Length(@Positive int index) {
       throw new IllegalArgumentException("can't getV3Length() on a null parameter");
     }
 
+    if (value == PRIMITIVE_VALUE) {
+      return primitiveLength(paramTypes[index]);
+    }
+
     // Directly encoded?
     if (value instanceof byte[]) {
       return ((byte[]) value).length;
@@ -521,11 +599,22 @@ int getV3Length(@Positive int index) {
 
     // Already encoded?
     byte[] encoded = this.encoded[index];
-    if (encoded == null) {
-      // Encode value and compute actual length using UTF-8.
-      this.encoded[index] = encoded = value.toString().getBytes(StandardCharsets.UTF_8);
+    if (encoded != null) {
+      return encoded.length;
+    }
+
+    String str = value.toString();
+    if (str.length() >= DIRECT_ENCODING_THRESHOLD) {
+      // Encoded straight into the send buffer by writeV3Value, only the length is computed here
+      int length = utf8Lengths[index];
+      if (length == 0) {
+        utf8Lengths[index] = length = PgBufferedOutputStream.utf8Length(str);
+      }
+      return length;
     }
 
+    // Encode value and compute actual length using UTF-8.
+    this.encoded[index] = encoded = str.getBytes(StandardCharsets.UTF_8);
     return encoded.length;
   }
 
@@ -538,6 +627,22 @@ void writeV3Value(@Positive int index, PGStream pgStream) throws IOException {
       throw new IllegalArgumentException("can't writeV3Value() on a null parameter");
     }
 
+    // Primitive value, encoded straight into the send buffer
+    if (paramValue == PRIMITIVE_VALUE) {
+      long value = primitiveValues[index];
+      switch (primitiveLength(paramTypes[index])) {
+        case 2:
+          pgStream.sendInteger2((int) value & 0xFFFF);
+          break;
+        case 4:
+          pgStream.sendInteger4((int) value);
+          break;
+        default:
+          pgStream.sendInteger8(value);
+      }
+      return;
+    }
+
     // Directly encoded?
     if (paramValue instanceof byte[]) {
       pgStream.send((byte[]) paramValue);
@@ -559,16 +664,23 @@ void writeV3Value(@Positive int index, PGStream pgStream) throws IOException {
     }
 
     // Encoded string.
-    if (encoded[index] == null) {
-      encoded[index] = ((String) paramValue).getBytes(StandardCharsets.UTF_8);
+    byte[] encoded = this.encoded[index];
+    if (encoded == null) {
+      String str = (String) paramValue;
+      if (str.length() >= DIRECT_ENCODING_THRESHOLD) {
+        pgStream.sendUtf8(str);
+        return;
+      }
+      this.encoded[index] = encoded = str.getBytes(StandardCharsets.UTF_8);
     }
-    pgStream.send(encoded[index]);
+    pgStream.send(encoded);
   }
 
   @Override
   public ParameterList copy() {
     SimpleParameterList newCopy = new SimpleParameterList(paramValues.length, transferModeRegistry);
     System.arraycopy(paramValues, 0, newCopy.paramValues, 0, paramValues.length);
+    System.arraycopy(primitiveValues, 0, newCopy.primitiveValues, 0, primitiveValues.length);
     System.arraycopy(paramTypes, 0, newCopy.paramTypes, 0, paramTypes.length);
     System.arraycopy(flags, 0, newCopy.flags, 0, flags.length);
     newCopy.pos = pos;
@@ -580,6 +692,7 @@ public void clear() {
     Arrays.fill(paramValues, null);
     Arrays.fill(paramTypes, 0);
     Arrays.fill(encoded, null);
+    Arrays.fill(utf8Lengths, 0);
     Arrays.fill(flags, (byte) 0);
     pos = 0;
   }
@@ -591,6 +704,12 @@ public void clear() {
 
   @Override
   public @Nullable Object[] getValues() {
+    // Callers expect the binary representation of primitive values
+    for (int i = 0; i < paramValues.length; i++) {
+      if (paramValues[i] == PRIMITIVE_VALUE) {
+        paramValues[i] = primitiveBytes(i);
+      }
+    }
     return paramValues;
   }
 
@@ -622,10 +741,12 @@ public void appendAll(ParameterList list) throws SQLException {
               (pos + inParamCount), paramValues.length),
               PSQLState.INVALID_PARAMETER_VALUE);
       }
-      System.arraycopy(spl.getValues(), 0, this.paramValues, pos, inParamCount);
+      System.arraycopy(spl.paramValues, 0, this.paramValues, pos, inParamCount);
+      System.arraycopy(spl.primitiveValues, 0, this.primitiveValues, pos, inParamCount);
       System.arraycopy(spl.getParamTypes(), 0, this.paramTypes, pos, inParamCount);
       System.arraycopy(spl.getFlags(), 0, this.flags, pos, inParamCount);
       System.arraycopy(spl.getEncoding(), 0, this.encoded, pos, inParamCount);
+      System.arraycopy(spl.utf8Lengths, 0, this.utf8Lengths, pos, inParamCount);
       pos += inParamCount;
     }
   }
@@ -648,9 +769,13 @@ public String toString() {
   }
 
   private final @Nullable Object[] paramValues;
+  // Values of fixed-length binary parameters, the paramValues slot is PRIMITIVE_VALUE then
+  private final long[] primitiveValues;
   private final int[] paramTypes;
   private final byte[] flags;
   private final byte[] @Nullable [] encoded;
+  // UTF-8 lengths of the strings encoded straight into the send buffer, 0 until computed
+  private final int[] utf8Lengths;
   private final @Nullable TypeTransferModeRegistry transferModeRegistry;
 
   /**
@@ -659,5 +784,19 @@ public String toString() {
    */
   private static final Object NULL_OBJECT = new Object();
 
+  /**
+   * Strings of at least this many characters are encoded straight into the send buffer, so a large
+   * text or json value does not need an intermediate {@code byte[]} of up to three times its
+   * length. Smaller strings are encoded with {@code String.getBytes}, which is faster than
+   * computing the length and encoding the chars separately, and the bytes are kept for the batch
+   * rewrites that append this list to another one.
+   */
+  private static final int DIRECT_ENCODING_THRESHOLD = 256 * 1024;
+
+  /**
+   * Marker object for a value kept in {@link #primitiveValues}.
+   */
+  private static final Object PRIMITIVE_VALUE = new Object();
+
   private int pos;
 }
@@ -38,6 +38,10 @@ class SimpleQuery implements Query {
     this(src.nativeQuery, src.transferModeRegistry, src.sanitiserDisabled);
   }
 
+  SimpleQuery(SimpleQuery src, NativeQuery query) {
+    this(query, src.transferModeRegistry, src.sanitiserDisabled);
+  }
+
   SimpleQuery(NativeQuery query, @Nullable TypeTransferModeRegistry transferModeRegistry,
       boolean sanitiserDisabled) {
     this.nativeQuery = query;
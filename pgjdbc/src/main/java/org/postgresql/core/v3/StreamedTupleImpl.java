@@ -0,0 +1,293 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.postgresql.core.v3;
+
+import org.postgresql.core.PGStream;
+import org.postgresql.core.StreamedTuple;
+import org.postgresql.core.Tuple;
+import org.postgresql.jdbc.ResourceLock;
+import org.postgresql.util.GT;
+import org.postgresql.util.PSQLException;
+import org.postgresql.util.PSQLState;
+
+import org.checkerframework.checker.index.qual.NonNegative;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.SQLException;
+
+/**
+ * {@link StreamedTuple} of the V3 protocol: the rest of a DataRow message is read from the
+ * {@link PGStream} as the values are accessed. The value lengths and the values that are not larger
+ * than the threshold are read into memory up to the column that is accessed, while the large value
+ * of that column stays on the connection until it is read as a whole or as a stream.
+ *
+ * <p>The query executor is locked for the row, see {@link QueryExecutorImpl#fetch}, until the row
+ * is skipped by a fetch or a close.</p>
+ */
+final class StreamedTupleImpl extends StreamedTuple {
+  private final QueryExecutorImpl executor;
+  private final ResourceLock lock;
+  private final PGStream pgStream;
+  private final SimpleQuery query;
+  private final int threshold;
+  private final byte[] @Nullable [] values;
+  // The values that were skipped or streamed, and can't be read anymore
+  private final boolean[] discarded;
+  // The index of the next column whose length was not read yet
+  private int nextColumn;
+  // The column whose large value is on the connection, or -1
+  private int largeColumn = -1;
+  // The number of bytes of the large value that are still on the connection
+  private int largeRemaining;
+  // Whether the large value is read as a stream
+  private boolean largeStreamed;
+  // Whether the rest of the row was skipped, which releases the connection
+  private boolean finished;
+
+  private StreamedTupleImpl(QueryExecutorImpl executor, ResourceLock lock, PGStream pgStream,
+      SimpleQuery query, int threshold, byte[] @Nullable [] values) {
+    super(values);
+    this.executor = executor;
+    this.lock = lock;
+    this.pgStream = pgStream;
+    this.query = query;
+    this.threshold = threshold;
+    this.values = values;
+    this.discarded = new boolean[values.length];
+  }
+
+  /**
+   * Reads a DataRow message, after its length, up to its first value larger than the threshold.
+   *
+   * @param executor the query executor reading the results
+   * @param lock the lock of the query executor
+   * @param pgStream the connection
+   * @param query the query the row belongs to
+   * @param threshold the size above which values are left on the connection
+   * @return a streamed row positioned on the large value, or a regular tuple when the row has no
+   *     large value
+   * @throws IOException if the row can't be read
+   */
+  static Tuple receive(QueryExecutorImpl executor, ResourceLock lock, PGStream pgStream,
+      SimpleQuery query, int threshold) throws IOException {
+    byte[] @Nullable [] values = new byte[pgStream.receiveInteger2()][];
+    StreamedTupleImpl row =
+        new StreamedTupleImpl(executor, lock, pgStream, query, threshold, values);
+    while (row.largeColumn == -1 && row.nextColumn < values.length) {
+      row.receiveNextColumn();
+    }
+    return row.largeColumn == -1 ? new Tuple(values) : row;
+  }
+
+  SimpleQuery getQuery() {
+    return query;
+  }
+
+  @Override
+  public byte @Nullable [] receive(@NonNegative int index) throws SQLException {
+    if (isInMemory(index)) {
+      return values[index];
+    }
+    try (ResourceLock ignore = lock.obtain()) {
+      checkAvailable(index);
+      try {
+        moveTo(index);
+        if (largeColumn == index) {
+          if (largeStreamed) {
+            throw notAvailable(index);
+          }
+          values[index] = pgStream.receive(largeRemaining);
+          largeColumn = -1;
+          largeRemaining = 0;
+        }
+      } catch (IOException e) {
+        throw ioError(e);
+      }
+      return values[index];
+    }
+  }
+
+  @Override
+  public @Nullable InputStream receiveStream(@NonNegative int index) throws SQLException {
+    if (isInMemory(index)) {
+      return null;
+    }
+    try (ResourceLock ignore = lock.obtain()) {
+      checkAvailable(index);
+      try {
+        moveTo(index);
+      } catch (IOException e) {
+        throw ioError(e);
+      }
+      if (largeColumn != index) {
+        return null;
+      }
+      if (largeStreamed) {
+        throw notAvailable(index);
+      }
+      largeStreamed = true;
+      return new LargeValueInputStream(index);
+    }
+  }
+
+  /**
+   * Closes the cursor of the result set: discards the rest of the row and of the results, which
+   * releases the connection.
+   */
+  @Override
+  public void close() {
+    executor.closeStreamedTuple(this);
+  }
+
+  /**
+   * Skips the rest of the row, so the connection is positioned on the next message.
+   *
+   * @throws IOException if the row can't be read
+   */
+  void skipRest() throws IOException {
+    if (largeColumn != -1) {
+      skipLargeValue();
+    }
+    while (nextColumn < values.length) {
+      int size = pgStream.receiveInteger4();
+      if (size != -1) {
+        pgStream.skip(size);
+        discarded[nextColumn] = true;
+      }
+      nextColumn++;
+    }
+    finished = true;
+  }
+
+  private boolean isInMemory(int index) {
+    return index < nextColumn && index != largeColumn && !discarded[index];
+  }
+
+  private void checkAvailable(int index) throws PSQLException {
+    if (finished || discarded[index]) {
+      throw notAvailable(index);
+    }
+  }
+
+  private void receiveNextColumn() throws IOException {
+    int index = nextColumn++;
+    int size = pgStream.receiveInteger4();
+    if (size > threshold) {
+      largeColumn = index;
+      largeRemaining = size;
+      largeStreamed = false;
+    } else if (size != -1) {
+      values[index] = pgStream.receive(size);
+    }
+  }
+
+  private void skipLargeValue() throws IOException {
+    pgStream.skip(largeRemaining);
+    discarded[largeColumn] = true;
+    largeColumn = -1;
+    largeRemaining = 0;
+  }
+
+  /**
+   * Reads the row up to the given column, skipping the large values of the previous columns.
+   */
+  private void moveTo(int index) throws IOException {
+    while (true) {
+      if (largeColumn != -1) {
+        if (largeColumn >= index) {
+          return;
+        }
+        skipLargeValue();
+      }
+      if (nextColumn > index) {
+        return;
+      }
+      receiveNextColumn();
+    }
+  }
+
+  private static PSQLException notAvailable(int index) {
+    return new PSQLException(
+        GT.tr("The value of column {0} is no longer available. Values larger than largeValueStreamingThreshold can be read once, in column order, while the result set is on their row.",
+            index + 1),
+        PSQLState.OBJECT_NOT_IN_STATE);
+  }
+
+  private PSQLException ioError(IOException e) {
+    executor.abort();
+    return new PSQLException(GT.tr("An I/O error occurred while reading from the backend."),
+        PSQLState.CONNECTION_FAILURE, e);
+  }
+
+  /**
+   * Reads the large value from the connection.
+   */
+  private final class LargeValueInputStream extends InputStream {
+    private final int column;
+    private boolean closed;
+
+    LargeValueInputStream(int column) {
+      this.column = column;
+    }
+
+    @Override
+    public int read() throws IOException {
+      byte[] b = new byte[1];
+      return read(b, 0, 1) == -1 ? -1 : b[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      try (ResourceLock ignore = lock.obtain()) {
+        checkOpen();
+        if (largeRemaining == 0) {
+          return -1;
+        }
+        int n = Math.min(len, largeRemaining);
+        try {
+          pgStream.receive(b, off, n);
+        } catch (IOException e) {
+          executor.abort();
+          throw e;
+        }
+        largeRemaining -= n;
+        return n;
+      }
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+      try (ResourceLock ignore = lock.obtain()) {
+        checkOpen();
+        int skipped = (int) Math.min(Math.max(n, 0), largeRemaining);
+        try {
+          pgStream.skip(skipped);
+        } catch (IOException e) {
+          executor.abort();
+          throw e;
+        }
+        largeRemaining -= skipped;
+        return skipped;
+      }
+    }
+
+    @Override
+    public void close() {
+      // The rest of the value is skipped when the result set reads another column or row
+      closed = true;
+    }
+
+    private void checkOpen() throws IOException {
+      if (closed || largeColumn != column) {
+        throw new IOException(GT.tr(
+            "The stream of column {0} is closed: the result set moved to another column or row.",
+            column + 1));
+      }
+    }
+  }
+}
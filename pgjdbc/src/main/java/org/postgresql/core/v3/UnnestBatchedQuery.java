@@ -0,0 +1,337 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.postgresql.core.v3;
+
+import org.postgresql.core.NativeQuery;
+import org.postgresql.core.Oid;
+import org.postgresql.core.ParameterList;
+import org.postgresql.core.Parser;
+import org.postgresql.core.SqlCommand;
+import org.postgresql.core.SqlCommandType;
+import org.postgresql.core.TypeInfo;
+import org.postgresql.util.ByteConverter;
+import org.postgresql.util.StreamWrapper;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Purpose of this object is to execute a batch of {@link BatchedQuery} rows as
+ * {@code INSERT ... SELECT ... FROM unnest($1, ..., $n)}. Each parameter receives an array with the
+ * values of one column for every row in the batch, so the statement text, and the server-prepared
+ * statement, do not depend on the number of rows.
+ *
+ * <p>For instance, {@code INSERT INTO t(a, b) VALUES ($1, lower($2)) ON CONFLICT DO NOTHING} is
+ * executed as {@code INSERT INTO t(a, b) SELECT pgjdbc_unnest.c1, lower(pgjdbc_unnest.c2) FROM
+ * unnest($1, $2) AS pgjdbc_unnest(c1, c2) ON CONFLICT DO NOTHING}.</p>
+ */
+public class UnnestBatchedQuery extends SimpleQuery {
+  private static final String ALIAS = "pgjdbc_unnest";
+
+  private UnnestBatchedQuery(BatchedQuery src, NativeQuery query) {
+    super(src, query);
+  }
+
+  /**
+   * Creates the unnest form of the given query.
+   *
+   * @param src query to derive from
+   * @param valuesBraceOpenPosition position of the opening brace of the {@code VALUES} block
+   * @param valuesBraceClosePosition position of the closing brace of the {@code VALUES} block
+   * @return unnest form of the query or {@code null} if the query can't be expressed that way
+   */
+  static @Nullable UnnestBatchedQuery derive(BatchedQuery src, int valuesBraceOpenPosition,
+      int valuesBraceClosePosition) {
+    NativeQuery nativeQuery = src.getNativeQuery();
+    String nativeSql = nativeQuery.nativeSql;
+    int[] bindPositions = nativeQuery.bindPositions;
+    if (bindPositions.length == 0) {
+      return null;
+    }
+    int valuesKeywordPosition = findValuesKeyword(nativeSql, valuesBraceOpenPosition);
+    if (valuesKeywordPosition < 0) {
+      return null;
+    }
+    if (!isSingleRow(nativeSql, valuesBraceOpenPosition + 1, valuesBraceClosePosition)) {
+      // VALUES (...), (...): the parser reports the brace that closes the last row
+      return null;
+    }
+    String row = nativeSql.substring(valuesBraceOpenPosition + 1, valuesBraceClosePosition);
+    // DEFAULT is valid in VALUES, but not in a select list
+    if (row.toLowerCase(Locale.ROOT).contains("default")) {
+      return null;
+    }
+
+    StringBuilder sb = new StringBuilder(nativeSql.length() + 32 + bindPositions.length * 32);
+    sb.append(nativeSql, 0, valuesKeywordPosition);
+    sb.append("SELECT ");
+    int pos = valuesBraceOpenPosition + 1;
+    for (int i = 0; i < bindPositions.length; i++) {
+      sb.append(nativeSql, pos, bindPositions[i]);
+      sb.append(ALIAS).append(".c").append(i + 1);
+      pos = bindPositions[i] + NativeQuery.bindName(i + 1).length();
+    }
+    sb.append(nativeSql, pos, valuesBraceClosePosition);
+    sb.append(" FROM unnest(");
+    int[] newBindPositions = new int[bindPositions.length];
+    for (int i = 0; i < bindPositions.length; i++) {
+      if (i > 0) {
+        sb.append(", ");
+      }
+      newBindPositions[i] = sb.length();
+      NativeQuery.appendBindName(sb, i + 1);
+    }
+    sb.append(") AS ").append(ALIAS).append('(');
+    for (int i = 0; i < bindPositions.length; i++) {
+      if (i > 0) {
+        sb.append(", ");
+      }
+      sb.append('c').append(i + 1);
+    }
+    sb.append(')');
+    sb.append(nativeSql, valuesBraceClosePosition + 1, nativeSql.length());
+
+    NativeQuery unnestQuery = new NativeQuery(sb.toString(), newBindPositions, false,
+        SqlCommand.createStatementTypeInfo(SqlCommandType.INSERT));
+    return new UnnestBatchedQuery(src, unnestQuery);
+  }
+
+  /**
+   * Returns true if the text between the braces of the values block is a single row, that is
+   * when no brace outside of quotes and comments closes the row before {@code end}.
+   */
+  private static boolean isSingleRow(String sql, int start, int end) {
+    char[] chars = sql.toCharArray();
+    int depth = 0;
+    for (int i = start; i < end; i++) {
+      switch (chars[i]) {
+        case '\'':
+          i = Parser.parseSingleQuotes(chars, i, true);
+          break;
+        case '"':
+          i = Parser.parseDoubleQuotes(chars, i);
+          break;
+        case '-':
+          i = Parser.parseLineComment(chars, i);
+          break;
+        case '/':
+          i = Parser.parseBlockComment(chars, i);
+          break;
+        case '$':
+          i = Parser.parseDollarQuotes(chars, i);
+          break;
+        case '(':
+          depth++;
+          break;
+        case ')':
+          if (--depth < 0) {
+            return false;
+          }
+          break;
+        default:
+          break;
+      }
+    }
+    return depth == 0;
+  }
+
+  /**
+   * Returns the position of the {@code VALUES} keyword that precedes the values block, or
+   * {@code -1} when something other than whitespace, for instance a comment, separates them.
+   */
+  static int findValuesKeyword(String sql, int valuesBraceOpenPosition) {
+    int end = valuesBraceOpenPosition;
+    while (end > 0 && Character.isWhitespace(sql.charAt(end - 1))) {
+      end--;
+    }
+    int start = end - "values".length();
+    if (start <= 0 || !sql.regionMatches(true, start, "values", 0, "values".length())) {
+      return -1;
+    }
+    char prev = sql.charAt(start - 1);
+    if (Character.isJavaIdentifierPart(prev)) {
+      return -1;
+    }
+    return start;
+  }
+
+  /**
+   * Creates the parameters for executing {@code count} rows of the batch starting at
+   * {@code offset}. Every column is sent as a single array: in binary when the row values are
+   * binary (or text that has the same binary representation), and as a text array literal
+   * otherwise.
+   *
+   * @param rows parameters of the individual rows, as created by the original query
+   * @param offset index of the first row to include
+   * @param count number of rows to include
+   * @param typeInfo type information used to resolve array types
+   * @return the parameter list or {@code null} if the rows can't be expressed as arrays, for
+   *     instance when a parameter type is unspecified or differs between rows
+   * @throws SQLException if the array type lookup fails
+   */
+  public @Nullable ParameterList createParameterList(List<@Nullable ParameterList> rows,
+      int offset, int count, TypeInfo typeInfo) throws SQLException {
+    SimpleParameterList[] lists = new SimpleParameterList[count];
+    for (int i = 0; i < count; i++) {
+      ParameterList row = rows.get(offset + i);
+      if (!(row instanceof SimpleParameterList)) {
+        return null;
+      }
+      lists[i] = (SimpleParameterList) row;
+    }
+    int columns = getBindCount();
+    SimpleParameterList result = new SimpleParameterList(columns, null);
+    for (int column = 1; column <= columns; column++) {
+      if (!bindColumn(result, column, lists, typeInfo)) {
+        return null;
+      }
+    }
+    return result;
+  }
+
+  private static boolean bindColumn(SimpleParameterList result, int column,
+      SimpleParameterList[] rows, TypeInfo typeInfo) throws SQLException {
+    int elementOid = Oid.UNSPECIFIED;
+    int nullOid = Oid.UNSPECIFIED;
+    boolean binary = true;
+    boolean text = true;
+    for (SimpleParameterList row : rows) {
+      int oid = row.getTypeOID(column);
+      if (row.isNull(column)) {
+        if (nullOid == Oid.UNSPECIFIED) {
+          nullOid = oid;
+        }
+        continue;
+      }
+      if (oid == Oid.UNSPECIFIED || (elementOid != Oid.UNSPECIFIED && elementOid != oid)) {
+        return false;
+      }
+      elementOid = oid;
+      Object value = row.getValue(column);
+      if (value instanceof String) {
+        binary &= isTextBinaryCompatible(oid);
+      } else {
+        text = false;
+        binary &= value instanceof byte[]
+            || (value instanceof StreamWrapper && ((StreamWrapper) value).getBytes() != null);
+      }
+    }
+    if (elementOid == Oid.UNSPECIFIED) {
+      // All the values are null, so any typed null tells the array type
+      elementOid = nullOid;
+    }
+    if (elementOid == Oid.UNSPECIFIED || !(binary || text)) {
+      return false;
+    }
+    String elementType = typeInfo.getPGType(elementOid);
+    int arrayOid = elementType == null ? Oid.UNSPECIFIED : typeInfo.getPGArrayType(elementType);
+    if (arrayOid == Oid.UNSPECIFIED) {
+      return false;
+    }
+    if (binary) {
+      result.setBinaryParameter(column, toBinaryArray(rows, column, elementOid), arrayOid);
+    } else {
+      char delimiter = typeInfo.getArrayDelimiter(arrayOid);
+      result.setStringParameter(column, toArrayLiteral(rows, column, delimiter), arrayOid);
+    }
+    return true;
+  }
+
+  /**
+   * Text values are sent as UTF-8, which matches the binary representation of these types.
+   */
+  private static boolean isTextBinaryCompatible(int oid) {
+    return oid == Oid.TEXT || oid == Oid.VARCHAR || oid == Oid.BPCHAR;
+  }
+
+  private static byte[] toBinaryArray(SimpleParameterList[] rows, int column, int elementOid) {
+    byte[][] elements = new byte[rows.length][];
+    int length = 20;
+    boolean hasNulls = false;
+    for (int i = 0; i < rows.length; i++) {
+      SimpleParameterList row = rows[i];
+      length += 4;
+      if (row.isNull(column)) {
+        hasNulls = true;
+        continue;
+      }
+      Object value = row.getValue(column);
+      byte[] element;
+      if (value instanceof String) {
+        element = ((String) value).getBytes(StandardCharsets.UTF_8);
+      } else if (value instanceof StreamWrapper) {
+        StreamWrapper wrapper = (StreamWrapper) value;
+        byte[] data = wrapper.getBytes();
+        element = data == null ? new byte[0] : data;
+        if (wrapper.getOffset() != 0 || wrapper.getLength() != element.length) {
+          byte[] copy = new byte[wrapper.getLength()];
+          System.arraycopy(element, wrapper.getOffset(), copy, 0, copy.length);
+          element = copy;
+        }
+      } else {
+        element = (byte[]) value;
+      }
+      elements[i] = element;
+      length += element.length;
+    }
+
+    byte[] bytes = new byte[length];
+    // 1 dimension
+    ByteConverter.int4(bytes, 0, 1);
+    // has nulls
+    ByteConverter.int4(bytes, 4, hasNulls ? 1 : 0);
+    // oid
+    ByteConverter.int4(bytes, 8, elementOid);
+    // length
+    ByteConverter.int4(bytes, 12, rows.length);
+    // postgresql uses 1 base by default
+    ByteConverter.int4(bytes, 16, 1);
+    int idx = 20;
+    for (byte[] element : elements) {
+      if (element == null) {
+        ByteConverter.int4(bytes, idx, -1);
+        idx += 4;
+        continue;
+      }
+      ByteConverter.int4(bytes, idx, element.length);
+      idx += 4;
+      System.arraycopy(element, 0, bytes, idx, element.length);
+      idx += element.length;
+    }
+    return bytes;
+  }
+
+  private static String toArrayLiteral(SimpleParameterList[] rows, int column, char delimiter) {
+    StringBuilder sb = new StringBuilder(rows.length * 16);
+    sb.append('{');
+    for (int i = 0; i < rows.length; i++) {
+      if (i > 0) {
+        sb.append(delimiter);
+      }
+      SimpleParameterList row = rows[i];
+      if (row.isNull(column)) {
+        sb.append("NULL");
+        continue;
+      }
+      String value = (String) row.getValue(column);
+      sb.append('"');
+      for (int j = 0; j < value.length(); j++) {
+        char c = value.charAt(j);
+        if (c == '"' || c == '\\') {
+          sb.append('\\');
+        }
+        sb.append(c);
+      }
+      sb.append('"');
+    }
+    sb.append('}');
+    return sb.toString();
+  }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.postgresql.ds;
+
+import static org.postgresql.ds.PoolEntry.STATE_IN_USE;
+import static org.postgresql.ds.PoolEntry.STATE_NOT_IN_USE;
+import static org.postgresql.ds.PoolEntry.STATE_REMOVED;
+import static org.postgresql.ds.PoolEntry.STATE_RESERVED;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Lock-free collection of the {@link PoolEntry}s of a {@link PGConnectionPool}.
+ *
+ * <p>A thread first tries the entries it returned itself, most recent first, as they are likely
+ * still idle and in its CPU cache. It then scans all the entries, and finally waits on a fair
+ * {@link SynchronousQueue} to which returned and new entries are handed off while threads are
+ * waiting, so waiting threads are served in order. Entries are claimed with compare-and-set, so no
+ * lock is taken on the borrow and return paths.</p>
+ */
+final class ConnectionBag {
+  private static final int MAX_THREAD_ENTRIES = 16;
+
+  /**
+   * Asked to add a connection when a thread has to wait.
+   */
+  interface Listener {
+    void addConnection(int waiting);
+  }
+
+  private final CopyOnWriteArrayList<PoolEntry> entries = new CopyOnWriteArrayList<>();
+  private final ThreadLocal<List<WeakReference<PoolEntry>>> threadEntries =
+      ThreadLocal.withInitial(() -> new ArrayList<>(MAX_THREAD_ENTRIES));
+  private final SynchronousQueue<PoolEntry> handoff = new SynchronousQueue<>(true);
+  private final AtomicInteger waiters = new AtomicInteger();
+  private final Listener listener;
+  private volatile boolean closed;
+
+  ConnectionBag(Listener listener) {
+    this.listener = listener;
+  }
+
+  /**
+   * Borrows an idle entry, waiting up to the timeout for one.
+   *
+   * @param timeoutNanos how long to wait
+   * @return the entry in {@link PoolEntry#STATE_IN_USE} state, or null if none became available
+   * @throws InterruptedException if the thread is interrupted while waiting
+   */
+  @Nullable PoolEntry borrow(long timeoutNanos) throws InterruptedException {
+    List<WeakReference<PoolEntry>> list = threadEntries.get();
+    for (int i = list.size() - 1; i >= 0; i--) {
+      PoolEntry entry = list.remove(i).get();
+      if (entry != null && entry.compareAndSetState(STATE_NOT_IN_USE, STATE_IN_USE)) {
+        return entry;
+      }
+    }
+
+    int waiting = waiters.incrementAndGet();
+    try {
+      for (PoolEntry entry : entries) {
+        if (entry.compareAndSetState(STATE_NOT_IN_USE, STATE_IN_USE)) {
+          if (waiting > 1) {
+            // The entry might have been meant for another waiting thread
+            listener.addConnection(waiting - 1);
+          }
+          return entry;
+        }
+      }
+
+      listener.addConnection(waiting);
+
+      long deadline = System.nanoTime() + timeoutNanos;
+      do {
+        PoolEntry entry = handoff.poll(timeoutNanos, TimeUnit.NANOSECONDS);
+        if (entry == null) {
+          return null;
+        }
+        if (entry.compareAndSetState(STATE_NOT_IN_USE, STATE_IN_USE)) {
+          return entry;
+        }
+        timeoutNanos = deadline - System.nanoTime();
+      } while (timeoutNanos > 0);
+      return null;
+    } finally {
+      waiters.decrementAndGet();
+    }
+  }
+
+  /**
+   * Returns a borrowed entry, handing it off to a waiting thread if there is one.
+   *
+   * @param entry the entry
+   */
+  void requite(PoolEntry entry) {
+    entry.setState(STATE_NOT_IN_USE);
+    for (int i = 0; waiters.get() > 0; i++) {
+      if (entry.getState() != STATE_NOT_IN_USE || handoff.offer(entry)) {
+        return;
+      }
+      if ((i & 0xff) == 0xff) {
+        LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(10));
+      } else {
+        Thread.yield();
+      }
+    }
+    List<WeakReference<PoolEntry>> list = threadEntries.get();
+    if (list.size() < MAX_THREAD_ENTRIES) {
+      list.add(new WeakReference<>(entry));
+    }
+  }
+
+  /**
+   * Adds a new entry in {@link PoolEntry#STATE_NOT_IN_USE} state.
+   *
+   * @param entry the entry
+   */
+  void add(PoolEntry entry) {
+    entries.add(entry);
+    while (waiters.get() > 0 && entry.getState() == STATE_NOT_IN_USE && !handoff.offer(entry)) {
+      Thread.yield();
+    }
+  }
+
+  /**
+   * Removes an entry that was borrowed or reserved.
+   *
+   * @param entry the entry
+   * @return false if the entry was neither borrowed nor reserved
+   */
+  boolean remove(PoolEntry entry) {
+    if (!entry.compareAndSetState(STATE_IN_USE, STATE_REMOVED)
+        && !entry.compareAndSetState(STATE_RESERVED, STATE_REMOVED)
+        && !closed) {
+      return false;
+    }
+    return entries.remove(entry);
+  }
+
+  /**
+   * Reserves an idle entry so it is not borrowed, for instance to close it.
+   *
+   * @param entry the entry
+   * @return true if the entry was idle and is now reserved
+   */
+  boolean reserve(PoolEntry entry) {
+    return entry.compareAndSetState(STATE_NOT_IN_USE, STATE_RESERVED);
+  }
+
+  List<PoolEntry> values(int state) {
+    List<PoolEntry> values = new ArrayList<>();
+    for (PoolEntry entry : entries) {
+      if (entry.getState() == state) {
+        values.add(entry);
+      }
+    }
+    return values;
+  }
+
+  List<PoolEntry> values() {
+    return new ArrayList<>(entries);
+  }
+
+  int getCount(int state) {
+    int count = 0;
+    for (PoolEntry entry : entries) {
+      if (entry.getState() == state) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  int size() {
+    return entries.size();
+  }
+
+  int getWaitingThreadCount() {
+    return waiters.get();
+  }
+
+  void close() {
+    closed = true;
+  }
+}
@@ -0,0 +1,589 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.postgresql.ds;
+
+import static org.postgresql.util.internal.Nullness.castNonNull;
+
+import org.postgresql.PGConnection;
+import org.postgresql.ds.common.BaseDataSource;
+import org.postgresql.jdbc.ResourceLock;
+import org.postgresql.util.DriverInfo;
+import org.postgresql.util.GT;
+import org.postgresql.util.PSQLException;
+import org.postgresql.util.PSQLState;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.sql.ConnectionEvent;
+import javax.sql.ConnectionEventListener;
+import javax.sql.DataSource;
+
+/**
+ * Connection pool DataSource. Unlike the deprecated {@link PGPoolingDataSource}, it does not take
+ * a lock to borrow or return a connection, so it scales with the number of threads.
+ *
+ * <ul>
+ *   <li>Idle connections are kept in a lock-free bag where each thread first looks at the
+ *   connections it returned itself. Threads that find no idle connection wait in a fair queue,
+ *   up to {@link #getConnectionTimeout() connectionTimeout} milliseconds.</li>
+ *   <li>Connections are opened in the background, when threads wait and the pool is not full, and
+ *   to keep {@link #getMinimumIdle() minimumIdle} idle connections.</li>
+ *   <li>Connections are checked with {@link PGConnection#isValid(int, long)} before they are
+ *   handed out, which only pings the server when it has not answered for more than half a
+ *   second.</li>
+ *   <li>Connections are closed after {@link #getMaxLifetime() maxLifetime} milliseconds, minus a
+ *   random part of up to 2.5% so they are not all reopened at once, and idle connections above
+ *   {@code minimumIdle} are closed after {@link #getIdleTimeout() idleTimeout}
+ *   milliseconds.</li>
+ *   <li>Connections that are not returned within
+ *   {@link #getLeakDetectionThreshold() leakDetectionThreshold} milliseconds are logged with the
+ *   stack trace of the code that borrowed them.</li>
+ * </ul>
+ *
+ * <p>The pool starts on the first {@link #getConnection()}, and its settings can't be changed
+ * afterwards. Connections for a user other than the configured one are not pooled.</p>
+ */
+public class PGConnectionPool extends BaseDataSource implements DataSource, AutoCloseable {
+  private static final Logger LOGGER = Logger.getLogger(PGConnectionPool.class.getName());
+
+  private static final long ALIVE_BYPASS_MILLIS = 500;
+  private static final long HOUSEKEEPING_PERIOD_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+  // Settings
+  private @Nullable String poolName;
+  private int maximumPoolSize = 10;
+  private int minimumIdle = -1;
+  private long connectionTimeout = TimeUnit.SECONDS.toMillis(30);
+  private long validationTimeout = TimeUnit.SECONDS.toMillis(5);
+  private long idleTimeout = TimeUnit.MINUTES.toMillis(10);
+  private long maxLifetime = TimeUnit.MINUTES.toMillis(30);
+  private long leakDetectionThreshold;
+
+  // State
+  private final ResourceLock lock = new ResourceLock();
+  private volatile boolean initialized;
+  private volatile boolean closed;
+  private @Nullable PGConnectionPoolDataSource source;
+  private @Nullable ConnectionBag bag;
+  private @Nullable ThreadPoolExecutor addConnectionExecutor;
+  private @Nullable ScheduledExecutorService houseKeeper;
+  private final AtomicInteger pendingConnections = new AtomicInteger();
+  private volatile @Nullable SQLException lastConnectionFailure;
+
+  // Metrics
+  private final LongAdder connectionsCreated = new LongAdder();
+  private final LongAdder connectionsBorrowed = new LongAdder();
+  private final LongAdder connectionTimeouts = new LongAdder();
+  private final LongAdder waitNanos = new LongAdder();
+  private final LongAdder usageNanos = new LongAdder();
+
+  /**
+   * Gets a description of this DataSource.
+   */
+  @Override
+  public String getDescription() {
+    return "Connection pool '" + getPoolName() + "' from " + DriverInfo.DRIVER_FULL_NAME;
+  }
+
+  private void checkNotInitialized() {
+    if (initialized) {
+      throw new IllegalStateException(
+          "Cannot set pool properties after the pool has been used");
+    }
+  }
+
+  /**
+   * @return the name of the pool, used in the names of its threads and in its log messages
+   */
+  public String getPoolName() {
+    String poolName = this.poolName;
+    return poolName == null ? "PGConnectionPool@" + Integer.toHexString(hashCode()) : poolName;
+  }
+
+  public void setPoolName(@Nullable String poolName) {
+    checkNotInitialized();
+    this.poolName = poolName;
+  }
+
+  /**
+   * @return maximum number of physical connections, idle and in use, default 10
+   */
+  public int getMaximumPoolSize() {
+    return maximumPoolSize;
+  }
+
+  public void setMaximumPoolSize(int maximumPoolSize) {
+    checkNotInitialized();
+    if (maximumPoolSize < 1) {
+      throw new IllegalArgumentException("maximumPoolSize must be positive");
+    }
+    this.maximumPoolSize = maximumPoolSize;
+  }
+
+  /**
+   * @return number of idle connections the pool tries to keep, defaults to
+   *     {@link #getMaximumPoolSize()}
+   */
+  public int getMinimumIdle() {
+    return minimumIdle < 0 ? maximumPoolSize : Math.min(minimumIdle, maximumPoolSize);
+  }
+
+  public void setMinimumIdle(int minimumIdle) {
+    checkNotInitialized();
+    this.minimumIdle = minimumIdle;
+  }
+
+  /**
+   * @return how long in milliseconds {@link #getConnection()} waits for a connection, default
+   *     30000
+   */
+  public long getConnectionTimeout() {
+    return connectionTimeout;
+  }
+
+  public void setConnectionTimeout(long connectionTimeout) {
+    checkNotInitialized();
+    this.connectionTimeout = connectionTimeout;
+  }
+
+  /**
+   * @return how long in milliseconds the validation of an idle connection may take, default 5000
+   */
+  public long getValidationTimeout() {
+    return validationTimeout;
+  }
+
+  public void setValidationTimeout(long validationTimeout) {
+    checkNotInitialized();
+    this.validationTimeout = validationTimeout;
+  }
+
+  /**
+   * @return how long in milliseconds a connection above {@link #getMinimumIdle()} may stay idle,
+   *     0 to never close idle connections, default 600000
+   */
+  public long getIdleTimeout() {
+    return idleTimeout;
+  }
+
+  public void setIdleTimeout(long idleTimeout) {
+    checkNotInitialized();
+    this.idleTimeout = idleTimeout;
+  }
+
+  /**
+   * @return maximum lifetime in milliseconds of a connection, 0 for no limit, default 1800000
+   */
+  public long getMaxLifetime() {
+    return maxLifetime;
+  }
+
+  public void setMaxLifetime(long maxLifetime) {
+    checkNotInitialized();
+    this.maxLifetime = maxLifetime;
+  }
+
+  /**
+   * @return how long in milliseconds a connection may be borrowed before it is logged as a
+   *     possible leak, 0 to disable leak detection, the default
+   */
+  public long getLeakDetectionThreshold() {
+    return leakDetectionThreshold;
+  }
+
+  public void setLeakDetectionThreshold(long leakDetectionThreshold) {
+    checkNotInitialized();
+    this.leakDetectionThreshold = leakDetectionThreshold;
+  }
+
+  /**
+   * Starts the pool. It is called by the first {@link #getConnection()} if it is not called
+   * explicitly.
+   *
+   * @throws SQLException if the pool settings are invalid
+   */
+  public void initialize() throws SQLException {
+    try (ResourceLock ignore = lock.obtain()) {
+      if (initialized) {
+        return;
+      }
+      if (closed) {
+        throw new PSQLException(GT.tr("DataSource has been closed."),
+            PSQLState.CONNECTION_DOES_NOT_EXIST);
+      }
+      PGConnectionPoolDataSource source = new PGConnectionPoolDataSource();
+      try {
+        source.initializeFrom(this);
+      } catch (Exception e) {
+        throw new PSQLException(GT.tr("Failed to setup DataSource."), PSQLState.UNEXPECTED_ERROR,
+            e);
+      }
+      this.source = source;
+      String poolName = getPoolName();
+      ThreadPoolExecutor addConnectionExecutor = new ThreadPoolExecutor(1, 1, 5, TimeUnit.SECONDS,
+          new LinkedBlockingQueue<>(), daemonThreads(poolName + " connection adder"));
+      addConnectionExecutor.allowCoreThreadTimeOut(true);
+      this.addConnectionExecutor = addConnectionExecutor;
+      ScheduledExecutorService houseKeeper = Executors.newSingleThreadScheduledExecutor(
+          daemonThreads(poolName + " housekeeper"));
+      this.houseKeeper = houseKeeper;
+      this.bag = new ConnectionBag(this::addConnections);
+      houseKeeper.scheduleWithFixedDelay(this::houseKeep, 0, HOUSEKEEPING_PERIOD_MILLIS,
+          TimeUnit.MILLISECONDS);
+      initialized = true;
+    }
+  }
+
+  private static ThreadFactory daemonThreads(String name) {
+    return r -> {
+      Thread thread = new Thread(r, name);
+      thread.setDaemon(true); // Don't prevent the VM from shutting down
+      return thread;
+    };
+  }
+
+  /**
+   * Gets a <b>non-pooled</b> connection, unless the user and password are the same as the default
+   * values for this connection pool.
+   */
+  @Override
+  public Connection getConnection(@Nullable String user, @Nullable String password)
+      throws SQLException {
+    if (user == null || (user.equals(getUser()) && ((password == null && getPassword() == null)
+        || (password != null && password.equals(getPassword()))))) {
+      return getConnection();
+    }
+    return super.getConnection(user, password);
+  }
+
+  /**
+   * Borrows a connection from the pool. Closing the connection returns it to the pool.
+   *
+   * @return a pooled connection
+   * @throws SQLException if no connection became available within the connection timeout
+   */
+  @Override
+  public Connection getConnection() throws SQLException {
+    if (!initialized) {
+      initialize();
+    }
+    ConnectionBag bag = castNonNull(this.bag);
+    long startNanos = System.nanoTime();
+    long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(connectionTimeout);
+    try {
+      long remainingNanos = timeoutNanos;
+      do {
+        if (closed) {
+          throw new PSQLException(GT.tr("DataSource has been closed."),
+              PSQLState.CONNECTION_DOES_NOT_EXIST);
+        }
+        PoolEntry entry = bag.borrow(remainingNanos);
+        if (entry == null) {
+          break;
+        }
+        long now = System.nanoTime();
+        Connection con = borrowed(entry, now);
+        if (con != null) {
+          connectionsBorrowed.increment();
+          waitNanos.add(now - startNanos);
+          return con;
+        }
+        remainingNanos = timeoutNanos - (System.nanoTime() - startNanos);
+      } while (remainingNanos > 0);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new PSQLException(GT.tr("Interrupted while waiting for a connection from the pool."),
+          PSQLState.CONNECTION_UNABLE_TO_CONNECT, e);
+    }
+    connectionTimeouts.increment();
+    throw new PSQLException(
+        GT.tr("Timed out after {0} ms waiting for a connection from the pool.", connectionTimeout),
+        PSQLState.CONNECTION_UNABLE_TO_CONNECT, lastConnectionFailure);
+  }
+
+  /**
+   * Checks out a borrowed entry, or closes it if it expired or is broken.
+   */
+  private @Nullable Connection borrowed(PoolEntry entry, long now) {
+    if (entry.evicted) {
+      closeEntry(entry, "evicted");
+      return null;
+    }
+    Connection con;
+    try {
+      con = entry.pooledConnection.getConnection();
+      int validationSeconds = (int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(validationTimeout));
+      if (!((PGConnection) con).isValid(validationSeconds, ALIVE_BYPASS_MILLIS)) {
+        closeEntry(entry, "failed validation");
+        return null;
+      }
+    } catch (SQLException e) {
+      LOGGER.log(Level.FINE, "Pooled connection is broken", e);
+      closeEntry(entry, "broken");
+      return null;
+    }
+    entry.lastAccessedNanos = now;
+    long leakDetectionThreshold = this.leakDetectionThreshold;
+    if (leakDetectionThreshold > 0) {
+      Exception borrowedAt = new Exception("Connection borrowed here");
+      entry.leakTask = castNonNull(houseKeeper).schedule(() -> LOGGER.log(Level.WARNING,
+          "Connection " + entry.pooledConnection + " of pool " + getPoolName()
+              + " was not returned within " + leakDetectionThreshold + " ms, possible leak",
+          borrowedAt), leakDetectionThreshold, TimeUnit.MILLISECONDS);
+    }
+    return con;
+  }
+
+  private void returned(PoolEntry entry) {
+    if (entry.getState() != PoolEntry.STATE_IN_USE) {
+      return;
+    }
+    entry.cancelLeakTask();
+    long now = System.nanoTime();
+    usageNanos.add(now - entry.lastAccessedNanos);
+    entry.lastAccessedNanos = now;
+    if (entry.evicted || closed) {
+      closeEntry(entry, "evicted");
+      return;
+    }
+    castNonNull(bag).requite(entry);
+  }
+
+  private void closeEntry(PoolEntry entry, String reason) {
+    ConnectionBag bag = castNonNull(this.bag);
+    if (bag.remove(entry)) {
+      LOGGER.log(Level.FINE, "Closing connection {0} of pool {1}: {2}",
+          new Object[]{entry.pooledConnection, getPoolName(), reason});
+      entry.close();
+      if (!closed) {
+        fillPool();
+      }
+    }
+  }
+
+  /**
+   * Opens connections in the background for the waiting threads, within the maximum pool size.
+   */
+  private void addConnections(int waiting) {
+    ConnectionBag bag = castNonNull(this.bag);
+    while (true) {
+      int pending = pendingConnections.get();
+      if (closed || pending >= waiting || bag.size() + pending >= maximumPoolSize) {
+        return;
+      }
+      if (pendingConnections.compareAndSet(pending, pending + 1)) {
+        castNonNull(addConnectionExecutor).execute(this::addConnection);
+      }
+    }
+  }
+
+  private void fillPool() {
+    ConnectionBag bag = castNonNull(this.bag);
+    int toAdd = Math.min(maximumPoolSize - bag.size(),
+        getMinimumIdle() - bag.getCount(PoolEntry.STATE_NOT_IN_USE)) - pendingConnections.get();
+    for (int i = 0; i < toAdd && !closed; i++) {
+      pendingConnections.incrementAndGet();
+      castNonNull(addConnectionExecutor).execute(this::addConnection);
+    }
+  }
+
+  private void addConnection() {
+    try {
+      ConnectionBag bag = castNonNull(this.bag);
+      if (closed || bag.size() >= maximumPoolSize) {
+        return;
+      }
+      PoolEntry entry;
+      try {
+        entry = new PoolEntry(castNonNull(source).getPooledConnection());
+      } catch (SQLException e) {
+        LOGGER.log(Level.FINE, "Could not open a connection for pool " + getPoolName(), e);
+        lastConnectionFailure = e;
+        return;
+      }
+      lastConnectionFailure = null;
+      connectionsCreated.increment();
+      entry.pooledConnection.addConnectionEventListener(new ConnectionEventListener() {
+        @Override
+        public void connectionClosed(ConnectionEvent event) {
+          returned(entry);
+        }
+
+        @Override
+        public void connectionErrorOccurred(ConnectionEvent event) {
+          // The physical connection is useless, close it when the application closes it
+          entry.evicted = true;
+        }
+      });
+      long maxLifetime = this.maxLifetime;
+      if (maxLifetime > 0) {
+        long lifetime = maxLifetime - ThreadLocalRandom.current().nextLong(maxLifetime / 40 + 1);
+        entry.endOfLife = castNonNull(houseKeeper).schedule(() -> {
+          entry.evicted = true;
+          if (bag.reserve(entry)) {
+            closeEntry(entry, "maximum lifetime reached");
+          }
+          // A borrowed connection is closed when it is returned
+        }, lifetime, TimeUnit.MILLISECONDS);
+      }
+      bag.add(entry);
+    } finally {
+      pendingConnections.decrementAndGet();
+    }
+  }
+
+  /**
+   * Closes the connections above minimumIdle that were idle for longer than idleTimeout, and opens
+   * connections up to minimumIdle.
+   */
+  private void houseKeep() {
+    if (closed) {
+      return;
+    }
+    ConnectionBag bag = castNonNull(this.bag);
+    long idleTimeout = this.idleTimeout;
+    if (idleTimeout > 0 && getMinimumIdle() < maximumPoolSize) {
+      long idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeout);
+      int toRemove = bag.getCount(PoolEntry.STATE_NOT_IN_USE) - getMinimumIdle();
+      long now = System.nanoTime();
+      for (PoolEntry entry : bag.values(PoolEntry.STATE_NOT_IN_USE)) {
+        if (toRemove <= 0) {
+          break;
+        }
+        if (now - entry.lastAccessedNanos > idleTimeoutNanos && bag.reserve(entry)) {
+          closeEntry(entry, "idle timeout");
+          toRemove--;
+        }
+      }
+    }
+    fillPool();
+  }
+
+  /**
+   * Closes the pool and its idle connections. Connections in use are closed when they are
+   * returned.
+   */
+  @Override
+  public void close() {
+    try (ResourceLock ignore = lock.obtain()) {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      if (!initialized) {
+        return;
+      }
+    }
+    castNonNull(houseKeeper).shutdownNow();
+    castNonNull(addConnectionExecutor).shutdownNow();
+    ConnectionBag bag = castNonNull(this.bag);
+    for (PoolEntry entry : bag.values()) {
+      entry.evicted = true;
+      if (bag.reserve(entry)) {
+        closeEntry(entry, "pool closed");
+      }
+    }
+    bag.close();
+  }
+
+  public boolean isClosed() {
+    return closed;
+  }
+
+  /**
+   * @return number of physical connections, idle and in use
+   */
+  public int getTotalConnections() {
+    ConnectionBag bag = this.bag;
+    return bag == null ? 0 : bag.size();
+  }
+
+  /**
+   * @return number of connections in use
+   */
+  public int getActiveConnections() {
+    ConnectionBag bag = this.bag;
+    return bag == null ? 0 : bag.getCount(PoolEntry.STATE_IN_USE);
+  }
+
+  /**
+   * @return number of idle connections
+   */
+  public int getIdleConnections() {
+    ConnectionBag bag = this.bag;
+    return bag == null ? 0 : bag.getCount(PoolEntry.STATE_NOT_IN_USE);
+  }
+
+  /**
+   * @return number of threads waiting for a connection
+   */
+  public int getThreadsAwaitingConnection() {
+    ConnectionBag bag = this.bag;
+    return bag == null ? 0 : bag.getWaitingThreadCount();
+  }
+
+  /**
+   * @return number of physical connections opened since the pool started
+   */
+  public long getConnectionsCreated() {
+    return connectionsCreated.sum();
+  }
+
+  /**
+   * @return number of connections borrowed since the pool started
+   */
+  public long getConnectionsBorrowed() {
+    return connectionsBorrowed.sum();
+  }
+
+  /**
+   * @return number of {@link #getConnection()} calls that timed out
+   */
+  public long getConnectionTimeouts() {
+    return connectionTimeouts.sum();
+  }
+
+  /**
+   * @return total time in milliseconds threads waited in {@link #getConnection()}
+   */
+  public long getTotalWaitMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(waitNanos.sum());
+  }
+
+  /**
+   * @return total time in milliseconds connections were borrowed
+   */
+  public long getTotalUsageMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(usageNanos.sum());
+  }
+
+  @Override
+  public boolean isWrapperFor(Class<?> iface) throws SQLException {
+    return iface.isAssignableFrom(getClass());
+  }
+
+  @Override
+  public <T> T unwrap(Class<T> iface) throws SQLException {
+    if (iface.isAssignableFrom(getClass())) {
+      return iface.cast(this);
+    }
+    throw new SQLException("Cannot unwrap to " + iface.getName());
+  }
+}
@@ -0,0 +1,507 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.postgresql.ds;
+
+import static org.postgresql.util.internal.Nullness.castNonNull;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGStatement;
+import org.postgresql.util.GT;
+import org.postgresql.util.PSQLException;
+import org.postgresql.util.PSQLState;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.sql.DataSource;
+
+/**
+ * DataSource that splits reads from writes: its connections run read-only transactions on a
+ * connection from the standby DataSource and the other transactions on a connection from the
+ * primary DataSource. The primary and standby DataSources are typically connection pools, or
+ * {@link PGSimpleDataSource}s with {@code targetServerType=primary} and
+ * {@code targetServerType=preferSecondary}.
+ *
+ * <p>A connection of this DataSource is a logical connection that opens at most one physical
+ * connection from each DataSource, when it first needs it, and closes them when it is closed. The
+ * physical connection is chosen when a statement is created, from {@link Connection#isReadOnly()}:
+ * a read-only connection uses the standby. The choice does not change during a transaction, so
+ * {@code setReadOnly} takes effect at the next transaction, and statements keep running on the
+ * physical connection they were created on. Commit and rollback end the transaction on every
+ * physical connection that executed a statement in it, the primary last: when another
+ * connection fails to commit, the primary rolls back.</p>
+ *
+ * <p>After a statement executed on the primary, the connection keeps using the primary for
+ * read-only transactions too, so it reads its own writes despite the replication lag. This lasts
+ * for {@link #getStickyAfterWriteMillis()} milliseconds, or until the connection is closed if
+ * that is negative. If no standby connection can be opened, read-only transactions use the
+ * primary.</p>
+ *
+ * <p>Connection settings such as the auto-commit mode, the transaction isolation and the schema
+ * are applied to both physical connections.</p>
+ */
+public class PGRoutingDataSource implements DataSource {
+  private static final Logger LOGGER = Logger.getLogger(PGRoutingDataSource.class.getName());
+
+  // Connection setters that are applied to both physical connections
+  private static final List<String> REPLAYED_SETTERS = Arrays.asList(
+      "setAutoCommit", "setTransactionIsolation", "setSchema", "setCatalog", "setHoldability",
+      "setTypeMap", "setNetworkTimeout");
+
+  private final DataSource primary;
+  private final DataSource standby;
+  private volatile long stickyAfterWriteMillis = -1;
+
+  /**
+   * Creates a DataSource that routes read-only transactions to the standby DataSource.
+   *
+   * @param primary DataSource for the transactions that may write
+   * @param standby DataSource for the read-only transactions
+   */
+  public PGRoutingDataSource(DataSource primary, DataSource standby) {
+    this.primary = primary;
+    this.standby = standby;
+  }
+
+  public DataSource getPrimary() {
+    return primary;
+  }
+
+  public DataSource getStandby() {
+    return standby;
+  }
+
+  /**
+   * @return how long in milliseconds a connection keeps using the primary after a statement
+   *     executed on it, negative for the rest of the connection lifetime
+   */
+  public long getStickyAfterWriteMillis() {
+    return stickyAfterWriteMillis;
+  }
+
+  /**
+   * Sets how long a connection keeps using the primary for read-only transactions after a
+   * statement executed on the primary. 0 routes every read-only transaction to the standby, and a
+   * negative value, the default, keeps using the primary until the connection is closed.
+   *
+   * @param stickyAfterWriteMillis duration in milliseconds
+   */
+  public void setStickyAfterWriteMillis(long stickyAfterWriteMillis) {
+    this.stickyAfterWriteMillis = stickyAfterWriteMillis;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    return newConnection(null, null);
+  }
+
+  @Override
+  public Connection getConnection(@Nullable String user, @Nullable String password)
+      throws SQLException {
+    return newConnection(user, password);
+  }
+
+  private Connection newConnection(@Nullable String user, @Nullable String password)
+      throws SQLException {
+    RoutingHandler handler = new RoutingHandler(user, password);
+    // Open the primary connection right away, so getConnection fails when the primary is down
+    handler.physical(false);
+    Connection proxy = (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+        new Class[]{Connection.class, PGConnection.class}, handler);
+    handler.proxy = proxy;
+    return proxy;
+  }
+
+  private static Connection open(DataSource dataSource, @Nullable String user,
+      @Nullable String password) throws SQLException {
+    return user == null && password == null
+        ? dataSource.getConnection()
+        : dataSource.getConnection(user, password);
+  }
+
+  @Override
+  public @Nullable PrintWriter getLogWriter() throws SQLException {
+    return primary.getLogWriter();
+  }
+
+  @Override
+  public void setLogWriter(@Nullable PrintWriter out) throws SQLException {
+    primary.setLogWriter(out);
+    standby.setLogWriter(out);
+  }
+
+  @Override
+  public void setLoginTimeout(int seconds) throws SQLException {
+    primary.setLoginTimeout(seconds);
+    standby.setLoginTimeout(seconds);
+  }
+
+  @Override
+  public int getLoginTimeout() throws SQLException {
+    return primary.getLoginTimeout();
+  }
+
+  @Override
+  public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+    return Logger.getLogger("org.postgresql");
+  }
+
+  @Override
+  public boolean isWrapperFor(Class<?> iface) throws SQLException {
+    return iface.isAssignableFrom(getClass());
+  }
+
+  @Override
+  public <T> T unwrap(Class<T> iface) throws SQLException {
+    if (iface.isAssignableFrom(getClass())) {
+      return iface.cast(this);
+    }
+    throw new SQLException("Cannot unwrap to " + iface.getName());
+  }
+
+  /**
+   * Routes the calls of a logical connection to its primary or standby physical connection.
+   */
+  private class RoutingHandler implements InvocationHandler {
+    private final @Nullable String user;
+    private final @Nullable String password;
+    private @Nullable Connection proxy;
+    private @Nullable Connection primaryCon;
+    private @Nullable Connection standbyCon;
+    private @Nullable Connection current;
+    private boolean closed;
+    private boolean readOnly;
+    private boolean autoCommit = true;
+    // Whether the current physical connection may be in a transaction
+    private boolean inTransaction;
+    // The physical connections that executed statements in the transaction
+    private final List<Connection> transactionConnections = new ArrayList<>(2);
+    private long lastWriteNanos;
+    private boolean written;
+    private final Map<String, @Nullable Object[]> settings = new LinkedHashMap<>();
+
+    RoutingHandler(@Nullable String user, @Nullable String password) {
+      this.user = user;
+      this.password = password;
+    }
+
+    /**
+     * Returns the physical connection for the transaction, opening it if needed.
+     */
+    Connection physical(boolean readOnly) throws SQLException {
+      if (readOnly && !isSticky()) {
+        Connection standbyCon = this.standbyCon;
+        if (standbyCon == null) {
+          try {
+            standbyCon = open(standby, user, password);
+          } catch (SQLException e) {
+            LOGGER.log(Level.FINE, "Could not open a standby connection, using the primary", e);
+            return physical(false);
+          }
+          setUp(standbyCon, true);
+          this.standbyCon = standbyCon;
+        }
+        return standbyCon;
+      }
+      Connection primaryCon = this.primaryCon;
+      if (primaryCon == null) {
+        primaryCon = open(primary, user, password);
+        setUp(primaryCon, false);
+        this.primaryCon = primaryCon;
+      } else if (primaryCon.isReadOnly() != readOnly) {
+        primaryCon.setReadOnly(readOnly);
+      }
+      return primaryCon;
+    }
+
+    private void setUp(Connection con, boolean readOnly) throws SQLException {
+      try {
+        for (Map.Entry<String, @Nullable Object[]> setting : settings.entrySet()) {
+          invokeSetter(con, setting.getKey(), setting.getValue());
+        }
+        con.setReadOnly(readOnly);
+      } catch (SQLException e) {
+        con.close();
+        throw e;
+      }
+    }
+
+    private boolean isSticky() {
+      long stickyAfterWriteMillis = getStickyAfterWriteMillis();
+      if (!written || stickyAfterWriteMillis == 0) {
+        return false;
+      }
+      return stickyAfterWriteMillis < 0
+          || System.nanoTime() - lastWriteNanos < TimeUnit.MILLISECONDS.toNanos(stickyAfterWriteMillis);
+    }
+
+    /**
+     * Returns the connection for the next call, switching connection at transaction boundaries.
+     */
+    Connection route() throws SQLException {
+      Connection current = this.current;
+      if (current == null || !inTransaction) {
+        current = physical(readOnly);
+        this.current = current;
+      }
+      return current;
+    }
+
+    void executed(Connection con) {
+      if (!autoCommit) {
+        inTransaction = true;
+        if (!transactionConnections.contains(con)) {
+          transactionConnections.add(con);
+        }
+      }
+      if (con == primaryCon && !readOnly) {
+        written = true;
+        lastWriteNanos = System.nanoTime();
+      }
+    }
+
+    /**
+     * Commits or rolls back the transaction on all the physical connections it used. The primary
+     * ends last, and rolls back if another connection failed to commit.
+     */
+    private void endTransaction(boolean commit) throws SQLException {
+      List<Connection> connections = new ArrayList<>(transactionConnections);
+      if (current != null && !connections.contains(current)) {
+        connections.add(current);
+      }
+      if (primaryCon != null && connections.remove(primaryCon)) {
+        connections.add(primaryCon);
+      }
+      transactionConnections.clear();
+      inTransaction = false;
+      SQLException ex = null;
+      for (Connection con : connections) {
+        try {
+          if (commit && ex == null) {
+            con.commit();
+          } else {
+            con.rollback();
+          }
+        } catch (SQLException e) {
+          if (ex == null) {
+            ex = e;
+          } else {
+            ex.addSuppressed(e);
+          }
+        }
+      }
+      if (ex != null) {
+        throw ex;
+      }
+    }
+
+    private void invokeSetter(Connection con, String name, @Nullable Object[] args)
+        throws SQLException {
+      for (Method method : Connection.class.getMethods()) {
+        if (method.getName().equals(name)
+            && method.getParameterCount() == (args == null ? 0 : args.length)) {
+          try {
+            method.invoke(con, args);
+            return;
+          } catch (InvocationTargetException e) {
+            Throwable te = e.getTargetException();
+            if (te instanceof SQLException) {
+              throw (SQLException) te;
+            }
+            throw new PSQLException(GT.tr("Unable to apply {0}", name),
+                PSQLState.UNEXPECTED_ERROR, te);
+          } catch (IllegalAccessException e) {
+            throw new PSQLException(GT.tr("Unable to apply {0}", name),
+                PSQLState.UNEXPECTED_ERROR, e);
+          }
+        }
+      }
+    }
+
+    private List<Connection> physicalConnections() {
+      List<Connection> connections = new ArrayList<>(2);
+      if (primaryCon != null) {
+        connections.add(primaryCon);
+      }
+      if (standbyCon != null) {
+        connections.add(standbyCon);
+      }
+      return connections;
+    }
+
+    @Override
+    @SuppressWarnings("throwing.nullable")
+    public @Nullable Object invoke(Object proxy, Method method, @Nullable Object[] args)
+        throws Throwable {
+      final String methodName = method.getName();
+      if (method.getDeclaringClass() == Object.class) {
+        if ("toString".equals(methodName)) {
+          return "Routing connection wrapping primary " + primaryCon + " and standby " + standbyCon;
+        }
+        if ("equals".equals(methodName)) {
+          return proxy == castNonNull(args)[0];
+        }
+        if ("hashCode".equals(methodName)) {
+          return System.identityHashCode(proxy);
+        }
+        return method.invoke(route(), args);
+      }
+
+      if ("isClosed".equals(methodName)) {
+        return closed;
+      }
+      if ("close".equals(methodName) || "abort".equals(methodName)) {
+        if (closed) {
+          return null;
+        }
+        closed = true;
+        SQLException ex = null;
+        for (Connection con : physicalConnections()) {
+          try {
+            method.invoke(con, args);
+          } catch (InvocationTargetException e) {
+            Throwable te = e.getTargetException();
+            if (ex == null && te instanceof SQLException) {
+              ex = (SQLException) te;
+            }
+          }
+        }
+        primaryCon = null;
+        standbyCon = null;
+        current = null;
+        if (ex != null) {
+          throw ex;
+        }
+        return null;
+      }
+      if (closed) {
+        throw new PSQLException(GT.tr("Connection has been closed."),
+            PSQLState.CONNECTION_DOES_NOT_EXIST);
+      }
+
+      try {
+        switch (methodName) {
+          case "isReadOnly":
+            return readOnly;
+          case "setReadOnly":
+            readOnly = (Boolean) castNonNull(args)[0];
+            return null;
+          case "getAutoCommit":
+            return autoCommit;
+          case "commit":
+          case "rollback":
+            if (args != null) {
+              // rollback(Savepoint) applies to the connection of the savepoint, and does not end
+              // the transaction
+              if (current != null) {
+                method.invoke(current, args);
+              }
+            } else {
+              endTransaction("commit".equals(methodName));
+            }
+            return null;
+          case "createStatement":
+          case "prepareStatement":
+          case "prepareCall": {
+            Connection con = route();
+            Statement st = castNonNull((Statement) method.invoke(con, args));
+            Class<?> type = "createStatement".equals(methodName) ? Statement.class
+                : "prepareStatement".equals(methodName) ? PreparedStatement.class
+                : CallableStatement.class;
+            return Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class[]{type, PGStatement.class}, new StatementHandler(this, con, st));
+          }
+          default:
+            break;
+        }
+        if (REPLAYED_SETTERS.contains(methodName)) {
+          if ("setAutoCommit".equals(methodName)) {
+            autoCommit = (Boolean) castNonNull(args)[0];
+            // Changing the auto-commit mode commits the transaction
+            inTransaction = false;
+            transactionConnections.clear();
+          }
+          settings.put(methodName, args);
+          for (Connection con : physicalConnections()) {
+            method.invoke(con, args);
+          }
+          return null;
+        }
+        return method.invoke(route(), args);
+      } catch (InvocationTargetException e) {
+        throw e.getTargetException();
+      }
+    }
+
+    Connection getProxy() {
+      return castNonNull(proxy);
+    }
+  }
+
+  /**
+   * Returns the logical connection from {@link Statement#getConnection()}, and records the
+   * statements executed on the primary.
+   */
+  private static class StatementHandler implements InvocationHandler {
+    private final RoutingHandler handler;
+    private final Connection con;
+    private final Statement st;
+
+    StatementHandler(RoutingHandler handler, Connection con, Statement st) {
+      this.handler = handler;
+      this.con = con;
+      this.st = st;
+    }
+
+    @Override
+    @SuppressWarnings("throwing.nullable")
+    public @Nullable Object invoke(Object proxy, Method method, @Nullable Object[] args)
+        throws Throwable {
+      final String methodName = method.getName();
+      if (method.getDeclaringClass() == Object.class) {
+        if ("toString".equals(methodName)) {
+          return "Routing statement wrapping " + st;
+        }
+        if ("equals".equals(methodName)) {
+          return proxy == castNonNull(args)[0];
+        }
+        if ("hashCode".equals(methodName)) {
+          return System.identityHashCode(proxy);
+        }
+      }
+      if ("getConnection".equals(methodName)) {
+        return handler.getProxy();
+      }
+      if (methodName.startsWith("execute")) {
+        handler.executed(con);
+      }
+      try {
+        return method.invoke(st, args);
+      } catch (InvocationTargetException e) {
+        throw e.getTargetException();
+      }
+    }
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.postgresql.ds;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.sql.SQLException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+import javax.sql.PooledConnection;
+
+/**
+ * Physical connection of a {@link PGConnectionPool} and its bookkeeping. The state is changed with
+ * compare-and-set by {@link ConnectionBag}, so an entry is borrowed by one thread at most.
+ */
+final class PoolEntry {
+  static final int STATE_NOT_IN_USE = 0;
+  static final int STATE_IN_USE = 1;
+  static final int STATE_REMOVED = -1;
+  static final int STATE_RESERVED = -2;
+
+  private static final AtomicIntegerFieldUpdater<PoolEntry> STATE =
+      AtomicIntegerFieldUpdater.newUpdater(PoolEntry.class, "state");
+
+  final PooledConnection pooledConnection;
+  final long createdNanos;
+  private volatile int state;
+  volatile long lastAccessedNanos;
+  // Set when the connection must be closed instead of returned to the pool
+  volatile boolean evicted;
+  volatile @Nullable ScheduledFuture<?> endOfLife;
+  @Nullable ScheduledFuture<?> leakTask;
+
+  PoolEntry(PooledConnection pooledConnection) {
+    this.pooledConnection = pooledConnection;
+    this.createdNanos = System.nanoTime();
+    this.lastAccessedNanos = createdNanos;
+  }
+
+  int getState() {
+    return state;
+  }
+
+  void setState(int state) {
+    this.state = state;
+  }
+
+  boolean compareAndSetState(int expect, int update) {
+    return STATE.compareAndSet(this, expect, update);
+  }
+
+  void cancelLeakTask() {
+    ScheduledFuture<?> leakTask = this.leakTask;
+    if (leakTask != null) {
+      leakTask.cancel(false);
+      this.leakTask = null;
+    }
+  }
+
+  void close() {
+    ScheduledFuture<?> endOfLife = this.endOfLife;
+    if (endOfLife != null) {
+      endOfLife.cancel(false);
+    }
+    cancelLeakTask();
+    try {
+      pooledConnection.close();
+    } catch (SQLException ignored) {
+      // The connection is dropped anyway
+    }
+  }
+
+  @Override
+  public String toString() {
+    return pooledConnection + ", state=" + state;
+  }
+}
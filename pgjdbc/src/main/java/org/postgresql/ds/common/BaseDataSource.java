@@ -11,6 +11,7 @@
 import org.postgresql.PGProperty;
 import org.postgresql.jdbc.AutoSave;
 import org.postgresql.jdbc.PreferQueryMode;
+import org.postgresql.jdbc.ReWriteBatchedInsertsMode;
 import org.postgresql.util.ExpressionProperties;
 import org.postgresql.util.GT;
 import org.postgresql.util.PSQLException;
@@ -334,6 +335,23 @@ public void setLoginTimeout(int loginTimeout) {
     PGProperty.LOGIN_TIMEOUT.set(properties, loginTimeout);
   }
 
+  /**
+   * @return delay in milliseconds between concurrent connection attempts to multiple hosts
+   * @see PGProperty#CONNECT_ATTEMPT_DELAY
+   */
+  public int getConnectAttemptDelay() {
+    return PGProperty.CONNECT_ATTEMPT_DELAY.getIntNoCheck(properties);
+  }
+
+  /**
+   * @param connectAttemptDelay delay in milliseconds between concurrent connection attempts to
+   *     multiple hosts, 0 tries the hosts sequentially
+   * @see PGProperty#CONNECT_ATTEMPT_DELAY
+   */
+  public void setConnectAttemptDelay(int connectAttemptDelay) {
+    PGProperty.CONNECT_ATTEMPT_DELAY.set(properties, connectAttemptDelay);
+  }
+
   /**
    * @return connect timeout
    * @see PGProperty#CONNECT_TIMEOUT
@@ -705,6 +723,22 @@ public void setSslFactoryArg(@Nullable String arg) {
     PGProperty.SSL_FACTORY_ARG.set(properties, arg);
   }
 
+  /**
+   * @return true if connections with the same SSL properties share the SSL factory
+   * @see PGProperty#SSL_FACTORY_CACHE
+   */
+  public boolean getSslFactoryCache() {
+    return PGProperty.SSL_FACTORY_CACHE.getBoolean(properties);
+  }
+
+  /**
+   * @param sslFactoryCache true to share the SSL factory between connections
+   * @see PGProperty#SSL_FACTORY_CACHE
+   */
+  public void setSslFactoryCache(boolean sslFactoryCache) {
+    PGProperty.SSL_FACTORY_CACHE.set(properties, sslFactoryCache);
+  }
+
   /**
    * @return argument forwarded to SSL factory
    * @see PGProperty#SSL_HOSTNAME_VERIFIER
@@ -865,6 +899,38 @@ public boolean getLoadBalanceHosts() {
     return PGProperty.LOAD_BALANCE_HOSTS.isPresent(properties);
   }
 
+  /**
+   * @param loadBalanceStrategy order in which loadBalanceHosts tries the hosts
+   * @see PGProperty#LOAD_BALANCE_STRATEGY
+   */
+  public void setLoadBalanceStrategy(String loadBalanceStrategy) {
+    PGProperty.LOAD_BALANCE_STRATEGY.set(properties, loadBalanceStrategy);
+  }
+
+  /**
+   * @return order in which loadBalanceHosts tries the hosts
+   * @see PGProperty#LOAD_BALANCE_STRATEGY
+   */
+  public String getLoadBalanceStrategy() {
+    return castNonNull(PGProperty.LOAD_BALANCE_STRATEGY.getOrDefault(properties));
+  }
+
+  /**
+   * @param maxReplicationLag maximum replication lag in milliseconds of a secondary
+   * @see PGProperty#MAX_REPLICATION_LAG
+   */
+  public void setMaxReplicationLag(int maxReplicationLag) {
+    PGProperty.MAX_REPLICATION_LAG.set(properties, maxReplicationLag);
+  }
+
+  /**
+   * @return maximum replication lag in milliseconds of a secondary
+   * @see PGProperty#MAX_REPLICATION_LAG
+   */
+  public int getMaxReplicationLag() {
+    return PGProperty.MAX_REPLICATION_LAG.getIntNoCheck(properties);
+  }
+
   /**
    * @param hostRecheckSeconds host recheck seconds
    * @see PGProperty#HOST_RECHECK_SECONDS
@@ -1437,6 +1503,22 @@ public void setChannelBinding(@Nullable String channelBinding) {
     PGProperty.CHANNEL_BINDING.set(properties, channelBinding);
   }
 
+  /**
+   * @return true if the keys derived during SCRAM authentication are cached
+   * @see PGProperty#SCRAM_KEY_CACHE
+   */
+  public boolean getScramKeyCache() {
+    return PGProperty.SCRAM_KEY_CACHE.getBoolean(properties);
+  }
+
+  /**
+   * @param scramKeyCache true to cache the keys derived during SCRAM authentication
+   * @see PGProperty#SCRAM_KEY_CACHE
+   */
+  public void setScramKeyCache(boolean scramKeyCache) {
+    PGProperty.SCRAM_KEY_CACHE.set(properties, scramKeyCache);
+  }
+
   /**
    * @return maximum PBKDF2 iteration count accepted during SCRAM authentication
    * @see PGProperty#SCRAM_MAX_ITERATIONS
@@ -1818,6 +1900,97 @@ public void setReWriteBatchedInsertsSize(int size) {
     PGProperty.REWRITE_BATCHED_INSERTS_SIZE.set(properties, size);
   }
 
+  /**
+   * @return how compatible batched INSERT statements are collapsed
+   * @see PGProperty#REWRITE_BATCHED_INSERTS_MODE
+   */
+  public ReWriteBatchedInsertsMode getReWriteBatchedInsertsMode() {
+    return ReWriteBatchedInsertsMode.of(
+        castNonNull(PGProperty.REWRITE_BATCHED_INSERTS_MODE.getOrDefault(properties)));
+  }
+
+  /**
+   * @param mode values, unnest or copy
+   * @see PGProperty#REWRITE_BATCHED_INSERTS_MODE
+   */
+  public void setReWriteBatchedInsertsMode(ReWriteBatchedInsertsMode mode) {
+    PGProperty.REWRITE_BATCHED_INSERTS_MODE.set(properties, mode.value());
+  }
+
+  /**
+   * @return maximum size of a simple query message that concatenates Statement batch entries, or 0
+   *         to send every statement separately
+   * @see PGProperty#STATEMENT_BATCH_MESSAGE_SIZE
+   */
+  public int getStatementBatchMessageSize() {
+    return PGProperty.STATEMENT_BATCH_MESSAGE_SIZE.getIntNoCheck(properties);
+  }
+
+  /**
+   * @param size maximum size of a simple query message that concatenates Statement batch entries,
+   *        or 0 to send every statement separately
+   * @see PGProperty#STATEMENT_BATCH_MESSAGE_SIZE
+   */
+  public void setStatementBatchMessageSize(int size) {
+    PGProperty.STATEMENT_BATCH_MESSAGE_SIZE.set(properties, size);
+  }
+
+  /**
+   * @return number of batch entries after which addBatch executes the pending entries, or 0 to
+   *         send batches on executeBatch only
+   * @see PGProperty#STREAMING_BATCH_SIZE
+   */
+  public int getStreamingBatchSize() {
+    return PGProperty.STREAMING_BATCH_SIZE.getIntNoCheck(properties);
+  }
+
+  /**
+   * @param size number of batch entries after which addBatch executes the pending entries, or 0
+   *        to send batches on executeBatch only
+   * @see PGProperty#STREAMING_BATCH_SIZE
+   */
+  public void setStreamingBatchSize(int size) {
+    PGProperty.STREAMING_BATCH_SIZE.set(properties, size);
+  }
+
+  /**
+   * @return number of distinct values of a column up to which result sets return shared strings
+   *         for its repeated values, or 0 if strings are not deduplicated
+   * @see PGProperty#STRING_DEDUPLICATION_LIMIT
+   */
+  public int getStringDeduplicationLimit() {
+    return PGProperty.STRING_DEDUPLICATION_LIMIT.getIntNoCheck(properties);
+  }
+
+  /**
+   * @param limit number of distinct values of a column up to which result sets return shared
+   *        strings for its repeated values, or 0 to not deduplicate strings
+   * @see PGProperty#STRING_DEDUPLICATION_LIMIT
+   */
+  public void setStringDeduplicationLimit(int limit) {
+    PGProperty.STRING_DEDUPLICATION_LIMIT.set(properties, limit);
+  }
+
+  /**
+   * @return size in bytes above which the values of forward-only, read-only result sets are read
+   *         from the connection when the application reads them, or 0 if all values are read into
+   *         memory
+   * @see PGProperty#LARGE_VALUE_STREAMING_THRESHOLD
+   */
+  public int getLargeValueStreamingThreshold() {
+    return PGProperty.LARGE_VALUE_STREAMING_THRESHOLD.getIntNoCheck(properties);
+  }
+
+  /**
+   * @param threshold size in bytes above which the values of forward-only, read-only result sets
+   *        are read from the connection when the application reads them, or 0 to read all values
+   *        into memory
+   * @see PGProperty#LARGE_VALUE_STREAMING_THRESHOLD
+   */
+  public void setLargeValueStreamingThreshold(int threshold) {
+    PGProperty.LARGE_VALUE_STREAMING_THRESHOLD.set(properties, threshold);
+  }
+
   /**
    * @return boolean indicating property is enabled or not.
    * @see PGProperty#HIDE_UNPRIVILEGED_OBJECTS
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.postgresql.geometric;
+
+import org.postgresql.core.Encoding;
+import org.postgresql.util.ByteConverter;
+import org.postgresql.util.GT;
+import org.postgresql.util.PGBinaryCodec;
+import org.postgresql.util.PGobject;
+import org.postgresql.util.PSQLException;
+import org.postgresql.util.PSQLState;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.sql.SQLException;
+
+/**
+ * Base class of the binary codecs of the geometric types, whose binary representation is made of
+ * float8 coordinates and does not depend on the encoding.
+ *
+ * @param <T> the geometric class
+ */
+abstract class GeometricBinaryCodec<T extends PGobject> implements PGBinaryCodec<T> {
+  static final int POINT_LENGTH = 16;
+
+  private final Class<T> javaClass;
+  private final String type;
+
+  GeometricBinaryCodec(Class<T> javaClass, String type) {
+    this.javaClass = javaClass;
+    this.type = type;
+  }
+
+  @Override
+  public final Class<T> getJavaClass() {
+    return javaClass;
+  }
+
+  @Override
+  public final T decode(byte[] bytes, int offset, int length, Encoding encoding)
+      throws SQLException {
+    return decode(bytes, offset, length);
+  }
+
+  @Override
+  public final byte @Nullable [] encode(T value, Encoding encoding) throws SQLException {
+    return encode(value);
+  }
+
+  abstract T decode(byte[] bytes, int offset, int length) throws SQLException;
+
+  abstract byte @Nullable [] encode(T value) throws SQLException;
+
+  final void checkLength(int length, long expected) throws SQLException {
+    if (length != expected) {
+      throw new PSQLException(
+          GT.tr("Invalid binary {0} value of {1} bytes.", type, length),
+          PSQLState.DATA_ERROR);
+    }
+  }
+
+  static PGpoint readPoint(byte[] bytes, int offset) {
+    return new PGpoint(ByteConverter.float8(bytes, offset), ByteConverter.float8(bytes, offset + 8));
+  }
+
+  static PGpoint[] readPoints(byte[] bytes, int offset, int count) {
+    PGpoint[] points = new PGpoint[count];
+    for (int i = 0; i < count; i++) {
+      points[i] = readPoint(bytes, offset + i * POINT_LENGTH);
+    }
+    return points;
+  }
+
+  static void writePoints(byte[] bytes, int offset, PGpoint[] points) {
+    for (int i = 0; i < points.length; i++) {
+      points[i].toBytes(bytes, offset + i * POINT_LENGTH);
+    }
+  }
+}
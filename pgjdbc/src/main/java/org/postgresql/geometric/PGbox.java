@@ -8,6 +8,7 @@
 import static org.postgresql.util.internal.Nullness.castNonNull;
 
 import org.postgresql.util.GT;
+import org.postgresql.util.PGBinaryCodec;
 import org.postgresql.util.PGBinaryObject;
 import org.postgresql.util.PGobject;
 import org.postgresql.util.PGtokenizer;
@@ -23,6 +24,29 @@
  * This represents the box datatype within org.postgresql.
  */
 public class PGbox extends PGobject implements PGBinaryObject, Serializable, Cloneable {
+  /**
+   * Encodes and decodes the binary representation of the {@code box} type.
+   */
+  public static final PGBinaryCodec<PGbox> BINARY_CODEC =
+      new GeometricBinaryCodec<PGbox>(PGbox.class, "box") {
+        @Override
+        PGbox decode(byte[] bytes, int offset, int length) throws SQLException {
+          checkLength(length, 2 * POINT_LENGTH);
+          return new PGbox(readPoint(bytes, offset), readPoint(bytes, offset + POINT_LENGTH));
+        }
+
+        @Override
+        byte @Nullable [] encode(PGbox value) {
+          int length = value.lengthInBytes();
+          if (length == 0) {
+            return null;
+          }
+          byte[] bytes = new byte[length];
+          value.toBytes(bytes, 0);
+          return bytes;
+        }
+      };
+
   /**
    * These are the two points.
    */
@@ -5,7 +5,9 @@
 
 package org.postgresql.geometric;
 
+import org.postgresql.util.ByteConverter;
 import org.postgresql.util.GT;
+import org.postgresql.util.PGBinaryCodec;
 import org.postgresql.util.PGobject;
 import org.postgresql.util.PGtokenizer;
 import org.postgresql.util.PSQLException;
@@ -20,6 +22,31 @@
  * This represents org.postgresql's circle datatype, consisting of a point and a radius.
  */
 public class PGcircle extends PGobject implements Serializable, Cloneable {
+  /**
+   * Encodes and decodes the binary representation of the {@code circle} type.
+   */
+  public static final PGBinaryCodec<PGcircle> BINARY_CODEC =
+      new GeometricBinaryCodec<PGcircle>(PGcircle.class, "circle") {
+        @Override
+        PGcircle decode(byte[] bytes, int offset, int length) throws SQLException {
+          checkLength(length, POINT_LENGTH + 8);
+          return new PGcircle(readPoint(bytes, offset),
+              ByteConverter.float8(bytes, offset + POINT_LENGTH));
+        }
+
+        @Override
+        byte @Nullable [] encode(PGcircle value) {
+          PGpoint center = value.center;
+          if (center == null) {
+            return null;
+          }
+          byte[] bytes = new byte[POINT_LENGTH + 8];
+          center.toBytes(bytes, 0);
+          ByteConverter.float8(bytes, POINT_LENGTH, value.radius);
+          return bytes;
+        }
+      };
+
   /**
    * This is the center point.
    */
@@ -5,7 +5,9 @@
 
 package org.postgresql.geometric;
 
+import org.postgresql.util.ByteConverter;
 import org.postgresql.util.GT;
+import org.postgresql.util.PGBinaryCodec;
 import org.postgresql.util.PGobject;
 import org.postgresql.util.PGtokenizer;
 import org.postgresql.util.PSQLException;
@@ -20,6 +22,31 @@
  * This implements a line represented by the linear equation Ax + By + C = 0.
  **/
 public class PGline extends PGobject implements Serializable, Cloneable {
+  /**
+   * Encodes and decodes the binary representation of the {@code line} type.
+   */
+  public static final PGBinaryCodec<PGline> BINARY_CODEC =
+      new GeometricBinaryCodec<PGline>(PGline.class, "line") {
+        @Override
+        PGline decode(byte[] bytes, int offset, int length) throws SQLException {
+          checkLength(length, 24);
+          return new PGline(ByteConverter.float8(bytes, offset),
+              ByteConverter.float8(bytes, offset + 8), ByteConverter.float8(bytes, offset + 16));
+        }
+
+        @Override
+        byte @Nullable [] encode(PGline value) {
+          if (value.isNull) {
+            return null;
+          }
+          byte[] bytes = new byte[24];
+          ByteConverter.float8(bytes, 0, value.a);
+          ByteConverter.float8(bytes, 8, value.b);
+          ByteConverter.float8(bytes, 16, value.c);
+          return bytes;
+        }
+      };
+
 
   /**
    * Coefficient of x.
@@ -6,6 +6,7 @@
 package org.postgresql.geometric;
 
 import org.postgresql.util.GT;
+import org.postgresql.util.PGBinaryCodec;
 import org.postgresql.util.PGobject;
 import org.postgresql.util.PGtokenizer;
 import org.postgresql.util.PSQLException;
@@ -20,6 +21,29 @@
  * This implements a lseg (line segment) consisting of two points.
  */
 public class PGlseg extends PGobject implements Serializable, Cloneable {
+  /**
+   * Encodes and decodes the binary representation of the {@code lseg} type.
+   */
+  public static final PGBinaryCodec<PGlseg> BINARY_CODEC =
+      new GeometricBinaryCodec<PGlseg>(PGlseg.class, "lseg") {
+        @Override
+        PGlseg decode(byte[] bytes, int offset, int length) throws SQLException {
+          checkLength(length, 2 * POINT_LENGTH);
+          return new PGlseg(readPoint(bytes, offset), readPoint(bytes, offset + POINT_LENGTH));
+        }
+
+        @Override
+        byte @Nullable [] encode(PGlseg value) {
+          PGpoint[] point = value.point;
+          if (point == null) {
+            return null;
+          }
+          byte[] bytes = new byte[2 * POINT_LENGTH];
+          writePoints(bytes, 0, point);
+          return bytes;
+        }
+      };
+
   /**
    * These are the two points.
    */
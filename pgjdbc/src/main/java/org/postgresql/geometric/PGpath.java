@@ -5,7 +5,9 @@
 
 package org.postgresql.geometric;
 
+import org.postgresql.util.ByteConverter;
 import org.postgresql.util.GT;
+import org.postgresql.util.PGBinaryCodec;
 import org.postgresql.util.PGobject;
 import org.postgresql.util.PGtokenizer;
 import org.postgresql.util.PSQLException;
@@ -20,6 +22,33 @@
  * This implements a path (a multiple segmented line, which may be closed).
  */
 public class PGpath extends PGobject implements Serializable, Cloneable {
+  /**
+   * Encodes and decodes the binary representation of the {@code path} type.
+   */
+  public static final PGBinaryCodec<PGpath> BINARY_CODEC =
+      new GeometricBinaryCodec<PGpath>(PGpath.class, "path") {
+        @Override
+        PGpath decode(byte[] bytes, int offset, int length) throws SQLException {
+          int count = length < 5 ? -1 : ByteConverter.int4(bytes, offset + 1);
+          checkLength(length, count < 0 ? -1 : 5L + (long) count * POINT_LENGTH);
+          // The first byte is 1 for a closed path
+          return new PGpath(readPoints(bytes, offset + 5, count), bytes[offset] == 0);
+        }
+
+        @Override
+        byte @Nullable [] encode(PGpath value) {
+          PGpoint[] points = value.points;
+          if (points == null) {
+            return null;
+          }
+          byte[] bytes = new byte[5 + points.length * POINT_LENGTH];
+          bytes[0] = (byte) (value.open ? 0 : 1);
+          ByteConverter.int4(bytes, 1, points.length);
+          writePoints(bytes, 5, points);
+          return bytes;
+        }
+      };
+
   /**
    * True if the path is open, false if closed.
    */
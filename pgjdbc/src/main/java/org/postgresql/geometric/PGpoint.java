@@ -7,6 +7,7 @@
 
 import org.postgresql.util.ByteConverter;
 import org.postgresql.util.GT;
+import org.postgresql.util.PGBinaryCodec;
 import org.postgresql.util.PGBinaryObject;
 import org.postgresql.util.PGobject;
 import org.postgresql.util.PGtokenizer;
@@ -25,6 +26,28 @@
  * <p>This implements a version of java.awt.Point, except it uses double to represent the coordinates.</p>
  */
 public class PGpoint extends PGobject implements PGBinaryObject, Serializable, Cloneable {
+  /**
+   * Encodes and decodes the binary representation of the {@code point} type.
+   */
+  public static final PGBinaryCodec<PGpoint> BINARY_CODEC =
+      new GeometricBinaryCodec<PGpoint>(PGpoint.class, "point") {
+        @Override
+        PGpoint decode(byte[] bytes, int offset, int length) throws SQLException {
+          checkLength(length, POINT_LENGTH);
+          return readPoint(bytes, offset);
+        }
+
+        @Override
+        byte @Nullable [] encode(PGpoint value) {
+          if (value.isNull) {
+            return null;
+          }
+          byte[] bytes = new byte[POINT_LENGTH];
+          value.toBytes(bytes, 0);
+          return bytes;
+        }
+      };
+
   /**
    * The X coordinate of the point.
    */
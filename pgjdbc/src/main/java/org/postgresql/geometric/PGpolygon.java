@@ -5,6 +5,8 @@
 
 package org.postgresql.geometric;
 
+import org.postgresql.util.ByteConverter;
+import org.postgresql.util.PGBinaryCodec;
 import org.postgresql.util.PGobject;
 import org.postgresql.util.PGtokenizer;
 
@@ -17,6 +19,31 @@
  * This implements the polygon datatype within PostgreSQL.
  */
 public class PGpolygon extends PGobject implements Serializable, Cloneable {
+  /**
+   * Encodes and decodes the binary representation of the {@code polygon} type.
+   */
+  public static final PGBinaryCodec<PGpolygon> BINARY_CODEC =
+      new GeometricBinaryCodec<PGpolygon>(PGpolygon.class, "polygon") {
+        @Override
+        PGpolygon decode(byte[] bytes, int offset, int length) throws SQLException {
+          int count = length < 4 ? -1 : ByteConverter.int4(bytes, offset);
+          checkLength(length, count < 0 ? -1 : 4L + (long) count * POINT_LENGTH);
+          return new PGpolygon(readPoints(bytes, offset + 4, count));
+        }
+
+        @Override
+        byte @Nullable [] encode(PGpolygon value) {
+          PGpoint[] points = value.points;
+          if (points == null) {
+            return null;
+          }
+          byte[] bytes = new byte[4 + points.length * POINT_LENGTH];
+          ByteConverter.int4(bytes, 0, points.length);
+          writePoints(bytes, 4, points);
+          return bytes;
+        }
+      };
+
   /**
    * The points defining the polygon.
    */
@@ -14,6 +14,9 @@
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Keeps track of HostSpec targets in a global map.
@@ -22,6 +25,11 @@ public class GlobalHostStatusTracker {
   private static final Map<HostSpec, HostSpecStatus> hostStatusMap =
       new HashMap<>();
   private static final ResourceLock lock = new ResourceLock();
+  // Updated without the lock, connection attempts to different hosts report their latency concurrently
+  private static final ConcurrentMap<HostSpec, HostLatency> hostLatencyMap =
+      new ConcurrentHashMap<>();
+  private static final ConcurrentMap<HostSpec, ReplicationLag> replicationLagMap =
+      new ConcurrentHashMap<>();
 
   /**
    * Store the actual observed host status.
@@ -40,6 +48,83 @@ public static void reportHostStatus(HostSpec hostSpec, HostStatus hostStatus) {
       hostSpecStatus.status = hostStatus;
       hostSpecStatus.lastUpdated = now;
     }
+    if (hostStatus == HostStatus.ConnectFail) {
+      getHostLatency(hostSpec).failure.update(1, now);
+    }
+  }
+
+  /**
+   * Store the time it took to establish a connection to the host, including authentication.
+   *
+   * @param hostSpec The host that was connected to.
+   * @param latencyNanos The time it took to connect in nanoseconds.
+   */
+  public static void reportConnectLatency(HostSpec hostSpec, long latencyNanos) {
+    long now = System.nanoTime() / 1000000;
+    HostLatency hostLatency = getHostLatency(hostSpec);
+    hostLatency.latency.update(latencyNanos / 1000000.0, now);
+    hostLatency.failure.update(0, now);
+  }
+
+  /**
+   * Store the replication lag measured on the host.
+   *
+   * @param hostSpec The host whose replication lag is known.
+   * @param lagMillis The replay lag in milliseconds, 0 for a primary.
+   */
+  public static void reportReplicationLag(HostSpec hostSpec, long lagMillis) {
+    replicationLagMap.put(hostSpec, new ReplicationLag(lagMillis, System.nanoTime() / 1000000));
+  }
+
+  /**
+   * Returns the last replication lag measured on the host.
+   *
+   * @param hostSpec The host.
+   * @param hostRecheckMillis How stale information is allowed.
+   * @return the replay lag in milliseconds, or -1 if it was not measured recently.
+   */
+  static long getReplicationLag(HostSpec hostSpec, long hostRecheckMillis) {
+    ReplicationLag replicationLag = replicationLagMap.get(hostSpec);
+    if (replicationLag == null
+        || replicationLag.lastUpdated < System.nanoTime() / 1000000 - hostRecheckMillis) {
+      return -1;
+    }
+    return replicationLag.lagMillis;
+  }
+
+  private static HostLatency getHostLatency(HostSpec hostSpec) {
+    HostLatency hostLatency = hostLatencyMap.get(hostSpec);
+    if (hostLatency == null) {
+      hostLatency = hostLatencyMap.computeIfAbsent(hostSpec, k -> new HostLatency());
+    }
+    return hostLatency;
+  }
+
+  /**
+   * Returns the expected cost of connecting to the host: the average connect latency in
+   * milliseconds divided by the average success rate of the connection attempts.
+   *
+   * @param hostSpec The host.
+   * @param hostRecheckMillis How stale information is allowed.
+   * @return the cost, 0 if the host has no recent measurements, or
+   *     {@link Double#POSITIVE_INFINITY} if the recent attempts to connect to it failed.
+   */
+  static double getConnectCost(HostSpec hostSpec, long hostRecheckMillis) {
+    HostLatency hostLatency = hostLatencyMap.get(hostSpec);
+    if (hostLatency == null) {
+      return 0;
+    }
+    long latestAllowedUpdate = System.nanoTime() / 1000000 - hostRecheckMillis;
+    double failure = hostLatency.failure.get(latestAllowedUpdate);
+    if (Double.isNaN(failure)) {
+      return 0;
+    }
+    double latency = hostLatency.latency.get(latestAllowedUpdate);
+    if (Double.isNaN(latency)) {
+      // The host was recently tried, but it could not be connected to
+      return failure > 0 ? Double.POSITIVE_INFINITY : 0;
+    }
+    return latency / Math.max(MIN_SUCCESS_RATE, 1 - failure);
   }
 
   /**
@@ -68,6 +153,60 @@ static List<HostSpec> getCandidateHosts(HostSpec[] hostSpecs,
     return candidates;
   }
 
+  private static final double MIN_SUCCESS_RATE = 0.01;
+
+  /**
+   * Moving averages of the connect latency and failure rate of a host.
+   */
+  static class HostLatency {
+    final Ewma latency = new Ewma();
+    final Ewma failure = new Ewma();
+  }
+
+  /**
+   * Exponentially weighted moving average that is updated with compare-and-set, so concurrent
+   * reports never block each other.
+   */
+  static class Ewma {
+    // Weight of a new sample
+    private static final double ALPHA = 0.3;
+
+    private final AtomicLong bits = new AtomicLong(Double.doubleToRawLongBits(Double.NaN));
+    private volatile long lastUpdated;
+
+    void update(double sample, long now) {
+      while (true) {
+        long prevBits = bits.get();
+        double prev = Double.longBitsToDouble(prevBits);
+        double next = Double.isNaN(prev) ? sample : prev + ALPHA * (sample - prev);
+        if (bits.compareAndSet(prevBits, Double.doubleToRawLongBits(next))) {
+          break;
+        }
+      }
+      lastUpdated = now;
+    }
+
+    /**
+     * Returns the average, or NaN when there is no sample newer than the given time.
+     */
+    double get(long latestAllowedUpdate) {
+      if (lastUpdated < latestAllowedUpdate) {
+        return Double.NaN;
+      }
+      return Double.longBitsToDouble(bits.get());
+    }
+  }
+
+  static class ReplicationLag {
+    final long lagMillis;
+    final long lastUpdated;
+
+    ReplicationLag(long lagMillis, long lastUpdated) {
+      this.lagMillis = lagMillis;
+      this.lastUpdated = lastUpdated;
+    }
+  }
+
   static class HostSpecStatus {
     final HostSpec host;
     @Nullable HostStatus status;
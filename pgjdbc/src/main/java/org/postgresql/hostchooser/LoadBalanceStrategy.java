@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.postgresql.hostchooser;
+
+import org.postgresql.PGProperty;
+import org.postgresql.util.GT;
+import org.postgresql.util.HostSpec;
+import org.postgresql.util.PSQLException;
+import org.postgresql.util.PSQLState;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Order in which {@code loadBalanceHosts} tries the candidate hosts.
+ *
+ * <p>Apart from {@link #RANDOM}, the strategies use the connect cost that
+ * {@link GlobalHostStatusTracker} keeps for each host: the moving average of the time it took to
+ * connect, divided by the moving average of the connection success rate. Hosts without recent
+ * measurements cost nothing, so they are tried early and get measured.</p>
+ */
+public enum LoadBalanceStrategy {
+  /**
+   * Shuffle the hosts.
+   */
+  RANDOM("random") {
+    @Override
+    void order(List<HostSpec> hosts, long hostRecheckMillis) {
+      Collections.shuffle(hosts);
+    }
+  },
+  /**
+   * Try the cheapest host first, hosts with the same cost are shuffled.
+   */
+  LEAST_LATENCY("leastLatency") {
+    @Override
+    void order(List<HostSpec> hosts, long hostRecheckMillis) {
+      Collections.shuffle(hosts);
+      double[] costs = costs(hosts, hostRecheckMillis);
+      List<Integer> indexes = new ArrayList<>(hosts.size());
+      for (int i = 0; i < hosts.size(); i++) {
+        indexes.add(i);
+      }
+      indexes.sort(Comparator.comparingDouble(i -> costs[i]));
+      List<HostSpec> shuffled = new ArrayList<>(hosts);
+      for (int i = 0; i < indexes.size(); i++) {
+        hosts.set(i, shuffled.get(indexes.get(i)));
+      }
+    }
+  },
+  /**
+   * Pick two of the remaining hosts at random and try the cheaper one next. This avoids slow hosts
+   * without sending every client to the same fastest host.
+   */
+  POWER_OF_TWO_CHOICES("powerOfTwoChoices") {
+    @Override
+    void order(List<HostSpec> hosts, long hostRecheckMillis) {
+      ThreadLocalRandom random = ThreadLocalRandom.current();
+      double[] costs = costs(hosts, hostRecheckMillis);
+      for (int i = 0; i < hosts.size() - 1; i++) {
+        int remaining = hosts.size() - i;
+        int a = i + random.nextInt(remaining);
+        int b = i + random.nextInt(remaining - 1);
+        if (b >= a) {
+          b++;
+        }
+        swap(hosts, costs, i, costs[b] < costs[a] ? b : a);
+      }
+    }
+  },
+  /**
+   * Shuffle the hosts so that the chance of a host to come first is inversely proportional to its
+   * cost.
+   */
+  WEIGHTED("weighted") {
+    @Override
+    void order(List<HostSpec> hosts, long hostRecheckMillis) {
+      ThreadLocalRandom random = ThreadLocalRandom.current();
+      double[] costs = costs(hosts, hostRecheckMillis);
+      double minCost = Double.POSITIVE_INFINITY;
+      for (double cost : costs) {
+        if (cost > 0) {
+          minCost = Math.min(minCost, cost);
+        }
+      }
+      if (Double.isInfinite(minCost)) {
+        minCost = 1;
+      }
+      // Weighted sampling without replacement (Efraimidis and Spirakis): sort by u^(1/weight).
+      // Hosts that were not measured get the weight of the cheapest measured host.
+      double[] keys = new double[costs.length];
+      for (int i = 0; i < costs.length; i++) {
+        double cost = costs[i] > 0 ? costs[i] : minCost;
+        double u = 1 - random.nextDouble();
+        keys[i] = Double.isInfinite(cost) ? Double.NEGATIVE_INFINITY : Math.log(u) * cost;
+      }
+      for (int i = 0; i < hosts.size() - 1; i++) {
+        int max = i;
+        for (int j = i + 1; j < hosts.size(); j++) {
+          if (keys[j] > keys[max]) {
+            max = j;
+          }
+        }
+        double key = keys[i];
+        keys[i] = keys[max];
+        keys[max] = key;
+        swap(hosts, costs, i, max);
+      }
+    }
+  },
+  ;
+
+  private static final LoadBalanceStrategy[] VALUES = values();
+
+  public final String value;
+
+  LoadBalanceStrategy(String value) {
+    this.value = value;
+  }
+
+  /**
+   * Reorders the hosts in place.
+   *
+   * @param hosts the candidate hosts
+   * @param hostRecheckMillis how old the measurements of a host may be
+   */
+  abstract void order(List<HostSpec> hosts, long hostRecheckMillis);
+
+  private static double[] costs(List<HostSpec> hosts, long hostRecheckMillis) {
+    double[] costs = new double[hosts.size()];
+    for (int i = 0; i < costs.length; i++) {
+      costs[i] = GlobalHostStatusTracker.getConnectCost(hosts.get(i), hostRecheckMillis);
+    }
+    return costs;
+  }
+
+  private static void swap(List<HostSpec> hosts, double[] costs, int i, int j) {
+    Collections.swap(hosts, i, j);
+    double cost = costs[i];
+    costs[i] = costs[j];
+    costs[j] = cost;
+  }
+
+  public static LoadBalanceStrategy of(Properties info) throws PSQLException {
+    String strategy = PGProperty.LOAD_BALANCE_STRATEGY.getOrDefault(info);
+    for (LoadBalanceStrategy value : VALUES) {
+      if (value.value.equalsIgnoreCase(strategy)) {
+        return value;
+      }
+    }
+    throw new PSQLException(GT.tr("Invalid loadBalanceStrategy value: {0}", strategy),
+        PSQLState.CONNECTION_UNABLE_TO_CONNECT);
+  }
+}
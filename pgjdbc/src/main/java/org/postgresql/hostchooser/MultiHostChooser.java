@@ -5,7 +5,7 @@
 
 package org.postgresql.hostchooser;
 
-import static java.util.Collections.shuffle;
+import static org.postgresql.util.internal.Nullness.castNonNull;
 
 import org.postgresql.PGProperty;
 import org.postgresql.util.HostSpec;
@@ -14,8 +14,11 @@
 import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 
 /**
@@ -26,6 +29,8 @@ class MultiHostChooser implements HostChooser {
   private final HostRequirement targetServerType;
   private int hostRecheckTime;
   private boolean loadBalance;
+  private LoadBalanceStrategy loadBalanceStrategy;
+  private int maxReplicationLag;
 
   MultiHostChooser(HostSpec[] hostSpecs, HostRequirement targetServerType,
       Properties info) {
@@ -34,6 +39,11 @@ class MultiHostChooser implements HostChooser {
     try {
       hostRecheckTime = PGProperty.HOST_RECHECK_SECONDS.getInt(info) * 1000;
       loadBalance = PGProperty.LOAD_BALANCE_HOSTS.getBoolean(info);
+      loadBalanceStrategy = LoadBalanceStrategy.of(info);
+      if (targetServerType == HostRequirement.secondary
+          || targetServerType == HostRequirement.preferSecondary) {
+        maxReplicationLag = PGProperty.MAX_REPLICATION_LAG.getInt(info);
+      }
     } catch (PSQLException e) {
       throw new RuntimeException(e);
     }
@@ -47,7 +57,7 @@ public Iterator<CandidateHost> iterator() {
       List<HostSpec> allHosts = Arrays.asList(hostSpecs);
       if (loadBalance) {
         allHosts = new ArrayList<>(allHosts);
-        shuffle(allHosts);
+        loadBalanceStrategy.order(allHosts, hostRecheckTime);
       }
       res = withReqStatus(targetServerType, allHosts).iterator();
     }
@@ -88,11 +98,39 @@ private List<CandidateHost> getCandidateHosts(HostRequirement hostRequirement) {
     List<HostSpec> candidates =
         GlobalHostStatusTracker.getCandidateHosts(hostSpecs, hostRequirement, hostRecheckTime);
     if (loadBalance) {
-      shuffle(candidates);
+      loadBalanceStrategy.order(candidates, hostRecheckTime);
+    }
+    if (maxReplicationLag > 0) {
+      orderByReplicationLag(hostRequirement, candidates);
     }
     return withReqStatus(hostRequirement, candidates);
   }
 
+  /**
+   * Removes the standbys whose last measured replication lag exceeds {@code maxReplicationLag}
+   * from the secondary candidates, and moves them after the other hosts in the fallback
+   * candidates of preferSecondary. Without load balancing, the secondary candidates are ordered
+   * from the least to the most lagged, with the unmeasured hosts last.
+   */
+  private void orderByReplicationLag(HostRequirement hostRequirement, List<HostSpec> candidates) {
+    Map<HostSpec, Long> lags = new HashMap<>();
+    for (HostSpec hostSpec : candidates) {
+      lags.put(hostSpec, GlobalHostStatusTracker.getReplicationLag(hostSpec, hostRecheckTime));
+    }
+    if (hostRequirement == HostRequirement.secondary) {
+      candidates.removeIf(hostSpec -> castNonNull(lags.get(hostSpec)) > maxReplicationLag);
+      if (!loadBalance) {
+        candidates.sort(Comparator.comparingLong(hostSpec -> {
+          long lag = castNonNull(lags.get(hostSpec));
+          return lag < 0 ? Long.MAX_VALUE : lag;
+        }));
+      }
+    } else {
+      candidates.sort(Comparator.comparing(
+          hostSpec -> castNonNull(lags.get(hostSpec)) > maxReplicationLag));
+    }
+  }
+
   private static List<CandidateHost> withReqStatus(final HostRequirement requirement, final List<HostSpec> hosts) {
     return new AbstractList<CandidateHost>() {
       @Override
@@ -13,6 +13,7 @@
 import org.postgresql.core.Parser;
 import org.postgresql.jdbc2.ArrayAssistant;
 import org.postgresql.jdbc2.ArrayAssistantRegistry;
+import org.postgresql.util.ByteConverter;
 import org.postgresql.util.GT;
 import org.postgresql.util.PGbytea;
 import org.postgresql.util.PSQLException;
@@ -577,6 +578,420 @@ public static Object readBinaryArray(int index, int count, byte[] bytes, BaseCon
     }
   }
 
+  /**
+   * Decodes the elements of a binary array of a fixed-size type into a primitive array, without
+   * boxing them. Each implementation handles one element type and one component type, so the
+   * decoding loop stays monomorphic.
+   */
+  private abstract static class PrimitiveReader {
+    final int elementLength;
+
+    PrimitiveReader(int elementLength) {
+      this.elementLength = elementLength;
+    }
+
+    /**
+     * Decodes {@code count} elements starting at {@code pos} into {@code array} starting at
+     * {@code arrayPos}.
+     *
+     * @return the position after the decoded elements
+     */
+    abstract int read(Object array, int arrayPos, int count, byte[] bytes, int pos)
+        throws PSQLException;
+
+    /**
+     * Returns the position of the data of the element at {@code pos}, checking it is not null.
+     */
+    final int data(byte[] bytes, int pos, Object array) throws PSQLException {
+      int length = ByteConverter.int4(bytes, pos);
+      if (length != elementLength) {
+        throw invalidPrimitiveElement(length, array.getClass().getComponentType());
+      }
+      return pos + 4;
+    }
+  }
+
+  private static PSQLException invalidPrimitiveElement(int length, Class<?> componentType) {
+    if (length == -1) {
+      return new PSQLException(
+          GT.tr("Cannot convert a null array element to {0}.", componentType),
+          PSQLState.DATA_TYPE_MISMATCH);
+    }
+    return new PSQLException(GT.tr("Invalid array element length {0}.", length),
+        PSQLState.DATA_ERROR);
+  }
+
+  private static final PrimitiveReader INT8_TO_LONG = new PrimitiveReader(8) {
+    @Override
+    int read(Object array, int arrayPos, int count, byte[] bytes, int pos) throws PSQLException {
+      final long[] values = (long[]) array;
+      for (int i = arrayPos, end = arrayPos + count; i < end; i++) {
+        pos = data(bytes, pos, array);
+        values[i] = ByteConverter.int8(bytes, pos);
+        pos += 8;
+      }
+      return pos;
+    }
+  };
+
+  private static final PrimitiveReader INT4_TO_LONG = new PrimitiveReader(4) {
+    @Override
+    int read(Object array, int arrayPos, int count, byte[] bytes, int pos) throws PSQLException {
+      final long[] values = (long[]) array;
+      for (int i = arrayPos, end = arrayPos + count; i < end; i++) {
+        pos = data(bytes, pos, array);
+        values[i] = ByteConverter.int4(bytes, pos);
+        pos += 4;
+      }
+      return pos;
+    }
+  };
+
+  private static final PrimitiveReader OID_TO_LONG = new PrimitiveReader(4) {
+    @Override
+    int read(Object array, int arrayPos, int count, byte[] bytes, int pos) throws PSQLException {
+      final long[] values = (long[]) array;
+      for (int i = arrayPos, end = arrayPos + count; i < end; i++) {
+        pos = data(bytes, pos, array);
+        values[i] = ByteConverter.int4(bytes, pos) & 0xFFFFFFFFL;
+        pos += 4;
+      }
+      return pos;
+    }
+  };
+
+  private static final PrimitiveReader INT2_TO_LONG = new PrimitiveReader(2) {
+    @Override
+    int read(Object array, int arrayPos, int count, byte[] bytes, int pos) throws PSQLException {
+      final long[] values = (long[]) array;
+      for (int i = arrayPos, end = arrayPos + count; i < end; i++) {
+        pos = data(bytes, pos, array);
+        values[i] = ByteConverter.int2(bytes, pos);
+        pos += 2;
+      }
+      return pos;
+    }
+  };
+
+  private static final PrimitiveReader INT4_TO_INT = new PrimitiveReader(4) {
+    @Override
+    int read(Object array, int arrayPos, int count, byte[] bytes, int pos) throws PSQLException {
+      final int[] values = (int[]) array;
+      for (int i = arrayPos, end = arrayPos + count; i < end; i++) {
+        pos = data(bytes, pos, array);
+        values[i] = ByteConverter.int4(bytes, pos);
+        pos += 4;
+      }
+      return pos;
+    }
+  };
+
+  private static final PrimitiveReader INT2_TO_INT = new PrimitiveReader(2) {
+    @Override
+    int read(Object array, int arrayPos, int count, byte[] bytes, int pos) throws PSQLException {
+      final int[] values = (int[]) array;
+      for (int i = arrayPos, end = arrayPos + count; i < end; i++) {
+        pos = data(bytes, pos, array);
+        values[i] = ByteConverter.int2(bytes, pos);
+        pos += 2;
+      }
+      return pos;
+    }
+  };
+
+  private static final PrimitiveReader INT2_TO_SHORT = new PrimitiveReader(2) {
+    @Override
+    int read(Object array, int arrayPos, int count, byte[] bytes, int pos) throws PSQLException {
+      final short[] values = (short[]) array;
+      for (int i = arrayPos, end = arrayPos + count; i < end; i++) {
+        pos = data(bytes, pos, array);
+        values[i] = ByteConverter.int2(bytes, pos);
+        pos += 2;
+      }
+      return pos;
+    }
+  };
+
+  private static final PrimitiveReader FLOAT8_TO_DOUBLE = new PrimitiveReader(8) {
+    @Override
+    int read(Object array, int arrayPos, int count, byte[] bytes, int pos) throws PSQLException {
+      final double[] values = (double[]) array;
+      for (int i = arrayPos, end = arrayPos + count; i < end; i++) {
+        pos = data(bytes, pos, array);
+        values[i] = ByteConverter.float8(bytes, pos);
+        pos += 8;
+      }
+      return pos;
+    }
+  };
+
+  private static final PrimitiveReader FLOAT4_TO_DOUBLE = new PrimitiveReader(4) {
+    @Override
+    int read(Object array, int arrayPos, int count, byte[] bytes, int pos) throws PSQLException {
+      final double[] values = (double[]) array;
+      for (int i = arrayPos, end = arrayPos + count; i < end; i++) {
+        pos = data(bytes, pos, array);
+        values[i] = ByteConverter.float4(bytes, pos);
+        pos += 4;
+      }
+      return pos;
+    }
+  };
+
+  private static final PrimitiveReader FLOAT4_TO_FLOAT = new PrimitiveReader(4) {
+    @Override
+    int read(Object array, int arrayPos, int count, byte[] bytes, int pos) throws PSQLException {
+      final float[] values = (float[]) array;
+      for (int i = arrayPos, end = arrayPos + count; i < end; i++) {
+        pos = data(bytes, pos, array);
+        values[i] = ByteConverter.float4(bytes, pos);
+        pos += 4;
+      }
+      return pos;
+    }
+  };
+
+  private static final PrimitiveReader BOOL_TO_BOOLEAN = new PrimitiveReader(1) {
+    @Override
+    int read(Object array, int arrayPos, int count, byte[] bytes, int pos) throws PSQLException {
+      final boolean[] values = (boolean[]) array;
+      for (int i = arrayPos, end = arrayPos + count; i < end; i++) {
+        pos = data(bytes, pos, array);
+        values[i] = ByteConverter.bool(bytes, pos);
+        pos += 1;
+      }
+      return pos;
+    }
+  };
+
+  /**
+   * Returns the reader that decodes elements of the given type into the given primitive type,
+   * allowing the widening conversions of Java.
+   */
+  private static @Nullable PrimitiveReader getPrimitiveReader(int elementOid, Class<?> componentType) {
+    switch (elementOid) {
+      case Oid.INT8:
+        return componentType == long.class ? INT8_TO_LONG : null;
+      case Oid.INT4:
+        return componentType == int.class ? INT4_TO_INT
+            : componentType == long.class ? INT4_TO_LONG : null;
+      case Oid.INT2:
+        return componentType == short.class ? INT2_TO_SHORT
+            : componentType == int.class ? INT2_TO_INT
+            : componentType == long.class ? INT2_TO_LONG : null;
+      case Oid.OID:
+        return componentType == long.class ? OID_TO_LONG : null;
+      case Oid.FLOAT8:
+        return componentType == double.class ? FLOAT8_TO_DOUBLE : null;
+      case Oid.FLOAT4:
+        return componentType == float.class ? FLOAT4_TO_FLOAT
+            : componentType == double.class ? FLOAT4_TO_DOUBLE : null;
+      case Oid.BOOL:
+        return componentType == boolean.class ? BOOL_TO_BOOLEAN : null;
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * Returns the innermost component type of an array class, or the class itself if it is not an
+   * array.
+   */
+  static Class<?> getInnermostComponentType(Class<?> arrayType) {
+    Class<?> type = arrayType;
+    while (type.isArray()) {
+      type = type.getComponentType();
+    }
+    return type;
+  }
+
+  private static int getDimensions(Class<?> arrayType) {
+    int dimensions = 0;
+    for (Class<?> type = arrayType; type.isArray(); type = type.getComponentType()) {
+      dimensions++;
+    }
+    return dimensions;
+  }
+
+  private static PrimitiveReader getPrimitiveReader(int elementOid, Class<?> componentType,
+      BaseConnection connection) throws SQLException {
+    PrimitiveReader reader = getPrimitiveReader(elementOid, componentType);
+    if (reader == null) {
+      throw new PSQLException(GT.tr("conversion to {0} from {1} not supported",
+          componentType, connection.getTypeInfo().getPGType(elementOid)),
+          PSQLState.INVALID_PARAMETER_VALUE);
+    }
+    return reader;
+  }
+
+  /**
+   * Reads the binary representation of an array into an array of primitives, such as
+   * {@code double[]} or {@code int[][]}, without boxing the elements.
+   *
+   * @param bytes
+   *          The binary representation of the array.
+   * @param type
+   *          The primitive array type, or the primitive component type to get an array with the
+   *          dimensions of the data.
+   * @param connection
+   *          The connection the <i>bytes</i> were retrieved from.
+   * @return The parsed array.
+   * @throws SQLException
+   *           If the elements can't be converted to the component type, or if an element is
+   *           null.
+   */
+  static Object readBinaryPrimitiveArray(byte[] bytes, Class<?> type, BaseConnection connection)
+      throws SQLException {
+    final Class<?> componentType = getInnermostComponentType(type);
+    final int dimensions = ByteConverter.int4(bytes, 0);
+    final int elementOid = ByteConverter.int4(bytes, 8);
+    final int requestedDimensions = type.isArray() ? getDimensions(type) : Math.max(dimensions, 1);
+
+    if (dimensions == 0) {
+      return Array.newInstance(componentType, new int[requestedDimensions]);
+    }
+    if (dimensions != requestedDimensions) {
+      throw new PSQLException(
+          GT.tr("Cannot convert an array of {0} dimensions to {1}.", dimensions, type),
+          PSQLState.DATA_TYPE_MISMATCH);
+    }
+    final PrimitiveReader reader = getPrimitiveReader(elementOid, componentType, connection);
+
+    final int[] dimensionLengths = new int[dimensions];
+    int pos = 12;
+    for (int i = 0; i < dimensions; i++) {
+      dimensionLengths[i] = ByteConverter.int4(bytes, pos);
+      // skip the lower bound
+      pos += 8;
+    }
+
+    final Object array = Array.newInstance(componentType, dimensionLengths);
+    storePrimitiveValues(array, reader, bytes, pos, dimensionLengths, 0);
+    return array;
+  }
+
+  private static int storePrimitiveValues(Object array, PrimitiveReader reader, byte[] bytes,
+      int pos, int[] dimensionLengths, int dim) throws PSQLException {
+    if (dim == dimensionLengths.length - 1) {
+      return reader.read(array, 0, dimensionLengths[dim], bytes, pos);
+    }
+    final Object[] rows = (Object[]) array;
+    for (Object row : rows) {
+      pos = storePrimitiveValues(castNonNull(row), reader, bytes, pos, dimensionLengths, dim + 1);
+    }
+    return pos;
+  }
+
+  /**
+   * Reads the elements of the binary representation of an array into a caller-provided
+   * primitive array, in row-major order for multi-dimensional arrays.
+   *
+   * @param bytes
+   *          The binary representation of the array.
+   * @param dest
+   *          The primitive array to decode into, such as a {@code double[]}.
+   * @param destPos
+   *          The position in <i>dest</i> of the first element.
+   * @param connection
+   *          The connection the <i>bytes</i> were retrieved from.
+   * @return The number of elements decoded.
+   * @throws SQLException
+   *           If the elements can't be converted to the component type of <i>dest</i>, if an
+   *           element is null, or if they don't fit.
+   */
+  static int readBinaryPrimitiveArray(byte[] bytes, Object dest, int destPos,
+      BaseConnection connection) throws SQLException {
+    final int dimensions = ByteConverter.int4(bytes, 0);
+    if (dimensions == 0) {
+      return 0;
+    }
+    final int elementOid = ByteConverter.int4(bytes, 8);
+    final PrimitiveReader reader =
+        getPrimitiveReader(elementOid, dest.getClass().getComponentType(), connection);
+
+    int count = 1;
+    int pos = 12;
+    for (int i = 0; i < dimensions; i++) {
+      count *= ByteConverter.int4(bytes, pos);
+      pos += 8;
+    }
+    if (destPos < 0 || destPos + count > Array.getLength(dest)) {
+      throw new PSQLException(
+          GT.tr("The array of {0} elements does not fit at position {1} of an array of length {2}.",
+              count, destPos, Array.getLength(dest)),
+          PSQLState.INVALID_PARAMETER_VALUE);
+    }
+    reader.read(dest, destPos, count, bytes, pos);
+    return count;
+  }
+
+  /**
+   * Copies an array of boxed values, as decoded from the string representation of an array, into
+   * a new array of primitives.
+   *
+   * @param boxed
+   *          The array of boxed values, such as a {@code Double[]} or {@code Integer[][]}.
+   * @param type
+   *          The primitive array type, or the primitive component type to get an array with the
+   *          dimensions of <i>boxed</i>.
+   * @return The array of primitives.
+   * @throws SQLException
+   *           If the values can't be converted to the component type, or if a value is null.
+   */
+  static Object toPrimitiveArray(Object boxed, Class<?> type) throws SQLException {
+    final Class<?> componentType = getInnermostComponentType(type);
+    final int dimensions = getDimensions(boxed.getClass());
+    if (type.isArray() && Array.getLength(boxed) > 0 && getDimensions(type) != dimensions) {
+      throw new PSQLException(
+          GT.tr("Cannot convert an array of {0} dimensions to {1}.", dimensions, type),
+          PSQLState.DATA_TYPE_MISMATCH);
+    }
+    final int length = Array.getLength(boxed);
+    if (dimensions == 1) {
+      final Object array = Array.newInstance(componentType, length);
+      copyPrimitiveValues(boxed, array, 0);
+      return array;
+    }
+    final Object[] array = (Object[]) Array.newInstance(
+        Array.newInstance(componentType, new int[dimensions - 1]).getClass(), length);
+    for (int i = 0; i < length; i++) {
+      array[i] = toPrimitiveArray(castNonNull(Array.get(boxed, i)), componentType);
+    }
+    return array;
+  }
+
+  /**
+   * Copies an array of boxed values into a primitive array, in row-major order.
+   *
+   * @return the position after the copied values
+   */
+  static int copyPrimitiveValues(Object boxed, Object dest, int destPos) throws SQLException {
+    final Class<?> componentType = dest.getClass().getComponentType();
+    for (int i = 0, length = Array.getLength(boxed); i < length; i++) {
+      final Object value = Array.get(boxed, i);
+      if (value != null && value.getClass().isArray()) {
+        destPos = copyPrimitiveValues(value, dest, destPos);
+        continue;
+      }
+      if (value == null) {
+        throw invalidPrimitiveElement(-1, componentType);
+      }
+      if (destPos >= Array.getLength(dest)) {
+        throw new PSQLException(
+            GT.tr("The array does not fit at position {0} of an array of length {1}.",
+                destPos, Array.getLength(dest)),
+            PSQLState.INVALID_PARAMETER_VALUE);
+      }
+      try {
+        Array.set(dest, destPos++, value);
+      } catch (IllegalArgumentException e) {
+        throw new PSQLException(GT.tr("conversion to {0} from {1} not supported",
+            componentType, value.getClass()), PSQLState.INVALID_PARAMETER_VALUE, e);
+      }
+    }
+    return destPos;
+  }
+
   /**
    * Parses the string representation of an array into a {@link PgArrayList}.
    *
@@ -9,18 +9,24 @@
 import org.postgresql.core.Encoding;
 import org.postgresql.core.Oid;
 import org.postgresql.util.ByteConverter;
+import org.postgresql.util.ByteStreamWriter;
 import org.postgresql.util.GT;
 import org.postgresql.util.PGbytea;
 import org.postgresql.util.PSQLException;
 import org.postgresql.util.PSQLState;
 
 import org.checkerframework.checker.index.qual.Positive;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.lang.reflect.Array;
 import java.sql.SQLException;
 import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -50,6 +56,12 @@
  */
 final class ArrayEncoding {
 
+  /**
+   * Length of the binary representation from which arrays are encoded while
+   * they are sent rather than into a {@code byte[]}.
+   */
+  static final int STREAMING_THRESHOLD = 64 * 1024;
+
   @SuppressWarnings("ExtendsObject")
   interface ArrayEncoder<A extends Object> {
 
@@ -401,7 +413,7 @@ public final byte[] toBinaryRepresentation(BaseConnection connection, A array, i
       // postgresql uses 1 base by default
       ByteConverter.int4(bytes, 16, 1);
 
-      write(array, bytes, 20);
+      write(array, 0, arrayLength, bytes, 20);
 
       return bytes;
     }
@@ -415,22 +427,166 @@ final byte[] toSingleDimensionBinaryRepresentation(BaseConnection connection, A
       final int length = (fieldSize + 4) * Array.getLength(array);
       final byte[] bytes = new byte[length];
 
-      write(array, bytes, 0);
+      write(array, 0, Array.getLength(array), bytes, 0);
       return bytes;
     }
 
     /**
-     * Write the entire contents of <i>array</i> to <i>bytes</i> starting at
-     * <i>offset</i> without metadata describing type or length.
+     * Write the elements of <i>array</i> from <i>from</i> (inclusive) to <i>to</i>
+     * (exclusive) to <i>bytes</i> starting at <i>offset</i> without metadata
+     * describing type or length. Only the last byte of the length of each
+     * element is written, the other ones must be {@code 0}.
      *
      * @param array
      *          The array to write.
+     * @param from
+     *          The index of the first element to write.
+     * @param to
+     *          The index after the last element to write.
      * @param bytes
      *          The {@code byte[]} to write to.
      * @param offset
      *          The offset into <i>bytes</i> to start writing.
      */
-    abstract void write(A array, byte[] bytes, int offset);
+    abstract void write(A array, int from, int to, byte[] bytes, int offset);
+  }
+
+  /**
+   * A {@link ByteStreamWriter} for the binary representation of a one
+   * dimension array. The elements are encoded in chunks while the parameter is
+   * sent, instead of into a {@code byte[]} holding the whole array. The writer
+   * encodes a copy of the source taken when the parameter is set, as the
+   * caller may change or reuse the source, for instance for the next row of a
+   * batch, before the statement is executed.
+   */
+  abstract static class ArrayStreamWriter implements ByteStreamWriter {
+    private static final int CHUNK_SIZE = 8192;
+
+    private final int arrayOid;
+    private final int elementOid;
+    final int elementCount;
+    private final boolean hasNulls;
+    private final int length;
+
+    ArrayStreamWriter(int arrayOid, int elementOid, int elementCount, boolean hasNulls,
+        long length) throws SQLException {
+      if (length > Integer.MAX_VALUE) {
+        throw new PSQLException(
+            GT.tr("The array of {0} elements is too large to be sent.", elementCount),
+            PSQLState.INVALID_PARAMETER_VALUE);
+      }
+      this.arrayOid = arrayOid;
+      this.elementOid = elementOid;
+      this.elementCount = elementCount;
+      this.hasNulls = hasNulls;
+      this.length = (int) length;
+    }
+
+    /**
+     * The array type oid to bind the parameter with.
+     *
+     * @return The array type oid.
+     */
+    int getArrayTypeOid() {
+      return arrayOid;
+    }
+
+    @Override
+    public int getLength() {
+      return length;
+    }
+
+    @Override
+    public void writeTo(ByteStreamTarget target) throws IOException {
+      final OutputStream out = target.getOutputStream();
+      final byte[] chunk = new byte[Math.min(CHUNK_SIZE, length)];
+
+      // 1 dimension
+      ByteConverter.int4(chunk, 0, 1);
+      // nulls
+      ByteConverter.int4(chunk, 4, hasNulls ? 1 : 0);
+      // oid
+      ByteConverter.int4(chunk, 8, elementOid);
+      // length
+      ByteConverter.int4(chunk, 12, elementCount);
+      // postgresql uses 1 base by default
+      ByteConverter.int4(chunk, 16, 1);
+      out.write(chunk, 0, 20);
+      Arrays.fill(chunk, 0, 20, (byte) 0);
+
+      writeElements(out, chunk);
+    }
+
+    /**
+     * Writes the elements, encoding them into <i>chunk</i>, which is
+     * initially filled with {@code 0}.
+     *
+     * @param out
+     *          The stream to write to.
+     * @param chunk
+     *          The buffer to encode the elements into.
+     * @throws IOException
+     *           If the stream throws.
+     */
+    abstract void writeElements(OutputStream out, byte[] chunk) throws IOException;
+  }
+
+  @SuppressWarnings("ExtendsObject")
+  private static final class PrimitiveArrayStreamWriter<A extends Object> extends ArrayStreamWriter {
+    private final FixedSizePrimitiveArrayEncoder<A> encoder;
+    private final A array;
+
+    PrimitiveArrayStreamWriter(FixedSizePrimitiveArrayEncoder<A> encoder, A array, int oid,
+        int elementCount, long length) throws SQLException {
+      super(oid, encoder.getTypeOID(oid), elementCount, false, length);
+      this.encoder = encoder;
+      this.array = array;
+    }
+
+    @Override
+    void writeElements(OutputStream out, byte[] chunk) throws IOException {
+      final int elementSize = encoder.fieldSize + 4;
+      final int chunkElements = chunk.length / elementSize;
+      for (int from = 0; from < elementCount; from += chunkElements) {
+        final int to = Math.min(elementCount, from + chunkElements);
+        encoder.write(array, from, to, chunk, 0);
+        out.write(chunk, 0, (to - from) * elementSize);
+      }
+    }
+  }
+
+  private static final class NumberCollectionStreamWriter<N extends Number> extends ArrayStreamWriter {
+    private final NumberArrayEncoder<N> encoder;
+    private final Collection<? extends N> values;
+
+    NumberCollectionStreamWriter(NumberArrayEncoder<N> encoder, Collection<? extends N> values,
+        int nullCount, long length) throws SQLException {
+      super(encoder.arrayOid, encoder.getTypeOID(encoder.arrayOid), values.size(), nullCount != 0,
+          length);
+      this.encoder = encoder;
+      this.values = values;
+    }
+
+    @Override
+    void writeElements(OutputStream out, byte[] chunk) throws IOException {
+      final int fieldSize = encoder.fieldSize;
+      int idx = 0;
+      for (N value : values) {
+        if (idx + 4 + fieldSize > chunk.length) {
+          out.write(chunk, 0, idx);
+          idx = 0;
+        }
+        if (value == null) {
+          ByteConverter.int4(chunk, idx, -1);
+          idx += 4;
+        } else {
+          ByteConverter.int4(chunk, idx, fieldSize);
+          encoder.write(value, chunk, idx + 4);
+          idx += 4 + fieldSize;
+        }
+      }
+      out.write(chunk, 0, idx);
+    }
   }
 
   private static final AbstractArrayEncoder<long[]> LONG_ARRAY = new FixedSizePrimitiveArrayEncoder<long[]>(8, Oid.INT8,
@@ -449,9 +605,9 @@ public void appendArray(StringBuilder sb, char delim, long[] array) {
     }
 
     @Override
-    protected void write(long[] array, byte[] bytes, int offset) {
+    protected void write(long[] array, int from, int to, byte[] bytes, int offset) {
       int idx = offset;
-      for (int i = 0; i < array.length; i++) {
+      for (int i = from; i < to; i++) {
         bytes[idx + 3] = 8;
         ByteConverter.int8(bytes, idx + 4, array[i]);
         idx += 12;
@@ -484,9 +640,9 @@ public void appendArray(StringBuilder sb, char delim, int[] array) {
     }
 
     @Override
-    protected void write(int[] array, byte[] bytes, int offset) {
+    protected void write(int[] array, int from, int to, byte[] bytes, int offset) {
       int idx = offset;
-      for (int i = 0; i < array.length; i++) {
+      for (int i = from; i < to; i++) {
         bytes[idx + 3] = 4;
         ByteConverter.int4(bytes, idx + 4, array[i]);
         idx += 8;
@@ -519,9 +675,9 @@ public void appendArray(StringBuilder sb, char delim, short[] array) {
     }
 
     @Override
-    protected void write(short[] array, byte[] bytes, int offset) {
+    protected void write(short[] array, int from, int to, byte[] bytes, int offset) {
       int idx = offset;
-      for (int i = 0; i < array.length; i++) {
+      for (int i = from; i < to; i++) {
         bytes[idx + 3] = 2;
         ByteConverter.int2(bytes, idx + 4, array[i]);
         idx += 6;
@@ -557,9 +713,9 @@ public void appendArray(StringBuilder sb, char delim, double[] array) {
     }
 
     @Override
-    protected void write(double[] array, byte[] bytes, int offset) {
+    protected void write(double[] array, int from, int to, byte[] bytes, int offset) {
       int idx = offset;
-      for (int i = 0; i < array.length; i++) {
+      for (int i = from; i < to; i++) {
         bytes[idx + 3] = 8;
         ByteConverter.float8(bytes, idx + 4, array[i]);
         idx += 12;
@@ -595,9 +751,9 @@ public void appendArray(StringBuilder sb, char delim, float[] array) {
     }
 
     @Override
-    protected void write(float[] array, byte[] bytes, int offset) {
+    protected void write(float[] array, int from, int to, byte[] bytes, int offset) {
       int idx = offset;
-      for (int i = 0; i < array.length; i++) {
+      for (int i = from; i < to; i++) {
         bytes[idx + 3] = 4;
         ByteConverter.float4(bytes, idx + 4, array[i]);
         idx += 8;
@@ -630,9 +786,9 @@ public void appendArray(StringBuilder sb, char delim, boolean[] array) {
     }
 
     @Override
-    protected void write(boolean[] array, byte[] bytes, int offset) {
+    protected void write(boolean[] array, int from, int to, byte[] bytes, int offset) {
       int idx = offset;
-      for (int i = 0; i < array.length; i++) {
+      for (int i = from; i < to; i++) {
         bytes[idx + 3] = 1;
         ByteConverter.bool(bytes, idx + 4, array[i]);
         idx += 5;
@@ -1077,6 +1233,120 @@ public static <A extends Object> ArrayEncoder<A> getArrayEncoder(A array) throws
     throw new PSQLException(GT.tr("Invalid elements {0}", array), PSQLState.INVALID_PARAMETER_TYPE);
   }
 
+  /**
+   * Returns a writer that encodes <i>array</i> in binary while it is sent,
+   * if <i>encoder</i> supports it and the binary representation is at least
+   * {@link #STREAMING_THRESHOLD} bytes long. Smaller arrays are better encoded
+   * with {@link ArrayEncoder#toBinaryRepresentation(BaseConnection, Object, int)},
+   * so the batch rewrites can reuse the bytes.
+   *
+   * @param encoder
+   *          The encoder returned by {@link #getArrayEncoder(Object)} for <i>array</i>.
+   * @param array
+   *          The array to encode.
+   * @param oid
+   *          The array type oid, for which
+   *          {@link ArrayEncoder#supportBinaryRepresentation(int)} returned {@code true}.
+   * @return The writer, or {@code null} if <i>array</i> should be encoded into a {@code byte[]}.
+   * @throws SQLException
+   *           If the array is too large to be sent.
+   */
+  @SuppressWarnings("ExtendsObject")
+  static <A extends Object> @Nullable ArrayStreamWriter getBinaryStreamWriter(
+      ArrayEncoder<A> encoder, A array, int oid) throws SQLException {
+    if (!(encoder instanceof FixedSizePrimitiveArrayEncoder)) {
+      return null;
+    }
+    final FixedSizePrimitiveArrayEncoder<A> primitiveEncoder =
+        (FixedSizePrimitiveArrayEncoder<A>) encoder;
+    final int arrayLength = Array.getLength(array);
+    final long length = 20L + (long) (primitiveEncoder.fieldSize + 4) * arrayLength;
+    if (length < STREAMING_THRESHOLD) {
+      return null;
+    }
+    // A copy of the elements is smaller than their binary representation
+    @SuppressWarnings("unchecked")
+    final A copy = (A) Array.newInstance(array.getClass().getComponentType(), arrayLength);
+    System.arraycopy(array, 0, copy, 0, arrayLength);
+    return new PrimitiveArrayStreamWriter<>(primitiveEncoder, copy, oid, arrayLength, length);
+  }
+
+  /**
+   * Returns a writer that encodes the elements of <i>values</i> as a binary
+   * array while it is sent, without copying them into an array first. The
+   * elements must all be {@link Long}, {@link Integer}, {@link Short},
+   * {@link Double} or {@link Float} of the same class, or {@code null}, and
+   * the binary representation at least {@link #STREAMING_THRESHOLD} bytes long.
+   *
+   * @param values
+   *          The values to encode.
+   * @return The writer, or {@code null} if <i>values</i> should be copied with
+   *         {@link #toArray(Collection)} and bound as an array.
+   * @throws SQLException
+   *           If the array is too large to be sent.
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  static @Nullable ArrayStreamWriter getBinaryStreamWriter(Collection<?> values)
+      throws SQLException {
+    final Class<?> elementClass = getElementClass(values);
+    final AbstractArrayEncoder<?> encoder =
+        elementClass == null ? null : ARRAY_CLASS_TO_ENCODER.get(elementClass);
+    if (!(encoder instanceof NumberArrayEncoder)) {
+      return null;
+    }
+    final NumberArrayEncoder numberEncoder = (NumberArrayEncoder) encoder;
+    int nullCount = 0;
+    for (Object value : values) {
+      if (value == null) {
+        ++nullCount;
+      }
+    }
+    final int size = values.size();
+    final long length = 20L + 4L * size + (long) numberEncoder.fieldSize * (size - nullCount);
+    if (length < STREAMING_THRESHOLD) {
+      return null;
+    }
+    // The elements are immutable, so a copy of the collection is enough
+    return new NumberCollectionStreamWriter(numberEncoder, new ArrayList<>(values), nullCount,
+        length);
+  }
+
+  /**
+   * Copies <i>values</i> into an array whose component type is the class of
+   * its elements, such as a {@code Long[]} for a {@code List<Long>}.
+   *
+   * @param values
+   *          The values to copy.
+   * @return The array, or {@code null} if the elements are not of a single class
+   *         or are all {@code null}.
+   */
+  static Object @Nullable [] toArray(Collection<?> values) {
+    final Class<?> elementClass = getElementClass(values);
+    if (elementClass == null) {
+      return null;
+    }
+    return values.toArray((Object[]) Array.newInstance(elementClass, values.size()));
+  }
+
+  /**
+   * Returns the class of the non-null elements of <i>values</i>, or
+   * {@code null} if they are not of a single class or there are none.
+   */
+  private static @Nullable Class<?> getElementClass(Collection<?> values) {
+    Class<?> elementClass = null;
+    for (Object value : values) {
+      if (value == null) {
+        continue;
+      }
+      if (elementClass == null) {
+        elementClass = value.getClass();
+      } else if (elementClass != value.getClass()) {
+        return null;
+      }
+    }
+    return elementClass;
+  }
+
   /**
    * Wraps an {@link AbstractArrayEncoder} implementation and provides optimized
    * support for 2 dimensions.
@@ -38,6 +38,8 @@ public class BatchResultHandler extends ResultHandlerBase {
   private int resultIndex;
 
   private final Query[] queries;
+  // number of rows each query stands for, null when it is given by Query#getBatchSize
+  private final int @Nullable [] rowCounts;
   private final long[] longUpdateCounts;
   private final @Nullable ParameterList @Nullable [] parameterLists;
   private final boolean expectGeneratedKeys;
@@ -50,8 +52,15 @@ public class BatchResultHandler extends ResultHandlerBase {
   BatchResultHandler(PgStatement pgStatement, Query[] queries,
       @Nullable ParameterList @Nullable [] parameterLists,
       boolean expectGeneratedKeys) {
+    this(pgStatement, queries, parameterLists, null, expectGeneratedKeys);
+  }
+
+  BatchResultHandler(PgStatement pgStatement, Query[] queries,
+      @Nullable ParameterList @Nullable [] parameterLists, int @Nullable [] rowCounts,
+      boolean expectGeneratedKeys) {
     this.pgStatement = pgStatement;
     this.queries = queries;
+    this.rowCounts = rowCounts;
     this.parameterLists = parameterLists;
     this.longUpdateCounts = new long[queries.length];
     this.expectGeneratedKeys = expectGeneratedKeys;
@@ -203,26 +212,44 @@ public void handleCompletion() throws SQLException {
   }
 
   private int[] uncompressUpdateCount() {
-    long[] original = uncompressLongUpdateCount();
-    int[] copy = new int[original.length];
-    for (int i = 0; i < original.length; i++) {
-      copy[i] = original[i] > Integer.MAX_VALUE ? Statement.SUCCESS_NO_INFO : (int) original[i];
+    return toUpdateCounts(uncompressLongUpdateCount());
+  }
+
+  /**
+   * Converts large update counts to the {@code int} update counts of
+   * {@link java.sql.Statement#executeBatch()}. Counts that do not fit are reported as
+   * {@link Statement#SUCCESS_NO_INFO}.
+   *
+   * @param largeUpdateCounts the update counts
+   * @return the {@code int} update counts
+   */
+  static int[] toUpdateCounts(long[] largeUpdateCounts) {
+    int[] updateCounts = new int[largeUpdateCounts.length];
+    for (int i = 0; i < largeUpdateCounts.length; i++) {
+      long updateCount = largeUpdateCounts[i];
+      updateCounts[i] =
+          updateCount > Integer.MAX_VALUE ? Statement.SUCCESS_NO_INFO : (int) updateCount;
     }
-    return copy;
+    return updateCounts;
   }
 
   public int[] getUpdateCount() {
     return uncompressUpdateCount();
   }
 
+  private int getRowCount(int queryIndex) {
+    int[] rowCounts = this.rowCounts;
+    return rowCounts != null ? rowCounts[queryIndex] : queries[queryIndex].getBatchSize();
+  }
+
   private long[] uncompressLongUpdateCount() {
-    if (!(queries[0] instanceof BatchedQuery)) {
+    if (rowCounts == null && !(queries[0] instanceof BatchedQuery)) {
       return longUpdateCounts;
     }
     int totalRows = 0;
     boolean hasRewrites = false;
-    for (Query query : queries) {
-      int batchSize = query.getBatchSize();
+    for (int i = 0; i < queries.length; i++) {
+      int batchSize = getRowCount(i);
       totalRows += batchSize;
       hasRewrites |= batchSize > 1;
     }
@@ -238,8 +265,7 @@ private long[] uncompressLongUpdateCount() {
     long[] newUpdateCounts = new long[totalRows];
     int offset = 0;
     for (int i = 0; i < queries.length; i++) {
-      Query query = queries[i];
-      int batchSize = query.getBatchSize();
+      int batchSize = getRowCount(i);
       long superBatchResult = longUpdateCounts[i];
       if (batchSize == 1) {
         newUpdateCounts[offset++] = superBatchResult;
@@ -143,9 +143,14 @@ public Object getArray(long index, int count, @Nullable Map<String, Class<?>> ma
   public @Nullable Object getArrayImpl(long index, int count, @Nullable Map<String, Class<?>> map)
       throws SQLException {
 
-    // for now maps aren't supported.
+    // for now maps are only supported to decode into primitives
     if (map != null && !map.isEmpty()) {
-      throw Driver.notImplemented(this.getClass(), "getArrayImpl(long,int,Map)");
+      Class<?> type = map.get(getBaseTypeName());
+      if (type == null || index != 1 || count != 0
+          || !ArrayDecoding.getInnermostComponentType(type).isPrimitive()) {
+        throw Driver.notImplemented(this.getClass(), "getArrayImpl(long,int,Map)");
+      }
+      return getPrimitiveArray(type);
     }
 
     // array index is out of range
@@ -179,6 +184,57 @@ public Object getArray(long index, int count, @Nullable Map<String, Class<?>> ma
     return buildArray(arrayList, (int) index, count);
   }
 
+  /**
+   * Returns the array as an array of primitives, such as {@code double[]} or {@code int[][]},
+   * without creating an object per element. Binary arrays are decoded directly into the primitive
+   * array. {@code int8}, {@code int4}, {@code int2}, {@code oid}, {@code float8}, {@code float4}
+   * and {@code bool} elements can be decoded into primitives of the same or a wider type.
+   *
+   * <p>{@link #getArray(Map)} returns the same when the map has an entry for the base type name,
+   * such as {@code float8}, to a primitive type or array type.</p>
+   *
+   * @param type the primitive array type, such as {@code double[].class}, or the primitive type,
+   *     such as {@code double.class}, to get an array with the dimensions of the data
+   * @return the array, or null if the array is SQL NULL
+   * @throws SQLException if the elements can't be converted to the type, if an element is null or
+   *     if the dimensions don't match
+   */
+  public @Nullable Object getPrimitiveArray(Class<?> type) throws SQLException {
+    if (!ArrayDecoding.getInnermostComponentType(type).isPrimitive()) {
+      throw new PSQLException(GT.tr("conversion to {0} from {1} not supported", type, getBaseTypeName()),
+          PSQLState.INVALID_PARAMETER_VALUE);
+    }
+    if (fieldBytes != null) {
+      return ArrayDecoding.readBinaryPrimitiveArray(fieldBytes, type, getConnection());
+    }
+    Object boxed = getArrayImpl(1, 0, null);
+    return boxed == null ? null : ArrayDecoding.toPrimitiveArray(boxed, type);
+  }
+
+  /**
+   * Decodes the elements of the array into a caller-provided primitive array, so a buffer can be
+   * reused across rows. Elements of multi-dimensional arrays are stored in row-major order. The
+   * same conversions as {@link #getPrimitiveArray(Class)} apply.
+   *
+   * @param dest the primitive array to decode into, such as a {@code double[]}
+   * @param destPos the position in {@code dest} of the first element
+   * @return the number of elements decoded, 0 if the array is SQL NULL or empty
+   * @throws SQLException if the elements can't be converted to the component type of
+   *     {@code dest}, if an element is null or if the elements don't fit
+   */
+  public int copyTo(Object dest, int destPos) throws SQLException {
+    Class<?> componentType = dest.getClass().getComponentType();
+    if (componentType == null || !componentType.isPrimitive()) {
+      throw new PSQLException(GT.tr("conversion to {0} from {1} not supported",
+          dest.getClass(), getBaseTypeName()), PSQLState.INVALID_PARAMETER_VALUE);
+    }
+    if (fieldBytes != null) {
+      return ArrayDecoding.readBinaryPrimitiveArray(fieldBytes, dest, destPos, getConnection());
+    }
+    Object boxed = getArrayImpl(1, 0, null);
+    return boxed == null ? 0 : ArrayDecoding.copyPrimitiveValues(boxed, dest, destPos) - destPos;
+  }
+
   private Object readBinaryArray(byte[] fieldBytes, int index, int count) throws SQLException {
     return ArrayDecoding.readBinaryArray(index, count, fieldBytes, getConnection());
   }
@@ -47,6 +47,7 @@
 import org.postgresql.util.LazyCleaner;
 import org.postgresql.util.LazyCleanerImpl;
 import org.postgresql.util.LruCache;
+import org.postgresql.util.PGBinaryCodec;
 import org.postgresql.util.PGBinaryObject;
 import org.postgresql.util.PGInterval;
 import org.postgresql.util.PGmoney;
@@ -85,11 +86,13 @@
 import java.sql.Statement;
 import java.sql.Struct;
 import java.sql.Types;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.NoSuchElementException;
@@ -99,6 +102,7 @@
 import java.util.Timer;
 import java.util.TimerTask;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Condition;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -170,9 +174,16 @@ private enum ReadOnlyBehavior {
   /* Query that runs ROLLBACK */
   private final Query rollbackQuery;
 
-  private final CachedQuery setSessionReadOnly;
+  private static final String SET_SESSION_READ_ONLY =
+      "SET SESSION CHARACTERISTICS AS TRANSACTION READ ONLY";
 
-  private final CachedQuery setSessionNotReadOnly;
+  private static final String SET_SESSION_NOT_READ_ONLY =
+      "SET SESSION CHARACTERISTICS AS TRANSACTION READ WRITE";
+
+  // Isolation level last read or set, valid while the session state epoch of the query executor
+  // is transactionIsolationEpoch
+  private int transactionIsolation = -1;
+  private int transactionIsolationEpoch;
 
   private final TypeInfo typeCache;
 
@@ -303,9 +314,6 @@ public PgConnection(HostSpec[] hostSpecs,
         LOGGER.log(Level.WARNING, "Unsupported Server Version: {0}", queryExecutor.getServerVersion());
       }
 
-      setSessionReadOnly = createQuery("SET SESSION CHARACTERISTICS AS TRANSACTION READ ONLY", false, true);
-      setSessionNotReadOnly = createQuery("SET SESSION CHARACTERISTICS AS TRANSACTION READ WRITE", false, true);
-
       // Set read-only early if requested
       if (PGProperty.READ_ONLY.getBoolean(info)) {
         setReadOnly(true);
@@ -414,6 +422,8 @@ public PgConnection(HostSpec[] hostSpecs,
       replicationConnection = PGProperty.REPLICATION.getOrDefault(info) != null;
 
       xmlFactoryFactoryClass = PGProperty.XML_FACTORY_FACTORY.getOrDefault(info);
+      // The settings the connection was set up with are not changes resetSession() has to undo
+      queryExecutor.clearDirtySessionState();
       cleanable = LazyCleanerImpl.getInstance().register(leakHandle, finalizeAction);
     } catch (SQLException | RuntimeException | Error e) {
       // close() is idempotent (QueryExecutorBase.close checks isClosed), so this is a safe no-op
@@ -775,6 +785,17 @@ public Object getObject(String type, @Nullable String value, byte @Nullable [] b
       }
     }
 
+    if (byteValue != null) {
+      PGBinaryCodec<?> codec = typeCache.getBinaryCodec(type);
+      if (codec != null) {
+        Object decoded = codec.decode(byteValue, 0, byteValue.length, getEncoding());
+        if (decoded instanceof PGobject) {
+          ((PGobject) decoded).setType(type);
+        }
+        return decoded;
+      }
+    }
+
     PGobject obj = null;
 
     if (LOGGER.isLoggable(Level.FINEST)) {
@@ -854,6 +875,19 @@ public void addDataType(String type, Class<? extends PGobject> klass) throws SQL
     }
   }
 
+  @Override
+  public void addBinaryCodec(String type, PGBinaryCodec<?> codec) throws SQLException {
+    checkClosed();
+    typeCache.addBinaryCodec(type, codec);
+    if (getPreferQueryMode() != PreferQueryMode.SIMPLE) {
+      int oid = typeCache.getPGType(type);
+      if (oid > 0 && !binaryDisabledOids.contains(oid)) {
+        queryExecutor.addBinaryReceiveOid(oid);
+        queryExecutor.addBinarySendOid(oid);
+      }
+    }
+  }
+
   // This initialises the objectTypes hash map
   private void initObjectTypes(Properties info) throws SQLException {
     // Add in the types that come packaged with the driver.
@@ -868,6 +902,17 @@ private void initObjectTypes(Properties info) throws SQLException {
     addDataType("money", PGmoney.class);
     addDataType("interval", PGInterval.class);
 
+    // The geometric types are core types with fixed oids, so registering their codecs needs no
+    // lookup. Unlike addBinaryCodec, this does not enable binary transfer: point and box use it
+    // with binaryTransfer, the other types when binaryTransferEnable lists them.
+    typeCache.addBinaryCodec("box", PGbox.BINARY_CODEC);
+    typeCache.addBinaryCodec("circle", PGcircle.BINARY_CODEC);
+    typeCache.addBinaryCodec("line", PGline.BINARY_CODEC);
+    typeCache.addBinaryCodec("lseg", PGlseg.BINARY_CODEC);
+    typeCache.addBinaryCodec("path", PGpath.BINARY_CODEC);
+    typeCache.addBinaryCodec("point", PGpoint.BINARY_CODEC);
+    typeCache.addBinaryCodec("polygon", PGpolygon.BINARY_CODEC);
+
     Enumeration<?> e = info.propertyNames();
     while (e.hasMoreElements()) {
       String propertyName = (String) e.nextElement();
@@ -956,7 +1001,9 @@ public void setReadOnly(boolean readOnly) throws SQLException {
     }
 
     if (readOnly != this.readOnly && autoCommit && this.readOnlyBehavior == ReadOnlyBehavior.always) {
-      execSQLUpdate(readOnly ? setSessionReadOnly : setSessionNotReadOnly);
+      // Sent with the next query
+      queryExecutor.deferSessionCommand("read_only",
+          readOnly ? SET_SESSION_READ_ONLY : SET_SESSION_NOT_READ_ONLY);
     }
 
     this.readOnly = readOnly;
@@ -993,11 +1040,11 @@ public void setAutoCommit(boolean autoCommit) throws SQLException {
       // to read only
       if (autoCommit) {
         this.autoCommit = true;
-        execSQLUpdate(setSessionReadOnly);
+        queryExecutor.deferSessionCommand("read_only", SET_SESSION_READ_ONLY);
       } else {
         // if we are turning auto commit off, we need to
         // disable session
-        execSQLUpdate(setSessionNotReadOnly);
+        queryExecutor.deferSessionCommand("read_only", SET_SESSION_NOT_READ_ONLY);
       }
     }
 
@@ -1078,6 +1125,17 @@ public TransactionState getTransactionState() {
   public int getTransactionIsolation() throws SQLException {
     checkClosed();
 
+    // Answer locally unless a query might have changed the isolation level since it was known
+    int epoch = queryExecutor.getSessionStateEpoch();
+    if (transactionIsolation != -1 && transactionIsolationEpoch == epoch) {
+      return transactionIsolation;
+    }
+    transactionIsolation = queryTransactionIsolation();
+    transactionIsolationEpoch = epoch;
+    return transactionIsolation;
+  }
+
+  private int queryTransactionIsolation() throws SQLException {
     String level = null;
     final ResultSet rs = execSQLQuery("SHOW TRANSACTION ISOLATION LEVEL"); // nb: no BEGIN triggered
     if (rs.next()) {
@@ -1125,7 +1183,10 @@ public void setTransactionIsolation(int level) throws SQLException {
 
     String isolationLevelSQL =
         "SET SESSION CHARACTERISTICS AS TRANSACTION ISOLATION LEVEL " + isolationLevelName;
-    execSQLUpdate(isolationLevelSQL); // nb: no BEGIN triggered
+    // Sent with the next query, before its BEGIN
+    queryExecutor.deferSessionCommand("transaction_isolation", isolationLevelSQL);
+    transactionIsolation = level;
+    transactionIsolationEpoch = queryExecutor.getSessionStateEpoch();
     LOGGER.log(Level.FINE, "  setTransactionIsolation = {0}", isolationLevelName);
   }
 
@@ -1620,6 +1681,69 @@ public boolean isValid(int timeout) throws SQLException {
     return false;
   }
 
+  @Override
+  public boolean isValid(int timeout, long pingIdleMillis) throws SQLException {
+    if (timeout < 0) {
+      throw new PSQLException(GT.tr("Invalid timeout ({0}<0).", timeout),
+          PSQLState.INVALID_PARAMETER_VALUE);
+    }
+    QueryExecutor queryExecutor = getQueryExecutor();
+    if (!queryExecutor.isAliveLocally()) {
+      return false;
+    }
+    long idleNanos = System.nanoTime() - queryExecutor.getLastReadyForQueryNanos();
+    if (idleNanos < TimeUnit.MILLISECONDS.toNanos(pingIdleMillis)) {
+      return true;
+    }
+    return isValid(timeout);
+  }
+
+  @Override
+  public void resetSession() throws SQLException {
+    checkClosed();
+    if (queryExecutor.getTransactionState() != TransactionState.IDLE) {
+      executeTransactionCommand(rollbackQuery);
+    }
+
+    int dirty = queryExecutor.getDirtySessionState();
+    List<String> commands = new ArrayList<>();
+    if ((dirty & QueryExecutor.SESSION_STATE_CURSORS) != 0) {
+      commands.add("CLOSE ALL");
+    }
+    if ((dirty & QueryExecutor.SESSION_STATE_SETTINGS) != 0) {
+      commands.add("SET SESSION AUTHORIZATION DEFAULT");
+      commands.add("RESET ALL");
+      String setupCommands = queryExecutor.getSessionSetupCommands();
+      if (!setupCommands.isEmpty()) {
+        commands.add(setupCommands);
+      }
+    }
+    if ((dirty & QueryExecutor.SESSION_STATE_LISTEN) != 0) {
+      commands.add("UNLISTEN *");
+    }
+    if ((dirty & QueryExecutor.SESSION_STATE_ADVISORY_LOCKS) != 0) {
+      commands.add("SELECT pg_advisory_unlock_all()");
+    }
+    if ((dirty & QueryExecutor.SESSION_STATE_TEMP) != 0) {
+      commands.add("DISCARD TEMP");
+    }
+    if (commands.isEmpty()) {
+      return;
+    }
+
+    LOGGER.log(Level.FINE, "  resetSession: {0}", commands);
+    try (Statement stmt = createStatement()) {
+      ((PgStatement) stmt).executeWithFlags(String.join("; ", commands),
+          QueryExecutor.QUERY_SUPPRESS_BEGIN | QueryExecutor.QUERY_EXECUTE_AS_SIMPLE);
+    }
+    queryExecutor.clearDirtySessionState();
+    if ((dirty & QueryExecutor.SESSION_STATE_SETTINGS) != 0
+        && readOnly && autoCommit && readOnlyBehavior == ReadOnlyBehavior.always) {
+      // RESET ALL made the session read-write again
+      queryExecutor.deferSessionCommand("read_only", SET_SESSION_READ_ONLY);
+    }
+  }
+
   @Override
   public void setClientInfo(String name, @Nullable String value) throws SQLClientInfoException {
     try {
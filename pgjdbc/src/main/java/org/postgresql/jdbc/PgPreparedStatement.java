@@ -10,6 +10,7 @@
 import org.postgresql.Driver;
 import org.postgresql.core.BaseConnection;
 import org.postgresql.core.CachedQuery;
+import org.postgresql.core.Field;
 import org.postgresql.core.Oid;
 import org.postgresql.core.ParameterList;
 import org.postgresql.core.Query;
@@ -18,12 +19,15 @@
 import org.postgresql.core.ServerVersion;
 import org.postgresql.core.TypeInfo;
 import org.postgresql.core.v3.BatchedQuery;
+import org.postgresql.core.v3.CopyBatchedInsert;
+import org.postgresql.core.v3.UnnestBatchedQuery;
 import org.postgresql.largeobject.LargeObject;
 import org.postgresql.largeobject.LargeObjectManager;
 import org.postgresql.util.ByteConverter;
 import org.postgresql.util.ByteStreamWriter;
 import org.postgresql.util.GT;
 import org.postgresql.util.HStoreConverter;
+import org.postgresql.util.PGBinaryCodec;
 import org.postgresql.util.PGBinaryObject;
 import org.postgresql.util.PGTime;
 import org.postgresql.util.PGTimestamp;
@@ -52,6 +56,7 @@
 import java.net.URL;
 import java.nio.charset.Charset;
 import java.sql.Array;
+import java.sql.BatchUpdateException;
 import java.sql.Blob;
 import java.sql.Clob;
 import java.sql.Date;
@@ -66,6 +71,7 @@
 import java.sql.SQLFeatureNotSupportedException;
 import java.sql.SQLType;
 import java.sql.SQLXML;
+import java.sql.Statement;
 import java.sql.Time;
 import java.sql.Timestamp;
 import java.sql.Types;
@@ -75,7 +81,9 @@
 import java.time.OffsetDateTime;
 import java.time.OffsetTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.StringJoiner;
@@ -88,6 +96,8 @@ class PgPreparedStatement extends PgStatement implements PreparedStatement {
   protected final ParameterList preparedParameters; // Parameter values for prepared statement.
 
   private @Nullable TimeZone defaultTimeZone;
+  // rows per batch entry when the batch was rewritten to unnest form, see createBatchHandler
+  private int @Nullable [] batchRowCounts;
 
   PgPreparedStatement(PgConnection connection, String sql, int rsType, int rsConcurrency,
       int rsHoldability) throws SQLException {
@@ -318,9 +328,7 @@ public void setByte(@Positive int parameterIndex, byte x) throws SQLException {
   public void setShort(@Positive int parameterIndex, short x) throws SQLException {
     checkClosed();
     if (connection.binaryTransferSend(Oid.INT2)) {
-      byte[] val = new byte[2];
-      ByteConverter.int2(val, 0, x);
-      bindBytes(parameterIndex, val, Oid.INT2);
+      preparedParameters.setShortParameter(parameterIndex, x);
       return;
     }
     bindLiteral(parameterIndex, Integer.toString(x), Oid.INT2);
@@ -330,9 +338,7 @@ public void setShort(@Positive int parameterIndex, short x) throws SQLException
   public void setInt(@Positive int parameterIndex, int x) throws SQLException {
     checkClosed();
     if (connection.binaryTransferSend(Oid.INT4)) {
-      byte[] val = new byte[4];
-      ByteConverter.int4(val, 0, x);
-      bindBytes(parameterIndex, val, Oid.INT4);
+      preparedParameters.setIntParameter(parameterIndex, x);
       return;
     }
     bindLiteral(parameterIndex, Integer.toString(x), Oid.INT4);
@@ -342,9 +348,7 @@ public void setInt(@Positive int parameterIndex, int x) throws SQLException {
   public void setLong(@Positive int parameterIndex, long x) throws SQLException {
     checkClosed();
     if (connection.binaryTransferSend(Oid.INT8)) {
-      byte[] val = new byte[8];
-      ByteConverter.int8(val, 0, x);
-      bindBytes(parameterIndex, val, Oid.INT8);
+      preparedParameters.setLongParameter(parameterIndex, x);
       return;
     }
     bindLiteral(parameterIndex, Long.toString(x), Oid.INT8);
@@ -354,9 +358,7 @@ public void setLong(@Positive int parameterIndex, long x) throws SQLException {
   public void setFloat(@Positive int parameterIndex, float x) throws SQLException {
     checkClosed();
     if (connection.binaryTransferSend(Oid.FLOAT4)) {
-      byte[] val = new byte[4];
-      ByteConverter.float4(val, 0, x);
-      bindBytes(parameterIndex, val, Oid.FLOAT4);
+      preparedParameters.setFloatParameter(parameterIndex, x);
       return;
     }
     bindLiteral(parameterIndex, Float.toString(x), Oid.FLOAT8);
@@ -366,9 +368,7 @@ public void setFloat(@Positive int parameterIndex, float x) throws SQLException
   public void setDouble(@Positive int parameterIndex, double x) throws SQLException {
     checkClosed();
     if (connection.binaryTransferSend(Oid.FLOAT8)) {
-      byte[] val = new byte[8];
-      ByteConverter.float8(val, 0, x);
-      bindBytes(parameterIndex, val, Oid.FLOAT8);
+      preparedParameters.setDoubleParameter(parameterIndex, x);
       return;
     }
     bindLiteral(parameterIndex, Double.toString(x), Oid.FLOAT8);
@@ -529,6 +529,9 @@ private void setPGobject(@Positive int parameterIndex, PGobject x) throws SQLExc
           PSQLState.INVALID_PARAMETER_TYPE);
     }
 
+    if (bindBinaryCodec(parameterIndex, typename, x)) {
+      return;
+    }
     if ((x instanceof PGBinaryObject) && connection.binaryTransferSend(oid)) {
       PGBinaryObject binObj = (PGBinaryObject) x;
       int length = binObj.lengthInBytes();
@@ -550,6 +553,9 @@ private void setMap(@Positive int parameterIndex, Map<?, ?> x) throws SQLExcepti
       throw new PSQLException(GT.tr("No hstore extension installed."),
           PSQLState.INVALID_PARAMETER_TYPE);
     }
+    if (bindBinaryCodec(parameterIndex, "hstore", x)) {
+      return;
+    }
     if (connection.binaryTransferSend(oid)) {
       byte[] data = HStoreConverter.toBytes(x, connection.getEncoding());
       bindBytes(parameterIndex, data, oid);
@@ -558,6 +564,39 @@ private void setMap(@Positive int parameterIndex, Map<?, ?> x) throws SQLExcepti
     }
   }
 
+  /**
+   * Binds a value with the binary codec registered for its type, if binary transfer is enabled for
+   * the type.
+   *
+   * @return false if the value was not bound
+   */
+  private boolean bindBinaryCodec(@Positive int parameterIndex, @Nullable String type, Object x)
+      throws SQLException {
+    if (type == null) {
+      return false;
+    }
+    TypeInfo typeInfo = connection.getTypeInfo();
+    PGBinaryCodec<?> codec = typeInfo.getBinaryCodec(type);
+    if (codec == null || !codec.getJavaClass().isInstance(x)) {
+      return false;
+    }
+    int oid = typeInfo.getPGType(type);
+    if (oid == Oid.UNSPECIFIED || !connection.binaryTransferSend(oid)) {
+      return false;
+    }
+    byte[] data = encode(codec, x);
+    if (data == null) {
+      preparedParameters.setNull(parameterIndex, oid);
+    } else {
+      bindBytes(parameterIndex, data, oid);
+    }
+    return true;
+  }
+
+  private <T> byte @Nullable [] encode(PGBinaryCodec<T> codec, Object x) throws SQLException {
+    return codec.encode(codec.getJavaClass().cast(x), connection.getEncoding());
+  }
+
   private void setNumber(@Positive int parameterIndex, @Nullable Number x) throws SQLException {
     checkClosed();
     if (x == null) {
@@ -738,7 +777,11 @@ public void setObject(@Positive int parameterIndex, @Nullable Object in,
           setArray(parameterIndex, (Array) in);
         } else {
           try {
-            setObjectArray(parameterIndex, in);
+            if (in instanceof Collection) {
+              setCollection(parameterIndex, (Collection<?>) in);
+            } else {
+              setObjectArray(parameterIndex, in);
+            }
           } catch (Exception e) {
             throw new PSQLException(
                 GT.tr("Cannot cast an instance of {0} to type {1}", in.getClass().getName(), "Types.ARRAY"),
@@ -754,7 +797,8 @@ public void setObject(@Positive int parameterIndex, @Nullable Object in,
           setPGobject(parameterIndex, (PGobject) in);
         } else if (in instanceof Map) {
           setMap(parameterIndex, (Map<?, ?>) in);
-        } else {
+        } else if (!bindBinaryCodec(parameterIndex,
+            connection.getTypeInfo().getBinaryCodecType(in), in)) {
           bindString(parameterIndex, in.toString(), Oid.UNSPECIFIED);
         }
         break;
@@ -781,7 +825,13 @@ private static Class<?> getArrayType(Class<?> type) {
     int oid = arraySupport.getDefaultArrayTypeOid();
 
     if (arraySupport.supportBinaryRepresentation(oid) && connection.getPreferQueryMode() != PreferQueryMode.SIMPLE) {
-      bindBytes(parameterIndex, arraySupport.toBinaryRepresentation(connection, in, oid), oid);
+      // Large primitive arrays are encoded while the Bind message is sent
+      ByteStreamWriter writer = ArrayEncoding.getBinaryStreamWriter(arraySupport, in, oid);
+      if (writer != null) {
+        preparedParameters.setBinaryParameter(parameterIndex, writer, oid);
+      } else {
+        bindBytes(parameterIndex, arraySupport.toBinaryRepresentation(connection, in, oid), oid);
+      }
     } else {
       if (oid == Oid.UNSPECIFIED) {
         Class<?> arrayType = getArrayType(in.getClass());
@@ -798,6 +848,26 @@ private static Class<?> getArrayType(Class<?> type) {
     }
   }
 
+  private void setCollection(@Positive int parameterIndex, Collection<?> in) throws SQLException {
+    if (connection.getPreferQueryMode() != PreferQueryMode.SIMPLE) {
+      // Large collections of numbers are encoded while the Bind message is sent
+      ArrayEncoding.ArrayStreamWriter writer = ArrayEncoding.getBinaryStreamWriter(in);
+      if (writer != null) {
+        preparedParameters.setBinaryParameter(parameterIndex, writer, writer.getArrayTypeOid());
+        return;
+      }
+    }
+    Object[] array = ArrayEncoding.toArray(in);
+    if (array != null) {
+      setObjectArray(parameterIndex, array);
+    } else {
+      // Empty, only nulls or elements of different classes: let the server infer the array type
+      Object[] values = in.toArray();
+      bindString(parameterIndex, ArrayEncoding.getArrayEncoder(values).toArrayString(',', values),
+          Oid.UNSPECIFIED);
+    }
+  }
+
   private static String asString(final Clob in) throws SQLException {
     return in.getSubString(1, (int) in.length());
   }
@@ -1076,15 +1146,20 @@ public void setObject(@Positive int parameterIndex, @Nullable Object x) throws S
       setMap(parameterIndex, (Map<?, ?>) x);
     } else if (x instanceof Number) {
       setNumber(parameterIndex, (Number) x);
-    } else if (x.getClass().isArray()) {
+    } else if (x.getClass().isArray() || x instanceof Collection) {
       try {
-        setObjectArray(parameterIndex, x);
+        if (x instanceof Collection) {
+          setCollection(parameterIndex, (Collection<?>) x);
+        } else {
+          setObjectArray(parameterIndex, x);
+        }
       } catch (Exception e) {
         throw new PSQLException(
             GT.tr("Cannot cast an instance of {0} to type {1}", x.getClass().getName(), "Types.ARRAY"),
             PSQLState.INVALID_PARAMETER_TYPE, e);
       }
-    } else {
+    } else if (!bindBinaryCodec(parameterIndex,
+        connection.getTypeInfo().getBinaryCodecType(x), x)) {
       // Can't infer a type.
       throw new PSQLException(GT.tr(
           "Can''t infer the SQL type to use for an instance of {0}. Use setObject() with an explicit Types value to specify the type to use.",
@@ -1189,6 +1264,7 @@ public void addBatch() throws SQLException {
     if (!(query instanceof BatchedQuery) || batchStatements.isEmpty()) {
       batchStatements.add(query);
     }
+    flushBatchIfStreaming();
   }
 
   @Override
@@ -1766,22 +1842,89 @@ public void setURL(@Positive int parameterIndex, @Nullable URL x) throws SQLExce
   @Override
   public int[] executeBatch() throws SQLException {
     try {
-      // Note: in batch prepared statements batchStatements == 1, and batchParameters is equal
-      // to the number of addBatch calls
-      // batchParameters might be empty in case of empty batch
-      if (batchParameters != null && batchParameters.size() > 1 && mPrepareThreshold > 0) {
-        // Use server-prepared statements when there's more than one statement in a batch
-        // Technically speaking, it might cause to create a server-prepared statement
-        // just for 2 executions even for prepareThreshold=5. That however should be
-        // acceptable since prepareThreshold is a optimization kind of parameter.
-        this.preparedQuery.increaseExecuteCount(mPrepareThreshold);
-      }
       return super.executeBatch();
     } finally {
       defaultTimeZone = null;
     }
   }
 
+  @Override
+  long[] executePendingBatch() throws SQLException {
+    // Note: in batch prepared statements batchStatements == 1, and batchParameters is equal
+    // to the number of addBatch calls
+    // batchParameters might be empty in case of empty batch
+    if (batchParameters != null && batchParameters.size() > 1 && mPrepareThreshold > 0) {
+      // Use server-prepared statements when there's more than one statement in a batch
+      // Technically speaking, it might cause to create a server-prepared statement
+      // just for 2 executions even for prepareThreshold=5. That however should be
+      // acceptable since prepareThreshold is a optimization kind of parameter.
+      this.preparedQuery.increaseExecuteCount(mPrepareThreshold);
+    }
+    int copiedRows = executeBatchWithCopy();
+    if (copiedRows >= 0) {
+      long[] updateCounts = new long[copiedRows];
+      Arrays.fill(updateCounts, 1);
+      return updateCounts;
+    }
+    return super.executePendingBatch();
+  }
+
+  /**
+   * Executes the batch with {@code COPY ... FROM STDIN} when
+   * {@code reWriteBatchedInsertsMode=copy} and the batch qualifies, see {@link CopyBatchedInsert}.
+   *
+   * @return the number of rows copied, or -1 if the batch should be executed as usual
+   * @throws SQLException if the copy fails
+   */
+  private int executeBatchWithCopy() throws SQLException {
+    ArrayList<@Nullable ParameterList> batchParameters = this.batchParameters;
+    if (batchParameters == null || batchParameters.isEmpty() || wantsGeneratedKeysAlways
+        || !(preparedQuery.query instanceof BatchedQuery)
+        || connection.getQueryExecutor().getReWriteBatchedInsertsMode()
+        != ReWriteBatchedInsertsMode.COPY) {
+      return -1;
+    }
+    checkClosed();
+    CopyBatchedInsert copy = ((BatchedQuery) preparedQuery.query).deriveForCopy();
+    if (copy == null) {
+      return -1;
+    }
+    // The binary format is not checked by the server, so the types are described for every batch:
+    // a column altered to a type of the same width would silently get reinterpreted values
+    int[] columnTypes;
+    try (ResultSet rs = connection.execSQLQuery(copy.getColumnTypesSql())) {
+      Field[] fields = ((PgResultSet) rs).fields;
+      columnTypes = new int[fields.length];
+      for (int i = 0; i < fields.length; i++) {
+        columnTypes[i] = fields[i].getOID();
+      }
+    }
+    if (!copy.isSupported(columnTypes, batchParameters)) {
+      return -1;
+    }
+
+    closeForNextExecution();
+    try (ResourceLock ignore = lock.obtain()) {
+      result = null;
+    }
+    int rows = batchParameters.size();
+    try {
+      startTimer();
+      copy.write(connection.getCopyAPI().copyIn(copy.getCopySql()), columnTypes, batchParameters);
+    } catch (SQLException e) {
+      int[] updateCounts = new int[rows];
+      Arrays.fill(updateCounts, Statement.EXECUTE_FAILED);
+      throw new BatchUpdateException(
+          GT.tr("Batch entry {0} {1} was aborted: {2}  Call getNextException to see other errors in the batch.",
+              0, copy.getCopySql(), e.getMessage()),
+          e.getSQLState(), 0, updateCounts, e);
+    } finally {
+      killTimerTask();
+      clearPendingBatch();
+    }
+    return rows;
+  }
+
   private Calendar getDefaultCalendar() {
     if (getTimestampUtils().hasFastDefaultTimeZone()) {
       return getTimestampUtils().getSharedCalendar(null);
@@ -1805,14 +1948,30 @@ public ParameterMetaData getParameterMetaData() throws SQLException {
     return createParameterMetaData(connection, oids);
   }
 
+  @Override
+  protected BatchResultHandler createBatchHandler(Query[] queries,
+      @Nullable ParameterList[] parameterLists) {
+    int[] rowCounts = batchRowCounts;
+    if (rowCounts == null) {
+      return super.createBatchHandler(queries, parameterLists);
+    }
+    batchRowCounts = null;
+    return new BatchResultHandler(this, queries, parameterLists, rowCounts,
+        wantsGeneratedKeysAlways);
+  }
+
   @Override
   protected void transformQueriesAndParameters() throws SQLException {
+    batchRowCounts = null;
     ArrayList<@Nullable ParameterList> batchParameters = this.batchParameters;
     if (batchParameters == null || batchParameters.size() <= 1
         || !(preparedQuery.query instanceof BatchedQuery)) {
       return;
     }
     BatchedQuery originalQuery = (BatchedQuery) preparedQuery.query;
+    if (transformToUnnest(originalQuery, batchParameters)) {
+      return;
+    }
     // Cap the rows merged into one multi-values INSERT. deriveForMultiBatch only accepts power-of-two
     // blocks up to BatchedQuery.MAX_VALUE_BLOCK, so that is the row ceiling in every query mode.
     // The extended protocol additionally limits a statement to maximumNumberOfParameters() (65535)
@@ -1864,4 +2023,55 @@ protected void transformQueriesAndParameters() throws SQLException {
     this.batchStatements = newBatchStatements;
     this.batchParameters = newBatchParameters;
   }
+
+  /**
+   * Rewrites the batch to {@code INSERT ... SELECT ... FROM unnest(...)} when
+   * {@code reWriteBatchedInsertsMode=unnest}. The rows are split into chunks of
+   * {@code reWriteBatchedInsertsSize} (or {@link BatchedQuery#MAX_VALUE_BLOCK}) rows, and every
+   * chunk executes the same statement text, so a single server-prepared statement serves batches
+   * of any size.
+   *
+   * @return false if the batch can't be sent that way and should use the multi-values rewrite
+   */
+  private boolean transformToUnnest(BatchedQuery originalQuery,
+      ArrayList<@Nullable ParameterList> batchParameters) throws SQLException {
+    QueryExecutor queryExecutor = connection.getQueryExecutor();
+    if (queryExecutor.getReWriteBatchedInsertsMode() != ReWriteBatchedInsertsMode.UNNEST
+        // Binary arrays can't be inlined into the query text
+        || connection.getPreferQueryMode() == PreferQueryMode.SIMPLE) {
+      return false;
+    }
+    UnnestBatchedQuery unnestQuery = originalQuery.deriveForUnnest();
+    if (unnestQuery == null) {
+      return false;
+    }
+    int configuredSize = queryExecutor.getReWriteBatchedInsertsSize();
+    int chunkSize = configuredSize > 0
+        ? Math.min(configuredSize, BatchedQuery.MAX_VALUE_BLOCK)
+        : BatchedQuery.MAX_VALUE_BLOCK;
+    int rows = batchParameters.size();
+    int count = (rows + chunkSize - 1) / chunkSize;
+    TypeInfo typeInfo = connection.getTypeInfo();
+    ArrayList<Query> newBatchStatements = new ArrayList<>(count);
+    ArrayList<@Nullable ParameterList> newBatchParameters =
+        new ArrayList<@Nullable ParameterList>(count);
+    int[] rowCounts = new int[count];
+    int offset = 0;
+    for (int i = 0; i < count; i++) {
+      int chunkRows = Math.min(chunkSize, rows - offset);
+      ParameterList newPl =
+          unnestQuery.createParameterList(batchParameters, offset, chunkRows, typeInfo);
+      if (newPl == null) {
+        return false;
+      }
+      newBatchStatements.add(unnestQuery);
+      newBatchParameters.add(newPl);
+      rowCounts[i] = chunkRows;
+      offset += chunkRows;
+    }
+    this.batchStatements = newBatchStatements;
+    this.batchParameters = newBatchParameters;
+    this.batchRowCounts = rowCounts;
+    return true;
+  }
 }
@@ -19,6 +19,7 @@
 import org.postgresql.core.Query;
 import org.postgresql.core.ResultCursor;
 import org.postgresql.core.ResultHandlerBase;
+import org.postgresql.core.StreamedTuple;
 import org.postgresql.core.TransactionState;
 import org.postgresql.core.Tuple;
 import org.postgresql.core.TypeInfo;
@@ -28,6 +29,7 @@
 import org.postgresql.util.HStoreConverter;
 import org.postgresql.util.JdbcBlackHole;
 import org.postgresql.util.NumberParser;
+import org.postgresql.util.PGBinaryCodec;
 import org.postgresql.util.PGbytea;
 import org.postgresql.util.PGobject;
 import org.postgresql.util.PGtokenizer;
@@ -118,6 +120,8 @@ public class PgResultSet implements ResultSet, PGRefCursorResultSet {
   protected final Field[] fields; // Field metadata for this resultset.
   protected final @Nullable Query originalQuery; // Query we originated from
   private @Nullable TimestampUtils timestampUtils; // our own Object because it's not thread safe
+  // Shared strings of repeated text values, see PGProperty.STRING_DEDUPLICATION_LIMIT
+  private final @Nullable StringDeduplicator stringDeduplicator;
 
   protected final int maxRows; // Maximum rows in this resultset (might be 0).
   protected final int maxFieldSize; // Maximum field size in this resultset (might be 0).
@@ -184,6 +188,10 @@ public ResultSetMetaData getMetaData() throws SQLException {
     this.resultsettype = rsType;
     this.resultsetconcurrency = rsConcurrency;
     this.adaptiveFetch = adaptiveFetch;
+    int stringDeduplicationLimit = connection.getQueryExecutor().getStringDeduplicationLimit();
+    this.stringDeduplicator = stringDeduplicationLimit > 0
+        ? new StringDeduplicator(fields.length, stringDeduplicationLimit)
+        : null;
 
     // Constructor doesn't have fetch size and can't be sure if fetch size was used so initial value would be the number of rows
     this.lastUsedFetchSize = tuples.size();
@@ -272,7 +280,7 @@ public URL getURL(String columnName) throws SQLException {
 
         if ("uuid".equals(type)) {
           if (isBinary(columnIndex)) {
-            return getUUID(castNonNull(thisRow.get(columnIndex - 1)));
+            return getUUID(castNonNull(getRawValue(columnIndex)));
           }
           return getUUID(castNonNull(getString(columnIndex)));
         }
@@ -307,7 +315,7 @@ public URL getURL(String columnName) throws SQLException {
         }
         if ("hstore".equals(type)) {
           if (isBinary(columnIndex)) {
-            return HStoreConverter.fromBytes(castNonNull(thisRow.get(columnIndex - 1)),
+            return HStoreConverter.fromBytes(castNonNull(getRawValue(columnIndex)),
                 connection.getEncoding());
           }
           return HStoreConverter.fromString(castNonNull(getString(columnIndex)));
@@ -478,6 +486,17 @@ protected Blob makeBlob(long oid) throws SQLException {
 
   @Override
   public @Nullable Reader getCharacterStream(int i) throws SQLException {
+    // A binary value is decoded from the whole value by getString
+    InputStream stream = isBinary(i) ? null : getLargeValueStream(i);
+    if (stream != null) {
+      try {
+        return connection.getEncoding().getDecodingReader(stream);
+      } catch (IOException ioe) {
+        throw new PSQLException(
+            GT.tr("Invalid character data was found.  This is most likely caused by stored data containing characters that are invalid for the character set the database was created in.  The most common example of this is storing 8bit data in a SQL_ASCII database."),
+            PSQLState.DATA_ERROR, ioe);
+      }
+    }
     String value = getString(i);
     if (value == null) {
       return null;
@@ -2302,6 +2321,11 @@ public boolean next() throws SQLException {
     if (currentRow + 1 >= rows.size()) {
       ResultCursor cursor = this.cursor;
       if (cursor == null || (maxRows > 0 && rowOffset + rows.size() >= maxRows)) {
+        if (cursor instanceof StreamedTuple) {
+          // Release the connection that the rest of the results are on
+          cursor.close();
+          this.cursor = null;
+        }
         currentRow = rows.size();
         thisRow = null;
         rowBuffer = null;
@@ -2457,7 +2481,11 @@ public boolean wasNull() throws SQLException {
 
     Encoding encoding = connection.getEncoding();
     try {
-      return trimString(columnIndex, encoding.decode(value));
+      StringDeduplicator stringDeduplicator = this.stringDeduplicator;
+      String string = stringDeduplicator != null
+          ? stringDeduplicator.decode(columnIndex - 1, value, encoding)
+          : encoding.decode(value);
+      return trimString(columnIndex, string);
     } catch (IOException ioe) {
       throw new PSQLException(
           GT.tr(
@@ -3044,6 +3072,18 @@ public double getDouble(@Positive int columnIndex) throws SQLException {
   @Pure
   public @Nullable InputStream getBinaryStream(@Positive int columnIndex) throws SQLException {
     connection.getLogger().log(Level.FINEST, "  getBinaryStream columnIndex: {0}", columnIndex);
+    InputStream stream = getLargeValueStream(columnIndex);
+    if (stream != null) {
+      if (!isBinary(columnIndex) && fields[columnIndex - 1].getOID() == Oid.BYTEA) {
+        try {
+          return PGbytea.toBytesStream(stream);
+        } catch (IOException ioe) {
+          throw new PSQLException(GT.tr("An I/O error occurred while reading from the backend."),
+              PSQLState.CONNECTION_FAILURE, ioe);
+        }
+      }
+      return stream;
+    }
     byte[] value = getRawValue(columnIndex);
     if (value == null) {
       return null;
@@ -3424,11 +3464,36 @@ protected void checkColumnIndex(@Positive int column) throws SQLException {
           PSQLState.INVALID_CURSOR_STATE);
     }
     checkColumnIndex(column);
-    byte[] bytes = thisRow.get(column - 1);
+    Tuple thisRow = this.thisRow;
+    byte[] bytes = thisRow instanceof StreamedTuple
+        ? ((StreamedTuple) thisRow).receive(column - 1)
+        : thisRow.get(column - 1);
     wasNullFlag = bytes == null;
     return bytes;
   }
 
+  /**
+   * Returns a stream that reads the value of the given column from the connection, when the value
+   * is larger than {@link org.postgresql.PGProperty#LARGE_VALUE_STREAMING_THRESHOLD}.
+   *
+   * @param column The column number. Range starts from 1.
+   * @return the stream, or null if the value is in memory
+   * @throws SQLException If state or column is invalid, or the value was already read.
+   */
+  private @Nullable InputStream getLargeValueStream(@Positive int column) throws SQLException {
+    checkClosed();
+    Tuple thisRow = this.thisRow;
+    if (!(thisRow instanceof StreamedTuple)) {
+      return null;
+    }
+    checkColumnIndex(column);
+    InputStream stream = ((StreamedTuple) thisRow).receiveStream(column - 1);
+    if (stream != null) {
+      wasNullFlag = false;
+    }
+    return stream;
+  }
+
   /**
    * Returns true if the value of the given column is in binary format.
    *
@@ -3681,7 +3746,7 @@ private static double readDoubleValue(byte[] bytes, int oid, String targetType)
       case Oid.FLOAT8:
         return ByteConverter.float8(bytes, 0);
       case Oid.NUMERIC:
-        return ByteConverter.numeric(bytes).doubleValue();
+        return ByteConverter.numericToDouble(bytes, 0, bytes.length);
     }
     throw new PSQLException(GT.tr("Cannot convert the column of type {0} to requested type {1}.",
         Oid.toString(oid), targetType), PSQLState.DATA_TYPE_MISMATCH);
@@ -3747,16 +3812,11 @@ private static long readLongValue(byte[] bytes, int oid, long minVal, long maxVa
         }
         break;
       case Oid.NUMERIC:
-        Number num = ByteConverter.numeric(bytes);
-        BigInteger i = ((BigDecimal) num).toBigInteger();
-        int gt = i.compareTo(LONGMAX);
-        int lt = i.compareTo(LONGMIN);
-
-        if (gt > 0 || lt < 0) {
-          throw new PSQLException(GT.tr("Bad value for type {0} : {1}", "long", num),
-              PSQLState.NUMERIC_VALUE_OUT_OF_RANGE);
-        } else {
-          val = num.longValue();
+        try {
+          val = ByteConverter.numericToLong(bytes, 0, bytes.length);
+        } catch (ArithmeticException e) {
+          throw new PSQLException(GT.tr("Bad value for type {0} : {1}", "long",
+              ByteConverter.numeric(bytes)), PSQLState.NUMERIC_VALUE_OUT_OF_RANGE);
         }
         break;
       default:
@@ -4066,6 +4126,14 @@ public void updateArray(String columnName, @Nullable Array x) throws SQLExceptio
         throw new PSQLException(GT.tr("conversion to {0} from {1} not supported", type, getPGType(columnIndex)),
                 PSQLState.INVALID_PARAMETER_VALUE);
       }
+    } else if (type.isArray() && ArrayDecoding.getInnermostComponentType(type).isPrimitive()) {
+      if (sqlType == Types.ARRAY) {
+        Array array = getArray(columnIndex);
+        return array == null ? null : type.cast(((PgArray) array).getPrimitiveArray(type));
+      } else {
+        throw new PSQLException(GT.tr("conversion to {0} from {1} not supported", type, getPGType(columnIndex)),
+                PSQLState.INVALID_PARAMETER_VALUE);
+      }
     } else if (type == SQLXML.class) {
       if (sqlType == Types.SQLXML) {
         return type.cast(getSQLXML(columnIndex));
@@ -4100,13 +4168,21 @@ public void updateArray(String columnName, @Nullable Array x) throws SQLExceptio
     } else if (PGobject.class.isAssignableFrom(type)) {
       Object object;
       if (isBinary(columnIndex)) {
-        byte[] byteValue = castNonNull(thisRow, "thisRow").get(columnIndex - 1);
+        byte[] byteValue = getRawValue(columnIndex);
         object = connection.getObject(getPGType(columnIndex), null, byteValue);
       } else {
         object = connection.getObject(getPGType(columnIndex), getString(columnIndex), null);
       }
       return type.cast(object);
     }
+    PGBinaryCodec<?> codec = connection.getTypeInfo().getBinaryCodec(getPGType(columnIndex));
+    if (codec != null && type.isAssignableFrom(codec.getJavaClass())) {
+      // getObject decodes binary values with the codec
+      Object object = getObject(columnIndex);
+      if (object == null || type.isInstance(object)) {
+        return type.cast(object);
+      }
+    }
     throw new PSQLException(GT.tr("conversion to {0} from {1} not supported", type, getPGType(columnIndex)),
             PSQLState.INVALID_PARAMETER_VALUE);
   }
@@ -21,6 +21,7 @@
 import org.postgresql.core.ResultCursor;
 import org.postgresql.core.ResultHandlerBase;
 import org.postgresql.core.SqlCommand;
+import org.postgresql.core.SqlCommandType;
 import org.postgresql.core.TransactionState;
 import org.postgresql.core.Tuple;
 import org.postgresql.util.GT;
@@ -33,12 +34,15 @@
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.checkerframework.checker.nullness.qual.RequiresNonNull;
 
+import java.sql.BatchUpdateException;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.SQLWarning;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.TimeZone;
 import java.util.TimerTask;
@@ -60,6 +64,12 @@ public class PgStatement implements Statement, BaseStatement {
   protected final ResourceLock lock = new ResourceLock();
   protected @Nullable ArrayList<Query> batchStatements;
   protected @Nullable ArrayList<@Nullable ParameterList> batchParameters;
+  // Batch entries that addBatch already executed, see PGProperty.STREAMING_BATCH_SIZE
+  private long @Nullable [] streamedUpdateCounts;
+  private int streamedRows;
+  // Entries added after a streamed part of the batch failed, they are never executed
+  private int discardedRows;
+  private @Nullable BatchUpdateException streamedBatchException;
   protected final int resultsettype; // the resultset type to return (ResultSet.TYPE_xxx)
   protected final int concurrency; // is it updateable or not? (ResultSet.CONCUR_xxx)
   private final int rsHoldability;
@@ -490,6 +500,16 @@ private void executeInternal(CachedQuery cachedQuery,
       }
     }
 
+    // Leave the large values on the connection until the result set reads them. This needs a
+    // forward-only result set that returns the values as they are, and a single query
+    if (connection.getQueryExecutor().getLargeValueStreamingThreshold() > 0
+        && !wantsScrollableResultSet() && concurrency == ResultSet.CONCUR_READ_ONLY
+        && maxFieldSize == 0 && cachedQuery.query.getSubqueries() == null
+        && (flags & (QueryExecutor.QUERY_NO_RESULTS
+            | QueryExecutor.QUERY_BOTH_ROWS_AND_STATUS)) == 0) {
+      flags |= QueryExecutor.QUERY_STREAM_LARGE_VALUES;
+    }
+
     // Only use named statements after we hit the threshold. Note that only
     // named statements can be transferred in binary format.
     // isOneShotQuery will check to see if we have hit the prepareThreshold count
@@ -836,10 +856,19 @@ public void addBatch(String sql) throws SQLException {
     }
     batchStatements.add(cachedQuery.query);
     batchParameters.add(null);
+    flushBatchIfStreaming();
   }
 
   @Override
   public void clearBatch() throws SQLException {
+    clearPendingBatch();
+    resetStreamedBatch();
+  }
+
+  /**
+   * Drops the batch entries that were not executed yet.
+   */
+  void clearPendingBatch() {
     if (batchStatements != null) {
       batchStatements.clear();
     }
@@ -848,6 +877,222 @@ public void clearBatch() throws SQLException {
     }
   }
 
+  private void resetStreamedBatch() {
+    streamedUpdateCounts = null;
+    streamedRows = 0;
+    discardedRows = 0;
+    streamedBatchException = null;
+  }
+
+  /**
+   * Executes the pending batch entries once {@link org.postgresql.PGProperty#STREAMING_BATCH_SIZE} of them have
+   * been added. Failures are kept until {@code executeBatch}, so the batch reports them the same
+   * way as if it was sent at once.
+   *
+   * @throws SQLException if the connection fails
+   */
+  void flushBatchIfStreaming() throws SQLException {
+    ArrayList<@Nullable ParameterList> batchParameters = this.batchParameters;
+    int streamingBatchSize = connection.getQueryExecutor().getStreamingBatchSize();
+    if (streamingBatchSize <= 0 || wantsGeneratedKeysAlways || batchParameters == null
+        || batchParameters.size() < streamingBatchSize) {
+      return;
+    }
+    if (streamedBatchException != null) {
+      // An earlier part of the batch failed, so the rest of the batch is not executed
+      discardedRows += batchParameters.size();
+      clearPendingBatch();
+      return;
+    }
+    closeForNextExecution();
+    executeStreamedPart();
+  }
+
+  private void executeStreamedPart() throws SQLException {
+    long[] updateCounts;
+    try {
+      updateCounts = executePendingBatch();
+    } catch (BatchUpdateException e) {
+      long[] failedUpdateCounts = e.getLargeUpdateCounts();
+      updateCounts = failedUpdateCounts == null ? new long[0] : failedUpdateCounts;
+      streamedBatchException = e;
+    }
+    long[] streamedUpdateCounts = this.streamedUpdateCounts;
+    int length = streamedRows + updateCounts.length;
+    if (streamedUpdateCounts == null) {
+      streamedUpdateCounts = new long[Math.max(16, length)];
+    } else if (streamedUpdateCounts.length < length) {
+      streamedUpdateCounts =
+          Arrays.copyOf(streamedUpdateCounts, Math.max(length, streamedUpdateCounts.length * 2));
+    }
+    System.arraycopy(updateCounts, 0, streamedUpdateCounts, streamedRows, updateCounts.length);
+    this.streamedUpdateCounts = streamedUpdateCounts;
+    streamedRows = length;
+  }
+
+  /**
+   * Executes the rest of a batch that was partially executed by {@code addBatch}.
+   *
+   * @return update counts of the whole batch
+   * @throws SQLException if any part of the batch failed
+   */
+  private long[] executeStreamedBatch() throws SQLException {
+    ArrayList<@Nullable ParameterList> batchParameters = this.batchParameters;
+    if (batchParameters != null && !batchParameters.isEmpty()) {
+      if (streamedBatchException == null) {
+        executeStreamedPart();
+      } else {
+        discardedRows += batchParameters.size();
+        clearPendingBatch();
+      }
+    }
+    long[] streamedUpdateCounts = this.streamedUpdateCounts;
+    long[] updateCounts = streamedUpdateCounts == null
+        ? new long[streamedRows + discardedRows]
+        : Arrays.copyOf(streamedUpdateCounts, streamedRows + discardedRows);
+    Arrays.fill(updateCounts, streamedRows, updateCounts.length, Statement.EXECUTE_FAILED);
+    BatchUpdateException streamedBatchException = this.streamedBatchException;
+    resetStreamedBatch();
+    if (streamedBatchException != null) {
+      BatchUpdateException batchException = new BatchUpdateException(
+          streamedBatchException.getMessage(),
+          streamedBatchException.getSQLState(), 0,
+          updateCounts,
+          streamedBatchException.getCause());
+      SQLException next = streamedBatchException.getNextException();
+      if (next != null) {
+        batchException.setNextException(next);
+      }
+      throw batchException;
+    }
+    return updateCounts;
+  }
+
+  private boolean isBatchStreamed() {
+    return streamedRows > 0 || streamedBatchException != null;
+  }
+
+  /**
+   * Executes the batch entries that were not executed yet.
+   *
+   * @return update counts of the executed entries
+   * @throws SQLException if the batch fails
+   */
+  long[] executePendingBatch() throws SQLException {
+    if (batchStatements == null || batchStatements.isEmpty() || batchParameters == null) {
+      return new long[0];
+    }
+    if (canConcatenateBatch()) {
+      return executeConcatenatedBatch();
+    }
+    return internalExecuteBatch().getLargeUpdateCount();
+  }
+
+  /**
+   * Checks if the pending batch consists of plain SQL strings that can be concatenated into simple
+   * query messages, see {@link org.postgresql.PGProperty#STATEMENT_BATCH_MESSAGE_SIZE}.
+   */
+  private boolean canConcatenateBatch() {
+    ArrayList<Query> batchStatements = this.batchStatements;
+    ArrayList<@Nullable ParameterList> batchParameters = this.batchParameters;
+    if (batchStatements == null || batchParameters == null || batchStatements.size() <= 1
+        || wantsGeneratedKeysAlways
+        || connection.getQueryExecutor().getStatementBatchMessageSize() <= 0) {
+      return false;
+    }
+    for (int i = 0; i < batchStatements.size(); i++) {
+      Query query = batchStatements.get(i);
+      // An empty statement does not produce a CommandComplete, so it would shift the update counts
+      if (batchParameters.get(i) != null || query.getSubqueries() != null
+          || query.getNativeSql().trim().isEmpty()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Executes the pending batch as simple query messages that contain several statements each. Every
+   * statement still produces its own CommandComplete, so the update counts are per statement. A
+   * message is executed before the next one is sent: once a statement fails the server skips the
+   * rest of its message, so the following messages must not be executed.
+   *
+   * @return update counts of the executed statements
+   * @throws SQLException if the batch fails
+   */
+  private long[] executeConcatenatedBatch() throws SQLException {
+    QueryExecutor queryExecutor = connection.getQueryExecutor();
+    Query[] queries = castNonNull(batchStatements).toArray(new Query[0]);
+    clearPendingBatch();
+
+    int flags = QueryExecutor.QUERY_NO_RESULTS | QueryExecutor.QUERY_EXECUTE_AS_SIMPLE
+        | QueryExecutor.QUERY_ONESHOT;
+    boolean autoCommit = connection.getAutoCommit();
+    if (autoCommit) {
+      flags |= QueryExecutor.QUERY_SUPPRESS_BEGIN;
+    }
+    if (connection.hintReadOnly()) {
+      flags |= QueryExecutor.QUERY_READ_ONLY_HINT;
+    }
+
+    try (ResourceLock ignore = lock.obtain()) {
+      result = null;
+    }
+
+    int maxMessageSize = queryExecutor.getStatementBatchMessageSize();
+    long[] updateCounts = new long[queries.length];
+    StringBuilder sql = new StringBuilder();
+    int offset = 0;
+    try {
+      startTimer();
+      while (offset < queries.length) {
+        sql.setLength(0);
+        int end = offset;
+        do {
+          // A newline before the semicolon keeps it out of a trailing -- comment
+          sql.append(queries[end].getNativeSql()).append("\n;\n");
+          end++;
+        } while (end < queries.length
+            && sql.length() + queries[end].getNativeSql().length() + 3 <= maxMessageSize);
+
+        Query[] messageQueries = Arrays.copyOfRange(queries, offset, end);
+        BatchResultHandler handler =
+            new BatchResultHandler(this, messageQueries, null, false);
+        Query message = queryExecutor.wrap(Collections.singletonList(
+            new NativeQuery(sql.toString(),
+                SqlCommand.createStatementTypeInfo(SqlCommandType.BLANK))));
+        try {
+          queryExecutor.execute(new Query[]{message}, new ParameterList[]{null}, handler,
+              maxrows, fetchSize, flags);
+        } catch (BatchUpdateException e) {
+          long[] messageUpdateCounts = e.getLargeUpdateCounts();
+          if (!autoCommit) {
+            // The transaction is aborted, so the earlier statements will be rolled back too
+            Arrays.fill(updateCounts, Statement.EXECUTE_FAILED);
+          } else {
+            if (messageUpdateCounts != null) {
+              System.arraycopy(messageUpdateCounts, 0, updateCounts, offset,
+                  Math.min(messageUpdateCounts.length, end - offset));
+            }
+            Arrays.fill(updateCounts, end, updateCounts.length, Statement.EXECUTE_FAILED);
+          }
+          BatchUpdateException batchException = new BatchUpdateException(
+              e.getMessage(), e.getSQLState(), 0, updateCounts, e.getCause());
+          SQLException next = e.getNextException();
+          if (next != null) {
+            batchException.setNextException(next);
+          }
+          throw batchException;
+        }
+        System.arraycopy(handler.getLargeUpdateCount(), 0, updateCounts, offset, end - offset);
+        offset = end;
+      }
+    } finally {
+      killTimerTask();
+    }
+    return updateCounts;
+  }
+
   protected BatchResultHandler createBatchHandler(Query[] queries,
       @Nullable ParameterList[] parameterLists) {
     return new BatchResultHandler(this, queries, parameterLists,
@@ -957,11 +1202,14 @@ public int[] executeBatch() throws SQLException {
     checkClosed();
     closeForNextExecution();
 
+    if (isBatchStreamed()) {
+      return BatchResultHandler.toUpdateCounts(executeStreamedBatch());
+    }
     if (batchStatements == null || batchStatements.isEmpty() || batchParameters == null) {
       return new int[0];
     }
 
-    return internalExecuteBatch().getUpdateCount();
+    return BatchResultHandler.toUpdateCounts(executePendingBatch());
   }
 
   @Override
@@ -1029,7 +1277,7 @@ public void setFetchSize(@NonNegative int rows) throws SQLException {
     fetchSize = rows;
   }
 
-  private void startTimer() {
+  void startTimer() {
     /*
      * there shouldn't be any previous timer active, but better safe than sorry.
      */
@@ -1081,7 +1329,7 @@ private boolean cleanupTimer() {
     return true;
   }
 
-  private void killTimerTask() {
+  void killTimerTask() {
     boolean timerTaskIsClear = cleanupTimer();
     // The order is important here: in case we need to wait for the cancel task, the state must be
     // kept StatementCancelState.IN_QUERY, so cancelTask would be able to cancel the query.
@@ -1145,11 +1393,14 @@ public long[] executeLargeBatch() throws SQLException {
     checkClosed();
     closeForNextExecution();
 
+    if (isBatchStreamed()) {
+      return executeStreamedBatch();
+    }
     if (batchStatements == null || batchStatements.isEmpty() || batchParameters == null) {
       return new long[0];
     }
 
-    return internalExecuteBatch().getLargeUpdateCount();
+    return executePendingBatch();
   }
 
   @Override
@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.postgresql.jdbc;
+
+/**
+ * Specifies how {@code reWriteBatchedInserts} collapses a batch of compatible {@code INSERT}
+ * statements: values means a multi-values {@code INSERT ... VALUES (...), (...)} whose text depends
+ * on the number of rows, unnest means {@code INSERT ... SELECT ... FROM unnest($1, ...)} that binds
+ * one array per column, so every batch uses the same statement text, and copy streams the rows of a
+ * plain {@code INSERT INTO t(cols) VALUES (?, ...)} with {@code COPY t(cols) FROM STDIN} in binary
+ * format.
+ *
+ * @see org.postgresql.PGProperty#REWRITE_BATCHED_INSERTS_MODE
+ */
+public enum ReWriteBatchedInsertsMode {
+  VALUES("values"),
+  UNNEST("unnest"),
+  COPY("copy");
+
+  private final String value;
+
+  ReWriteBatchedInsertsMode(String value) {
+    this.value = value;
+  }
+
+  public static ReWriteBatchedInsertsMode of(String mode) {
+    for (ReWriteBatchedInsertsMode rewriteMode : values()) {
+      if (rewriteMode.value.equals(mode)) {
+        return rewriteMode;
+      }
+    }
+    return VALUES;
+  }
+
+  public String value() {
+    return value;
+  }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.postgresql.jdbc;
+
+import static org.postgresql.util.internal.Nullness.castNonNull;
+
+import org.postgresql.core.Encoding;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Returns the same {@code String} instance for the repeated values of a text column of a result
+ * set, see {@link org.postgresql.PGProperty#STRING_DEDUPLICATION_LIMIT}.
+ *
+ * <p>Each column has its own hash table keyed on the raw bytes of the values. Once a column has
+ * more distinct values than the limit, its table is dropped and its values are decoded as usual, so
+ * a high-cardinality column only pays for the lookups of its first rows. Values longer than
+ * {@link #MAX_VALUE_LENGTH} bytes are never deduplicated, which bounds the memory of a table.</p>
+ *
+ * <p>The keys are the value arrays of the rows, which are never modified, so they are not
+ * copied.</p>
+ */
+final class StringDeduplicator {
+  static final int MAX_VALUE_LENGTH = 256;
+
+  private static final Column DISABLED = new Column(1);
+
+  private final int limit;
+  private final @Nullable Column[] columns;
+
+  /**
+   * Creates a deduplicator for a result set.
+   *
+   * @param columnCount the number of columns of the result set
+   * @param limit the number of distinct values of a column after which the column is no longer
+   *     deduplicated
+   */
+  StringDeduplicator(int columnCount, int limit) {
+    this.limit = limit;
+    this.columns = new Column[columnCount];
+  }
+
+  /**
+   * Decodes a value, or returns the string of an equal value that was decoded before for the same
+   * column.
+   *
+   * @param column the 0-based index of the column
+   * @param bytes the raw value
+   * @param encoding the encoding of the connection
+   * @return the decoded string
+   * @throws IOException if the value can't be decoded
+   */
+  String decode(int column, byte[] bytes, Encoding encoding) throws IOException {
+    @Nullable Column values = columns[column];
+    if (values == DISABLED || bytes.length > MAX_VALUE_LENGTH) {
+      return encoding.decode(bytes);
+    }
+    if (values == null) {
+      columns[column] = values = new Column(Math.min(limit, 64));
+    }
+    int hash = Arrays.hashCode(bytes);
+    String value = values.get(bytes, hash);
+    if (value != null) {
+      return value;
+    }
+    value = encoding.decode(bytes);
+    if (values.size == limit) {
+      // Too many distinct values, this column does not benefit from deduplication
+      columns[column] = DISABLED;
+    } else {
+      values.put(bytes, hash, value);
+    }
+    return value;
+  }
+
+  /**
+   * Open addressing hash table of the values of a column.
+   */
+  private static final class Column {
+    private byte[] @Nullable [] keys;
+    private int[] hashes;
+    private @Nullable String[] values;
+    private int size;
+
+    Column(int expectedSize) {
+      // Keep the load factor at most 1/2
+      int capacity = Integer.highestOneBit(Math.max(expectedSize, 1) * 2 - 1) << 1;
+      keys = new byte[capacity][];
+      hashes = new int[capacity];
+      values = new String[capacity];
+    }
+
+    @Nullable String get(byte[] bytes, int hash) {
+      byte[] @Nullable [] keys = this.keys;
+      int mask = keys.length - 1;
+      for (int i = hash & mask; ; i = (i + 1) & mask) {
+        byte @Nullable [] key = keys[i];
+        if (key == null) {
+          return null;
+        }
+        if (hashes[i] == hash && Arrays.equals(key, bytes)) {
+          return values[i];
+        }
+      }
+    }
+
+    void put(byte[] bytes, int hash, String value) {
+      if ((size + 1) * 2 > keys.length) {
+        resize();
+      }
+      insert(bytes, hash, value);
+      size++;
+    }
+
+    private void insert(byte[] bytes, int hash, String value) {
+      int mask = keys.length - 1;
+      int i = hash & mask;
+      while (keys[i] != null) {
+        i = (i + 1) & mask;
+      }
+      keys[i] = bytes;
+      hashes[i] = hash;
+      values[i] = value;
+    }
+
+    private void resize() {
+      byte[] @Nullable [] oldKeys = keys;
+      int[] oldHashes = hashes;
+      @Nullable String[] oldValues = values;
+      keys = new byte[oldKeys.length * 2][];
+      hashes = new int[oldKeys.length * 2];
+      values = new String[oldKeys.length * 2];
+      for (int i = 0; i < oldKeys.length; i++) {
+        byte @Nullable [] key = oldKeys[i];
+        if (key != null) {
+          insert(key, oldHashes[i], castNonNull(oldValues[i]));
+        }
+      }
+    }
+  }
+}
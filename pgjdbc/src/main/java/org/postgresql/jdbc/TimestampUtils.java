@@ -25,6 +25,7 @@
 import java.sql.SQLException;
 import java.sql.Time;
 import java.sql.Timestamp;
+import java.time.DateTimeException;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
@@ -36,6 +37,8 @@
 import java.time.chrono.IsoEra;
 import java.time.format.DateTimeParseException;
 import java.time.temporal.ChronoField;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.GregorianCalendar;
@@ -74,6 +77,15 @@ public class TimestampUtils {
 
   private static final TimeZone UTC_TIMEZONE = TimeZone.getTimeZone(ZoneOffset.UTC);
 
+  // The class of the time zones returned by TimeZone.getTimeZone, which follow the same transitions
+  // as their ZoneRules
+  private static final Class<?> ZONE_INFO_CLASS = TimeZone.getTimeZone("Europe/Moscow").getClass();
+  // Offsets are computed with ZoneRules from 1900 to 2038 only, outside that range TimeZone may
+  // differ, for instance for the local mean time of the zones
+  private static final long MIN_ZONE_RULES_MILLIS = -2208988800000L; // 1900-01-01T00:00:00Z
+  private static final long MAX_ZONE_RULES_MILLIS = 2145916800000L; // 2038-01-01T00:00:00Z
+  private static final int UNKNOWN_OFFSET = Integer.MIN_VALUE;
+
   private static final byte []INFINITY = "infinity".getBytes(StandardCharsets.UTF_8);
   private static final byte []NEGATIVE_INFINITY = "-infinity".getBytes(StandardCharsets.UTF_8);
 
@@ -141,6 +153,8 @@ public class TimestampUtils {
   private @Nullable Calendar calCache;
   private @Nullable ZoneOffset calCacheZone;
 
+  private @Nullable OffsetWindow offsetWindow;
+
   /**
    * True if the backend uses doubles for time values. False if long is used.
    */
@@ -168,6 +182,32 @@ private Calendar getCalendar(ZoneOffset offset) {
     return calCache;
   }
 
+  /**
+   * A range of local date times that have a single offset in a time zone, between two transitions
+   * of the zone, so they are converted to UTC without {@link Calendar}.
+   */
+  private static final class OffsetWindow {
+    final String timeZoneId;
+    final ZoneRules rules;
+    // local millis, as if the local date time were in UTC
+    final long localStart;
+    final long localEnd;
+    final int offsetMillis;
+
+    OffsetWindow(String timeZoneId, ZoneRules rules, long localStart, long localEnd,
+        int offsetMillis) {
+      this.timeZoneId = timeZoneId;
+      this.rules = rules;
+      this.localStart = localStart;
+      this.localEnd = localEnd;
+      this.offsetMillis = offsetMillis;
+    }
+
+    boolean contains(long localMillis) {
+      return localMillis >= localStart && localMillis < localEnd;
+    }
+  }
+
   private static class ParsedTimestamp {
     boolean hasDate;
     int era = GregorianCalendar.AD;
@@ -452,22 +492,59 @@ ParsedTimestamp parseDate(byte[]dateBytes) {
       }
 
       ParsedTimestamp ts = parseBackendTimestamp(bytes);
-      Calendar useCal = ts.hasOffset ? getCalendar(ts.offset) : setupCalendar(cal);
-      useCal.set(Calendar.ERA, ts.era);
-      useCal.set(Calendar.YEAR, ts.year);
-      useCal.set(Calendar.MONTH, ts.month - 1);
-      useCal.set(Calendar.DAY_OF_MONTH, ts.day);
-      useCal.set(Calendar.HOUR_OF_DAY, ts.hour);
-      useCal.set(Calendar.MINUTE, ts.minute);
-      useCal.set(Calendar.SECOND, ts.second);
-      useCal.set(Calendar.MILLISECOND, 0);
-
-      Timestamp result = new Timestamp(useCal.getTimeInMillis());
+      Timestamp result = new Timestamp(toUtcMillis(ts, cal));
       result.setNanos(ts.nanos);
       return result;
     }
   }
 
+  /**
+   * Returns the point in time of a parsed timestamp, ignoring its fractional seconds. The timestamp
+   * is in its offset if it has one, else in the time zone of the calendar.
+   *
+   * @param ts the parsed timestamp
+   * @param cal the calendar whose time zone is used, or null for the default time zone
+   * @return the milliseconds since the epoch
+   */
+  private long toUtcMillis(ParsedTimestamp ts, @Nullable Calendar cal) {
+    // the Julian calendar is used before the Gregorian cutover, so leave those dates to Calendar
+    if (ts.era == GregorianCalendar.AD && ts.year > 1582) {
+      long localMillis = (epochDay(ts.year, ts.month, ts.day) * 86400L
+          + ts.hour * 3600L + ts.minute * 60L + ts.second) * 1000L;
+      if (ts.hasOffset) {
+        return localMillis - ts.offset.getTotalSeconds() * 1000L;
+      }
+      int offset = getLocalOffset(localMillis, cal == null ? getDefaultTz() : cal.getTimeZone());
+      if (offset != UNKNOWN_OFFSET) {
+        return localMillis - offset;
+      }
+    }
+    Calendar useCal = ts.hasOffset ? getCalendar(ts.offset) : setupCalendar(cal);
+    useCal.set(Calendar.ERA, ts.era);
+    useCal.set(Calendar.YEAR, ts.year);
+    useCal.set(Calendar.MONTH, ts.month - 1);
+    useCal.set(Calendar.DAY_OF_MONTH, ts.day);
+    useCal.set(Calendar.HOUR_OF_DAY, ts.hour);
+    useCal.set(Calendar.MINUTE, ts.minute);
+    useCal.set(Calendar.SECOND, ts.second);
+    useCal.set(Calendar.MILLISECOND, 0);
+    return useCal.getTimeInMillis();
+  }
+
+  /**
+   * Returns the number of days since 1970-01-01 of a date of the proleptic Gregorian calendar.
+   */
+  private static long epochDay(int year, int month, int day) {
+    // count the years from March, so the leap day is the last day of the year
+    int y = month <= 2 ? year - 1 : year;
+    int era = Math.floorDiv(y, 400);
+    int yearOfEra = y - era * 400;
+    int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+    int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+    // 719468 is the number of days from 0000-03-01 to 1970-01-01
+    return era * 146097L + dayOfEra - 719468;
+  }
+
   /**
    * Parse a string and return a LocalTime representing its value.
    *
@@ -706,41 +783,31 @@ public OffsetDateTime toOffsetDateTimeBin(byte[] bytes) throws PSQLException {
         return null;
       }
       ParsedTimestamp ts = parseBackendTimestamp(bytes);
-      Calendar useCal = ts.hasOffset ? getCalendar(ts.offset) : setupCalendar(cal);
-      if (!ts.hasOffset) {
-        // When no time zone provided (e.g. time or timestamp)
-        // We get the year-month-day from the string, then truncate the day to 1970-01-01
-        // This is used for timestamp -> time conversion
-        // Note: this cannot be merged with "else" branch since
-        // timestamps at which the time flips to/from DST depend on the date
-        // For instance, 2000-03-26 02:00:00 is invalid timestamp in Europe/Moscow time zone
-        // and the valid one is 2000-03-26 03:00:00. That is why we parse full timestamp
-        // then set year to 1970 later
-        useCal.set(Calendar.ERA, ts.era);
-        useCal.set(Calendar.YEAR, ts.year);
-        useCal.set(Calendar.MONTH, ts.month - 1);
-        useCal.set(Calendar.DAY_OF_MONTH, ts.day);
-      } else {
+      // When no time zone provided (e.g. time or timestamp)
+      // We get the year-month-day from the string, then truncate the day to 1970-01-01
+      // This is used for timestamp -> time conversion
+      // Note: the date cannot be replaced with 1970-01-01 right away since
+      // timestamps at which the time flips to/from DST depend on the date
+      // For instance, 2000-03-26 02:00:00 is invalid timestamp in Europe/Moscow time zone
+      // and the valid one is 2000-03-26 03:00:00. That is why we parse full timestamp
+      // then set year to 1970 later
+      if (ts.hasOffset) {
         // When time zone is given, we just pick the time part and assume date to be 1970-01-01
         // this is used for time, timez, and timestamptz parsing
-        useCal.set(Calendar.ERA, GregorianCalendar.AD);
-        useCal.set(Calendar.YEAR, 1970);
-        useCal.set(Calendar.MONTH, Calendar.JANUARY);
-        useCal.set(Calendar.DAY_OF_MONTH, 1);
+        ts.era = GregorianCalendar.AD;
+        ts.year = 1970;
+        ts.month = 1;
+        ts.day = 1;
       }
-      useCal.set(Calendar.HOUR_OF_DAY, ts.hour);
-      useCal.set(Calendar.MINUTE, ts.minute);
-      useCal.set(Calendar.SECOND, ts.second);
-      useCal.set(Calendar.MILLISECOND, 0);
 
-      long timeMillis = useCal.getTimeInMillis() + ts.nanos / 1000000;
+      long timeMillis = toUtcMillis(ts, cal) + ts.nanos / 1000000;
       if (ts.hasOffset || (ts.year == 1970 && ts.era == GregorianCalendar.AD)) {
         // time with time zone has proper time zone, so the value can be returned as is
         return new Time(timeMillis);
       }
 
       // 2) Truncate date part so in given time zone the date would be formatted as 01/01/1970
-      return convertToTime(timeMillis, useCal.getTimeZone());
+      return convertToTime(timeMillis, cal == null ? getDefaultTz() : cal.getTimeZone());
     }
   }
 
@@ -765,29 +832,25 @@ public OffsetDateTime toOffsetDateTimeBin(byte[] bytes) throws PSQLException {
       if (dateBytes[0] == '-' && Arrays.equals(NEGATIVE_INFINITY, dateBytes)) {
         return new Date(PGStatement.DATE_NEGATIVE_INFINITY);
       }
-      if ( cal == null ) {
-        cal = Calendar.getInstance();
-      }
-
       ParsedTimestamp pt;
       if ( dateBytes.length > 13 ) {
         // this is a timestamp
         pt = parseBackendTimestamp(dateBytes);
-
-        Calendar useCal = pt.hasOffset ? getCalendar(pt.offset) : setupCalendar(cal);
-        useCal.set(Calendar.ERA, pt.era);
-        useCal.set(Calendar.YEAR, pt.year);
-        useCal.set(Calendar.MONTH, pt.month - 1);
-        useCal.set(Calendar.DAY_OF_MONTH, pt.day);
-        useCal.set(Calendar.HOUR_OF_DAY, pt.hour);
-        useCal.set(Calendar.MINUTE, pt.minute);
-        useCal.set(Calendar.SECOND, pt.second);
-        useCal.set(Calendar.MILLISECOND, 0);
-
-        return convertToDate(useCal.getTimeInMillis(), cal == null ? null : cal.getTimeZone());
+        return convertToDate(toUtcMillis(pt, cal), cal == null ? null : cal.getTimeZone());
       } else {
         pt = parseDate(dateBytes);
         // dates without time don't require timezone adjustment
+        if (pt.era == GregorianCalendar.AD && pt.year > 1582
+            && (cal == null || cal instanceof GregorianCalendar)) {
+          long localMillis = epochDay(pt.year, pt.month, pt.day) * ONEDAY;
+          int offset = getLocalOffset(localMillis, cal == null ? getDefaultTz() : cal.getTimeZone());
+          if (offset != UNKNOWN_OFFSET) {
+            return new Date(localMillis - offset);
+          }
+        }
+        if ( cal == null ) {
+          cal = Calendar.getInstance();
+        }
         cal.clear();
 
         cal.set(Calendar.YEAR, pt.year);
@@ -1643,7 +1706,12 @@ private long guessTimestamp(long millis, @Nullable TimeZone tz) {
       // For well-known non-DST time zones, just subtract offset
       return millis - tz.getRawOffset();
     }
-    // For all the other time zones, enjoy debugging Calendar API
+    // When the local date time has a single offset, just subtract it
+    int offset = getLocalOffset(millis, tz);
+    if (offset != UNKNOWN_OFFSET) {
+      return millis - offset;
+    }
+    // For the other cases, such as DST gaps and overlaps, enjoy debugging Calendar API
     // Here we do a straight-forward implementation that splits original timestamp into pieces and
     // composes it back.
     // Note: cal.setTimeZone alone is not sufficient as it would alter hour (it will try to keep the
@@ -1675,6 +1743,83 @@ private static boolean isSimpleTimeZone(String id) {
     return id.startsWith("GMT") || id.startsWith("UTC");
   }
 
+  /**
+   * Returns the offset of a time zone at a local date time, if the local date time is neither in a
+   * gap nor in an overlap of the zone. The offset is computed with the {@link ZoneRules} of the zone
+   * and cached until the next transition, so the conversions do not need {@link Calendar}.
+   *
+   * @param localMillis the local date time, as milliseconds since the epoch as if it were in UTC
+   * @param tz the time zone
+   * @return the offset in milliseconds, or {@link #UNKNOWN_OFFSET} if it has to be computed with
+   *     {@link Calendar}
+   */
+  private int getLocalOffset(long localMillis, TimeZone tz) {
+    OffsetWindow window = offsetWindow;
+    if (window != null && tz.getClass() == ZONE_INFO_CLASS
+        && window.timeZoneId.equals(tz.getID())) {
+      if (window.contains(localMillis)) {
+        return window.offsetMillis;
+      }
+      window = createOffsetWindow(tz, window.rules, localMillis);
+    } else {
+      window = createOffsetWindow(tz, localMillis);
+    }
+    if (window == null) {
+      return UNKNOWN_OFFSET;
+    }
+    offsetWindow = window;
+    return window.offsetMillis;
+  }
+
+  private static @Nullable OffsetWindow createOffsetWindow(TimeZone tz, long localMillis) {
+    if (tz.getClass() != ZONE_INFO_CLASS) {
+      return null;
+    }
+    ZoneRules rules;
+    try {
+      rules = tz.toZoneId().getRules();
+    } catch (DateTimeException e) {
+      return null;
+    }
+    return createOffsetWindow(tz, rules, localMillis);
+  }
+
+  private static @Nullable OffsetWindow createOffsetWindow(TimeZone tz, ZoneRules rules,
+      long localMillis) {
+    long instantMillis = localMillis - tz.getRawOffset();
+    // the raw offset guess might be in the previous or next window
+    for (int i = 0; i < 2; i++) {
+      if (instantMillis < MIN_ZONE_RULES_MILLIS || instantMillis >= MAX_ZONE_RULES_MILLIS) {
+        return null;
+      }
+      Instant instant = Instant.ofEpochMilli(instantMillis);
+      int offset = rules.getOffset(instant).getTotalSeconds() * 1000;
+      // last transition at or before the instant, and first transition after it
+      ZoneOffsetTransition previous = rules.previousTransition(instant.plusNanos(1));
+      ZoneOffsetTransition next = rules.nextTransition(instant);
+      // local date times right after a transition are in a gap or an overlap, and so are local
+      // date times right before a transition
+      long localStart = MIN_ZONE_RULES_MILLIS + offset;
+      if (previous != null) {
+        localStart = Math.max(localStart, previous.toEpochSecond() * 1000L
+            + Math.max(offset, previous.getOffsetBefore().getTotalSeconds() * 1000));
+      }
+      long localEnd = MAX_ZONE_RULES_MILLIS + offset;
+      if (next != null) {
+        localEnd = Math.min(localEnd, next.toEpochSecond() * 1000L
+            + Math.min(offset, next.getOffsetAfter().getTotalSeconds() * 1000));
+      }
+      if (localMillis >= localStart && localMillis < localEnd) {
+        if (tz.getOffset(localMillis - offset) != offset) {
+          return null;
+        }
+        return new OffsetWindow(tz.getID(), rules, localStart, localEnd, offset);
+      }
+      instantMillis = localMillis - offset;
+    }
+    return null;
+  }
+
   /**
    * Extracts the date part from a timestamp.
    *
@@ -1708,6 +1853,14 @@ public Date convertToDate(long millis, @Nullable TimeZone tz) {
       // Now we have brand-new 7 Jan 00:00 GMT+02:00
       return new Date(millis);
     }
+    if (millis >= MIN_ZONE_RULES_MILLIS && millis < MAX_ZONE_RULES_MILLIS) {
+      // Same as above, with the offsets of the zone at the timestamp and at the start of the day
+      long localMidnight = floorDiv(millis + tz.getOffset(millis), ONEDAY) * ONEDAY;
+      int offset = getLocalOffset(localMidnight, tz);
+      if (offset != UNKNOWN_OFFSET) {
+        return new Date(localMidnight - offset);
+      }
+    }
 
     Calendar cal = calendarWithUserTz;
     cal.setTimeZone(tz);
@@ -1747,6 +1900,14 @@ public Time convertToTime(long millis, TimeZone tz) {
       // Now we have brand-new 1970 1 Jan 15:40 GMT+02:00
       return new Time(millis);
     }
+    if (millis >= MIN_ZONE_RULES_MILLIS && millis < MAX_ZONE_RULES_MILLIS) {
+      // Same as above, with the offsets of the zone at the timestamp and on 1970-01-01
+      long localTime = floorMod(millis + tz.getOffset(millis), ONEDAY);
+      int offset = getLocalOffset(localTime, tz);
+      if (offset != UNKNOWN_OFFSET) {
+        return new Time(localTime - offset);
+      }
+    }
     Calendar cal = calendarWithUserTz;
     cal.setTimeZone(tz);
     cal.setTimeInMillis(millis);
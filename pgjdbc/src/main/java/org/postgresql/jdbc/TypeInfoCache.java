@@ -14,6 +14,7 @@
 import org.postgresql.core.ServerVersion;
 import org.postgresql.core.TypeInfo;
 import org.postgresql.util.GT;
+import org.postgresql.util.PGBinaryCodec;
 import org.postgresql.util.PGobject;
 import org.postgresql.util.PSQLException;
 import org.postgresql.util.PSQLState;
@@ -57,6 +58,9 @@ public class TypeInfoCache implements TypeInfo {
   // pgname (String) -> extension pgobject (Class)
   private final Map<String, Class<? extends PGobject>> pgNameToPgObject;
 
+  // pgname (String) -> binary codec
+  private final Map<String, PGBinaryCodec<?>> pgNameToBinaryCodec = new HashMap<>();
+
   // type array oid -> base type's oid
   private final Map<Integer, Integer> pgArrayToPgType;
 
@@ -109,7 +113,13 @@ public class TypeInfoCache implements TypeInfo {
       {"json", Oid.JSON, Types.OTHER, "org.postgresql.util.PGobject", Oid.JSON_ARRAY},
       {"jsonb", Oid.JSONB, Types.OTHER, "org.postgresql.util.PGobject", Oid.JSONB_ARRAY},
       {"point", Oid.POINT, Types.OTHER, "org.postgresql.geometric.PGpoint", Oid.POINT_ARRAY},
-      {"box", Oid.BOX, Types.OTHER, "org.postgresql.geometric.PGBox", Oid.BOX_ARRAY}
+      {"box", Oid.BOX, Types.OTHER, "org.postgresql.geometric.PGBox", Oid.BOX_ARRAY},
+      {"circle", Oid.CIRCLE, Types.OTHER, "org.postgresql.geometric.PGcircle", Oid.CIRCLE_ARRAY},
+      {"line", Oid.LINE, Types.OTHER, "org.postgresql.geometric.PGline", Oid.LINE_ARRAY},
+      {"lseg", Oid.LSEG, Types.OTHER, "org.postgresql.geometric.PGlseg", Oid.LSEG_ARRAY},
+      {"path", Oid.PATH, Types.OTHER, "org.postgresql.geometric.PGpath", Oid.PATH_ARRAY},
+      {"polygon", Oid.POLYGON, Types.OTHER, "org.postgresql.geometric.PGpolygon",
+          Oid.POLYGON_ARRAY}
   };
 
   /**
@@ -227,6 +237,11 @@ public void addDataType(String type, Class<? extends PGobject> klass)
     try (ResourceLock ignore = lock.obtain()) {
       pgNameToPgObject.put(type, klass);
       pgNameToJavaClass.put(type, klass.getName());
+      PGBinaryCodec<?> codec = pgNameToBinaryCodec.get(type);
+      if (codec != null && codec.getJavaClass() != klass) {
+        // The new class replaces the codec registered for the type
+        pgNameToBinaryCodec.remove(type);
+      }
     }
   }
 
@@ -750,6 +765,32 @@ private PreparedStatement prepareGetArrayElementOidStatement() throws SQLExcepti
     }
   }
 
+  @Override
+  public void addBinaryCodec(String type, PGBinaryCodec<?> codec) {
+    try (ResourceLock ignore = lock.obtain()) {
+      pgNameToBinaryCodec.put(type, codec);
+    }
+  }
+
+  @Override
+  public @Nullable PGBinaryCodec<?> getBinaryCodec(String type) {
+    try (ResourceLock ignore = lock.obtain()) {
+      return pgNameToBinaryCodec.get(type);
+    }
+  }
+
+  @Override
+  public @Nullable String getBinaryCodecType(Object value) {
+    try (ResourceLock ignore = lock.obtain()) {
+      for (Map.Entry<String, PGBinaryCodec<?>> entry : pgNameToBinaryCodec.entrySet()) {
+        if (entry.getValue().getJavaClass().isInstance(value)) {
+          return entry.getKey();
+        }
+      }
+      return null;
+    }
+  }
+
   @Override
   public String getJavaClass(int oid) throws SQLException {
     try (ResourceLock ignore = lock.obtain()) {
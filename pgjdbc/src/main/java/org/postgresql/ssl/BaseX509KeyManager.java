@@ -33,18 +33,46 @@ public abstract class BaseX509KeyManager implements X509KeyManager {
 
   private static final int ROOT_UID = 0;
 
+  /**
+   * An exception that is raised by every later call of {@link #throwKeyManagerException()}.
+   *
+   * @deprecated a key manager can be shared by the handshakes of several connections, so use
+   *     {@link #setKeyManagerException(PSQLException)}, which reports the exception to the
+   *     connection whose handshake failed only
+   */
+  @Deprecated
   protected @Nullable PSQLException error;
 
+  // The exceptions are kept per thread, as the handshake calls the key manager from the thread
+  // that connects
+  private final ThreadLocal<@Nullable PSQLException> handshakeError = new ThreadLocal<>();
+
+  /**
+   * Stores an exception of the current handshake, which is raised by the next call of
+   * {@link #throwKeyManagerException()} from the same thread.
+   *
+   * @param error the exception
+   */
+  protected void setKeyManagerException(PSQLException error) {
+    handshakeError.set(error);
+  }
+
   /**
    * getCertificateChain and getPrivateKey cannot throw exceptions, therefore any exception is stored
-   * in {@link #error} and can be raised by this method.
+   * by {@link #setKeyManagerException(PSQLException)} and raised by this method, once.
    *
-   * @throws PSQLException if any exception is stored in {@link #error} and can be raised
+   * @throws PSQLException if any exception is stored and can be raised
    */
+  @SuppressWarnings("deprecation")
   public void throwKeyManagerException() throws PSQLException {
+    PSQLException error = handshakeError.get();
     if (error != null) {
+      handshakeError.remove();
       throw error;
     }
+    if (this.error != null) {
+      throw this.error;
+    }
   }
 
   @Override
@@ -5,6 +5,7 @@
 
 package org.postgresql.ssl;
 
+import org.postgresql.jdbc.ResourceLock;
 import org.postgresql.util.GT;
 import org.postgresql.util.PSQLException;
 import org.postgresql.util.PSQLState;
@@ -47,15 +48,21 @@
 
 /**
  * A Key manager that only loads the keys, if necessary.
+ *
+ * <p>The key manager can be shared by the handshakes of several connections, see
+ * {@link LibPQFactoryCache}: the keys are loaded once, and a failure to load them is reported to
+ * the connection whose handshake failed, while the next handshake tries to load them again.</p>
  */
 public class LazyKeyManager implements X509KeyManager {
-  private X509Certificate @Nullable [] cert;
-  private @Nullable PrivateKey key;
+  private volatile X509Certificate @Nullable [] cert;
+  private volatile @Nullable PrivateKey key;
   private final @Nullable String certfile;
   private final @Nullable String keyfile;
   private final CallbackHandler cbh;
   private final boolean defaultfile;
-  private @Nullable PSQLException error;
+  private final ResourceLock lock = new ResourceLock();
+  // The handshake calls the key manager from the thread that connects
+  private final ThreadLocal<@Nullable PSQLException> handshakeError = new ThreadLocal<>();
 
   /**
    * Constructor. certfile and keyfile can be null, in that case no certificate is presented to the
@@ -74,13 +81,15 @@ public LazyKeyManager(@Nullable String certfile, @Nullable String keyfile, Callb
   }
 
   /**
-   * getCertificateChain and getPrivateKey cannot throw exceptions, therefore any exception is stored
-   * in {@link #error} and can be raised by this method.
+   * getCertificateChain and getPrivateKey cannot throw exceptions, therefore any exception of the
+   * handshake of the current thread is stored and raised by this method, once.
    *
-   * @throws PSQLException if any exception is stored in {@link #error} and can be raised
+   * @throws PSQLException if any exception is stored and can be raised
    */
   public void throwKeyManagerException() throws PSQLException {
+    PSQLException error = handshakeError.get();
     if (error != null) {
+      handshakeError.remove();
       throw error;
     }
   }
@@ -140,52 +149,63 @@ public void throwKeyManagerException() throws PSQLException {
 
   @Override
   public X509Certificate @Nullable [] getCertificateChain(String alias) {
-    if (cert == null && certfile != null) {
+    X509Certificate[] cert = this.cert;
+    if (cert != null || certfile == null) {
       // If certfile is null, we do not load the certificate
-      // The certificate must be loaded
-      CertificateFactory cf;
-      try {
-        cf = CertificateFactory.getInstance("X.509");
-      } catch (CertificateException ex) {
-        // For some strange reason it throws CertificateException instead of
-        // NoSuchAlgorithmException...
-        error = new PSQLException(GT.tr(
-            "Could not find a java cryptographic algorithm: X.509 CertificateFactory not available."),
-            PSQLState.CONNECTION_FAILURE, ex);
-        return null;
+      return cert;
+    }
+    try (ResourceLock ignore = lock.obtain()) {
+      if (this.cert == null) {
+        // The certificate must be loaded, a failed attempt is retried by the next handshake
+        this.cert = loadCertificateChain(certfile);
       }
-      Collection<? extends Certificate> certs;
-      InputStream certfileStream = null;
-      try {
-        certfileStream = FileUtils.newBufferedInputStream(certfile);
-        certs = cf.generateCertificates(certfileStream);
-      } catch (FileNotFoundException ioex) {
-        if (!defaultfile) { // It is not an error if there is no file at the default location
-          error = new PSQLException(
-              GT.tr("Could not open SSL certificate file {0}.", certfile),
-              PSQLState.CONNECTION_FAILURE, ioex);
-        }
-        return null;
-      } catch (CertificateException gsex) {
-        error = new PSQLException(GT.tr("Loading the SSL certificate {0} into a KeyManager failed.",
-            certfile), PSQLState.CONNECTION_FAILURE, gsex);
-        return null;
-      } finally {
-        if (certfileStream != null) {
-          try {
-            certfileStream.close();
-          } catch (IOException ioex) {
-            if (!defaultfile) { // It is not an error if there is no file at the default location
-              error = new PSQLException(
-                  GT.tr("Could not close SSL certificate file {0}.", certfile),
-                  PSQLState.CONNECTION_FAILURE, ioex);
-            }
+      return this.cert;
+    }
+  }
+
+  private X509Certificate @Nullable [] loadCertificateChain(String certfile) {
+    CertificateFactory cf;
+    try {
+      cf = CertificateFactory.getInstance("X.509");
+    } catch (CertificateException ex) {
+      // For some strange reason it throws CertificateException instead of
+      // NoSuchAlgorithmException...
+      handshakeError.set(new PSQLException(GT.tr(
+          "Could not find a java cryptographic algorithm: X.509 CertificateFactory not available."),
+          PSQLState.CONNECTION_FAILURE, ex));
+      return null;
+    }
+    Collection<? extends Certificate> certs;
+    InputStream certfileStream = null;
+    try {
+      certfileStream = FileUtils.newBufferedInputStream(certfile);
+      certs = cf.generateCertificates(certfileStream);
+    } catch (FileNotFoundException ioex) {
+      if (!defaultfile) { // It is not an error if there is no file at the default location
+        handshakeError.set(new PSQLException(
+            GT.tr("Could not open SSL certificate file {0}.", certfile),
+            PSQLState.CONNECTION_FAILURE, ioex));
+      }
+      return null;
+    } catch (CertificateException gsex) {
+      handshakeError.set(new PSQLException(
+          GT.tr("Loading the SSL certificate {0} into a KeyManager failed.", certfile),
+          PSQLState.CONNECTION_FAILURE, gsex));
+      return null;
+    } finally {
+      if (certfileStream != null) {
+        try {
+          certfileStream.close();
+        } catch (IOException ioex) {
+          if (!defaultfile) { // It is not an error if there is no file at the default location
+            handshakeError.set(new PSQLException(
+                GT.tr("Could not close SSL certificate file {0}.", certfile),
+                PSQLState.CONNECTION_FAILURE, ioex));
           }
         }
       }
-      cert = certs.toArray(new X509Certificate[0]);
     }
-    return cert;
+    return certs.toArray(new X509Certificate[0]);
   }
 
   @Override
@@ -208,85 +228,98 @@ private static byte[] readFileFully(String path) throws IOException {
 
   @Override
   public @Nullable PrivateKey getPrivateKey(String alias) {
+    PrivateKey key = this.key;
+    if (key != null || keyfile == null) {
+      // If keyfile is null, we do not load the key
+      return key;
+    }
+    try (ResourceLock ignore = lock.obtain()) {
+      if (this.key == null) {
+        // The private key must be loaded, a failed attempt is retried by the next handshake
+        this.key = loadPrivateKey(keyfile);
+      }
+      return this.key;
+    }
+  }
+
+  private @Nullable PrivateKey loadPrivateKey(String keyfile) {
+    PrivateKey key = null;
     try {
-      if (key == null && keyfile != null) {
-        // If keyfile is null, we do not load the key
-        // The private key must be loaded
-        X509Certificate[] cert = getCertificateChain("user");
-        if (cert == null || cert.length == 0) { // We need the certificate for the algorithm
-          return null;
+      X509Certificate[] cert = getCertificateChain("user");
+      if (cert == null || cert.length == 0) { // We need the certificate for the algorithm
+        return null;
+      }
+
+      byte[] keydata;
+      try {
+        keydata = readFileFully(keyfile);
+      } catch (FileNotFoundException ex) {
+        if (!defaultfile) {
+          // It is not an error if there is no file at the default location
+          throw ex;
         }
+        return null;
+      }
 
-        byte[] keydata;
+      KeyFactory kf = KeyFactory.getInstance(cert[0].getPublicKey().getAlgorithm());
+      try {
+        KeySpec pkcs8KeySpec = new PKCS8EncodedKeySpec(keydata);
+        key = kf.generatePrivate(pkcs8KeySpec);
+      } catch (InvalidKeySpecException ex) {
+        // The key might be password protected
+        EncryptedPrivateKeyInfo ePKInfo = new EncryptedPrivateKeyInfo(keydata);
+        Cipher cipher;
+        try {
+          cipher = Cipher.getInstance(ePKInfo.getAlgName());
+        } catch (NoSuchPaddingException npex) {
+          // Why is it not a subclass of NoSuchAlgorithmException?
+          throw new NoSuchAlgorithmException(npex.getMessage(), npex);
+        }
+        // We call back for the password
+        PasswordCallback pwdcb = new PasswordCallback(GT.tr("Enter SSL password: "), false);
         try {
-          keydata = readFileFully(keyfile);
-        } catch (FileNotFoundException ex) {
-          if (!defaultfile) {
-            // It is not an error if there is no file at the default location
-            throw ex;
+          cbh.handle(new Callback[]{pwdcb});
+        } catch (UnsupportedCallbackException ucex) {
+          if ((cbh instanceof LibPQFactory.ConsoleCallbackHandler)
+              && ("Console is not available".equals(ucex.getMessage()))) {
+            handshakeError.set(new PSQLException(GT
+                .tr("Could not read password for SSL key file, console is not available."),
+                PSQLState.CONNECTION_FAILURE, ucex));
+          } else {
+            handshakeError.set(
+                new PSQLException(
+                    GT.tr("Could not read password for SSL key file by callbackhandler {0}.",
+                            cbh.getClass().getName()),
+                    PSQLState.CONNECTION_FAILURE, ucex));
           }
           return null;
         }
-
-        KeyFactory kf = KeyFactory.getInstance(cert[0].getPublicKey().getAlgorithm());
         try {
-          KeySpec pkcs8KeySpec = new PKCS8EncodedKeySpec(keydata);
+          PBEKeySpec pbeKeySpec = new PBEKeySpec(pwdcb.getPassword());
+          pwdcb.clearPassword();
+          // Now create the Key from the PBEKeySpec
+          SecretKeyFactory skFac = SecretKeyFactory.getInstance(ePKInfo.getAlgName());
+          Key pbeKey = skFac.generateSecret(pbeKeySpec);
+          // Extract the iteration count and the salt
+          AlgorithmParameters algParams = ePKInfo.getAlgParameters();
+          cipher.init(Cipher.DECRYPT_MODE, pbeKey, algParams);
+          // Decrypt the encrypted private key into a PKCS8EncodedKeySpec
+          KeySpec pkcs8KeySpec = ePKInfo.getKeySpec(cipher);
           key = kf.generatePrivate(pkcs8KeySpec);
-        } catch (InvalidKeySpecException ex) {
-          // The key might be password protected
-          EncryptedPrivateKeyInfo ePKInfo = new EncryptedPrivateKeyInfo(keydata);
-          Cipher cipher;
-          try {
-            cipher = Cipher.getInstance(ePKInfo.getAlgName());
-          } catch (NoSuchPaddingException npex) {
-            // Why is it not a subclass of NoSuchAlgorithmException?
-            throw new NoSuchAlgorithmException(npex.getMessage(), npex);
-          }
-          // We call back for the password
-          PasswordCallback pwdcb = new PasswordCallback(GT.tr("Enter SSL password: "), false);
-          try {
-            cbh.handle(new Callback[]{pwdcb});
-          } catch (UnsupportedCallbackException ucex) {
-            if ((cbh instanceof LibPQFactory.ConsoleCallbackHandler)
-                && ("Console is not available".equals(ucex.getMessage()))) {
-              error = new PSQLException(GT
-                  .tr("Could not read password for SSL key file, console is not available."),
-                  PSQLState.CONNECTION_FAILURE, ucex);
-            } else {
-              error =
-                  new PSQLException(
-                      GT.tr("Could not read password for SSL key file by callbackhandler {0}.",
-                              cbh.getClass().getName()),
-                      PSQLState.CONNECTION_FAILURE, ucex);
-            }
-            return null;
-          }
-          try {
-            PBEKeySpec pbeKeySpec = new PBEKeySpec(pwdcb.getPassword());
-            pwdcb.clearPassword();
-            // Now create the Key from the PBEKeySpec
-            SecretKeyFactory skFac = SecretKeyFactory.getInstance(ePKInfo.getAlgName());
-            Key pbeKey = skFac.generateSecret(pbeKeySpec);
-            // Extract the iteration count and the salt
-            AlgorithmParameters algParams = ePKInfo.getAlgParameters();
-            cipher.init(Cipher.DECRYPT_MODE, pbeKey, algParams);
-            // Decrypt the encrypted private key into a PKCS8EncodedKeySpec
-            KeySpec pkcs8KeySpec = ePKInfo.getKeySpec(cipher);
-            key = kf.generatePrivate(pkcs8KeySpec);
-          } catch (GeneralSecurityException ikex) {
-            error = new PSQLException(
-                GT.tr("Could not decrypt SSL key file {0}.", keyfile),
-                PSQLState.CONNECTION_FAILURE, ikex);
-            return null;
-          }
+        } catch (GeneralSecurityException ikex) {
+          handshakeError.set(new PSQLException(
+              GT.tr("Could not decrypt SSL key file {0}.", keyfile),
+              PSQLState.CONNECTION_FAILURE, ikex));
+          return null;
         }
       }
     } catch (IOException ioex) {
-      error = new PSQLException(GT.tr("Could not read SSL key file {0}.", keyfile),
-          PSQLState.CONNECTION_FAILURE, ioex);
+      handshakeError.set(new PSQLException(GT.tr("Could not read SSL key file {0}.", keyfile),
+          PSQLState.CONNECTION_FAILURE, ioex));
     } catch (NoSuchAlgorithmException ex) {
-      error = new PSQLException(GT.tr("Could not find a java cryptographic algorithm: {0}.",
-              ex.getMessage()), PSQLState.CONNECTION_FAILURE, ex);
+      handshakeError.set(new PSQLException(
+          GT.tr("Could not find a java cryptographic algorithm: {0}.", ex.getMessage()),
+          PSQLState.CONNECTION_FAILURE, ex));
       return null;
     }
 
@@ -31,7 +31,9 @@
 import java.security.cert.PKIXBuilderParameters;
 import java.security.cert.TrustAnchor;
 import java.security.cert.X509Certificate;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
 import java.util.Properties;
 import java.util.Set;
@@ -53,6 +55,9 @@ public class LibPQFactory extends WrappedFactory {
 
   @Nullable KeyManager km;
   boolean defaultfile;
+  private @Nullable String keyFile;
+  private @Nullable String certFile;
+  private @Nullable String rootCertFile;
 
   private CallbackHandler getCallbackHandler(
       @UnderInitialization(WrappedFactory.class) LibPQFactory this,
@@ -83,6 +88,7 @@ private String getCertFilePath(
       defaultfile = true;
       sslcertfile = defaultdir + "postgresql.crt";
     }
+    certFile = sslcertfile;
     return sslcertfile;
   }
 
@@ -152,21 +158,14 @@ public LibPQFactory(Properties info) throws PSQLException {
     try {
       SSLContext ctx = SSLContext.getInstance("TLS"); // or "SSL" ?
 
-      // Determining the default file location
-      String pathsep = System.getProperty("file.separator");
-      String defaultdir;
-
-      if (System.getProperty("os.name").toLowerCase(Locale.ROOT).contains("windows")) { // It is Windows
-        defaultdir = System.getenv("APPDATA") + pathsep + "postgresql" + pathsep;
-      } else {
-        defaultdir = System.getProperty("user.home") + pathsep + ".postgresql" + pathsep;
-      }
+      String defaultdir = getDefaultDir();
 
       String sslkeyfile = PGProperty.SSL_KEY.getOrDefault(info);
       if (sslkeyfile == null) { // Fall back to default
         defaultfile = true;
         sslkeyfile = defaultdir + "postgresql.pk8";
       }
+      keyFile = sslkeyfile;
 
       if (endsWithIgnoreCase(sslkeyfile, ".p12") || endsWithIgnoreCase(sslkeyfile, ".pfx")) {
         initP12(sslkeyfile, info);
@@ -191,6 +190,7 @@ public LibPQFactory(Properties info) throws PSQLException {
         if (sslrootcertfile == null) { // Fall back to default
           sslrootcertfile = defaultdir + "root.crt";
         }
+        rootCertFile = sslrootcertfile;
         InputStream is;
         try {
           is = FileUtils.newBufferedInputStream(sslrootcertfile); // NOSONAR
@@ -245,6 +245,33 @@ public LibPQFactory(Properties info) throws PSQLException {
     }
   }
 
+  /**
+   * Returns the files the key and trust material is read from, so {@link LibPQFactoryCache} can
+   * tell when they change.
+   */
+  List<String> getFiles() {
+    List<String> files = new ArrayList<>(3);
+    for (String file : new @Nullable String[]{keyFile, certFile, rootCertFile}) {
+      if (file != null && !file.isEmpty()) {
+        files.add(file);
+      }
+    }
+    return files;
+  }
+
+  /**
+   * Returns the directory of the default certificate and key files.
+   *
+   * @return {@code %APPDATA%\postgresql\} on Windows, {@code $HOME/.postgresql/} otherwise
+   */
+  static String getDefaultDir() {
+    String pathsep = System.getProperty("file.separator");
+    if (System.getProperty("os.name").toLowerCase(Locale.ROOT).contains("windows")) { // It is Windows
+      return System.getenv("APPDATA") + pathsep + "postgresql" + pathsep;
+    }
+    return System.getProperty("user.home") + pathsep + ".postgresql" + pathsep;
+  }
+
   /**
    * Propagates any exception from {@link LazyKeyManager}.
    *
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.postgresql.ssl;
+
+import org.postgresql.PGProperty;
+import org.postgresql.jdbc.ResourceLock;
+import org.postgresql.jdbc.SslMode;
+import org.postgresql.util.GT;
+import org.postgresql.util.PSQLException;
+import org.postgresql.util.PSQLState;
+import org.postgresql.util.internal.SecretFingerprint;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.File;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * JVM-wide cache of {@link LibPQFactory} instances, keyed by the SSL properties that define them.
+ *
+ * <p>Sharing the factory avoids re-reading the key and certificate files for every connection,
+ * and since all connections then use the same {@link javax.net.ssl.SSLContext}, its client session
+ * cache lets the TLS handshake resume an earlier session instead of doing a full handshake.</p>
+ *
+ * <p>A cached factory is replaced when the last modification time or the size of any of its key
+ * or certificate files changes, and when {@link #invalidate(LibPQFactory)} is called because its
+ * key manager failed to load them. The key managers are safe for concurrent handshakes, and report
+ * a failure only to the connection whose handshake hit it. Factories with an
+ * {@code sslpasswordcallback} are never cached, as the callback might return a different password
+ * for each connection.</p>
+ *
+ * <p>The key holds a fingerprint of {@code sslpassword} (see {@link SecretFingerprint}) rather than
+ * the password. The cache lock only guards the map: the files are checked, and a factory is
+ * created, under a lock per key, so connections with other SSL properties are not blocked.</p>
+ */
+public final class LibPQFactoryCache {
+  private static final Logger LOGGER = Logger.getLogger(LibPQFactoryCache.class.getName());
+
+  private static final int MAX_SIZE = 32;
+
+  private static final Map<List<@Nullable String>, Slot> CACHE =
+      new LinkedHashMap<List<@Nullable String>, Slot>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<List<@Nullable String>, Slot> eldest) {
+          return size() > MAX_SIZE;
+        }
+      };
+
+  private LibPQFactoryCache() {
+  }
+
+  private static final class Slot {
+    final ResourceLock lock = new ResourceLock();
+    volatile @Nullable CachedFactory cached;
+  }
+
+  private static final class CachedFactory {
+    final LibPQFactory factory;
+    final String[] files;
+    final long[] stamps;
+
+    CachedFactory(LibPQFactory factory) {
+      this.factory = factory;
+      List<String> files = factory.getFiles();
+      this.files = files.toArray(new String[0]);
+      this.stamps = stamps(this.files);
+    }
+
+    boolean isModified() {
+      return !Arrays.equals(stamps, stamps(files));
+    }
+
+    private static long[] stamps(String[] files) {
+      long[] stamps = new long[files.length * 2];
+      for (int i = 0; i < files.length; i++) {
+        File file = new File(files[i]);
+        stamps[2 * i] = file.lastModified();
+        stamps[2 * i + 1] = file.length();
+      }
+      return stamps;
+    }
+  }
+
+  /**
+   * Returns a factory for the given connection properties, reusing a cached one when possible.
+   *
+   * @param info the connection properties
+   * @return the SSL socket factory
+   * @throws PSQLException if the factory can't be created
+   */
+  public static LibPQFactory get(Properties info) throws PSQLException {
+    if (PGProperty.SSL_PASSWORD_CALLBACK.getOrDefault(info) != null) {
+      return new LibPQFactory(info);
+    }
+    List<@Nullable String> key = Arrays.asList(
+        PGProperty.SSL_CERT.getOrDefault(info),
+        PGProperty.SSL_KEY.getOrDefault(info),
+        PGProperty.SSL_ROOT_CERT.getOrDefault(info),
+        passwordFingerprint(PGProperty.SSL_PASSWORD.getOrDefault(info)),
+        PGProperty.PEM_KEY_ALGORITHM.getOrDefault(info),
+        String.valueOf(SslMode.of(info).verifyCertificate()),
+        LibPQFactory.getDefaultDir());
+    Slot slot;
+    synchronized (CACHE) {
+      slot = CACHE.get(key);
+      if (slot == null) {
+        slot = new Slot();
+        CACHE.put(key, slot);
+      }
+    }
+    CachedFactory cached = slot.cached;
+    if (cached != null && !cached.isModified()) {
+      return cached.factory;
+    }
+    try (ResourceLock ignore = slot.lock.obtain()) {
+      // Another connection might have replaced the factory while this one waited for the lock
+      CachedFactory current = slot.cached;
+      if (current != null && current != cached && !current.isModified()) {
+        return current.factory;
+      }
+      if (current != null) {
+        LOGGER.log(Level.FINE, "SSL key or certificate files changed, creating a new SSL factory");
+      }
+      current = new CachedFactory(new LibPQFactory(info));
+      slot.cached = current;
+      return current.factory;
+    }
+  }
+
+  private static @Nullable String passwordFingerprint(@Nullable String password)
+      throws PSQLException {
+    if (password == null) {
+      return null;
+    }
+    try {
+      return SecretFingerprint.of(password.toCharArray());
+    } catch (GeneralSecurityException e) {
+      throw new PSQLException(GT.tr("Could not compute the fingerprint of the SSL password."),
+          PSQLState.CONNECTION_FAILURE, e);
+    }
+  }
+
+  /**
+   * Removes the factory from the cache, so the next connection creates a new one. This is used
+   * when the key manager of the factory failed to read the client key or certificate.
+   *
+   * @param factory the factory to remove
+   */
+  public static void invalidate(LibPQFactory factory) {
+    synchronized (CACHE) {
+      CACHE.values().removeIf(slot -> {
+        CachedFactory cached = slot.cached;
+        return cached != null && cached.factory == factory;
+      });
+    }
+  }
+
+  /**
+   * Removes all factories from the cache.
+   */
+  public static void clear() {
+    synchronized (CACHE) {
+      CACHE.clear();
+    }
+  }
+}
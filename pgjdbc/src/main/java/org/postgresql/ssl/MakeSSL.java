@@ -18,11 +18,13 @@
 
 import java.io.IOException;
 import java.util.Properties;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import javax.net.ssl.HostnameVerifier;
 import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLSession;
 import javax.net.ssl.SSLSocket;
 import javax.net.ssl.SSLSocketFactory;
 
@@ -48,14 +50,29 @@ public static void convert(PGStream stream, Properties info)
       }
       // We must invoke manually, otherwise the exceptions are hidden
       newConnection.setUseClientMode(true);
+      long handshakeStart = System.currentTimeMillis();
+      long handshakeStartNanos = System.nanoTime();
       newConnection.startHandshake();
+      if (LOGGER.isLoggable(Level.FINE)) {
+        SSLSession session = newConnection.getSession();
+        LOGGER.log(Level.FINE, "SSL handshake with {0} took {1} ms: {2}, {3}, {4}",
+            new Object[]{stream.getHostSpec(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - handshakeStartNanos),
+                session.getProtocol(), session.getCipherSuite(),
+                // A resumed session was created by an earlier handshake
+                session.getCreationTime() < handshakeStart ? "resumed session" : "new session"});
+      }
     } catch (IOException ex) {
-      throw new PSQLException(GT.tr("SSL error: {0}", ex.getMessage()),
+      PSQLException sslError = new PSQLException(GT.tr("SSL error: {0}", ex.getMessage()),
           PSQLState.CONNECTION_FAILURE, ex);
+      try {
+        throwKeyManagerException(factory);
+      } catch (PSQLException keyManagerError) {
+        sslError.addSuppressed(keyManagerError);
+      }
+      throw sslError;
     }
-    if (factory instanceof LibPQFactory) { // throw any KeyManager exception
-      ((LibPQFactory) factory).throwKeyManagerException();
-    }
+    throwKeyManagerException(factory);
 
     SslMode sslMode = SslMode.of(info);
     if (sslMode.verifyPeerName()) {
@@ -67,6 +84,23 @@ public static void convert(PGStream stream, Properties info)
     stream.changeSocket(newConnection);
   }
 
+  /**
+   * Throws any exception of the key manager of a {@link LibPQFactory}. The factory might be
+   * shared, see {@link LibPQFactoryCache}, so it is evicted to let the next connections read the
+   * key and certificate files again. Network and server errors keep the factory cached.
+   */
+  private static void throwKeyManagerException(SSLSocketFactory factory) throws PSQLException {
+    if (!(factory instanceof LibPQFactory)) {
+      return;
+    }
+    try {
+      ((LibPQFactory) factory).throwKeyManagerException();
+    } catch (PSQLException ex) {
+      LibPQFactoryCache.invalidate((LibPQFactory) factory);
+      throw ex;
+    }
+  }
+
   private static void verifyPeerName(PGStream stream, Properties info, SSLSocket newConnection)
       throws PSQLException {
     HostnameVerifier hvn;
@@ -77,7 +77,8 @@ public PEMKeyManager(String pemKeyPath, String pemCertsPath, String keyAlgorithm
 
       return kf.generatePrivate(keySpec);
     } catch (Exception e) {
-      error = new PSQLException(GT.tr("Could not load the private key"), PSQLState.CONNECTION_FAILURE, e);
+      setKeyManagerException(new PSQLException(GT.tr("Could not load the private key"),
+          PSQLState.CONNECTION_FAILURE, e));
     }
     return null;
   }
@@ -98,7 +99,8 @@ public PEMKeyManager(String pemKeyPath, String pemCertsPath, String keyAlgorithm
 
       return certChain.toArray(new X509Certificate[0]);
     } catch (Exception e) {
-      error = new PSQLException(GT.tr("Could not load cert chain"), PSQLState.CONNECTION_FAILURE, e);
+      setKeyManagerException(new PSQLException(GT.tr("Could not load cert chain"),
+          PSQLState.CONNECTION_FAILURE, e));
     }
     return null;
   }
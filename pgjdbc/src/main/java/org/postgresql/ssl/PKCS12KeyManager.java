@@ -47,8 +47,12 @@ public PKCS12KeyManager(String pkcsFile, CallbackHandler cbh) throws PSQLExcepti
   @Override
   public X509Certificate @Nullable [] getCertificateChain(String alias) {
     try {
-      loadKeyStore();
-      Certificate[] certs = keyStore.getCertificateChain(alias);
+      Certificate[] certs;
+      // The key manager may be shared by concurrent handshakes, see LibPQFactoryCache
+      try (ResourceLock ignore = lock.obtain()) {
+        loadKeyStore();
+        certs = keyStore.getCertificateChain(alias);
+      }
       if (certs == null) {
         return null;
       }
@@ -59,9 +63,9 @@ public PKCS12KeyManager(String pkcsFile, CallbackHandler cbh) throws PSQLExcepti
       }
       return x509Certificates;
     } catch (Exception kse) {
-      error = new PSQLException(GT.tr(
+      setKeyManagerException(new PSQLException(GT.tr(
         "Could not find a java cryptographic algorithm: X.509 CertificateFactory not available."),
-        PSQLState.CONNECTION_FAILURE, kse);
+        PSQLState.CONNECTION_FAILURE, kse));
     }
     return null;
   }
@@ -74,15 +78,17 @@ public PKCS12KeyManager(String pkcsFile, CallbackHandler cbh) throws PSQLExcepti
       cbh.handle(new Callback[]{pwdcb});
 
       KeyStore.ProtectionParameter protParam = new KeyStore.PasswordProtection(pwdcb.getPassword());
-      KeyStore.PrivateKeyEntry pkEntry =
-          (KeyStore.PrivateKeyEntry) keyStore.getEntry("user", protParam);
+      KeyStore.PrivateKeyEntry pkEntry;
+      try (ResourceLock ignore = lock.obtain()) {
+        pkEntry = (KeyStore.PrivateKeyEntry) keyStore.getEntry("user", protParam);
+      }
       if (pkEntry == null) {
         return null;
       }
       return pkEntry.getPrivateKey();
     } catch (Exception ioex ) {
-      error = new PSQLException(GT.tr("Could not read SSL key file {0}.", keyfile),
-        PSQLState.CONNECTION_FAILURE, ioex);
+      setKeyManagerException(new PSQLException(GT.tr("Could not read SSL key file {0}.", keyfile),
+        PSQLState.CONNECTION_FAILURE, ioex));
     }
     return null;
   }
@@ -99,15 +105,15 @@ private void loadKeyStore() throws Exception {
       } catch (UnsupportedCallbackException ucex) {
         if ((cbh instanceof LibPQFactory.ConsoleCallbackHandler)
             && ("Console is not available".equals(ucex.getMessage()))) {
-          error = new PSQLException(GT
+          setKeyManagerException(new PSQLException(GT
               .tr("Could not read password for SSL key file, console is not available."),
-              PSQLState.CONNECTION_FAILURE, ucex);
+              PSQLState.CONNECTION_FAILURE, ucex));
         } else {
-          error =
+          setKeyManagerException(
               new PSQLException(
                   GT.tr("Could not read password for SSL key file by callbackhandler {0}.",
                       cbh.getClass().getName()),
-                  PSQLState.CONNECTION_FAILURE, ucex);
+                  PSQLState.CONNECTION_FAILURE, ucex));
         }
 
       }
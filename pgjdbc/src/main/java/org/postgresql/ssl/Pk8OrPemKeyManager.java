@@ -5,6 +5,7 @@
 
 package org.postgresql.ssl;
 
+import org.postgresql.jdbc.ResourceLock;
 import org.postgresql.util.PSQLException;
 
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -29,7 +30,9 @@
  * format detection.
  *
  * <p>The delegate is resolved lazily on the first call to any {@link X509KeyManager}
- * method, so this works regardless of which method the TLS engine calls first.</p>
+ * method, so this works regardless of which method the TLS engine calls first. An insecure
+ * key file is reported to the handshake that found it and checked again by the next one, as
+ * the key manager can be shared by several connections.</p>
  */
 public class Pk8OrPemKeyManager implements X509KeyManager {
 
@@ -43,8 +46,9 @@ public class Pk8OrPemKeyManager implements X509KeyManager {
   private final String keyFilePath;
   private final PEMKeyManager pem;
   private final LazyKeyManager pk8;
-  private @Nullable X509KeyManager delegate;
-  private @Nullable PSQLException permissionError;
+  private final ResourceLock lock = new ResourceLock();
+  private volatile @Nullable X509KeyManager delegate;
+  private final ThreadLocal<@Nullable PSQLException> permissionError = new ThreadLocal<>();
 
   public Pk8OrPemKeyManager(String keyFilePath, PEMKeyManager pem, LazyKeyManager pk8) {
     this.keyFilePath = keyFilePath;
@@ -61,9 +65,17 @@ public Pk8OrPemKeyManager(String keyFilePath, PEMKeyManager pem, LazyKeyManager
     if (d != null) {
       return d;
     }
-    if (permissionError != null) {
-      return null;
+    try (ResourceLock ignore = lock.obtain()) {
+      d = delegate;
+      if (d == null) {
+        d = resolveDelegate();
+        delegate = d;
+      }
+      return d;
     }
+  }
+
+  private @Nullable X509KeyManager resolveDelegate() {
     // Validate permissions before probing the format, otherwise the PK8/DER fallback
     // (which does not check permissions itself) would let an insecure key file load
     // even though the PEM path would have rejected it.
@@ -75,7 +87,7 @@ public Pk8OrPemKeyManager(String keyFilePath, PEMKeyManager pem, LazyKeyManager
         }
       }
     } catch (PSQLException e) {
-      permissionError = e;
+      permissionError.set(e);
       return null;
     }
     // Preserve libpq's PEM-before-DER preference, but detect the format with a bounded
@@ -83,9 +95,7 @@ public Pk8OrPemKeyManager(String keyFilePath, PEMKeyManager pem, LazyKeyManager
     // a failed probe there builds a translated PSQLException, and loading that message
     // bundle in the driver's class loader pins the loader and prevents it from being
     // unloaded.
-    d = looksLikePem() ? pem : pk8;
-    delegate = d;
-    return d;
+    return looksLikePem() ? pem : pk8;
   }
 
   /**
@@ -178,8 +188,10 @@ private boolean looksLikePem() {
    */
   public void throwKeyManagerException() throws PSQLException {
     X509KeyManager d = delegate();
-    if (permissionError != null) {
-      throw permissionError;
+    PSQLException error = permissionError.get();
+    if (error != null) {
+      permissionError.remove();
+      throw error;
     }
     if (d instanceof LazyKeyManager) {
       ((LazyKeyManager) d).throwKeyManagerException();
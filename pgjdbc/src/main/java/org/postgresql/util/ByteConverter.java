@@ -65,6 +65,8 @@ private void grow() {
   private static final int LONG_BYTES = 4;
   private static final int[] INT_TEN_POWERS = new int[6];
   private static final long[] LONG_TEN_POWERS = new long[19];
+  private static final double[] DOUBLE_TEN_POWERS = new double[23];
+  private static final long MAX_EXACT_DOUBLE_INTEGER = 1L << 53;
   private static final BigInteger[] BI_TEN_POWERS = new BigInteger[32];
   private static final BigInteger BI_TEN_THOUSAND = BigInteger.valueOf(10000);
   private static final BigInteger BI_MAX_LONG = BigInteger.valueOf(Long.MAX_VALUE);
@@ -76,6 +78,9 @@ private void grow() {
     for (int i = 0; i < LONG_TEN_POWERS.length; i++) {
       LONG_TEN_POWERS[i] = (long) Math.pow(10, i);
     }
+    for (int i = 0; i < DOUBLE_TEN_POWERS.length; i++) {
+      DOUBLE_TEN_POWERS[i] = Math.pow(10, i);
+    }
     for (int i = 0; i < BI_TEN_POWERS.length; i++) {
       BI_TEN_POWERS[i] = BigInteger.TEN.pow(i);
     }
@@ -126,9 +131,7 @@ public static Number numeric(byte [] bytes) {
    */
   public static Number numeric(byte [] bytes, int pos, int numBytes) {
 
-    if (numBytes < 8) {
-      throw new IllegalArgumentException("number of bytes should be at-least 8");
-    }
+    checkNumericLength(bytes, pos, numBytes);
 
     //number of 2-byte shorts representing 4 decimal digits - should be treated as unsigned
     int len = ByteConverter.int2(bytes, pos) & 0xFFFF;
@@ -156,10 +159,6 @@ public static Number numeric(byte [] bytes, int pos, int numBytes) {
     //by len (only to the right of the decimal) or adding significant 0 values to the right
     //of len (on either side of the decimal).
 
-    if (numBytes != (len * SHORT_BYTES + 8)) {
-      throw new IllegalArgumentException("invalid length of bytes \"numeric\" value");
-    }
-
     switch (sign) {
       case NUMERIC_POS:
       case NUMERIC_NEG:
@@ -381,12 +380,107 @@ public static Number numeric(byte [] bytes, int pos, int numBytes) {
     return new BigDecimal(unscaledBI, scale);
   }
 
+  private static void checkNumericLength(byte[] bytes, int pos, int numBytes) {
+    if (numBytes < 8) {
+      throw new IllegalArgumentException("number of bytes should be at-least 8");
+    }
+    int len = ByteConverter.int2(bytes, pos) & 0xFFFF;
+    if (numBytes != (len * SHORT_BYTES + 8)) {
+      throw new IllegalArgumentException("invalid length of bytes \"numeric\" value");
+    }
+  }
+
+  /**
+   * Converts a binary numeric to a long, discarding the fractional part like
+   * {@code BigDecimal.longValue()}, without building a {@link BigDecimal}.
+   *
+   * @param bytes array of bytes to be decoded from binary numeric representation.
+   * @param pos index of the start position of the bytes array for number
+   * @param numBytes number of bytes to use
+   * @return integer part of the numeric
+   * @throws ArithmeticException if the integer part does not fit in a long, or if the numeric is
+   *     NaN or an infinity
+   */
+  public static long numericToLong(byte[] bytes, int pos, int numBytes) {
+    checkNumericLength(bytes, pos, numBytes);
+    int len = ByteConverter.int2(bytes, pos) & 0xFFFF;
+    short weight = ByteConverter.int2(bytes, pos + 2);
+    short sign = ByteConverter.int2(bytes, pos + 4);
+    if (sign != NUMERIC_POS && sign != NUMERIC_NEG) {
+      throw new ArithmeticException("\"numeric\" value out of long range");
+    }
+    //digits at an index greater than weight are after the decimal, and are discarded
+    //negative values are accumulated as negative numbers so Long.MIN_VALUE does not overflow
+    long value = 0;
+    for (int i = 0; i <= weight; i++) {
+      int d = i < len ? ByteConverter.int2(bytes, pos + 8 + i * 2) : 0;
+      value = Math.multiplyExact(value, 10000L);
+      value = sign == NUMERIC_NEG ? Math.subtractExact(value, d) : Math.addExact(value, d);
+    }
+    return value;
+  }
+
+  /**
+   * Converts a binary numeric to the closest double, like {@code BigDecimal.doubleValue()}. Values
+   * of at most 4 base 10000 digits, such as {@code numeric(18, 2)} values below 10^12, are
+   * converted without building a {@link BigDecimal}.
+   *
+   * @param bytes array of bytes to be decoded from binary numeric representation.
+   * @param pos index of the start position of the bytes array for number
+   * @param numBytes number of bytes to use
+   * @return the value, or {@link Double#NaN}, {@link Double#NEGATIVE_INFINITY} or
+   *     {@link Double#POSITIVE_INFINITY}
+   */
+  public static double numericToDouble(byte[] bytes, int pos, int numBytes) {
+    checkNumericLength(bytes, pos, numBytes);
+    int len = ByteConverter.int2(bytes, pos) & 0xFFFF;
+    short weight = ByteConverter.int2(bytes, pos + 2);
+    short sign = ByteConverter.int2(bytes, pos + 4);
+    if (len == 0 && (sign == NUMERIC_POS || sign == NUMERIC_NEG)) {
+      return 0;
+    }
+    if (len <= 4 && (sign == NUMERIC_POS || sign == NUMERIC_NEG)) {
+      long unscaled = 0;
+      for (int i = 0; i < len; i++) {
+        unscaled = unscaled * 10000 + ByteConverter.int2(bytes, pos + 8 + i * 2);
+      }
+      //both the digits and the power of ten are exact doubles, so a single multiplication or
+      //division gives the correctly rounded result, as BigDecimal.doubleValue() does
+      int exponent = (weight + 1 - len) * 4;
+      if (unscaled <= MAX_EXACT_DOUBLE_INTEGER && Math.abs(exponent) < DOUBLE_TEN_POWERS.length) {
+        double value = sign == NUMERIC_NEG ? -unscaled : unscaled;
+        return exponent >= 0
+            ? value * DOUBLE_TEN_POWERS[exponent]
+            : value / DOUBLE_TEN_POWERS[-exponent];
+      }
+    }
+    return numeric(bytes, pos, numBytes).doubleValue();
+  }
+
+  /**
+   * Converts a long to binary format for {@link org.postgresql.core.Oid#NUMERIC}.
+   * @param nbr The value to represent in binary.
+   * @return The binary representation of <i>nbr</i>.
+   */
+  public static byte[] numeric(long nbr) {
+    if (nbr == Long.MIN_VALUE) {
+      return numeric(BigDecimal.valueOf(nbr));
+    }
+    return numeric(nbr, 0);
+  }
+
   /**
    * Converts a non-null {@link BigDecimal} to binary format for {@link org.postgresql.core.Oid#NUMERIC}.
    * @param nbr The instance to represent in binary.
    * @return The binary representation of <i>nbr</i>.
    */
   public static byte[] numeric(BigDecimal nbr) {
+    int nbrScale = nbr.scale();
+    //values of up to 18 digits, such as numeric(18, 2), are split into base 10000 digits with
+    //long arithmetic
+    if (nbrScale >= 0 && nbrScale < LONG_TEN_POWERS.length && nbr.precision() < LONG_TEN_POWERS.length) {
+      return numeric(nbr.unscaledValue().longValue(), nbrScale);
+    }
     final PositiveShorts shorts = new PositiveShorts();
     BigInteger unscaled = nbr.unscaledValue().abs();
     int scale = nbr.scale();
@@ -498,6 +592,62 @@ public static byte[] numeric(BigDecimal nbr) {
     return bytes;
   }
 
+  /**
+   * Converts {@code unscaled * 10^-scale} to binary numeric.
+   *
+   * @param unscaled the unscaled value, which must not be {@link Long#MIN_VALUE}
+   * @param scale the scale, from 0 to 18
+   */
+  private static byte[] numeric(long unscaled, int scale) {
+    long abs = Math.abs(unscaled);
+    if (abs == 0) {
+      final byte[] bytes = new byte[]{0, 0, -1, -1, 0, 0, 0, 0};
+      ByteConverter.int2(bytes, 6, scale);
+      return bytes;
+    }
+    //a long has at most 5 base 10000 digits before the decimal, and a scale of 18 at most 5 after
+    final short[] digits = new short[10];
+    final int decimalIdx = 5;
+    long wholes = abs / LONG_TEN_POWERS[scale];
+    long decimal = abs % LONG_TEN_POWERS[scale];
+    int end = decimalIdx + (scale + 3) / 4;
+    int idx = end;
+    int mod = scale % 4;
+    if (mod != 0) {
+      //the last digit is padded with trailing 0s
+      digits[--idx] = (short) (decimal % INT_TEN_POWERS[mod] * INT_TEN_POWERS[4 - mod]);
+      decimal /= INT_TEN_POWERS[mod];
+    }
+    while (idx > decimalIdx) {
+      digits[--idx] = (short) (decimal % 10000);
+      decimal /= 10000;
+    }
+    int start = decimalIdx;
+    while (wholes != 0) {
+      digits[--start] = (short) (wholes % 10000);
+      wholes /= 10000;
+    }
+    int weight = decimalIdx - start - 1;
+    //leading 0 digits after the decimal are represented by the weight
+    while (digits[start] == 0) {
+      ++start;
+      --weight;
+    }
+    while (digits[end - 1] == 0) {
+      --end;
+    }
+
+    final byte[] bytes = new byte[8 + (2 * (end - start))];
+    ByteConverter.int2(bytes, 0, end - start);
+    ByteConverter.int2(bytes, 2, weight);
+    ByteConverter.int2(bytes, 4, unscaled < 0 ? NUMERIC_NEG : NUMERIC_POS);
+    ByteConverter.int2(bytes, 6, scale);
+    for (int i = start, pos = 8; i < end; i++, pos += 2) {
+      ByteConverter.int2(bytes, pos, digits[i]);
+    }
+    return bytes;
+  }
+
   private static BigInteger tenPower(int exponent) {
     return BI_TEN_POWERS.length > exponent ? BI_TEN_POWERS[exponent] : BigInteger.TEN.pow(exponent);
   }
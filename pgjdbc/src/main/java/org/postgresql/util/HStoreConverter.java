@@ -17,10 +17,39 @@
 import java.util.Map.Entry;
 
 public class HStoreConverter {
+  /**
+   * Encodes and decodes the binary representation of the {@code hstore} type as a {@link Map}.
+   * Register it with {@link org.postgresql.PGConnection#addBinaryCodec(String, PGBinaryCodec)}
+   * to transfer {@code hstore} values in binary format.
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  public static final PGBinaryCodec<Map<?, ?>> BINARY_CODEC = new PGBinaryCodec<Map<?, ?>>() {
+    @Override
+    public Class<Map<?, ?>> getJavaClass() {
+      return (Class) Map.class;
+    }
+
+    @Override
+    public Map<?, ?> decode(byte[] bytes, int offset, int length, Encoding encoding)
+        throws SQLException {
+      return fromBytes(bytes, offset, encoding);
+    }
+
+    @Override
+    public byte[] encode(Map<?, ?> value, Encoding encoding) throws SQLException {
+      return toBytes(value, encoding);
+    }
+  };
+
   public static Map<String, @Nullable String> fromBytes(byte[] b, Encoding encoding)
       throws SQLException {
+    return fromBytes(b, 0, encoding);
+  }
+
+  private static Map<String, @Nullable String> fromBytes(byte[] b, int offset, Encoding encoding)
+      throws SQLException {
     Map<String, @Nullable String> m = new HashMap<String, @Nullable String>();
-    int pos = 0;
+    int pos = offset;
     int numElements = ByteConverter.int4(b, pos);
     pos += 4;
     try {
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.postgresql.util;
+
+/**
+ * Decodes the hex digits of the {@code bytea} hex format.
+ *
+ * <p>This is the Java 8 implementation: every digit goes through a 256-entry lookup table indexed by
+ * the unsigned value of the byte, so there is neither a subtraction nor a range check per digit. The
+ * Java 11+ implementation, used via the multi-release JAR mechanism, decodes eight digits at a time
+ * with a {@link java.lang.invoke.VarHandle} view of the array.</p>
+ */
+final class HexDecoder {
+  /**
+   * The value of each hex digit, indexed by the unsigned value of its byte.
+   */
+  private static final byte[] HEX_VALUES = new byte[256];
+
+  static {
+    for (int i = 0; i < 10; i++) {
+      HEX_VALUES['0' + i] = (byte) i;
+    }
+    for (int i = 0; i < 6; i++) {
+      HEX_VALUES['A' + i] = (byte) (10 + i);
+      HEX_VALUES['a' + i] = (byte) (10 + i);
+    }
+  }
+
+  private HexDecoder() {
+  }
+
+  /**
+   * Decodes bytes from pairs of hex digits. The digits are not validated, as the server always sends
+   * well-formed values.
+   *
+   * @param hex the array holding the hex digits
+   * @param hexOffset the offset of the first digit in the array
+   * @param output the array the decoded bytes are written to
+   * @param offset the offset of the first decoded byte in the output array
+   * @param length the number of bytes to decode
+   */
+  static void decode(byte[] hex, int hexOffset, byte[] output, int offset, int length) {
+    byte[] values = HEX_VALUES;
+    int end = offset + length;
+    for (int i = offset, j = hexOffset; i < end; i++, j += 2) {
+      output[i] = (byte) (values[hex[j] & 0xFF] << 4 | values[hex[j + 1] & 0xFF]);
+    }
+  }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.postgresql.util;
+
+import org.postgresql.core.Encoding;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.sql.SQLException;
+
+/**
+ * Encodes and decodes the values of a data type in the binary format of the server, so they are
+ * transferred without formatting and parsing their text representation.
+ *
+ * <p>A codec is registered for a type name with
+ * {@link org.postgresql.PGConnection#addBinaryCodec(String, PGBinaryCodec)}, which enables binary
+ * transfer for the type. The driver then uses it in {@code PreparedStatement.setObject} for values
+ * of {@link #getJavaClass()}, and in {@code ResultSet.getObject} for columns of the type received in
+ * binary format. Values transferred as text, for instance with {@code preferQueryMode=simple}, are
+ * handled as if no codec were registered.</p>
+ *
+ * @param <T> the Java class of the values
+ */
+public interface PGBinaryCodec<T> {
+  /**
+   * Returns the Java class of the values this codec encodes and decodes.
+   *
+   * @return the Java class of the values
+   */
+  Class<T> getJavaClass();
+
+  /**
+   * Decodes a value received from the server.
+   *
+   * @param bytes the array holding the binary representation of the value
+   * @param offset the offset in the array where the value starts
+   * @param length the length of the binary representation
+   * @param encoding the encoding of the connection, for values that contain text
+   * @return the value
+   * @throws SQLException if the binary representation is invalid
+   */
+  T decode(byte[] bytes, int offset, int length, Encoding encoding) throws SQLException;
+
+  /**
+   * Encodes a value to send it to the server.
+   *
+   * @param value the value
+   * @param encoding the encoding of the connection, for values that contain text
+   * @return the binary representation of the value, or null to send SQL NULL, for instance for a
+   *     {@link PGobject} that wraps null
+   * @throws SQLException if the value can't be encoded
+   */
+  byte @Nullable [] encode(T value, Encoding encoding) throws SQLException;
+}
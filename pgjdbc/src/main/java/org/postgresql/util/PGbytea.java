@@ -10,6 +10,8 @@
 
 import org.checkerframework.checker.nullness.qual.PolyNull;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
@@ -23,18 +25,21 @@ public class PGbytea {
   private static final int MAX_3_BUFF_SIZE = 2 * 1024 * 1024;
 
   /**
-   * Lookup table for each of the valid ascii code points (offset by {@code '0'})
-   * to the 4 bit numeric value.
+   * The number of bytes {@link #appendHexString} encodes to a local buffer before appending them to
+   * the builder.
    */
-  private static final int[] HEX_VALS = new int['f' + 1 - '0'];
+  private static final int HEX_CHUNK_SIZE = 4096;
+
+  /**
+   * The two lower case hex digits of each byte value, indexed by twice the unsigned value.
+   */
+  private static final char[] HEX_PAIRS = new char[512];
 
   static {
-    for (int i = 0; i < 10; i++) {
-      HEX_VALS[i] = (byte) i;
-    }
-    for (int i = 0; i < 6; i++) {
-      HEX_VALS['A' + i - '0'] = (byte) (10 + i);
-      HEX_VALS['a' + i - '0'] = (byte) (10 + i);
+    char[] digits = "0123456789abcdef".toCharArray();
+    for (int i = 0; i < 256; i++) {
+      HEX_PAIRS[2 * i] = digits[i >>> 4];
+      HEX_PAIRS[2 * i + 1] = digits[i & 0xF];
     }
   }
 
@@ -60,20 +65,11 @@ public class PGbytea {
   private static byte[] toBytesHexEscaped(byte[] s) {
     // first 2 bytes of s indicate the byte[] is hex encoded
     // so they need to be ignored here
-    final int realLength = s.length - 2;
-    byte[] output = new byte[realLength >>> 1];
-    for (int i = 0; i < realLength; i += 2) {
-      int val = getHex(s[2 + i]) << 4;
-      val |= getHex(s[3 + i]);
-      output[i >>> 1] = (byte) val;
-    }
+    byte[] output = new byte[(s.length - 2) >>> 1];
+    HexDecoder.decode(s, 2, output, 0, output.length);
     return output;
   }
 
-  private static int getHex(byte b) {
-    return HEX_VALS[b - '0'];
-  }
-
   private static byte[] toBytesOctalEscaped(byte[] s) {
     final int slength = s.length;
     byte[] buf = null;
@@ -127,6 +123,84 @@ private static byte[] toBytesOctalEscaped(byte[] s) {
     return result;
   }
 
+  /**
+   * Returns a stream of the bytes of a bytea value whose text representation is read from the given
+   * stream. The hex format is decoded as the stream is read, while the escape format, which the
+   * server only uses with {@code bytea_output = escape}, is read into memory first.
+   *
+   * @param s stream of the text representation of the value
+   * @return stream of the bytes of the value
+   * @throws IOException if the stream can't be read
+   */
+  public static InputStream toBytesStream(InputStream s) throws IOException {
+    byte[] prefix = new byte[2];
+    int prefixLength = readFully(s, prefix, 0, prefix.length);
+    if (prefixLength == 2 && prefix[0] == '\\' && prefix[1] == 'x') {
+      return new HexInputStream(s);
+    }
+    ByteArrayOutputStream escaped = new ByteArrayOutputStream();
+    escaped.write(prefix, 0, prefixLength);
+    byte[] buffer = new byte[8192];
+    int read;
+    while ((read = s.read(buffer)) != -1) {
+      escaped.write(buffer, 0, read);
+    }
+    return new ByteArrayInputStream(toBytesOctalEscaped(escaped.toByteArray()));
+  }
+
+  private static int readFully(InputStream in, byte[] b, int off, int len) throws IOException {
+    int n = 0;
+    while (n < len) {
+      int read = in.read(b, off + n, len - n);
+      if (read == -1) {
+        break;
+      }
+      n += read;
+    }
+    return n;
+  }
+
+  /**
+   * Decodes the hex digits of a bytea value as they are read.
+   */
+  private static final class HexInputStream extends InputStream {
+    private final InputStream hex;
+    private final byte[] digits = new byte[2 * HEX_CHUNK_SIZE];
+
+    HexInputStream(InputStream hex) {
+      this.hex = hex;
+    }
+
+    @Override
+    public int read() throws IOException {
+      int n = readFully(hex, digits, 0, 2);
+      if (n < 2) {
+        return -1;
+      }
+      byte[] b = new byte[1];
+      HexDecoder.decode(digits, 0, b, 0, 1);
+      return b[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      if (len == 0) {
+        return 0;
+      }
+      int n = readFully(hex, digits, 0, 2 * Math.min(len, HEX_CHUNK_SIZE)) >>> 1;
+      if (n == 0) {
+        return -1;
+      }
+      HexDecoder.decode(digits, 0, b, off, n);
+      return n;
+    }
+
+    @Override
+    public void close() throws IOException {
+      hex.close();
+    }
+  }
+
   /*
    * Converts a java byte[] into a PG bytea string (i.e. the text representation of the bytea data
    * type)
@@ -150,10 +224,24 @@ private static byte[] toBytesOctalEscaped(byte[] s) {
    * @param length the length of sequence to append
    */
   public static void appendHexString(StringBuilder sb, byte[] buf, int offset, int length) {
-    for (int i = offset; i < offset + length; i++) {
-      byte element = buf[i];
-      sb.append(Character.forDigit((element >> 4) & 0xf, 16));
-      sb.append(Character.forDigit(element & 0xf, 16));
+    if (length <= 0) {
+      return;
+    }
+    sb.ensureCapacity(sb.length() + 2 * length);
+    // Encode to a local buffer with a lookup of both digits at once, and append it in bulk:
+    // appending the digits one by one checks the capacity and the coder of the builder every time
+    char[] pairs = HEX_PAIRS;
+    char[] chunk = new char[2 * Math.min(length, HEX_CHUNK_SIZE)];
+    int end = offset + length;
+    while (offset < end) {
+      int n = Math.min(end - offset, HEX_CHUNK_SIZE);
+      for (int i = 0, j = 0; i < n; i++, j += 2) {
+        int pair = (buf[offset + i] & 0xFF) << 1;
+        chunk[j] = pairs[pair];
+        chunk[j + 1] = pairs[pair + 1];
+      }
+      sb.append(chunk, 0, 2 * n);
+      offset += n;
     }
   }
 
@@ -263,8 +351,9 @@ public static String toPGLiteral(Object value, SqlSerializationContext context)
       FixedLengthOutputStream str = new FixedLengthOutputStream(len, new OutputStream() {
         @Override
         public void write(int b) {
-          sb.append(Character.forDigit((b >> 4) & 0xf, 16));
-          sb.append(Character.forDigit(b & 0xf, 16));
+          int pair = (b & 0xFF) << 1;
+          sb.append(HEX_PAIRS[pair]);
+          sb.append(HEX_PAIRS[pair + 1]);
         }
 
         @Override
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.postgresql.util.internal;
+
+import org.postgresql.PGProperty;
+import org.postgresql.util.GT;
+import org.postgresql.util.ObjectFactory;
+import org.postgresql.util.PSQLException;
+import org.postgresql.util.PSQLState;
+
+import java.util.Properties;
+import java.util.concurrent.Executor;
+
+/**
+ * Resolves the {@link PGProperty#CONNECT_EXECUTOR} that runs connection attempts on other threads.
+ * This is an internal class, and it is not meant to be used as a public API.
+ */
+public final class ConnectExecutors {
+  private ConnectExecutors() {
+  }
+
+  /**
+   * Returns an executor that runs each task on a new daemon thread with the given name.
+   *
+   * @param threadName the name of the threads
+   * @return the executor
+   */
+  public static Executor daemonThreads(String threadName) {
+    return r -> {
+      Thread thread = new Thread(r, threadName);
+      thread.setDaemon(true); // Don't prevent the VM from shutting down
+      thread.start();
+    };
+  }
+
+  /**
+   * Returns the configured {@code connectExecutor}, or the default executor when none is set.
+   *
+   * @param props the connection properties
+   * @param defaultExecutor the executor to use when no {@code connectExecutor} is configured
+   * @return the executor
+   * @throws PSQLException if the configured executor can't be instantiated
+   */
+  public static Executor resolve(Properties props, Executor defaultExecutor)
+      throws PSQLException {
+    String className = PGProperty.CONNECT_EXECUTOR.getOrDefault(props);
+    if (className == null || className.isEmpty()) {
+      return defaultExecutor;
+    }
+    try {
+      return ObjectFactory.instantiate(Executor.class, className, props, true,
+          PGProperty.CONNECT_EXECUTOR_ARG.getOrDefault(props));
+    } catch (Exception ex) {
+      throw new PSQLException(
+          GT.tr("Could not instantiate connectExecutor: {0}", className),
+          PSQLState.INVALID_PARAMETER_VALUE, ex);
+    }
+  }
+}
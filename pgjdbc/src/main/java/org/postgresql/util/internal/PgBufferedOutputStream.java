@@ -13,6 +13,7 @@
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 
 /**
@@ -21,6 +22,12 @@
  * This is an internal class, and it is not meant to be used as a public API.
  */
 public class PgBufferedOutputStream extends FilterOutputStream {
+  /**
+   * The length from which {@link #writeUtf8(String)} copies ASCII runs with
+   * {@code String.getBytes} rather than char by char.
+   */
+  private static final int MIN_ASCII_COPY = 16;
+
   /**
    * Buffer for the data
    */
@@ -69,6 +76,113 @@ public void writeInt4(int val) throws IOException {
     this.count = count + 4;
   }
 
+  public void writeInt8(long val) throws IOException {
+    byte[] buf = this.buf;
+    if (buf.length - count < 8) {
+      flushBuffer();
+    }
+    int count = this.count;
+    ByteConverter.int8(buf, count, val);
+    this.count = count + 8;
+  }
+
+  /**
+   * Returns the number of bytes {@link #writeUtf8(String)} writes for the given string. The result
+   * is capped at {@link Integer#MAX_VALUE}.
+   *
+   * @param str the string
+   * @return the length of the UTF-8 representation of the string
+   */
+  public static int utf8Length(String str) {
+    int len = str.length();
+    long utf8Length = len;
+    for (int i = 0; i < len; i++) {
+      char c = str.charAt(i);
+      if (c < 0x80) {
+        continue;
+      }
+      if (c < 0x800) {
+        utf8Length += 1;
+      } else if (!Character.isSurrogate(c)) {
+        utf8Length += 2;
+      } else if (Character.isHighSurrogate(c) && i + 1 < len
+          && Character.isLowSurrogate(str.charAt(i + 1))) {
+        // Two chars, four bytes
+        utf8Length += 2;
+        i++;
+      }
+      // An unpaired surrogate is written as a single '?'
+    }
+    return (int) Math.min(utf8Length, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Writes the UTF-8 representation of a string without encoding it to an intermediate
+   * {@code byte[]}. Unpaired surrogates are written as {@code '?'}, like
+   * {@code String.getBytes(StandardCharsets.UTF_8)} does.
+   *
+   * @param str the string to write
+   * @throws IOException in case writing to the underlying stream fails
+   */
+  @SuppressWarnings("deprecation")
+  public void writeUtf8(String str) throws IOException {
+    byte[] buf = this.buf;
+    if (buf.length < 4) {
+      // The buffer must have room for the four bytes of a supplementary character
+      write(str.getBytes(StandardCharsets.UTF_8));
+      return;
+    }
+    int len = str.length();
+    int count = this.count;
+    int i = 0;
+    while (i < len) {
+      if (buf.length - count < 4) {
+        this.count = count;
+        flushBuffer();
+        count = this.count;
+      }
+      char c = str.charAt(i);
+      if (c < 0x80) {
+        // Find the ASCII run that fits in the buffer. Long runs are copied at once: the deprecated
+        // String.getBytes keeps the low byte of each char, which is an array copy on Java 9+
+        int end = i + Math.min(len - i, buf.length - count);
+        int runEnd = i + 1;
+        while (runEnd < end && str.charAt(runEnd) < 0x80) {
+          runEnd++;
+        }
+        if (runEnd - i >= MIN_ASCII_COPY) {
+          str.getBytes(i, runEnd, buf, count);
+          count += runEnd - i;
+          i = runEnd;
+        } else {
+          while (i < runEnd) {
+            buf[count++] = (byte) str.charAt(i++);
+          }
+        }
+        continue;
+      }
+      i++;
+      if (c < 0x800) {
+        buf[count++] = (byte) (0xC0 | c >> 6);
+        buf[count++] = (byte) (0x80 | (c & 0x3F));
+      } else if (!Character.isSurrogate(c)) {
+        buf[count++] = (byte) (0xE0 | c >> 12);
+        buf[count++] = (byte) (0x80 | (c >> 6 & 0x3F));
+        buf[count++] = (byte) (0x80 | (c & 0x3F));
+      } else if (Character.isHighSurrogate(c) && i < len
+          && Character.isLowSurrogate(str.charAt(i))) {
+        int codePoint = Character.toCodePoint(c, str.charAt(i++));
+        buf[count++] = (byte) (0xF0 | codePoint >> 18);
+        buf[count++] = (byte) (0x80 | (codePoint >> 12 & 0x3F));
+        buf[count++] = (byte) (0x80 | (codePoint >> 6 & 0x3F));
+        buf[count++] = (byte) (0x80 | (codePoint & 0x3F));
+      } else {
+        buf[count++] = (byte) '?';
+      }
+    }
+    this.count = count;
+  }
+
   @Override
   public void write(int b) throws IOException {
     if (count >= buf.length) {
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.postgresql.util.internal;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Computes fingerprints of passwords, so caches can tell passwords apart without keeping them.
+ * The fingerprint is an HMAC with a random per-JVM secret, so it can't be used to guess the
+ * password without that secret.
+ * This is an internal class, and it is not meant to be used as a public API.
+ */
+public final class SecretFingerprint {
+  private static final String HMAC = "HmacSHA256";
+  private static final byte[] SECRET = new byte[32];
+
+  static {
+    new SecureRandom().nextBytes(SECRET);
+  }
+
+  private SecretFingerprint() {
+  }
+
+  /**
+   * Returns the fingerprint of the password.
+   *
+   * @param password the password, it is not kept
+   * @return the fingerprint
+   * @throws GeneralSecurityException if the fingerprint can't be computed
+   */
+  public static String of(char[] password) throws GeneralSecurityException {
+    Mac mac = Mac.getInstance(HMAC);
+    mac.init(new SecretKeySpec(SECRET, HMAC));
+    ByteBuffer bytes = StandardCharsets.UTF_8.encode(CharBuffer.wrap(password));
+    try {
+      mac.update(bytes.duplicate());
+      return Base64.getEncoder().encodeToString(mac.doFinal());
+    } finally {
+      if (bytes.hasArray()) {
+        Arrays.fill(bytes.array(), (byte) 0);
+      }
+    }
+  }
+}
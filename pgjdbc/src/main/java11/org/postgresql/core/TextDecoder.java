@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.postgresql.core;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Decodes the text of UTF-8 and single-byte encodings to strings.
+ *
+ * <p>This is the Java 11+ implementation that delegates to the JDK: the {@code String}
+ * constructors check for ASCII with vectorized intrinsics and copy ASCII and Latin-1 text into
+ * compact strings, which is faster than decoding the bytes in Java code.</p>
+ *
+ * <p>This class replaces the Java 8 implementation via the multi-release JAR mechanism when
+ * running on Java 11+.</p>
+ */
+final class TextDecoder {
+  private TextDecoder() {
+  }
+
+  /**
+   * Decodes UTF-8 bytes.
+   *
+   * @param bytes the array holding the text
+   * @param offset the offset of the text in the array
+   * @param length the length of the text in bytes
+   * @return the decoded string
+   */
+  static String decodeUtf8(byte[] bytes, int offset, int length) {
+    return new String(bytes, offset, length, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Decodes the bytes of a single-byte encoding that matches ASCII for the bytes below
+   * {@code 0x80}.
+   *
+   * @param bytes the array holding the text
+   * @param offset the offset of the text in the array
+   * @param length the length of the text in bytes
+   * @param highChars the characters of the bytes {@code 0x80..0xFF}, unused in this implementation
+   * @param charset the charset of the text
+   * @return the decoded string
+   */
+  static String decodeSingleByte(byte[] bytes, int offset, int length, char[] highChars,
+      Charset charset) {
+    return new String(bytes, offset, length, charset);
+  }
+}
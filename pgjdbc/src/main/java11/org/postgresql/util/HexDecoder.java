@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.postgresql.util;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * Decodes the hex digits of the {@code bytea} hex format.
+ *
+ * <p>This is the Java 11+ implementation: eight digits are read as one little-endian {@code long}
+ * and turned into four bytes with a handful of arithmetic operations on the whole word, which is
+ * about twice as fast as a table lookup per digit for large values. It replaces the Java 8
+ * implementation via the multi-release JAR mechanism.</p>
+ */
+final class HexDecoder {
+  private static final VarHandle LONGS =
+      MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+  private static final VarHandle INTS =
+      MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+
+  private static final long LOW_NIBBLES = 0x0F0F0F0F0F0F0F0FL;
+  private static final long LOW_BITS = 0x0101010101010101L;
+
+  /**
+   * The value of each hex digit, indexed by the unsigned value of its byte.
+   */
+  private static final byte[] HEX_VALUES = new byte[256];
+
+  static {
+    for (int i = 0; i < 10; i++) {
+      HEX_VALUES['0' + i] = (byte) i;
+    }
+    for (int i = 0; i < 6; i++) {
+      HEX_VALUES['A' + i] = (byte) (10 + i);
+      HEX_VALUES['a' + i] = (byte) (10 + i);
+    }
+  }
+
+  private HexDecoder() {
+  }
+
+  /**
+   * Decodes bytes from pairs of hex digits. The digits are not validated, as the server always sends
+   * well-formed values.
+   *
+   * @param hex the array holding the hex digits
+   * @param hexOffset the offset of the first digit in the array
+   * @param output the array the decoded bytes are written to
+   * @param offset the offset of the first decoded byte in the output array
+   * @param length the number of bytes to decode
+   */
+  static void decode(byte[] hex, int hexOffset, byte[] output, int offset, int length) {
+    int end = offset + length;
+    int i = offset;
+    int j = hexOffset;
+    for (; i + 4 <= end; i += 4, j += 8) {
+      long word = (long) LONGS.get(hex, j);
+      // '0'..'9' are 0x30..0x39 and 'A'..'F', 'a'..'f' are 0x41..0x46, 0x61..0x66: the low nibble
+      // is the value of a digit, and letters, which have bit 6 set, need 9 more
+      long values = (word & LOW_NIBBLES) + ((word >>> 6) & LOW_BITS) * 9;
+      // The first digit of each pair is the high nibble of the byte, the second one the low nibble
+      long bytes = ((values << 4) | (values >>> 8)) & 0x00FF00FF00FF00FFL;
+      // Gather the four bytes in the low 32 bits
+      bytes = (bytes | (bytes >>> 8)) & 0x0000FFFF0000FFFFL;
+      bytes = bytes | (bytes >>> 16);
+      INTS.set(output, i, (int) bytes);
+    }
+    byte[] values = HEX_VALUES;
+    for (; i < end; i++, j += 2) {
+      output[i] = (byte) (values[hex[j] & 0xFF] << 4 | values[hex[j + 1] & 0xFF]);
+    }
+  }
+}
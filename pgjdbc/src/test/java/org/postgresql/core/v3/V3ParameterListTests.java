@@ -5,8 +5,11 @@
 
 package org.postgresql.core.v3;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import org.postgresql.util.ByteConverter;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -61,4 +64,40 @@ void mergeOfParameterLists() throws SQLException {
     assertEquals(
         "<[('1'::int4) ,('2'::int4) ,('3'::int4) ,('4'::int4) ,('5'::int4) ,('6'::int4) ,('7'::int4) ,('8'::int4)]>", s1SPL.toString(), "Expected string representation of values does not match outcome.");
   }
+
+  /**
+   * Fixed-length values are kept without a byte[], but must still be visible as their binary
+   * representation, also in copies and merged lists.
+   *
+   * @throws SQLException
+   *           raised exception if setting parameter fails.
+   */
+  @Test
+  void primitiveParameters() throws SQLException {
+    SimpleParameterList spl = new SimpleParameterList(5, transferModeRegistry);
+    spl.setShortParameter(1, (short) -2);
+    spl.setIntParameter(2, -3);
+    spl.setLongParameter(3, Long.MIN_VALUE);
+    spl.setFloatParameter(4, 1.5f);
+    spl.setDoubleParameter(5, -2.5);
+
+    assertEquals(2, spl.getV3Length(1));
+    assertEquals(4, spl.getV3Length(2));
+    assertEquals(8, spl.getV3Length(3));
+    assertEquals(4, spl.getV3Length(4));
+    assertEquals(8, spl.getV3Length(5));
+
+    SimpleParameterList merged = new SimpleParameterList(6, transferModeRegistry);
+    merged.setIntParameter(1, 0);
+    merged.appendAll(spl.copy());
+    assertEquals(
+        "<[('0'::int4) ,('-2'::int2) ,('-3'::int4) ,('-9223372036854775808'::int8) ,('1.5'::real) ,"
+            + "('-2.5'::double precision)]>", merged.toString(),
+        "Expected string representation of values does not match outcome.");
+
+    byte[] expected = new byte[8];
+    ByteConverter.float8(expected, 0, -2.5);
+    assertArrayEquals(expected, (byte[]) spl.getValue(5));
+    assertArrayEquals(expected, (byte[]) spl.getValues()[4]);
+  }
 }
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.postgresql.hostchooser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.postgresql.util.HostSpec;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+class LoadBalanceStrategyTest {
+  private static final long RECHECK_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+  // Each test uses its own host names, as the tracker is JVM-wide
+  private static HostSpec host(String test, String name) {
+    return new HostSpec(test + "-" + name + ".invalid", 5432);
+  }
+
+  private static void reportLatency(HostSpec host, long millis) {
+    GlobalHostStatusTracker.reportConnectLatency(host, TimeUnit.MILLISECONDS.toNanos(millis));
+  }
+
+  @Test
+  void connectCost() {
+    HostSpec unknown = host("cost", "unknown");
+    HostSpec fast = host("cost", "fast");
+    HostSpec failing = host("cost", "failing");
+    HostSpec down = host("cost", "down");
+    reportLatency(fast, 10);
+    reportLatency(failing, 10);
+    GlobalHostStatusTracker.reportHostStatus(failing, HostStatus.ConnectFail);
+    GlobalHostStatusTracker.reportHostStatus(down, HostStatus.ConnectFail);
+
+    assertEquals(0, GlobalHostStatusTracker.getConnectCost(unknown, RECHECK_MILLIS));
+    assertEquals(10, GlobalHostStatusTracker.getConnectCost(fast, RECHECK_MILLIS), 0.001);
+    assertTrue(GlobalHostStatusTracker.getConnectCost(failing, RECHECK_MILLIS) > 10,
+        "failures increase the cost");
+    assertEquals(Double.POSITIVE_INFINITY,
+        GlobalHostStatusTracker.getConnectCost(down, RECHECK_MILLIS));
+  }
+
+  @Test
+  void leastLatency() {
+    HostSpec slow = host("least", "slow");
+    HostSpec fast = host("least", "fast");
+    HostSpec unknown = host("least", "unknown");
+    HostSpec down = host("least", "down");
+    reportLatency(slow, 100);
+    reportLatency(fast, 5);
+    GlobalHostStatusTracker.reportHostStatus(down, HostStatus.ConnectFail);
+
+    for (int i = 0; i < 10; i++) {
+      List<HostSpec> hosts = new ArrayList<>(Arrays.asList(down, slow, fast, unknown));
+      LoadBalanceStrategy.LEAST_LATENCY.order(hosts, RECHECK_MILLIS);
+      assertEquals(Arrays.asList(unknown, fast, slow, down), hosts,
+          "hosts without measurements come first, then the cheapest ones");
+    }
+  }
+
+  @Test
+  void powerOfTwoChoices() {
+    HostSpec slow = host("p2c", "slow");
+    HostSpec fast = host("p2c", "fast");
+    reportLatency(slow, 100);
+    reportLatency(fast, 5);
+
+    for (int i = 0; i < 10; i++) {
+      List<HostSpec> hosts = new ArrayList<>(Arrays.asList(slow, fast));
+      LoadBalanceStrategy.POWER_OF_TWO_CHOICES.order(hosts, RECHECK_MILLIS);
+      assertEquals(Arrays.asList(fast, slow), hosts, "the cheaper of the two hosts comes first");
+    }
+  }
+
+  @Test
+  void weighted() {
+    HostSpec slow = host("weighted", "slow");
+    HostSpec fast = host("weighted", "fast");
+    HostSpec down = host("weighted", "down");
+    reportLatency(slow, 100);
+    reportLatency(fast, 1);
+    GlobalHostStatusTracker.reportHostStatus(down, HostStatus.ConnectFail);
+
+    int fastFirst = 0;
+    for (int i = 0; i < 1000; i++) {
+      List<HostSpec> hosts = new ArrayList<>(Arrays.asList(down, slow, fast));
+      LoadBalanceStrategy.WEIGHTED.order(hosts, RECHECK_MILLIS);
+      assertEquals(down, hosts.get(2), "hosts that can't be connected to come last");
+      if (hosts.get(0).equals(fast)) {
+        fastFirst++;
+      }
+    }
+    // The fast host should come first about 99% of the time
+    assertTrue(fastFirst > 900, "fast host came first only " + fastFirst + " times");
+  }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.postgresql.hostchooser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.postgresql.PGProperty;
+import org.postgresql.util.HostSpec;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+class ReplicationLagHostChooserTest {
+  // Each test uses its own host names, as the tracker is JVM-wide
+  private static HostSpec host(String test, String name) {
+    return new HostSpec(test + "-" + name + ".invalid", 5432);
+  }
+
+  private static List<HostSpec> candidates(HostSpec[] hosts, HostRequirement targetServerType) {
+    Properties info = new Properties();
+    PGProperty.MAX_REPLICATION_LAG.set(info, 100);
+    List<HostSpec> candidates = new ArrayList<>();
+    for (CandidateHost candidateHost : new MultiHostChooser(hosts, targetServerType, info)) {
+      candidates.add(candidateHost.hostSpec);
+    }
+    return candidates;
+  }
+
+  @Test
+  void secondarySkipsLaggingStandbys() {
+    HostSpec primary = host("secondary", "primary");
+    HostSpec lagging = host("secondary", "lagging");
+    HostSpec behind = host("secondary", "behind");
+    HostSpec upToDate = host("secondary", "uptodate");
+    HostSpec unknown = host("secondary", "unknown");
+    GlobalHostStatusTracker.reportHostStatus(primary, HostStatus.Primary);
+    GlobalHostStatusTracker.reportReplicationLag(primary, 0);
+    GlobalHostStatusTracker.reportReplicationLag(lagging, 5000);
+    GlobalHostStatusTracker.reportReplicationLag(behind, 50);
+    GlobalHostStatusTracker.reportReplicationLag(upToDate, 0);
+
+    assertEquals(Arrays.asList(upToDate, behind, unknown),
+        candidates(new HostSpec[]{primary, lagging, unknown, behind, upToDate},
+            HostRequirement.secondary),
+        "least lagged standbys first, unmeasured ones last, lagging ones skipped");
+  }
+
+  @Test
+  void preferSecondaryFallsBackToPrimaryBeforeLaggingStandby() {
+    HostSpec lagging = host("prefer", "lagging");
+    HostSpec primary = host("prefer", "primary");
+    GlobalHostStatusTracker.reportHostStatus(lagging, HostStatus.Secondary);
+    GlobalHostStatusTracker.reportReplicationLag(lagging, 5000);
+    GlobalHostStatusTracker.reportHostStatus(primary, HostStatus.Primary);
+    GlobalHostStatusTracker.reportReplicationLag(primary, 0);
+
+    assertEquals(Arrays.asList(primary, lagging),
+        candidates(new HostSpec[]{lagging, primary}, HostRequirement.preferSecondary));
+  }
+}
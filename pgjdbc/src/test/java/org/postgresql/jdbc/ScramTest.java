@@ -198,6 +198,39 @@ void acceptsValidCredentialsBelowCustomCap() throws SQLException {
     }
   }
 
+  @Test
+  void keyCacheReusesDerivedKeys() throws SQLException {
+    String password = "t0pSecret";
+    createRole(password);
+    Properties props = new Properties();
+    PGProperty.USER.set(props, ROLE_NAME);
+    PGProperty.PASSWORD.set(props, password);
+    PGProperty.SCRAM_KEY_CACHE.set(props, true);
+    // The first connection derives and caches the keys, the second one uses the cached keys
+    for (int i = 0; i < 2; i++) {
+      try (Connection conn = TestUtil.openDB(props)) {
+        assertEquals(ROLE_NAME, TestUtil.queryForString(conn, "SELECT USER"));
+      }
+    }
+
+    // The keys of the right password must not authenticate a wrong one
+    PGProperty.PASSWORD.set(props, "wrong" + password);
+    SQLException ex = assertThrows(SQLException.class, () -> TestUtil.openDB(props));
+    assertEquals(PSQLState.INVALID_PASSWORD.getState(), ex.getSQLState());
+  }
+
+  @Test
+  void keyCacheRejectsIterationCountAboveCap() throws SQLException {
+    createRoleWithCustomScramIters(789_123_456);
+    Properties props = new Properties();
+    PGProperty.USER.set(props, ROLE_NAME);
+    PGProperty.PASSWORD.set(props, "does-not-matter");
+    PGProperty.SCRAM_KEY_CACHE.set(props, true);
+    PSQLException ex = assertThrows(PSQLException.class, () -> TestUtil.openDB(props));
+    assertTrue(ex.getMessage().contains("scramMaxIterations"),
+        "the iteration count is checked before the keys are derived, got: " + ex.getMessage());
+  }
+
   private static void createRole(String passwd) throws SQLException {
     try (Statement stmt = con.createStatement()) {
       stmt.execute("SET password_encryption='scram-sha-256'");
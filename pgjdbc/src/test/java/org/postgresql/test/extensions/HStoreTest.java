@@ -11,9 +11,12 @@
 import static org.junit.jupiter.api.Assumptions.assumeFalse;
 import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
+import org.postgresql.PGConnection;
+import org.postgresql.PGStatement;
 import org.postgresql.core.ServerVersion;
 import org.postgresql.jdbc.PreferQueryMode;
 import org.postgresql.test.jdbc2.BaseTest4;
+import org.postgresql.util.HStoreConverter;
 
 import org.junit.jupiter.api.Test;
 
@@ -113,4 +116,19 @@ public void testHStoreSendEscaped() throws SQLException {
     assertEquals("\"a\"=>\"t'e\ns\\\"t\"", rs.getString(1));
   }
 
+  @Test
+  public void testHStoreBinaryCodec() throws SQLException {
+    con.unwrap(PGConnection.class).addBinaryCodec("hstore", HStoreConverter.BINARY_CODEC);
+    Map<String, String> correct = new HashMap<>();
+    correct.put("a", "1");
+    correct.put("b", null);
+    PreparedStatement pstmt = con.prepareStatement("SELECT ?::hstore");
+    pstmt.unwrap(PGStatement.class).setPrepareThreshold(-1);
+    pstmt.setObject(1, correct);
+    ResultSet rs = pstmt.executeQuery();
+    assertTrue(rs.next());
+    assertEquals(correct, rs.getObject(1));
+    assertEquals(correct, rs.getObject(1, Map.class));
+  }
+
 }
@@ -39,7 +39,10 @@
 import java.sql.Timestamp;
 import java.sql.Types;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 
 @ParameterizedClass
 @MethodSource("data")
@@ -350,6 +353,105 @@ public void testSetPrimitiveArraysObjects() throws SQLException {
     rs.close();
   }
 
+  @Test
+  public void testSetLargePrimitiveArray() throws SQLException {
+    // Large enough to be encoded while the Bind message is sent
+    long[] values = new long[100_000];
+    long sum = 0;
+    for (int i = 0; i < values.length; i++) {
+      values[i] = i * 31L - 7;
+      sum += values[i];
+    }
+    try (PreparedStatement pstmt = conn.prepareStatement(
+        "SELECT array_length(a, 1), (SELECT sum(x) FROM unnest(a) x), a[2] FROM (SELECT ?::int8[] AS a) t")) {
+      pstmt.setObject(1, values);
+      for (int i = 0; i < 2; i++) {
+        try (ResultSet rs = pstmt.executeQuery()) {
+          assertTrue(rs.next());
+          assertEquals(values.length, rs.getInt(1));
+          assertEquals(sum, rs.getLong(2));
+          assertEquals(values[1], rs.getLong(3));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testSetList() throws SQLException {
+    List<Long> small = Arrays.asList(1L, null, 3L);
+    List<Long> large = new ArrayList<>();
+    for (long i = 0; i < 20_000; i++) {
+      large.add(i % 10 == 0 ? null : i);
+    }
+    try (PreparedStatement pstmt = conn.prepareStatement(
+        "SELECT array_length(a, 1), (SELECT count(x) FROM unnest(a) x), a[3] FROM (SELECT ?::int8[] AS a) t")) {
+      pstmt.setObject(1, small);
+      try (ResultSet rs = pstmt.executeQuery()) {
+        assertTrue(rs.next());
+        assertEquals(3, rs.getInt(1));
+        assertEquals(2, rs.getInt(2));
+        assertEquals(3L, rs.getLong(3));
+      }
+
+      pstmt.setObject(1, large, Types.ARRAY);
+      try (ResultSet rs = pstmt.executeQuery()) {
+        assertTrue(rs.next());
+        assertEquals(20_000, rs.getInt(1));
+        assertEquals(18_000, rs.getInt(2));
+        assertEquals(2L, rs.getLong(3));
+      }
+    }
+  }
+
+  @Test
+  public void testLargeArraysReusedInBatch() throws SQLException {
+    TestUtil.createTempTable(conn, "arraybatch", "id int, arraysum int8, listsum int8");
+    // Large enough to be encoded while the Bind message is sent
+    long[] values = new long[20_000];
+    List<Long> list = new ArrayList<>(Collections.nCopies(20_000, 0L));
+    try (PreparedStatement pstmt = conn.prepareStatement("INSERT INTO arraybatch SELECT ?,"
+        + " (SELECT sum(x) FROM unnest(?::int8[]) x), (SELECT sum(x) FROM unnest(?::int8[]) x)")) {
+      for (int id = 1; id <= 3; id++) {
+        // The same array and list are refilled for each row
+        Arrays.fill(values, id);
+        Collections.fill(list, (long) id);
+        pstmt.setInt(1, id);
+        pstmt.setObject(2, values);
+        pstmt.setObject(3, list);
+        pstmt.addBatch();
+      }
+      pstmt.executeBatch();
+    }
+    try (Statement stmt = conn.createStatement();
+         ResultSet rs = stmt.executeQuery(
+             "SELECT id, arraysum, listsum FROM arraybatch ORDER BY id")) {
+      for (int id = 1; id <= 3; id++) {
+        assertTrue(rs.next());
+        assertEquals(id, rs.getInt(1));
+        assertEquals(20_000L * id, rs.getLong(2), "each row gets the array it was added with");
+        assertEquals(20_000L * id, rs.getLong(3), "each row gets the list it was added with");
+      }
+      assertFalse(rs.next());
+    }
+  }
+
+  @Test
+  public void testSetEmptyList() throws SQLException {
+    try (PreparedStatement pstmt = conn.prepareStatement(
+        "SELECT count(*) FROM generate_series(1, 3) g WHERE g = ANY(?)")) {
+      pstmt.setObject(1, Collections.emptyList());
+      try (ResultSet rs = pstmt.executeQuery()) {
+        assertTrue(rs.next());
+        assertEquals(0, rs.getInt(1));
+      }
+      pstmt.setObject(1, Arrays.asList(2, 3));
+      try (ResultSet rs = pstmt.executeQuery()) {
+        assertTrue(rs.next());
+        assertEquals(2, rs.getInt(1));
+      }
+    }
+  }
+
   @Test
   public void testSetArraysWithAnsiTypeNames() throws SQLException {
     try {
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.postgresql.test.jdbc2;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.postgresql.PGProperty;
+import org.postgresql.test.TestUtil;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedClass;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Properties;
+
+@ParameterizedClass
+@MethodSource("data")
+public class BatchStreamingTest extends BaseTest4 {
+  private final boolean reWriteBatchedInserts;
+
+  public BatchStreamingTest(boolean reWriteBatchedInserts) {
+    this.reWriteBatchedInserts = reWriteBatchedInserts;
+  }
+
+  public static Iterable<Object[]> data() {
+    Collection<Object[]> ids = new ArrayList<>();
+    ids.add(new Object[]{false});
+    ids.add(new Object[]{true});
+    return ids;
+  }
+
+  @BeforeAll
+  static void createTables() throws Exception {
+    try (Connection con = TestUtil.openDB()) {
+      TestUtil.createTable(con, "teststreamingbatch", "pk INTEGER PRIMARY KEY, col1 VARCHAR");
+    }
+  }
+
+  @AfterAll
+  static void dropTables() throws Exception {
+    try (Connection con = TestUtil.openDB()) {
+      TestUtil.dropTable(con, "teststreamingbatch");
+    }
+  }
+
+  @Override
+  public void setUp() throws Exception {
+    super.setUp();
+    TestUtil.execute(con, "TRUNCATE teststreamingbatch");
+  }
+
+  @Override
+  protected void updateProperties(Properties props) {
+    super.updateProperties(props);
+    PGProperty.STREAMING_BATCH_SIZE.set(props, 3);
+    PGProperty.REWRITE_BATCHED_INSERTS.set(props, reWriteBatchedInserts);
+  }
+
+  @Test
+  public void testRowsAreSentDuringAddBatch() throws SQLException {
+    try (PreparedStatement ps =
+             con.prepareStatement("INSERT INTO teststreamingbatch VALUES (?, ?)")) {
+      for (int i = 0; i < 7; i++) {
+        ps.setInt(1, i);
+        ps.setString(2, "row" + i);
+        ps.addBatch();
+      }
+      TestUtil.assertNumberOfRows(con, "teststreamingbatch", 6, "two parts of 3 rows are sent");
+      BatchExecuteTest.assertSimpleInsertBatch(7, ps.executeBatch());
+      TestUtil.assertNumberOfRows(con, "teststreamingbatch", 7, "executeBatch sends the rest");
+
+      // The statement is reusable, the update counts only cover the new batch
+      for (int i = 7; i < 10; i++) {
+        ps.setInt(1, i);
+        ps.setString(2, "row" + i);
+        ps.addBatch();
+      }
+      BatchExecuteTest.assertSimpleInsertBatch(3, ps.executeBatch());
+    }
+    TestUtil.assertNumberOfRows(con, "teststreamingbatch", 10, "all rows inserted");
+  }
+
+  @Test
+  public void testStatementAddBatch() throws SQLException {
+    try (Statement st = con.createStatement()) {
+      for (int i = 0; i < 5; i++) {
+        st.addBatch("INSERT INTO teststreamingbatch VALUES (" + i + ", 'row')");
+      }
+      assertArrayEquals(new int[]{1, 1, 1, 1, 1}, st.executeBatch());
+    }
+    TestUtil.assertNumberOfRows(con, "teststreamingbatch", 5, "all rows inserted");
+  }
+
+  @Test
+  public void testFailureIsReportedByExecuteBatch() throws SQLException {
+    try (PreparedStatement ps =
+             con.prepareStatement("INSERT INTO teststreamingbatch VALUES (?, ?)")) {
+      int[] pks = {0, 1, 2, 3, 3, 5, 6, 7, 8};
+      for (int pk : pks) {
+        ps.setInt(1, pk);
+        ps.setString(2, "row" + pk);
+        ps.addBatch();
+      }
+      BatchUpdateException e = assertThrows(BatchUpdateException.class, ps::executeBatch);
+      int[] updateCounts = e.getUpdateCounts();
+      assertEquals(pks.length, updateCounts.length, "update counts cover the whole batch");
+      for (int i = 3; i < pks.length; i++) {
+        assertEquals(Statement.EXECUTE_FAILED, updateCounts[i],
+            "entries from the failed part onwards are not executed: " + Arrays.toString(updateCounts));
+      }
+
+      // The failure does not leak into the next batch
+      ps.setInt(1, 100);
+      ps.setString(2, "row");
+      ps.addBatch();
+      BatchExecuteTest.assertSimpleInsertBatch(1, ps.executeBatch());
+    }
+  }
+
+  @Test
+  public void testClearBatch() throws SQLException {
+    try (PreparedStatement ps =
+             con.prepareStatement("INSERT INTO teststreamingbatch VALUES (?, ?)")) {
+      for (int i = 0; i < 4; i++) {
+        ps.setInt(1, i);
+        ps.setString(2, "row" + i);
+        ps.addBatch();
+      }
+      ps.clearBatch();
+      assertArrayEquals(new int[0], ps.executeBatch());
+    }
+    TestUtil.assertNumberOfRows(con, "teststreamingbatch", 3,
+        "clearBatch does not undo the rows that were already sent");
+  }
+}
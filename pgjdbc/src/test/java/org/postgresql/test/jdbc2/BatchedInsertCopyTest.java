@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.postgresql.test.jdbc2;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.postgresql.PGProperty;
+import org.postgresql.test.TestUtil;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.Properties;
+
+public class BatchedInsertCopyTest extends BaseTest4 {
+
+  @BeforeAll
+  static void createTables() throws Exception {
+    try (Connection con = TestUtil.openDB()) {
+      TestUtil.createTable(con, "testcopybatch",
+          "pk INTEGER PRIMARY KEY, col1 VARCHAR, col2 BYTEA, col3 BOOLEAN");
+    }
+  }
+
+  @AfterAll
+  static void dropTables() throws Exception {
+    try (Connection con = TestUtil.openDB()) {
+      TestUtil.dropTable(con, "testcopybatch");
+    }
+  }
+
+  @Override
+  public void setUp() throws Exception {
+    super.setUp();
+    TestUtil.execute(con, "TRUNCATE testcopybatch");
+  }
+
+  @Override
+  protected void updateProperties(Properties props) {
+    super.updateProperties(props);
+    PGProperty.REWRITE_BATCHED_INSERTS.set(props, true);
+    PGProperty.REWRITE_BATCHED_INSERTS_MODE.set(props, "copy");
+  }
+
+  @Test
+  public void testCopyInsert() throws SQLException {
+    try (PreparedStatement ps = con.prepareStatement(
+        "INSERT INTO testcopybatch (pk, col1, col2, col3) VALUES (?, ?, ?, ?)")) {
+      for (int i = 0; i < 100; i++) {
+        ps.setInt(1, i);
+        if (i % 7 == 0) {
+          ps.setNull(2, Types.VARCHAR);
+        } else {
+          ps.setString(2, "value\t" + i + "\né");
+        }
+        ps.setBytes(3, ("bytes" + i).getBytes(StandardCharsets.UTF_8));
+        ps.setBoolean(4, i % 2 == 0);
+        ps.addBatch();
+      }
+      int[] expected = new int[100];
+      Arrays.fill(expected, 1);
+      assertArrayEquals(expected, ps.executeBatch(), "COPY reports one row per batch entry");
+    }
+
+    try (Statement st = con.createStatement();
+         ResultSet rs = st.executeQuery("SELECT pk, col1, col2, col3 FROM testcopybatch ORDER BY pk")) {
+      for (int i = 0; i < 100; i++) {
+        assertTrue(rs.next());
+        assertEquals(i, rs.getInt(1));
+        if (i % 7 == 0) {
+          assertNull(rs.getString(2));
+        } else {
+          assertEquals("value\t" + i + "\né", rs.getString(2));
+        }
+        assertArrayEquals(("bytes" + i).getBytes(StandardCharsets.UTF_8), rs.getBytes(3));
+        assertEquals(i % 2 == 0, rs.getBoolean(4));
+      }
+      assertFalse(rs.next());
+    }
+  }
+
+  @Test
+  public void testUnsupportedFallsBack() throws SQLException {
+    String[] queries = {
+        "INSERT INTO testcopybatch (pk, col1) VALUES (?, ?) ON CONFLICT DO NOTHING",
+        "INSERT INTO testcopybatch (pk, col1) VALUES (?, upper(?))",
+        "INSERT INTO testcopybatch VALUES (?, ?)",
+        "INSERT INTO testcopybatch AS t (pk, col1) VALUES (?, ?)",
+    };
+    for (int i = 0; i < queries.length; i++) {
+      try (PreparedStatement ps = con.prepareStatement(queries[i])) {
+        ps.setInt(1, i * 10);
+        ps.setString(2, "a");
+        ps.addBatch();
+        ps.setInt(1, i * 10 + 1);
+        ps.setString(2, "b");
+        ps.addBatch();
+        BatchExecuteTest.assertSimpleInsertBatch(2, ps.executeBatch());
+      }
+    }
+    // the bigint value does not match the integer column, so COPY is not used
+    try (PreparedStatement ps = con.prepareStatement(
+        "INSERT INTO testcopybatch (pk, col1) VALUES (?, ?)")) {
+      ps.setLong(1, 100);
+      ps.setString(2, "c");
+      ps.addBatch();
+      BatchExecuteTest.assertSimpleInsertBatch(1, ps.executeBatch());
+    }
+    TestUtil.assertNumberOfRows(con, "testcopybatch", 9, "2 rows per query and 1 bigint row");
+  }
+
+  @Test
+  public void testCopyFailure() throws SQLException {
+    try (PreparedStatement ps = con.prepareStatement(
+        "INSERT INTO testcopybatch (pk, col1) VALUES (?, ?)")) {
+      ps.setInt(1, 1);
+      ps.setString(2, "a");
+      ps.addBatch();
+      ps.setInt(1, 1);
+      ps.setString(2, "duplicate");
+      ps.addBatch();
+      BatchUpdateException e = assertThrows(BatchUpdateException.class, ps::executeBatch);
+      assertArrayEquals(new int[]{Statement.EXECUTE_FAILED, Statement.EXECUTE_FAILED},
+          e.getUpdateCounts());
+
+      // the batch is cleared and the statement can be reused
+      ps.setInt(1, 2);
+      ps.setString(2, "b");
+      ps.addBatch();
+      assertArrayEquals(new int[]{1}, ps.executeBatch());
+    }
+    TestUtil.assertNumberOfRows(con, "testcopybatch", 1, "the failed COPY inserts no rows");
+  }
+
+  private void insertIntPair(PreparedStatement ps, int pk) throws SQLException {
+    ps.setInt(1, pk);
+    ps.setString(2, "v" + pk);
+    ps.addBatch();
+    ps.setInt(1, pk + 1);
+    ps.setString(2, "v" + (pk + 1));
+    ps.addBatch();
+  }
+
+  @Test
+  public void testColumnTypeChange() throws SQLException {
+    TestUtil.createTempTable(con, "testcopytypes", "pk INTEGER, col1 VARCHAR");
+    try (PreparedStatement ps = con.prepareStatement(
+        "INSERT INTO testcopytypes (pk, col1) VALUES (?, ?)")) {
+      insertIntPair(ps, 1);
+      assertArrayEquals(new int[]{1, 1}, ps.executeBatch());
+
+      // The column types are described for every batch, so the int4 values no longer qualify for
+      // the int8 column and the batch is executed as usual
+      TestUtil.execute(con, "ALTER TABLE testcopytypes ALTER COLUMN pk TYPE BIGINT");
+      insertIntPair(ps, 3);
+      BatchExecuteTest.assertSimpleInsertBatch(2, ps.executeBatch());
+    }
+    TestUtil.assertNumberOfRows(con, "testcopytypes", 4, "every batch inserts its rows");
+  }
+
+  @Test
+  public void testColumnTypeChangedByOtherSession() throws Exception {
+    try (Connection other = TestUtil.openDB()) {
+      TestUtil.createTable(other, "testcopytypes2", "pk BIGINT");
+      try {
+        try (PreparedStatement ps = con.prepareStatement(
+            "INSERT INTO testcopytypes2 (pk) VALUES (?)")) {
+          ps.setLong(1, 1);
+          ps.addBatch();
+          ps.setLong(1, 2);
+          ps.addBatch();
+          assertArrayEquals(new int[]{1, 1}, ps.executeBatch());
+
+          // float8 has the width of int8, so a binary COPY of the int8 values would succeed and
+          // store their bits reinterpreted as doubles
+          TestUtil.execute(other, "ALTER TABLE testcopytypes2 ALTER COLUMN pk TYPE FLOAT8");
+          ps.setLong(1, 3);
+          ps.addBatch();
+          ps.setLong(1, 4);
+          ps.addBatch();
+          BatchExecuteTest.assertSimpleInsertBatch(2, ps.executeBatch());
+        }
+        try (Statement st = con.createStatement();
+             ResultSet rs = st.executeQuery("SELECT pk FROM testcopytypes2 ORDER BY pk")) {
+          for (int i = 1; i <= 4; i++) {
+            assertTrue(rs.next());
+            assertEquals(i, rs.getDouble(1), 0.0);
+          }
+          assertFalse(rs.next());
+        }
+      } finally {
+        TestUtil.dropTable(other, "testcopytypes2");
+      }
+    }
+  }
+
+}
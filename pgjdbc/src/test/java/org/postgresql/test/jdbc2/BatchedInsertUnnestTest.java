@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.postgresql.test.jdbc2;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.postgresql.PGProperty;
+import org.postgresql.test.TestUtil;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedClass;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Properties;
+
+@ParameterizedClass
+@MethodSource("data")
+public class BatchedInsertUnnestTest extends BaseTest4 {
+
+  public BatchedInsertUnnestTest(BinaryMode binaryMode) {
+    setBinaryMode(binaryMode);
+  }
+
+  public static Iterable<Object[]> data() {
+    Collection<Object[]> ids = new ArrayList<>();
+    for (BinaryMode binaryMode : BinaryMode.values()) {
+      ids.add(new Object[]{binaryMode});
+    }
+    return ids;
+  }
+
+  @BeforeAll
+  static void createTables() throws Exception {
+    try (Connection con = TestUtil.openDB()) {
+      TestUtil.createTable(con, "testunnest", "pk INTEGER, col1 VARCHAR, col2 BYTEA");
+    }
+  }
+
+  @AfterAll
+  static void dropTables() throws Exception {
+    try (Connection con = TestUtil.openDB()) {
+      TestUtil.dropTable(con, "testunnest");
+    }
+  }
+
+  @Override
+  public void setUp() throws Exception {
+    super.setUp();
+    TestUtil.execute(con, "TRUNCATE testunnest");
+  }
+
+  @Override
+  protected void updateProperties(Properties props) {
+    super.updateProperties(props);
+    PGProperty.REWRITE_BATCHED_INSERTS.set(props, true);
+    PGProperty.REWRITE_BATCHED_INSERTS_MODE.set(props, "unnest");
+    PGProperty.REWRITE_BATCHED_INSERTS_SIZE.set(props, 4);
+    if (binaryMode != BinaryMode.FORCE) {
+      // Server-prepare the batch statement, so the test can see which statement was sent
+      PGProperty.PREPARE_THRESHOLD.set(props, 1);
+    }
+  }
+
+  private void assertUnnestUsed(boolean expected) throws SQLException {
+    // The pattern is split so that this query does not match itself
+    String used = TestUtil.queryForString(con, "SELECT (count(*) > 0)::text"
+        + " FROM pg_prepared_statements WHERE statement LIKE '%FROM unnest' || '(%'");
+    assertEquals(String.valueOf(expected), used,
+        expected ? "the batch should use the unnest rewrite" : "the batch should use VALUES");
+  }
+
+  @Test
+  public void testInsertValues() throws SQLException {
+    try (PreparedStatement ps =
+             con.prepareStatement("INSERT INTO testunnest(pk, col1, col2) VALUES (?, ?, ?)")) {
+      for (int i = 0; i < 10; i++) {
+        ps.setInt(1, i);
+        if (i % 3 == 0) {
+          ps.setNull(2, Types.VARCHAR);
+        } else {
+          ps.setString(2, "a \"quoted\", {braced} \\ value " + i);
+        }
+        ps.setBytes(3, ("bytes" + i).getBytes(StandardCharsets.UTF_8));
+        ps.addBatch();
+      }
+      BatchExecuteTest.assertSimpleInsertBatch(10, ps.executeBatch());
+      assertUnnestUsed(true);
+    }
+
+    try (Statement st = con.createStatement();
+         ResultSet rs = st.executeQuery("SELECT pk, col1, col2 FROM testunnest ORDER BY pk")) {
+      for (int i = 0; i < 10; i++) {
+        assertTrue(rs.next());
+        assertEquals(i, rs.getInt(1));
+        if (i % 3 == 0) {
+          assertNull(rs.getString(2));
+        } else {
+          assertEquals("a \"quoted\", {braced} \\ value " + i, rs.getString(2));
+        }
+        assertArrayEquals(("bytes" + i).getBytes(StandardCharsets.UTF_8), rs.getBytes(3));
+      }
+      assertFalse(rs.next());
+    }
+  }
+
+  @Test
+  public void testExpressionsAndReuse() throws SQLException {
+    try (PreparedStatement ps = con.prepareStatement(
+        "INSERT INTO testunnest(pk, col1) VALUES (? + 100, upper(?))")) {
+      for (int i = 0; i < 3; i++) {
+        ps.setInt(1, i);
+        ps.setString(2, "row" + i);
+        ps.addBatch();
+      }
+      BatchExecuteTest.assertSimpleInsertBatch(3, ps.executeBatch());
+
+      for (int i = 3; i < 8; i++) {
+        ps.setInt(1, i);
+        ps.setString(2, "row" + i);
+        ps.addBatch();
+      }
+      BatchExecuteTest.assertSimpleInsertBatch(5, ps.executeBatch());
+      // Batches of any size share the statement
+      assertUnnestUsed(true);
+    }
+    TestUtil.assertNumberOfRows(con, "testunnest", 8, "3+5 rows inserted");
+    try (Statement st = con.createStatement();
+         ResultSet rs = st.executeQuery("SELECT min(pk), max(pk), max(col1) FROM testunnest")) {
+      assertTrue(rs.next());
+      assertEquals(100, rs.getInt(1));
+      assertEquals(107, rs.getInt(2));
+      assertEquals("ROW7", rs.getString(3));
+    }
+  }
+
+  @Test
+  public void testMixedTypesFallBackToValues() throws SQLException {
+    try (PreparedStatement ps =
+             con.prepareStatement("INSERT INTO testunnest(pk, col1) VALUES (?, ?)")) {
+      ps.setInt(1, 1);
+      ps.setString(2, "a");
+      ps.addBatch();
+      ps.setLong(1, 2);
+      ps.setString(2, "b");
+      ps.addBatch();
+      ps.setObject(1, 3, Types.OTHER);
+      ps.setString(2, "c");
+      ps.addBatch();
+      BatchExecuteTest.assertSimpleInsertBatch(3, ps.executeBatch());
+      assertUnnestUsed(false);
+    }
+    TestUtil.assertNumberOfRows(con, "testunnest", 3, "3 rows inserted");
+  }
+
+  @Test
+  public void testDefaultFallsBackToValues() throws SQLException {
+    try (PreparedStatement ps =
+             con.prepareStatement("INSERT INTO testunnest(pk, col1) VALUES (?, DEFAULT)")) {
+      ps.setInt(1, 1);
+      ps.addBatch();
+      ps.setInt(1, 2);
+      ps.addBatch();
+      BatchExecuteTest.assertSimpleInsertBatch(2, ps.executeBatch());
+      assertUnnestUsed(false);
+    }
+    TestUtil.assertNumberOfRows(con, "testunnest", 2, "2 rows inserted");
+  }
+
+  @Test
+  public void testMultiValuesFallsBackToValues() throws SQLException {
+    try (PreparedStatement ps = con.prepareStatement(
+        "INSERT INTO testunnest(pk, col1) VALUES (?, ?), (? + 100, ?)")) {
+      for (int i = 0; i < 3; i++) {
+        ps.setInt(1, i);
+        ps.setString(2, "a" + i);
+        ps.setInt(3, i);
+        ps.setString(4, "b" + i);
+        ps.addBatch();
+      }
+      int[] updateCounts = ps.executeBatch();
+      assertEquals(3, updateCounts.length);
+      assertUnnestUsed(false);
+    }
+    TestUtil.assertNumberOfRows(con, "testunnest", 6, "2 rows inserted per batch entry");
+    try (Statement st = con.createStatement();
+         ResultSet rs = st.executeQuery("SELECT max(pk), max(col1) FROM testunnest")) {
+      assertTrue(rs.next());
+      assertEquals(102, rs.getInt(1));
+      assertEquals("b2", rs.getString(2));
+    }
+  }
+}
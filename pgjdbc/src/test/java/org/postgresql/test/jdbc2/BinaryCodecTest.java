@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.postgresql.test.jdbc2;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGProperty;
+import org.postgresql.core.BaseConnection;
+import org.postgresql.core.Encoding;
+import org.postgresql.core.Oid;
+import org.postgresql.core.QueryExecutor;
+import org.postgresql.geometric.PGbox;
+import org.postgresql.geometric.PGcircle;
+import org.postgresql.geometric.PGline;
+import org.postgresql.geometric.PGlseg;
+import org.postgresql.geometric.PGpath;
+import org.postgresql.geometric.PGpoint;
+import org.postgresql.geometric.PGpolygon;
+import org.postgresql.test.TestUtil;
+import org.postgresql.util.PGBinaryCodec;
+import org.postgresql.util.PGobject;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Properties;
+
+/**
+ * Tests for {@link PGConnection#addBinaryCodec(String, PGBinaryCodec)} and the binary codecs of the
+ * geometric types.
+ */
+class BinaryCodecTest extends BaseTest4 {
+
+  @Override
+  protected void updateProperties(Properties props) {
+    super.updateProperties(props);
+    forceBinary(props);
+    // Only point and box use binary transfer by default
+    PGProperty.BINARY_TRANSFER_ENABLE.set(props, "BOOL,CIRCLE,LINE,LSEG,PATH,POLYGON");
+  }
+
+  @Override
+  protected void setUp() throws Exception {
+    super.setUp();
+    assumeNotSimpleQueryMode();
+  }
+
+  private <T extends PGobject> void checkRoundTrip(String type, T value, Class<T> klass)
+      throws SQLException {
+    assertBinaryForSend(con.unwrap(BaseConnection.class).getTypeInfo().getPGType(type), true,
+        () -> "binary transfer should be enabled for " + type);
+    try (PreparedStatement ps = con.prepareStatement("SELECT ?::" + type)) {
+      ps.setObject(1, value);
+      try (ResultSet rs = ps.executeQuery()) {
+        assertTrue(rs.next());
+        assertEquals(value, rs.getObject(1), () -> type + " via getObject(int)");
+        assertEquals(value, rs.getObject(1, klass), () -> type + " via getObject(int, Class)");
+        assertEquals(type, rs.getObject(1, klass).getType());
+      }
+    }
+  }
+
+  @Test
+  void geometricTypes() throws SQLException {
+    checkRoundTrip("point", new PGpoint(1.5, -2), PGpoint.class);
+    checkRoundTrip("box", new PGbox(1, 2, 3, 4), PGbox.class);
+    checkRoundTrip("circle", new PGcircle(1, 2, 3.25), PGcircle.class);
+    checkRoundTrip("line", new PGline(1, 2, 3), PGline.class);
+    checkRoundTrip("lseg", new PGlseg(1, 2, 3, 4), PGlseg.class);
+    PGpoint[] points = {new PGpoint(0, 0), new PGpoint(1, 0), new PGpoint(1, 1)};
+    checkRoundTrip("path", new PGpath(points, true), PGpath.class);
+    checkRoundTrip("path", new PGpath(points, false), PGpath.class);
+    checkRoundTrip("polygon", new PGpolygon(points), PGpolygon.class);
+  }
+
+  @Test
+  void geometricTypesAreBinaryOnlyWhenEnabled() throws SQLException {
+    try (Connection other = TestUtil.openDB()) {
+      QueryExecutor queryExecutor = other.unwrap(BaseConnection.class).getQueryExecutor();
+      for (int oid : new int[]{Oid.CIRCLE, Oid.LINE, Oid.LSEG, Oid.PATH, Oid.POLYGON}) {
+        assertFalse(queryExecutor.useBinaryForReceive(oid),
+            () -> "binary transfer should be opt-in for " + Oid.toString(oid));
+      }
+    }
+  }
+
+  @Test
+  void nullGeometricValue() throws SQLException {
+    try (PreparedStatement ps = con.prepareStatement("SELECT ?::point")) {
+      ps.setObject(1, new PGpoint());
+      try (ResultSet rs = ps.executeQuery()) {
+        assertTrue(rs.next());
+        assertNull(rs.getObject(1));
+        assertNull(rs.getObject(1, PGpoint.class));
+      }
+    }
+  }
+
+  @Test
+  void customCodec() throws SQLException {
+    PGConnection pgConnection = con.unwrap(PGConnection.class);
+    pgConnection.addBinaryCodec("macaddr", MacAddress.CODEC);
+    assertBinaryForReceive(Oid.MACADDR, true,
+        () -> "addBinaryCodec should enable binary transfer for macaddr");
+
+    MacAddress address = new MacAddress(new byte[]{0x08, 0x00, 0x2b, 0x01, 0x02, 0x03});
+    try (PreparedStatement ps = con.prepareStatement("SELECT ?, ?::text")) {
+      ps.setObject(1, address);
+      ps.setObject(2, address);
+      try (ResultSet rs = ps.executeQuery()) {
+        assertTrue(rs.next());
+        assertInstanceOf(MacAddress.class, rs.getObject(1));
+        assertArrayEquals(address.bytes, rs.getObject(1, MacAddress.class).bytes);
+        assertEquals("08:00:2b:01:02:03", rs.getString(2));
+      }
+    }
+  }
+
+  /**
+   * A Java class for the {@code macaddr} type, which is not a {@link PGobject}.
+   */
+  private static class MacAddress {
+    static final PGBinaryCodec<MacAddress> CODEC = new PGBinaryCodec<MacAddress>() {
+      @Override
+      public Class<MacAddress> getJavaClass() {
+        return MacAddress.class;
+      }
+
+      @Override
+      public MacAddress decode(byte[] bytes, int offset, int length, Encoding encoding) {
+        byte[] address = new byte[length];
+        System.arraycopy(bytes, offset, address, 0, length);
+        return new MacAddress(address);
+      }
+
+      @Override
+      public byte[] encode(MacAddress value, Encoding encoding) {
+        return value.bytes.clone();
+      }
+    };
+
+    final byte[] bytes;
+
+    MacAddress(byte[] bytes) {
+      this.bytes = bytes;
+    }
+  }
+}
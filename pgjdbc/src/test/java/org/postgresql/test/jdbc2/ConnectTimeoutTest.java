@@ -5,6 +5,7 @@
 
 package org.postgresql.test.jdbc2;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
@@ -18,9 +19,12 @@
 
 import java.net.NoRouteToHostException;
 import java.net.SocketTimeoutException;
+import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.util.Properties;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 
 class ConnectTimeoutTest {
   // The IP below is non-routable (see http://stackoverflow.com/a/904609/1261287)
@@ -78,4 +82,57 @@ void timeout() {
     }
     fail("SQLException expected");
   }
+
+  @Test
+  void connectAttemptDelaySkipsUnreachableHost() throws SQLException {
+    final Properties props = new Properties();
+    PGProperty.USER.set(props, TestUtil.getUser());
+    PGProperty.PASSWORD.set(props, TestUtil.getPassword());
+    PGProperty.CONNECT_TIMEOUT.set(props, CONNECT_TIMEOUT);
+    PGProperty.CONNECT_ATTEMPT_DELAY.set(props, 100);
+    String url = "jdbc:postgresql://" + UNREACHABLE_HOST + ":5432,"
+        + TestUtil.getServer() + ":" + TestUtil.getPort() + "/" + TestUtil.getDatabase();
+
+    final long startTime = System.currentTimeMillis();
+    try (Connection con = DriverManager.getConnection(url, props)) {
+      final long interval = System.currentTimeMillis() - startTime;
+      assertTrue(con.isValid(1), "connection to the reachable host is usable");
+      assertTrue(interval < CONNECT_TIMEOUT * 1000,
+          () -> "The second host should be tried before the first one times out, but connecting took "
+              + interval + " ms");
+    }
+  }
+
+  /**
+   * Runs the tasks on new threads, and counts them.
+   */
+  public static class CountingExecutor implements Executor {
+    static final AtomicInteger TASKS = new AtomicInteger();
+
+    @Override
+    public void execute(Runnable command) {
+      TASKS.incrementAndGet();
+      Thread thread = new Thread(command);
+      thread.setDaemon(true);
+      thread.start();
+    }
+  }
+
+  @Test
+  void connectAttemptDelayUsesConnectExecutor() throws SQLException {
+    final Properties props = new Properties();
+    PGProperty.USER.set(props, TestUtil.getUser());
+    PGProperty.PASSWORD.set(props, TestUtil.getPassword());
+    PGProperty.CONNECT_TIMEOUT.set(props, CONNECT_TIMEOUT);
+    PGProperty.CONNECT_ATTEMPT_DELAY.set(props, 100);
+    PGProperty.CONNECT_EXECUTOR.set(props, CountingExecutor.class.getName());
+    String url = "jdbc:postgresql://" + UNREACHABLE_HOST + ":5432,"
+        + TestUtil.getServer() + ":" + TestUtil.getPort() + "/" + TestUtil.getDatabase();
+
+    CountingExecutor.TASKS.set(0);
+    try (Connection con = DriverManager.getConnection(url, props)) {
+      assertTrue(con.isValid(1), "connection to the reachable host is usable");
+    }
+    assertEquals(2, CountingExecutor.TASKS.get(), "each host is tried on the connectExecutor");
+  }
 }
@@ -488,6 +488,61 @@ void transactionIsolation() throws Exception {
     TestUtil.closeDB(con);
   }
 
+  private static String showTransactionIsolation(Connection con) throws SQLException {
+    try (Statement stmt = con.createStatement();
+         ResultSet rs = stmt.executeQuery("SHOW TRANSACTION ISOLATION LEVEL")) {
+      rs.next();
+      return rs.getString(1);
+    }
+  }
+
+  /*
+   * The isolation level is answered from client-side state, which must follow the changes made by
+   * SQL commands, and setTransactionIsolation is sent with the next query.
+   */
+  @Test
+  void transactionIsolationTracking() throws Exception {
+    con = TestUtil.openDB();
+
+    con.setTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
+    assertEquals(Connection.TRANSACTION_SERIALIZABLE, con.getTransactionIsolation());
+    assertEquals("serializable", showTransactionIsolation(con),
+        "the deferred SET is sent with the next query");
+
+    try (Statement stmt = con.createStatement()) {
+      stmt.execute("SET SESSION CHARACTERISTICS AS TRANSACTION ISOLATION LEVEL REPEATABLE READ");
+      assertEquals(Connection.TRANSACTION_REPEATABLE_READ, con.getTransactionIsolation(),
+          "SET by SQL is seen");
+
+      stmt.execute("RESET default_transaction_isolation");
+      assertEquals(Connection.TRANSACTION_READ_COMMITTED, con.getTransactionIsolation(),
+          "RESET by SQL is seen");
+
+      con.setAutoCommit(false);
+      stmt.execute("SET TRANSACTION ISOLATION LEVEL SERIALIZABLE");
+      assertEquals(Connection.TRANSACTION_SERIALIZABLE, con.getTransactionIsolation(),
+          "SET TRANSACTION applies to the current transaction");
+      con.commit();
+      assertEquals(Connection.TRANSACTION_READ_COMMITTED, con.getTransactionIsolation(),
+          "SET TRANSACTION ends with the transaction");
+
+      stmt.execute("SET SESSION CHARACTERISTICS AS TRANSACTION ISOLATION LEVEL REPEATABLE READ");
+      assertEquals(Connection.TRANSACTION_REPEATABLE_READ, con.getTransactionIsolation());
+      con.rollback();
+      assertEquals(Connection.TRANSACTION_READ_COMMITTED, con.getTransactionIsolation(),
+          "the rollback undoes SET SESSION");
+      con.setAutoCommit(true);
+    }
+
+    // Only the last of several settings is sent, before the BEGIN of the next transaction
+    con.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+    con.setTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
+    con.setAutoCommit(false);
+    assertEquals("serializable", showTransactionIsolation(con));
+    con.rollback();
+    TestUtil.closeDB(con);
+  }
+
   /*
    * JDBC2 Type mappings
    */
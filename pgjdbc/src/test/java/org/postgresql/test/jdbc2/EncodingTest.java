@@ -15,6 +15,8 @@
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.Locale;
 
 /**
@@ -54,4 +56,43 @@ void reader() throws Exception {
     assertEquals(98, reader.read());
     assertEquals(-1, reader.read());
   }
+
+  @Test
+  void decodeSingleByteEncodings() throws Exception {
+    byte[] bytes = new byte[256 + 3];
+    for (int i = 0; i < 256; i++) {
+      bytes[i + 1] = (byte) i;
+    }
+    assertDecodes("LATIN1", StandardCharsets.ISO_8859_1, bytes);
+    assertDecodes("WIN1252", Charset.forName("windows-1252"), bytes);
+  }
+
+  @Test
+  void decodeMalformedUtf8() throws Exception {
+    byte[][] inputs = {
+        {'a', 'b', 'c', 'd', 'e', 'f', 'g', 'h', 'i', (byte) 0xD0, (byte) 0xBC},
+        {'a', (byte) 0xC0, (byte) 0x80, 'b'},
+        {'a', (byte) 0xE0, (byte) 0x80, (byte) 0x80},
+        {(byte) 0xED, (byte) 0xA0, (byte) 0x80, 'a'},
+        {(byte) 0xF0, (byte) 0x9F, (byte) 0x98, (byte) 0x80, 'a'},
+        {'a', 'b', (byte) 0xE2, (byte) 0x82},
+        {(byte) 0x80, (byte) 0xFF},
+    };
+    for (byte[] input : inputs) {
+      assertDecodes("UTF8", StandardCharsets.UTF_8, input);
+    }
+  }
+
+  private static void assertDecodes(String databaseEncoding, Charset charset, byte[] bytes)
+      throws Exception {
+    Encoding encoding = Encoding.getDatabaseEncoding(databaseEncoding);
+    assertEquals(charset.name(), encoding.name());
+    for (int offset = 0; offset < bytes.length; offset += 3) {
+      for (int length = 0; offset + length <= bytes.length; length += 5) {
+        assertEquals(new String(bytes, offset, length, charset),
+            encoding.decode(bytes, offset, length),
+            databaseEncoding + " offset " + offset + ", length " + length);
+      }
+    }
+  }
 }
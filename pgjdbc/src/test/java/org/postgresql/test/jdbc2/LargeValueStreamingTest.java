@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.postgresql.test.jdbc2;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.postgresql.PGProperty;
+import org.postgresql.test.TestUtil;
+import org.postgresql.util.PSQLState;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Properties;
+
+/**
+ * Tests for {@link PGProperty#LARGE_VALUE_STREAMING_THRESHOLD}.
+ */
+class LargeValueStreamingTest extends BaseTest4 {
+
+  private static final String QUERY =
+      "SELECT i, repeat('x', 10000 * i)::bytea, repeat('é', 5000 * i), NULL::bytea"
+          + " FROM generate_series(1, 3) i ORDER BY i";
+
+  @Override
+  protected void updateProperties(Properties props) {
+    super.updateProperties(props);
+    PGProperty.LARGE_VALUE_STREAMING_THRESHOLD.set(props, 1000);
+  }
+
+  private static byte[] expectedBytes(int row) {
+    byte[] bytes = new byte[10000 * row];
+    Arrays.fill(bytes, (byte) 'x');
+    return bytes;
+  }
+
+  private static String expectedString(int row) {
+    char[] chars = new char[5000 * row];
+    Arrays.fill(chars, 'é');
+    return new String(chars);
+  }
+
+  private static byte[] readAll(InputStream in) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    byte[] buffer = new byte[4096];
+    int read;
+    while ((read = in.read(buffer)) != -1) {
+      out.write(buffer, 0, read);
+    }
+    return out.toByteArray();
+  }
+
+  private static String readAll(Reader in) throws IOException {
+    StringBuilder sb = new StringBuilder();
+    char[] buffer = new char[4096];
+    int read;
+    while ((read = in.read(buffer)) != -1) {
+      sb.append(buffer, 0, read);
+    }
+    return sb.toString();
+  }
+
+  @Test
+  void streams() throws SQLException, IOException {
+    try (Statement stmt = con.createStatement();
+         ResultSet rs = stmt.executeQuery(QUERY)) {
+      for (int row = 1; row <= 3; row++) {
+        assertTrue(rs.next());
+        assertEquals(row, rs.getInt(1));
+        assertArrayEquals(expectedBytes(row), readAll(rs.getBinaryStream(2)), "row " + row);
+        assertEquals(expectedString(row), readAll(rs.getCharacterStream(3)), "row " + row);
+        assertNull(rs.getBinaryStream(4));
+        assertTrue(rs.wasNull());
+      }
+      assertFalse(rs.next());
+    }
+  }
+
+  @Test
+  void getters() throws SQLException {
+    try (Statement stmt = con.createStatement();
+         ResultSet rs = stmt.executeQuery(QUERY)) {
+      for (int row = 1; row <= 3; row++) {
+        assertTrue(rs.next());
+        assertArrayEquals(expectedBytes(row), rs.getBytes(2), "row " + row);
+        // A value that was read as a whole stays available
+        assertArrayEquals(expectedBytes(row), rs.getBytes(2), "row " + row);
+        assertEquals(expectedString(row), rs.getString(3), "row " + row);
+        assertEquals(row, rs.getInt(1));
+      }
+      assertFalse(rs.next());
+    }
+  }
+
+  @Test
+  void skippedValueIsNotAvailable() throws SQLException {
+    try (Statement stmt = con.createStatement();
+         ResultSet rs = stmt.executeQuery(QUERY)) {
+      assertTrue(rs.next());
+      assertEquals(expectedString(1), rs.getString(3));
+      SQLException e = assertThrows(SQLException.class, () -> rs.getBytes(2));
+      assertEquals(PSQLState.OBJECT_NOT_IN_STATE.getState(), e.getSQLState());
+      // The next rows are not affected
+      assertTrue(rs.next());
+      assertArrayEquals(expectedBytes(2), rs.getBytes(2));
+    }
+  }
+
+  @Test
+  void connectionIsBusyUntilClose() throws SQLException, IOException {
+    try (Statement stmt = con.createStatement()) {
+      ResultSet rs = stmt.executeQuery(QUERY);
+      assertTrue(rs.next());
+      assertEquals('x', rs.getBinaryStream(2).read());
+      try (Statement other = con.createStatement()) {
+        SQLException e = assertThrows(SQLException.class, () -> other.executeQuery("SELECT 1"));
+        assertEquals(PSQLState.OBJECT_NOT_IN_STATE.getState(), e.getSQLState());
+      }
+      rs.close();
+    }
+    try (Statement stmt = con.createStatement();
+         ResultSet rs = stmt.executeQuery("SELECT 1")) {
+      assertTrue(rs.next());
+      assertEquals(1, rs.getInt(1));
+    }
+  }
+
+  @Test
+  void typesCannotBeLookedUpWhileStreaming() throws SQLException {
+    TestUtil.createEnumType(con, "streaming_mood", "'happy', 'sad'");
+    try {
+      String sql = "SELECT 'happy'::streaming_mood, repeat('x', 10000)::bytea";
+      try (Statement stmt = con.createStatement();
+           ResultSet rs = stmt.executeQuery(sql)) {
+        assertTrue(rs.next());
+        // getObject has to look up the new type, which needs the connection
+        SQLException e = assertThrows(SQLException.class, () -> rs.getObject(1));
+        assertEquals(PSQLState.OBJECT_NOT_IN_STATE.getState(), e.getSQLState());
+        assertEquals("happy", rs.getString(1));
+      }
+      // Once the type is known to the connection, it is not looked up again
+      try (Statement stmt = con.createStatement();
+           ResultSet rs = stmt.executeQuery("SELECT 'sad'::streaming_mood")) {
+        assertTrue(rs.next());
+        assertEquals("sad", String.valueOf(rs.getObject(1)));
+      }
+      try (Statement stmt = con.createStatement();
+           ResultSet rs = stmt.executeQuery(sql)) {
+        assertTrue(rs.next());
+        assertEquals("happy", String.valueOf(rs.getObject(1)));
+        assertArrayEquals(expectedBytes(1), rs.getBytes(2));
+      }
+    } finally {
+      TestUtil.dropType(con, "streaming_mood");
+    }
+  }
+
+  @Test
+  void fetchSize() throws SQLException, IOException {
+    con.setAutoCommit(false);
+    try (PreparedStatement ps = con.prepareStatement(QUERY)) {
+      ps.setFetchSize(2);
+      try (ResultSet rs = ps.executeQuery()) {
+        for (int row = 1; row <= 3; row++) {
+          assertTrue(rs.next());
+          assertArrayEquals(expectedBytes(row), readAll(rs.getBinaryStream(2)), "row " + row);
+        }
+        assertFalse(rs.next());
+      }
+    } finally {
+      con.setAutoCommit(true);
+    }
+  }
+
+  @Test
+  void scrollableResultSetIsBuffered() throws SQLException {
+    try (Statement stmt = con.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE,
+        ResultSet.CONCUR_READ_ONLY);
+         ResultSet rs = stmt.executeQuery(QUERY)) {
+      assertTrue(rs.last());
+      assertEquals(expectedString(3), rs.getString(3));
+      assertTrue(rs.first());
+      assertArrayEquals(expectedBytes(1), rs.getBytes(2));
+      assertArrayEquals(expectedBytes(1), rs.getBytes(2));
+    }
+  }
+}
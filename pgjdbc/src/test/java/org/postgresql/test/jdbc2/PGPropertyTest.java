@@ -252,6 +252,7 @@ void lowerCamelCase() {
     excluded.add("GSS_LIB"); // gss[l]ib
     excluded.add("REWRITE_BATCHED_INSERTS"); // re[W]riteBatchedInserts
     excluded.add("REWRITE_BATCHED_INSERTS_SIZE"); // re[W]riteBatchedInsertsSize
+    excluded.add("REWRITE_BATCHED_INSERTS_MODE"); // re[W]riteBatchedInsertsMode
 
     for (PGProperty property : PGProperty.values()) {
       if (!property.name().startsWith("PG")) { // Ignore all properties that start with PG
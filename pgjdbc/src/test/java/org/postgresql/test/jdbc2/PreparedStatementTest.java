@@ -44,6 +44,7 @@
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
 import java.sql.ParameterMetaData;
 import java.sql.PreparedStatement;
@@ -1868,4 +1869,24 @@ public void testNoParametersNPE() throws SQLException {
       // ignore
     }
   }
+
+  @Test
+  public void testLargeStringParameter() throws SQLException {
+    // Large enough to be encoded straight into the send buffer, with a surrogate pair across
+    // most buffer boundaries
+    StringBuilder sb = new StringBuilder();
+    while (sb.length() < 300 * 1024) {
+      sb.append("ascii text, кириллица, €, 😀;");
+    }
+    String value = sb.toString();
+    try (PreparedStatement ps = con.prepareStatement("SELECT octet_length(?), ?")) {
+      ps.setString(1, value);
+      ps.setString(2, value);
+      try (ResultSet rs = ps.executeQuery()) {
+        assertTrue(rs.next());
+        assertEquals(value.getBytes(StandardCharsets.UTF_8).length, rs.getInt(1));
+        assertEquals(value, rs.getString(2));
+      }
+    }
+  }
 }
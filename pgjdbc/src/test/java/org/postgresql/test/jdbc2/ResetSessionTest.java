@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.postgresql.test.jdbc2;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGStatement;
+import org.postgresql.core.BaseConnection;
+import org.postgresql.core.QueryExecutor;
+import org.postgresql.core.TransactionState;
+import org.postgresql.test.TestUtil;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Tests for {@link PGConnection#resetSession()}.
+ */
+class ResetSessionTest extends BaseTest4 {
+
+  @Override
+  protected void setUp() throws Exception {
+    super.setUp();
+    // Start from a clean session whatever the test setup ran
+    resetSession();
+  }
+
+  private int getDirtySessionState() throws SQLException {
+    return con.unwrap(BaseConnection.class).getQueryExecutor().getDirtySessionState();
+  }
+
+  private void resetSession() throws SQLException {
+    con.unwrap(PGConnection.class).resetSession();
+  }
+
+  private void execute(String sql) throws SQLException {
+    try (Statement stmt = con.createStatement()) {
+      stmt.execute(sql);
+    }
+  }
+
+  @Test
+  void settingsAreResetAndPreparedStatementsKept() throws SQLException {
+    String defaultWorkMem = TestUtil.queryForString(con, "SHOW work_mem");
+    try (PreparedStatement ps = con.prepareStatement("SELECT ?::int")) {
+      ps.unwrap(PGStatement.class).setPrepareThreshold(1);
+      ps.setInt(1, 1);
+      ps.executeQuery().close();
+      ps.executeQuery().close();
+      assertTrue(ps.unwrap(PGStatement.class).isUseServerPrepare(),
+          "the statement should be server-prepared");
+
+      execute("SET work_mem = '7MB'");
+      assertEquals(QueryExecutor.SESSION_STATE_SETTINGS, getDirtySessionState());
+
+      resetSession();
+      assertEquals(0, getDirtySessionState());
+      assertEquals(defaultWorkMem, TestUtil.queryForString(con, "SHOW work_mem"),
+          "RESET ALL should restore the setting");
+      assertNotEquals("0", TestUtil.queryForString(con,
+          "SELECT count(*) FROM pg_prepared_statements"),
+          "the server-prepared statements should be kept");
+
+      ps.setInt(1, 2);
+      try (ResultSet rs = ps.executeQuery()) {
+        rs.next();
+        assertEquals(2, rs.getInt(1));
+      }
+    }
+  }
+
+  @Test
+  void newConnectionIsClean() throws SQLException {
+    try (Connection other = TestUtil.openDB()) {
+      assertEquals(0,
+          other.unwrap(BaseConnection.class).getQueryExecutor().getDirtySessionState(),
+          "the settings the connection is set up with are not session changes");
+    }
+  }
+
+  @Test
+  void applicationNameIsKept() throws SQLException {
+    // Unless assumeMinServerVersion is 9.0 or later, the driver sets application_name with SET,
+    // which RESET ALL reverts
+    String applicationName = TestUtil.queryForString(con, "SHOW application_name");
+    String extraFloatDigits = TestUtil.queryForString(con, "SHOW extra_float_digits");
+    execute("SET application_name = 'reset_session_test'");
+    execute("SET extra_float_digits = 0");
+
+    resetSession();
+    assertEquals(applicationName, TestUtil.queryForString(con, "SHOW application_name"),
+        "the application_name of the connection should be restored");
+    assertEquals(extraFloatDigits, TestUtil.queryForString(con, "SHOW extra_float_digits"),
+        "the extra_float_digits of the connection should be restored");
+    assertEquals(applicationName, con.getClientInfo("ApplicationName"));
+  }
+
+  @Test
+  void tempTablesListenAndAdvisoryLocksAreReset() throws SQLException {
+    execute("CREATE TEMP TABLE reset_session_tmp(id int)");
+    execute("LISTEN reset_session_channel");
+    execute("SELECT pg_advisory_lock(4242)");
+    assertEquals(QueryExecutor.SESSION_STATE_TEMP | QueryExecutor.SESSION_STATE_LISTEN
+            | QueryExecutor.SESSION_STATE_ADVISORY_LOCKS, getDirtySessionState());
+
+    resetSession();
+    assertEquals(0, getDirtySessionState());
+    assertEquals(null, TestUtil.queryForString(con,
+        "SELECT to_regclass('pg_temp.reset_session_tmp')::text"), "the temp table should be dropped");
+    assertEquals("0", TestUtil.queryForString(con,
+        "SELECT count(*) FROM pg_listening_channels()"), "UNLISTEN * should have been run");
+    assertEquals("0", TestUtil.queryForString(con,
+        "SELECT count(*) FROM pg_locks WHERE locktype = 'advisory' AND pid = pg_backend_pid()"),
+        "the advisory lock should be released");
+  }
+
+  @Test
+  void openTransactionIsRolledBack() throws SQLException {
+    con.setAutoCommit(false);
+    execute("SET LOCAL work_mem = '7MB'");
+    resetSession();
+    assertEquals(TransactionState.IDLE, con.unwrap(BaseConnection.class).getTransactionState());
+    con.setAutoCommit(true);
+  }
+
+  @Test
+  void cleanSessionIsNotReset() throws SQLException {
+    execute("SELECT 1");
+    assertEquals(0, getDirtySessionState(), "a plain query does not change session state");
+    resetSession();
+  }
+}
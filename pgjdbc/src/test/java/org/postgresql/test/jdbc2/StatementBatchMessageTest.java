@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.postgresql.test.jdbc2;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.postgresql.PGProperty;
+import org.postgresql.test.TestUtil;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Properties;
+
+public class StatementBatchMessageTest extends BaseTest4 {
+
+  @BeforeAll
+  static void createTables() throws Exception {
+    try (Connection con = TestUtil.openDB()) {
+      TestUtil.createTable(con, "testbatchmessage", "pk INTEGER PRIMARY KEY, col1 INTEGER");
+    }
+  }
+
+  @AfterAll
+  static void dropTables() throws Exception {
+    try (Connection con = TestUtil.openDB()) {
+      TestUtil.dropTable(con, "testbatchmessage");
+    }
+  }
+
+  @Override
+  public void setUp() throws Exception {
+    super.setUp();
+    TestUtil.execute(con, "TRUNCATE testbatchmessage");
+  }
+
+  @Override
+  protected void updateProperties(Properties props) {
+    super.updateProperties(props);
+    // Small enough to split the batches below into several messages
+    PGProperty.STATEMENT_BATCH_MESSAGE_SIZE.set(props, 100);
+  }
+
+  @Test
+  public void testUpdateCountsPerStatement() throws SQLException {
+    try (Statement st = con.createStatement()) {
+      st.addBatch("INSERT INTO testbatchmessage VALUES (1, 0)");
+      st.addBatch("INSERT INTO testbatchmessage VALUES (2, 0) -- trailing comment");
+      st.addBatch("INSERT INTO testbatchmessage VALUES (3, 0)");
+      st.addBatch("UPDATE testbatchmessage SET col1 = 1 WHERE pk < 3");
+      st.addBatch("UPDATE testbatchmessage SET col1 = 2 WHERE pk > 100");
+      st.addBatch("DELETE FROM testbatchmessage WHERE pk = 3");
+      st.addBatch("CREATE TEMP TABLE testbatchmessage_tmp (a INTEGER)");
+      st.addBatch("DROP TABLE testbatchmessage_tmp");
+      assertArrayEquals(new int[]{1, 1, 1, 2, 0, 1, 0, 0}, st.executeBatch());
+    }
+    TestUtil.assertNumberOfRows(con, "testbatchmessage", 2, "3 rows inserted, 1 deleted");
+  }
+
+  @Test
+  public void testManyStatements() throws SQLException {
+    int[] expected = new int[500];
+    Arrays.fill(expected, 1);
+    try (Statement st = con.createStatement()) {
+      for (int i = 0; i < expected.length; i++) {
+        st.addBatch("INSERT INTO testbatchmessage VALUES (" + i + ", " + i + ")");
+      }
+      assertArrayEquals(expected, st.executeBatch());
+    }
+    TestUtil.assertNumberOfRows(con, "testbatchmessage", 500, "all rows inserted");
+  }
+
+  @Test
+  public void testFailureStopsTheBatch() throws SQLException {
+    try (Statement st = con.createStatement()) {
+      for (int i = 0; i < 20; i++) {
+        // pk 10 is inserted twice
+        int pk = i == 11 ? 10 : i;
+        st.addBatch("INSERT INTO testbatchmessage VALUES (" + pk + ", 0)");
+      }
+      BatchUpdateException e = assertThrows(BatchUpdateException.class, st::executeBatch);
+      int[] updateCounts = e.getUpdateCounts();
+      assertEquals(20, updateCounts.length, "update counts cover the whole batch");
+      for (int i = 11; i < updateCounts.length; i++) {
+        assertEquals(Statement.EXECUTE_FAILED, updateCounts[i],
+            "statements from the failed one onwards are not executed: "
+                + Arrays.toString(updateCounts));
+      }
+      int inserted = 0;
+      for (int updateCount : updateCounts) {
+        if (updateCount == 1) {
+          inserted++;
+        }
+      }
+      TestUtil.assertNumberOfRows(con, "testbatchmessage", inserted,
+          "rows reported as inserted are committed");
+    }
+  }
+
+  @Test
+  public void testFailureInTransactionFailsTheBatch() throws SQLException {
+    con.setAutoCommit(false);
+    try (Statement st = con.createStatement()) {
+      for (int i = 0; i < 20; i++) {
+        int pk = i == 11 ? 10 : i;
+        st.addBatch("INSERT INTO testbatchmessage VALUES (" + pk + ", 0)");
+      }
+      BatchUpdateException e = assertThrows(BatchUpdateException.class, st::executeBatch);
+      // The transaction is aborted, so no statement of the batch takes effect
+      int[] expected = new int[20];
+      Arrays.fill(expected, Statement.EXECUTE_FAILED);
+      assertArrayEquals(expected, e.getUpdateCounts());
+      con.rollback();
+    } finally {
+      con.setAutoCommit(true);
+    }
+    TestUtil.assertNumberOfRows(con, "testbatchmessage", 0, "the batch was rolled back");
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.postgresql.test.jdbc2;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.postgresql.PGProperty;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Tests for {@link PGProperty#STRING_DEDUPLICATION_LIMIT}.
+ */
+class StringDeduplicationTest extends BaseTest4 {
+
+  @Override
+  protected void updateProperties(Properties props) {
+    super.updateProperties(props);
+    PGProperty.STRING_DEDUPLICATION_LIMIT.set(props, 4);
+  }
+
+  private List<String> getStrings(String sql, int columnIndex) throws SQLException {
+    List<String> strings = new ArrayList<>();
+    try (Statement stmt = con.createStatement();
+         ResultSet rs = stmt.executeQuery(sql)) {
+      while (rs.next()) {
+        strings.add(rs.getString(columnIndex));
+      }
+    }
+    return strings;
+  }
+
+  @Test
+  void repeatedValuesAreShared() throws SQLException {
+    List<String> strings = getStrings(
+        "SELECT 'status' || (i % 3) FROM generate_series(0, 8) i ORDER BY i", 1);
+    assertEquals(9, strings.size());
+    for (int i = 3; i < strings.size(); i++) {
+      assertEquals("status" + (i % 3), strings.get(i));
+      assertSame(strings.get(i % 3), strings.get(i), "row " + i + " should reuse the string of row "
+          + (i % 3));
+    }
+  }
+
+  @Test
+  void getObjectAndNullValues() throws SQLException {
+    try (Statement stmt = con.createStatement();
+         ResultSet rs = stmt.executeQuery("SELECT 'a'::varchar, NULL::text UNION ALL SELECT 'a', NULL")) {
+      assertTrue(rs.next());
+      Object first = rs.getObject(1);
+      assertNull(rs.getString(2));
+      assertTrue(rs.next());
+      assertSame(first, rs.getObject(1));
+      assertNull(rs.getString(2));
+    }
+  }
+
+  @Test
+  void highCardinalityColumnIsNotDeduplicated() throws SQLException {
+    // 8 distinct values exceed the limit of 4, so the column stops being deduplicated
+    List<String> strings = getStrings(
+        "SELECT 'value' || (i % 8) FROM generate_series(0, 15) i ORDER BY i", 1);
+    for (int i = 8; i < strings.size(); i++) {
+      assertEquals(strings.get(i - 8), strings.get(i));
+      assertNotSame(strings.get(i - 8), strings.get(i), "row " + i);
+    }
+  }
+
+  @Test
+  void longValuesAreNotDeduplicated() throws SQLException {
+    List<String> strings = getStrings(
+        "SELECT repeat('x', 1000) FROM generate_series(1, 2)", 1);
+    assertEquals(strings.get(0), strings.get(1));
+    assertNotSame(strings.get(0), strings.get(1));
+  }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.postgresql.test.jdbc2.optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.postgresql.ds.PGConnectionPool;
+import org.postgresql.util.PSQLState;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+class PGConnectionPoolTest {
+  private PGConnectionPool pool;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    pool = new PGConnectionPool();
+    BaseDataSourceTest.setupDataSource(pool);
+    pool.setMaximumPoolSize(2);
+    pool.setMinimumIdle(0);
+    pool.setConnectionTimeout(500);
+  }
+
+  @AfterEach
+  void tearDown() {
+    pool.close();
+  }
+
+  private static int backendPid(Connection con) throws SQLException {
+    try (Statement st = con.createStatement();
+         ResultSet rs = st.executeQuery("SELECT pg_backend_pid()")) {
+      rs.next();
+      return rs.getInt(1);
+    }
+  }
+
+  @Test
+  void reusesConnections() throws SQLException {
+    int pid;
+    try (Connection con = pool.getConnection()) {
+      pid = backendPid(con);
+      assertEquals(1, pool.getActiveConnections());
+    }
+    assertEquals(1, pool.getIdleConnections());
+    try (Connection con = pool.getConnection()) {
+      assertEquals(pid, backendPid(con), "the returned connection is borrowed again");
+    }
+    assertEquals(1, pool.getConnectionsCreated());
+    assertEquals(2, pool.getConnectionsBorrowed());
+  }
+
+  @Test
+  void returnedConnectionIsReset() throws SQLException {
+    try (Connection con = pool.getConnection()) {
+      con.setAutoCommit(false);
+      try (Statement st = con.createStatement()) {
+        st.execute("SET LOCAL application_name = 'pooltest'");
+      }
+    }
+    try (Connection con = pool.getConnection()) {
+      assertTrue(con.getAutoCommit(), "auto-commit is restored");
+      try (Statement st = con.createStatement();
+           ResultSet rs = st.executeQuery("SHOW application_name")) {
+        rs.next();
+        assertNotEquals("pooltest", rs.getString(1), "the transaction was rolled back");
+      }
+    }
+  }
+
+  @Test
+  void timeoutWhenExhausted() throws SQLException {
+    try (Connection con1 = pool.getConnection();
+         Connection con2 = pool.getConnection()) {
+      SQLException e = assertThrows(SQLException.class, pool::getConnection);
+      assertEquals(PSQLState.CONNECTION_UNABLE_TO_CONNECT.getState(), e.getSQLState());
+      assertEquals(1, pool.getConnectionTimeouts());
+      assertEquals(2, pool.getTotalConnections());
+    }
+  }
+
+  @Test
+  void waitingThreadGetsReturnedConnection() throws Exception {
+    pool.setConnectionTimeout(TimeUnit.SECONDS.toMillis(10));
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<Integer>> futures = new ArrayList<>();
+      for (int i = 0; i < 64; i++) {
+        futures.add(executor.submit(() -> {
+          try (Connection con = pool.getConnection()) {
+            return backendPid(con);
+          }
+        }));
+      }
+      for (Future<Integer> future : futures) {
+        future.get(30, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdown();
+    }
+    assertTrue(pool.getTotalConnections() <= 2, "the pool never exceeds its maximum size");
+    assertEquals(64, pool.getConnectionsBorrowed());
+    assertEquals(0, pool.getThreadsAwaitingConnection());
+  }
+
+  @Test
+  void settingsAreFrozen() throws SQLException {
+    pool.getConnection().close();
+    assertThrows(IllegalStateException.class, () -> pool.setMaximumPoolSize(5));
+  }
+
+  @Test
+  void closedPool() throws SQLException {
+    Connection con = pool.getConnection();
+    pool.close();
+    assertTrue(pool.isClosed());
+    assertFalse(con.isClosed(), "connections in use stay open until they are returned");
+    con.close();
+    assertEquals(0, pool.getTotalConnections());
+    assertThrows(SQLException.class, pool::getConnection);
+  }
+}
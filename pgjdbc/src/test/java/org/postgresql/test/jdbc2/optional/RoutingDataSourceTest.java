@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.postgresql.test.jdbc2.optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.postgresql.ds.PGRoutingDataSource;
+import org.postgresql.ds.PGSimpleDataSource;
+import org.postgresql.test.TestUtil;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Both DataSources point to the test server, so the tests tell the primary and standby
+ * connections apart by their backend process id.
+ */
+class RoutingDataSourceTest {
+  private PGRoutingDataSource ds;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    PGSimpleDataSource primary = new PGSimpleDataSource();
+    BaseDataSourceTest.setupDataSource(primary);
+    PGSimpleDataSource standby = new PGSimpleDataSource();
+    BaseDataSourceTest.setupDataSource(standby);
+    ds = new PGRoutingDataSource(primary, standby);
+  }
+
+  private static int backendPid(Connection con) throws SQLException {
+    try (Statement st = con.createStatement();
+         ResultSet rs = st.executeQuery("SELECT pg_backend_pid()")) {
+      rs.next();
+      return rs.getInt(1);
+    }
+  }
+
+  private static boolean isReadOnly(Connection con) throws SQLException {
+    try (Statement st = con.createStatement();
+         ResultSet rs = st.executeQuery("SHOW transaction_read_only")) {
+      rs.next();
+      return "on".equals(rs.getString(1));
+    }
+  }
+
+  @Test
+  void readOnlyUsesStandby() throws SQLException {
+    ds.setStickyAfterWriteMillis(0);
+    try (Connection con = ds.getConnection()) {
+      int primaryPid = backendPid(con);
+      con.setReadOnly(true);
+      int standbyPid = backendPid(con);
+      assertNotEquals(primaryPid, standbyPid, "read-only statements run on the standby");
+      assertTrue(isReadOnly(con), "the standby connection is read-only");
+      con.setReadOnly(false);
+      assertEquals(primaryPid, backendPid(con), "the primary connection is reused");
+      con.setReadOnly(true);
+      assertEquals(standbyPid, backendPid(con), "the standby connection is reused");
+    }
+  }
+
+  @Test
+  void stickyAfterWrite() throws SQLException {
+    try (Connection con = ds.getConnection()) {
+      int primaryPid = backendPid(con);
+      con.setReadOnly(true);
+      assertEquals(primaryPid, backendPid(con),
+          "reads stay on the primary after a statement executed on it");
+    }
+    ds.setStickyAfterWriteMillis(1);
+    try (Connection con = ds.getConnection()) {
+      int primaryPid = backendPid(con);
+      con.setReadOnly(true);
+      sleep(10);
+      assertNotEquals(primaryPid, backendPid(con), "reads go to the standby once sticky expired");
+    }
+  }
+
+  @Test
+  void noSwitchInsideTransaction() throws SQLException {
+    ds.setStickyAfterWriteMillis(0);
+    try (Connection con = ds.getConnection()) {
+      con.setAutoCommit(false);
+      int primaryPid = backendPid(con);
+      con.setReadOnly(true);
+      assertEquals(primaryPid, backendPid(con), "the transaction stays on the primary");
+      con.commit();
+      int standbyPid = backendPid(con);
+      assertNotEquals(primaryPid, standbyPid, "the next transaction runs on the standby");
+      con.rollback();
+    }
+  }
+
+  @Test
+  void commitEndsTheTransactionOnEveryConnection() throws SQLException {
+    ds.setStickyAfterWriteMillis(0);
+    try (Connection other = TestUtil.openDB()) {
+      TestUtil.createTable(other, "routing_commit", "id int");
+      try (Connection con = ds.getConnection()) {
+        con.setAutoCommit(false);
+        Statement primarySt = con.createStatement();
+        con.setReadOnly(true);
+        Statement standbySt = con.createStatement();
+        standbySt.executeQuery("SELECT 1").close();
+        // The statement created before the transaction keeps using the primary
+        primarySt.executeUpdate("INSERT INTO routing_commit VALUES (1)");
+        con.commit();
+        TestUtil.assertNumberOfRows(other, "routing_commit", 1, "the insert is committed");
+
+        primarySt.executeUpdate("INSERT INTO routing_commit VALUES (2)");
+        standbySt.executeQuery("SELECT 1").close();
+        con.rollback();
+        TestUtil.assertNumberOfRows(other, "routing_commit", 1, "the insert is rolled back");
+      } finally {
+        TestUtil.dropTable(other, "routing_commit");
+      }
+    }
+  }
+
+  @Test
+  void statementConnection() throws SQLException {
+    try (Connection con = ds.getConnection();
+         Statement st = con.createStatement()) {
+      assertSame(con, st.getConnection());
+    }
+  }
+
+  @Test
+  void closedConnection() throws SQLException {
+    Connection con = ds.getConnection();
+    con.close();
+    assertTrue(con.isClosed());
+    assertThrows(SQLException.class, con::createStatement);
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
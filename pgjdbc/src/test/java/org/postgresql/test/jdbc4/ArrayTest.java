@@ -11,12 +11,14 @@
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 import org.postgresql.core.ServerVersion;
 import org.postgresql.geometric.PGbox;
+import org.postgresql.jdbc.PgArray;
 import org.postgresql.jdbc.PgConnection;
 import org.postgresql.jdbc.PreferQueryMode;
 import org.postgresql.test.TestUtil;
@@ -42,6 +44,8 @@
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.UUID;
 
 @ParameterizedClass
@@ -714,4 +718,59 @@ public void testJsonbArray() throws  SQLException {
       }
     }
   }
+
+  @Test
+  public void testGetObjectAsPrimitiveArray() throws SQLException {
+    try (Statement stmt = conn.createStatement();
+         ResultSet rs = stmt.executeQuery(
+             "SELECT '{1.5,2.5}'::float8[], '{{1,2},{3,4}}'::int4[], '{1,-2,3}'::int4[], '{t,f}'::bool[]")) {
+      assertTrue(rs.next());
+      assertArrayEquals(new double[]{1.5, 2.5}, rs.getObject(1, double[].class));
+      int[][] ints = rs.getObject(2, int[][].class);
+      assertArrayEquals(new int[]{1, 2}, ints[0]);
+      assertArrayEquals(new int[]{3, 4}, ints[1]);
+      assertArrayEquals(new long[]{1, -2, 3}, rs.getObject(3, long[].class),
+          "int4 values should be widened to long");
+      assertArrayEquals(new boolean[]{true, false}, rs.getObject(4, boolean[].class));
+    }
+  }
+
+  @Test
+  public void testGetArrayWithPrimitiveTypeMap() throws SQLException {
+    try (Statement stmt = conn.createStatement();
+         ResultSet rs = stmt.executeQuery("SELECT '{1.5,2.5}'::float8[]")) {
+      assertTrue(rs.next());
+      Map<String, Class<?>> map = new HashMap<>();
+      map.put("float8", double.class);
+      assertArrayEquals(new double[]{1.5, 2.5}, (double[]) rs.getArray(1).getArray(map));
+    }
+  }
+
+  @Test
+  public void testCopyToPrimitiveArray() throws SQLException {
+    double[] buffer = new double[4];
+    try (Statement stmt = conn.createStatement();
+         ResultSet rs = stmt.executeQuery(
+             "SELECT '{1.5,2.5}'::float8[] UNION ALL SELECT '{3.5}'::float8[]")) {
+      assertTrue(rs.next());
+      assertEquals(2, ((PgArray) rs.getArray(1)).copyTo(buffer, 0));
+      assertTrue(rs.next());
+      assertEquals(1, ((PgArray) rs.getArray(1)).copyTo(buffer, 2));
+      assertArrayEquals(new double[]{1.5, 2.5, 3.5, 0}, buffer);
+
+      assertThrows(SQLException.class, () -> ((PgArray) rs.getArray(1)).copyTo(buffer, 4),
+          "the values do not fit in the destination");
+    }
+  }
+
+  @Test
+  public void testPrimitiveArrayWithNullElement() throws SQLException {
+    try (Statement stmt = conn.createStatement();
+         ResultSet rs = stmt.executeQuery("SELECT '{1,NULL}'::int4[]")) {
+      assertTrue(rs.next());
+      assertThrows(SQLException.class, () -> rs.getObject(1, int[].class));
+      assertArrayEquals(new Integer[]{1, null}, (Integer[]) rs.getArray(1).getArray(),
+          "the boxed decoding still accepts nulls");
+    }
+  }
 }
@@ -7,8 +7,10 @@
 
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
 import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
+import org.postgresql.PGConnection;
 import org.postgresql.core.ServerVersion;
 import org.postgresql.core.TransactionState;
 import org.postgresql.test.TestUtil;
@@ -17,7 +19,9 @@
 import org.junit.jupiter.api.Test;
 
 import java.sql.Connection;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 
 public class IsValidTest extends BaseTest4 {
   @Test
@@ -63,4 +67,40 @@ public void testIsValidRemoteClose() throws SQLException, InterruptedException {
     }
     assertFalse(con.isValid(0), "The terminated connection should not be valid");
   }
+
+  @Test
+  public void testIsValidWithoutPing() throws SQLException {
+    PGConnection pgConnection = con.unwrap(PGConnection.class);
+    assertTrue(pgConnection.isValid(0, Long.MAX_VALUE), "Connection should be valid");
+    assertTrue(pgConnection.isValid(0, 0), "Connection should be valid when pinged");
+    con.setAutoCommit(false);
+    TestUtil.executeQuery(con, "SELECT 1");
+    assertTrue(pgConnection.isValid(0, Long.MAX_VALUE), "Connection should be valid in a transaction");
+    con.close();
+    assertFalse(pgConnection.isValid(0, Long.MAX_VALUE), "Closed connection should not be valid");
+  }
+
+  @Test
+  public void testIsValidWithoutPingRemoteClose() throws SQLException, InterruptedException {
+    assumeTrue(TestUtil.haveMinimumServerVersion(con, ServerVersion.v9_5), "pg_stat_ssl requires 9.5");
+    try (Statement st = con.createStatement();
+         ResultSet rs = st.executeQuery("SELECT ssl FROM pg_stat_ssl WHERE pid = pg_backend_pid()")) {
+      assumeFalse(rs.next() && rs.getBoolean(1),
+          "The termination of a TLS connection is only detected by a ping");
+    }
+
+    boolean wasTerminated = TestUtil.terminateBackend(con);
+    assertTrue(wasTerminated, "The backend should be terminated");
+
+    // The server sends an error before it closes the connection, which is seen without a ping
+    PGConnection pgConnection = con.unwrap(PGConnection.class);
+    for (int i = 0; i < 500; i++) {
+      if (!pgConnection.isValid(0, Long.MAX_VALUE)) {
+        break;
+      }
+      Thread.sleep(10);
+    }
+    assertFalse(pgConnection.isValid(0, Long.MAX_VALUE), "The terminated connection should not be valid");
+    assertTrue(con.isClosed(), "The terminated connection should be closed");
+  }
 }
@@ -12,10 +12,15 @@
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.time.LocalTime;
 import java.time.OffsetTime;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
 import java.util.TimeZone;
 
 class TimestampUtilsTest {
@@ -171,4 +176,43 @@ private void assertToOffsetTime(String expectedOutput, String inputTime) throws
         timestampUtils.toOffsetTime(inputTime),
         "timestampUtils.toOffsetTime(" + inputTime + ")");
   }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"Europe/Berlin", "America/New_York", "Australia/Lord_Howe", "America/Sao_Paulo",
+      "Europe/Moscow", "GMT+02:00"})
+  void toTimestampAroundTransitions(String zone) throws SQLException {
+    TimeZone timeZone = TimeZone.getTimeZone(zone);
+    Calendar calendar = new GregorianCalendar(timeZone);
+    // every 15 minutes around the transitions of Berlin, New York, Lord Howe and Sao Paulo in 2018,
+    // including local date times in gaps and overlaps, and a few dates that are not near any
+    String[] days = {"2018-03-25", "2018-10-28", "2018-03-11", "2018-11-04", "2018-04-01",
+        "2018-10-07", "2018-02-17", "2018-11-03", "1900-01-01", "1969-12-31", "2037-12-31"};
+    for (String day : days) {
+      for (int minutes = 0; minutes < 24 * 60; minutes += 15) {
+        String text = String.format("%s %02d:%02d:30.123456", day, minutes / 60, minutes % 60);
+        Calendar expected = new GregorianCalendar(timeZone);
+        expected.clear();
+        expected.set(Integer.parseInt(day.substring(0, 4)), Integer.parseInt(day.substring(5, 7)) - 1,
+            Integer.parseInt(day.substring(8)), minutes / 60, minutes % 60, 30);
+        Timestamp timestamp = timestampUtils.toTimestamp(calendar, text);
+        assertEquals(expected.getTimeInMillis() + 123, timestamp.getTime(),
+            () -> "toTimestamp(" + text + ") in " + zone);
+        assertEquals(123456000, timestamp.getNanos(), () -> "toTimestamp(" + text + ").getNanos()");
+
+        long pgMicros = (expected.getTimeInMillis() + timeZone.getOffset(expected.getTimeInMillis())
+            - 946684800000L) * 1000L + 123456;
+        byte[] bytes = new byte[8];
+        ByteConverter.int8(bytes, 0, pgMicros);
+        assertEquals(timestamp, timestampUtils.toTimestampBin(timeZone, bytes, false),
+            () -> "toTimestampBin(" + text + ") in " + zone);
+
+        expected.set(Calendar.HOUR_OF_DAY, 0);
+        expected.set(Calendar.MINUTE, 0);
+        expected.set(Calendar.SECOND, 0);
+        assertEquals(expected.getTimeInMillis(),
+            timestampUtils.convertToDate(timestamp.getTime(), timeZone).getTime(),
+            () -> "convertToDate(" + text + ") in " + zone);
+      }
+    }
+  }
 }
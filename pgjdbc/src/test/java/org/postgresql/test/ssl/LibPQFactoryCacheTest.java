@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.postgresql.test.ssl;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.postgresql.PGProperty;
+import org.postgresql.ssl.LibPQFactory;
+import org.postgresql.ssl.LibPQFactoryCache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+class LibPQFactoryCacheTest {
+  @TempDir
+  Path dir;
+  private Path certFile;
+  private Properties info;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    LibPQFactoryCache.clear();
+    certFile = dir.resolve("client.crt");
+    Files.write(certFile, "cert".getBytes(StandardCharsets.UTF_8));
+    info = new Properties();
+    // The key manager reads the files lazily and require does not read the root certificate
+    PGProperty.SSL_MODE.set(info, "require");
+    PGProperty.SSL_CERT.set(info, certFile.toString());
+    PGProperty.SSL_KEY.set(info, dir.resolve("client.pk8").toString());
+  }
+
+  @AfterEach
+  void tearDown() {
+    LibPQFactoryCache.clear();
+  }
+
+  @Test
+  void sameProperties() throws Exception {
+    LibPQFactory factory = LibPQFactoryCache.get(info);
+    Properties copy = new Properties();
+    copy.putAll(info);
+    assertSame(factory, LibPQFactoryCache.get(copy), "same SSL properties share the factory");
+  }
+
+  @Test
+  void differentProperties() throws Exception {
+    LibPQFactory factory = LibPQFactoryCache.get(info);
+    Properties other = new Properties();
+    other.putAll(info);
+    PGProperty.SSL_PASSWORD.set(other, "secret");
+    assertNotSame(factory, LibPQFactoryCache.get(other), "the password is part of the key");
+    PGProperty.SSL_PASSWORD.set(other, null);
+    PGProperty.SSL_KEY.set(other, dir.resolve("other.pk8").toString());
+    assertNotSame(factory, LibPQFactoryCache.get(other), "the key file is part of the key");
+    // Unrelated properties do not matter
+    PGProperty.APPLICATION_NAME.set(info, "app");
+    assertSame(factory, LibPQFactoryCache.get(info));
+  }
+
+  @Test
+  void concurrentGet() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<LibPQFactory>> factories = new ArrayList<>();
+      for (int i = 0; i < 32; i++) {
+        factories.add(executor.submit(() -> LibPQFactoryCache.get(info)));
+      }
+      LibPQFactory factory = factories.get(0).get();
+      for (Future<LibPQFactory> other : factories) {
+        assertSame(factory, other.get(), "concurrent connections share one factory");
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void modifiedFile() throws Exception {
+    LibPQFactory factory = LibPQFactoryCache.get(info);
+    Files.write(certFile, "new certificate".getBytes(StandardCharsets.UTF_8));
+    LibPQFactory replaced = LibPQFactoryCache.get(info);
+    assertNotSame(factory, replaced, "a new certificate file replaces the factory");
+    assertSame(replaced, LibPQFactoryCache.get(info));
+  }
+
+  @Test
+  void invalidate() throws Exception {
+    LibPQFactory factory = LibPQFactoryCache.get(info);
+    LibPQFactoryCache.invalidate(factory);
+    assertNotSame(factory, LibPQFactoryCache.get(info));
+  }
+}
@@ -5,6 +5,7 @@
 
 package org.postgresql.test.ssl;
 
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -210,6 +211,29 @@ void pemHeaderAcrossReadBoundaryDetected() throws Exception {
    * Integration test: a DER key file with .key extension should work through
    * the full LibPQFactory path. This is the exact regression from issue #3942.
    */
+  /**
+   * The key manager may be shared by several connections, so a key that fails to load is
+   * reported once, to the handshake that hit the failure, and loaded again by the next one.
+   */
+  @Test
+  void failedLoadIsReportedOnceAndRetried() throws Exception {
+    Path keyFile = tempDir.resolve("goodclient.pk8");
+    String sslCertFile = TestUtil.getSslTestCertPath("goodclient.crt");
+    PEMKeyManager pem = new PEMKeyManager(keyFile.toString(), sslCertFile, "RSA");
+    LazyKeyManager pk8 = new LazyKeyManager(
+        sslCertFile, keyFile.toString(),
+        new PKCS12KeyManagerTest.TestCallbackHandler(null), false);
+    Pk8OrPemKeyManager km = new Pk8OrPemKeyManager(keyFile.toString(), pem, pk8);
+
+    assertNull(km.getPrivateKey("user"), "the key file does not exist yet");
+    assertThrows(PSQLException.class, km::throwKeyManagerException);
+    assertDoesNotThrow(km::throwKeyManagerException, "the error is reported once");
+
+    secureKeyCopy("goodclient.pk8");
+    assertNotNull(km.getPrivateKey("user"), "the key is loaded by the next attempt");
+    assertDoesNotThrow(km::throwKeyManagerException);
+  }
+
   @Test
   void derKeyWithDotKeyExtensionConnects() throws Exception {
     TestUtil.assumeHaveMinimumServerVersion(ServerVersion.v9_5);
@@ -5,11 +5,14 @@
 
 package org.postgresql.util;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
@@ -92,6 +95,24 @@ static void testBinaryConversion(BigDecimal number) {
     } else {
       assertEquals(number.toPlainString(), actual.toPlainString());
     }
+    assertEquals(number.doubleValue(), ByteConverter.numericToDouble(bytes, 0, bytes.length),
+        "numericToDouble");
+    BigInteger integer = number.toBigInteger();
+    if (integer.bitLength() < 64) {
+      assertEquals(integer.longValue(), ByteConverter.numericToLong(bytes, 0, bytes.length),
+          "numericToLong");
+    } else {
+      assertThrows(ArithmeticException.class,
+          () -> ByteConverter.numericToLong(bytes, 0, bytes.length), "numericToLong");
+    }
+  }
+
+  @ParameterizedTest
+  @ValueSource(longs = {0, 1, -1, 9999, 10000, -10001, 123456789012L, Long.MAX_VALUE, Long.MIN_VALUE})
+  void binaryLong(long number) {
+    byte[] bytes = ByteConverter.numeric(number);
+    assertArrayEquals(ByteConverter.numeric(new BigDecimal(new BigInteger(Long.toString(number)))), bytes);
+    assertEquals(number, ByteConverter.numericToLong(bytes, 0, bytes.length));
   }
 
   @Test
@@ -102,5 +123,9 @@ void testSpecialNumericValues() {
     assertEquals(Double.POSITIVE_INFINITY, pinf);
     Number ninf = ByteConverter.numeric(new byte[]{0, 0, 0, 0, (byte) 0xF0, 0, 0, 0});
     assertEquals(Double.NEGATIVE_INFINITY, ninf);
+    byte[] nanBytes = {0, 0, 0, 0, (byte) 0xC0, 0, 0, 0};
+    assertEquals(Double.NaN, ByteConverter.numericToDouble(nanBytes, 0, nanBytes.length));
+    assertThrows(ArithmeticException.class,
+        () -> ByteConverter.numericToLong(nanBytes, 0, nanBytes.length));
   }
 }
@@ -13,8 +13,13 @@
 
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.sql.SQLException;
+import java.util.Arrays;
 import java.util.Random;
 
 class PGbyteaTest {
@@ -42,6 +47,53 @@ void hexDecode_upper() throws SQLException {
     assertArrayEquals(data, decoded);
   }
 
+  @Test
+  void hexDecode_allLengths() throws SQLException {
+    // Covers the values shorter than a word and the tails after the last full word
+    Random random = new Random(42);
+    for (int length = 0; length < 40; length++) {
+      final byte[] data = new byte[length];
+      random.nextBytes(data);
+      final byte[] encoded = hexEncode(data, length % 2 == 0 ? HEX_DIGITS_L : HEX_DIGITS_U);
+      assertArrayEquals(data, PGbytea.toBytes(encoded), () -> "length " + data.length);
+    }
+  }
+
+  @Test
+  void toBytesStream_hex() throws IOException {
+    final byte[] data = new byte[20000];
+    new Random(11).nextBytes(data);
+    final byte[] encoded = hexEncode(data, HEX_DIGITS_U);
+    assertArrayEquals(data, readAll(PGbytea.toBytesStream(new ByteArrayInputStream(encoded))));
+    final byte[] empty = hexEncode(new byte[0], HEX_DIGITS_L);
+    assertArrayEquals(new byte[0], readAll(PGbytea.toBytesStream(new ByteArrayInputStream(empty))));
+  }
+
+  @Test
+  void toBytesStream_escape() throws IOException {
+    final byte[] escaped = "a\\\\b\\001c".getBytes(StandardCharsets.US_ASCII);
+    assertArrayEquals(new byte[]{'a', '\\', 'b', 1, 'c'},
+        readAll(PGbytea.toBytesStream(new ByteArrayInputStream(escaped))));
+  }
+
+  @Test
+  void appendHexString() {
+    final byte[] data = new byte[10000];
+    new Random(3).nextBytes(data);
+    // Larger than the chunk of the encoder, starting at an offset
+    StringBuilder sb = new StringBuilder("\\x");
+    PGbytea.appendHexString(sb, data, 1, data.length - 2);
+    byte[] expected = hexEncode(Arrays.copyOfRange(data, 1, data.length - 1), HEX_DIGITS_L);
+    assertEquals(new String(expected, StandardCharsets.US_ASCII), sb.toString());
+  }
+
+  @Test
+  void appendHexString_empty() {
+    StringBuilder sb = new StringBuilder("x");
+    PGbytea.appendHexString(sb, new byte[]{1, 2}, 1, 0);
+    assertEquals("x", sb.toString());
+  }
+
   @Test
   void toPGLiteral_byteArray() throws IOException {
     assertEquals("'\\x00010203'::bytea",
@@ -106,6 +158,17 @@ void toPGLiteral_string_rejectsMissingHexPrefix() {
         () -> PGbytea.toPGLiteral("00010203", SqlSerializationContext.of(true, true)));
   }
 
+  private static byte[] readAll(InputStream in) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    // Smaller than the chunks of the decoder, so the reads end in the middle of them
+    byte[] buffer = new byte[333];
+    int read;
+    while ((read = in.read(buffer)) != -1) {
+      out.write(buffer, 0, read);
+    }
+    return out.toByteArray();
+  }
+
   private static byte[] hexEncode(byte[] data, byte[] hexDigits) {
 
     // the string created will have 2 characters for each byte.
@@ -6,6 +6,7 @@
 package org.postgresql.util.internal;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
@@ -24,6 +25,7 @@
 import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
@@ -292,6 +294,52 @@ void writesZeros(int offset, int numZeros) throws IOException {
     }
   }
 
+  @Nested
+  class Utf8Tests {
+    @ParameterizedTest
+    @ValueSource(ints = {1, 3, 4, 5, 16, 17, 1024})
+    void writeUtf8MatchesGetBytes(int bufferSize) throws IOException {
+      Random rnd = new Random(bufferSize);
+      for (int i = 0; i < 1000; i++) {
+        StringBuilder sb = new StringBuilder();
+        int length = rnd.nextInt(i % 10 == 0 ? 3000 : 50);
+        while (sb.length() < length) {
+          switch (rnd.nextInt(5)) {
+            case 0:
+              sb.append("ascii run of more than sixteen chars");
+              break;
+            case 1:
+              sb.append((char) rnd.nextInt(0x80));
+              break;
+            case 2:
+              sb.append((char) (0x80 + rnd.nextInt(0x780)));
+              break;
+            case 3:
+              // Includes unpaired surrogates
+              sb.append((char) (0x800 + rnd.nextInt(0xF800)));
+              break;
+            default:
+              sb.appendCodePoint(0x10000 + rnd.nextInt(0x100000));
+          }
+        }
+        String str = sb.toString();
+        byte[] expected = str.getBytes(StandardCharsets.UTF_8);
+        assertEquals(expected.length, PgBufferedOutputStream.utf8Length(str),
+            () -> "utf8Length of " + str);
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PgBufferedOutputStream out = new PgBufferedOutputStream(baos, bufferSize);
+        int prefix = rnd.nextInt(bufferSize + 1);
+        out.writeZeros(prefix);
+        out.writeUtf8(str);
+        out.flush();
+        byte[] result = baos.toByteArray();
+        assertArrayEquals(expected, Arrays.copyOfRange(result, prefix, result.length),
+            () -> "writeUtf8 of " + str + " after " + prefix + " bytes");
+      }
+    }
+  }
+
   @Test
   void writeAndCompare() throws IOException {
     byte[] data = new byte[1024 * 1024];